@@ -32,14 +32,22 @@ import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 
 import javax.lang.model.type.NullType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.ff4j.utils.MappingUtil.instanceFlippingStrategy;
 import static org.ff4j.utils.MappingUtil.toMap;
@@ -64,45 +72,99 @@ public class FeatureAdvisor implements MethodInterceptor {
     @Autowired
     private FF4j ff4j;
 
+    /** Resolved annotation, alter target and strategy for each method and target class. */
+    private final ConcurrentMap<MethodClassKey, FlipMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * Everything needed at invocation time, resolved once per method and target class.
+     */
+    private static final class FlipMetadata {
+
+        /** Annotation on method, interface or class, null if not flipped. */
+        private Flip annotation;
+
+        /** Alter bean or alter class defined in annotation. */
+        private boolean hasAlter;
+
+        /** Alter bean defined and present in context. */
+        private boolean usingAlterBean;
+
+        /** Alter class defined. */
+        private boolean usingAlterClazz;
+
+        /** The current bean or class is the alternative itself. */
+        private boolean alterTarget;
+
+        /** Overriding strategy from annotation, built once. */
+        private FlippingStrategy strategy;
+
+        /** Position of the {@link FlippingExecutionContext} parameter, -1 if none. */
+        private int contextParameterIndex = -1;
+
+        /** Alternative resolution has been attempted. */
+        private volatile boolean alterResolved;
+
+        /** Alternative implementation and handle, null when it must be looked up on each call. */
+        private volatile AlterInvoker alterInvoker;
+    }
+
+    /**
+     * Direct reference to the alternative implementation with a method handle to call it.
+     */
+    private static final class AlterInvoker {
+
+        /** Alternative implementation (singleton bean or single instance of alterClazz). */
+        private final Object target;
+
+        /** Handle with signature (Object, Object[])Object. */
+        private final MethodHandle handle;
+
+        private AlterInvoker(Object target, MethodHandle handle) {
+            this.target = target;
+            this.handle = handle;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Object invoke(final MethodInvocation mi) throws Throwable {
-        Flip ff4jAnnotation = getFF4jAnnotation(mi);
+        FlipMetadata metadata = getMetadata(mi);
+        Flip ff4jAnnotation = metadata.annotation;
         
         // Method is annotated
         if (ff4jAnnotation != null) {
-        	
-        	String alterBean    = ff4jAnnotation.alterBean();
-        	Class<?> alterClazz = ff4jAnnotation.alterClazz();
-
-        	if(Util.hasLength(alterBean) || Util.isValidClass(alterClazz)) {
 
-        	    boolean usingAlterBean = Util.hasLength(alterBean) && appCtx.containsBean(alterBean);
-        	    boolean usingAlterClazz = Util.isValidClass(alterClazz);
+        	if(metadata.hasAlter) {
 
         	    // if the alterBean or alterClazz is invoked, then checking the FeatureToggle is useless
-        	    if((usingAlterBean && alterBean.equals(getExecutedBeanName(mi))) || (usingAlterClazz && alterClazz == getExecutedClass(mi))) {
+        	    if(metadata.alterTarget) {
                     // no need to check FeatureToggle
                     return mi.proceed();
                 }
 
-                boolean isFeatureToggled = check(ff4jAnnotation, mi);
+                boolean isFeatureToggled = check(metadata, mi);
 
                 // Feature is 'ON'
                 if (isFeatureToggled) {
+                    // Alternative resolved once, invoked without reflection
+                    AlterInvoker alterInvoker = getAlterInvoker(mi, metadata);
+                    if (alterInvoker != null) {
+                        return invokeAlterInvoker(mi, alterInvoker);
+                    }
+
                     // Do we use the alter bean defined in the annotation ?
-                    if (usingAlterBean) {
-                        return invokeAlterBean(mi, alterBean);
+                    if (metadata.usingAlterBean) {
+                        return invokeAlterBean(mi, ff4jAnnotation.alterBean());
                     }
 
                     // Or else do we use the alter class defined in the annotation ?
-                    if (usingAlterClazz) {
+                    if (metadata.usingAlterClazz) {
                         return invokeAlterClazz(mi, ff4jAnnotation);
                     }
                 }
             } else {
                 // Would like to skip if feature is Disable
-        	    if(!check(ff4jAnnotation, mi)) {
+        	    if(!check(metadata, mi)) {
         	        return null;
                 }
             }
@@ -110,6 +172,195 @@ public class FeatureAdvisor implements MethodInterceptor {
         // No feature toggle (no annotation nor feature OFF)
         return mi.proceed();
     }
+
+    /**
+     * Retrieve metadata from cache or resolve them on first invocation.
+     *
+     * @param mi
+     *      current method invocation
+     * @return
+     *      metadata for method and target class
+     */
+    private FlipMetadata getMetadata(MethodInvocation mi) {
+        MethodClassKey key = new MethodClassKey(mi.getMethod(), getExecutedClass(mi));
+        FlipMetadata metadata = metadataCache.get(key);
+        if (metadata == null) {
+            // No computeIfAbsent: resolution may go through the context and other advised beans
+            metadata = resolveMetadata(mi);
+            FlipMetadata existing = metadataCache.putIfAbsent(key, metadata);
+            if (existing != null) {
+                metadata = existing;
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Resolve annotation, alter target, strategy and context parameter for an invocation.
+     *
+     * @param mi
+     *      current method invocation
+     * @return
+     *      metadata for method and target class
+     */
+    private FlipMetadata resolveMetadata(MethodInvocation mi) {
+        FlipMetadata metadata = new FlipMetadata();
+        Flip ff = getFF4jAnnotation(mi);
+        metadata.annotation = ff;
+        if (ff == null) {
+            return metadata;
+        }
+        String alterBean    = ff.alterBean();
+        Class<?> alterClazz = ff.alterClazz();
+        metadata.hasAlter        = Util.hasLength(alterBean) || Util.isValidClass(alterClazz);
+        metadata.usingAlterBean  = Util.hasLength(alterBean) && appCtx.containsBean(alterBean);
+        metadata.usingAlterClazz = Util.isValidClass(alterClazz);
+        metadata.alterTarget     = (metadata.usingAlterBean && alterBean.equals(getExecutedBeanName(mi))) ||
+                                   (metadata.usingAlterClazz && alterClazz == getExecutedClass(mi));
+        if (ff.flippingStrategy() != NullType.class) {
+            metadata.strategy = instanceFlippingStrategy(ff.name(),
+                    ff.flippingStrategy().getName(), toMap(ff.flippingInitParams()));
+        }
+        Class<?>[] parameterTypes = mi.getMethod().getParameterTypes();
+        for (int p = 0; p < parameterTypes.length && metadata.contextParameterIndex < 0; p++) {
+            if (FlippingExecutionContext.class.isAssignableFrom(parameterTypes[p])) {
+                metadata.contextParameterIndex = p;
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Resolve alternative implementation on first use.
+     *
+     * @param mi
+     *      current method invocation
+     * @param metadata
+     *      metadata for method and target class
+     * @return
+     *      invoker or null if the alternative is not a singleton and must be looked up on each call
+     */
+    private AlterInvoker getAlterInvoker(MethodInvocation mi, FlipMetadata metadata) {
+        if (!metadata.alterResolved) {
+            metadata.alterInvoker  = resolveAlterInvoker(mi, metadata);
+            metadata.alterResolved = true;
+        }
+        return metadata.alterInvoker;
+    }
+
+    /**
+     * Look for the alternative implementation as done by {@link #invokeAlterBean(MethodInvocation, String)}
+     * and {@link #invokeAlterClazz(MethodInvocation, Flip)} and build a method handle for it.
+     *
+     * @param mi
+     *      current method invocation
+     * @param metadata
+     *      metadata for method and target class
+     * @return
+     *      invoker or null if reflective lookup must be kept
+     */
+    private AlterInvoker resolveAlterInvoker(MethodInvocation mi, FlipMetadata metadata) {
+        Method   method         = mi.getMethod();
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            Object target = null;
+            if (metadata.usingAlterBean) {
+                String alterBeanName = metadata.annotation.alterBean();
+                if (appCtx.isSingleton(alterBeanName)) {
+                    target = appCtx.getBean(alterBeanName, declaringClass);
+                }
+            } else if (metadata.usingAlterClazz) {
+                Class<?> alterClazz = metadata.annotation.alterClazz();
+                boolean foundInContext = false;
+                for (Map.Entry<String, ?> entry : appCtx.getBeansOfType(declaringClass).entrySet()) {
+                    Object bean = entry.getValue();
+                    if (AopUtils.isJdkDynamicProxy(bean) &&  ((Advised) bean).getTargetSource().getTarget().getClass().equals(alterClazz) ||
+                        AopProxyUtils.ultimateTargetClass(bean).equals(alterClazz)) {
+                        foundInContext = true;
+                        target = appCtx.isSingleton(entry.getKey()) ? bean : null;
+                        break;
+                    }
+                }
+                if (!foundInContext) {
+                    target = alterClazz.getDeclaredConstructor().newInstance();
+                }
+            }
+            if (target == null || !declaringClass.isInstance(target)) {
+                return null;
+            }
+            int nbParams = method.getParameterCount();
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method)
+                    .asType(MethodType.genericMethodType(nbParams + 1))
+                    .asSpreader(Object[].class, nbParams);
+            LOGGER.debug("FeatureFlipping on method:{} class:{} resolved to {}", method.getName(), declaringClass.getName(), target.getClass().getName());
+            return new AlterInvoker(target, handle);
+        } catch (Exception e) {
+            // Not accessible or cannot be instantiated, keep reflective invocation and its error messages
+            return null;
+        }
+    }
+
+    /**
+     * Invoke alternative through its method handle, exceptions are handled as with reflection.
+     * Errors raised by the alternative are propagated as they are.
+     *
+     * @param mi
+     *      current method invocation
+     * @param alterInvoker
+     *      resolved alternative
+     * @return
+     *      return of invocation
+     * @throws Throwable
+     *      error raised by the alternative
+     */
+    private Object invokeAlterInvoker(MethodInvocation mi, AlterInvoker alterInvoker) throws Throwable {
+        try {
+            return (Object) alterInvoker.handle.invokeExact(alterInvoker.target, mi.getArguments());
+        } catch (WrongMethodTypeException wrongType) {
+            // Raised by the handle itself, not by the alternative: same as an invalid reflective call
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + mi.getMethod().getName() + " on alternative "
+                    + alterInvoker.target.getClass().getName() + " please check signatures", wrongType);
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable error) {
+            if (!ff4j.isAlterBeanThrowInvocationTargetException()) {
+                throw error;
+            }
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + mi.getMethod().getName() + " on alternative "
+                    + alterInvoker.target.getClass().getName(), new InvocationTargetException(error));
+        }
+    }
+
+    /**
+     * Evaluate feature with resolved metadata.
+     *
+     * @param metadata
+     *      metadata for method and target class
+     * @param mi
+     *      current method invocation
+     * @return if flipping should be considered
+     */
+    private boolean check(FlipMetadata metadata, MethodInvocation mi) {
+        FlippingExecutionContext context = null;
+        switch (metadata.annotation.contextLocation()) {
+            case FF4J:
+                context = getFf4j().getCurrentContext();
+                break;
+            case PARAMETER:
+                if (metadata.contextParameterIndex >= 0) {
+                    context = FlippingExecutionContext.class.cast(mi.getArguments()[metadata.contextParameterIndex]);
+                }
+                break;
+            case NONE:
+            default:
+                break;
+        }
+        String featureId = metadata.annotation.name();
+        if (metadata.strategy != null) {
+            return getFf4j().checkOverridingStrategy(featureId, metadata.strategy, context);
+        }
+        return getFf4j().check(featureId, context);
+    }
    
     /**
      * Call if Flipped based on different parameters of the annotation
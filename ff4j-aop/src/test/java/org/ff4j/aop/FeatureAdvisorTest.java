@@ -24,13 +24,14 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
 import org.ff4j.FF4j;
+import org.ff4j.aop.test.exception.ApplicationError;
+import org.ff4j.aop.test.exception.ApplicationException;
 import org.ff4j.aop.test.goodbye.GoodbyeService;
 import org.ff4j.aop.test.greeting.GreetingService;
 import org.ff4j.spring.namespace.FF4jNameSpaceConstants;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,7 +80,17 @@ public class FeatureAdvisorTest {
     }
 
     @Test
-    @Ignore
+    public void testCachedMetadataFollowsFeatureState() {
+        // Metadata are resolved once, feature state is still evaluated on each call
+        for (int i = 0; i < 3; i++) {
+            ff4j.disable("language-french");
+            Assert.assertTrue(greeting.sayHello("CLU").startsWith("Hello"));
+            ff4j.enable("language-french");
+            Assert.assertTrue(greeting.sayHello("CLU").startsWith("Bonjour"));
+        }
+    }
+
+    @Test
     public void testAnnotatedFlippingwithalterClazz() {
         Assert.assertTrue(greeting.sayHelloWithClass("CLU").startsWith("Hi"));
         ff4j.enable("language-french");
@@ -94,7 +105,6 @@ public class FeatureAdvisorTest {
     }
 
     @Test
-    @Ignore
     public void testAnnotatedFlippingwithalterClazzifqualifiedimplementationisnotthefirstclassqualifiednameinnaturalordering() {
         Assert.assertTrue(goodbye.sayGoodbyeWithClass("CLU").startsWith("A plus"));
         ff4j.enable("language-english");
@@ -113,6 +123,61 @@ public class FeatureAdvisorTest {
         goodbye.sayGoodbyeWithClassInvocationTargetExceptionNull();
     }
     
+    @Test
+    public void testAlterBeanSpreadsArguments() {
+        Assert.assertEquals("Au revoir Au revoir dear CLU", goodbye.sayGoodbyeMany("CLU", 2, true));
+        ff4j.enable("language-english");
+        Assert.assertEquals("Goodbye Goodbye dear CLU", goodbye.sayGoodbyeMany("CLU", 2, true));
+        Assert.assertEquals("Goodbye CLU", goodbye.sayGoodbyeMany("CLU", 1, false));
+    }
+
+    @Test
+    public void testAlterClazzSpreadsArguments() {
+        Assert.assertEquals("Au revoir dear CLU", goodbye.sayGoodbyeManyWithClass("CLU", 1, true));
+        ff4j.enable("language-english");
+        Assert.assertEquals("Goodbye Goodbye Goodbye CLU", goodbye.sayGoodbyeManyWithClass("CLU", 3, false));
+    }
+
+    @Test
+    public void testAlterBeanExceptionWrappedInInvocationTargetException() {
+        ff4j.enable("language-english");
+        try {
+            goodbye.sayGoodbyeThrowException();
+            Assert.fail("Exception expected");
+        } catch (IllegalArgumentException iae) {
+            Assert.assertTrue(iae.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(iae.getCause().getCause() instanceof ApplicationException);
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testAlterBeanExceptionUnwrapped() {
+        ff4j.enable("language-english");
+        ff4j.disableAlterBeanThrowInvocationTargetException();
+        try {
+            goodbye.sayGoodbyeThrowException();
+        } finally {
+            ff4j.enableAlterBeanThrowInvocationTargetException();
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testAlterClazzExceptionUnwrapped() {
+        ff4j.enable("language-english");
+        ff4j.disableAlterBeanThrowInvocationTargetException();
+        try {
+            goodbye.sayGoodbyeWithClassThrowException();
+        } finally {
+            ff4j.enableAlterBeanThrowInvocationTargetException();
+        }
+    }
+
+    @Test(expected = ApplicationError.class)
+    public void testAlterBeanErrorNotWrapped() {
+        ff4j.enable("language-english");
+        goodbye.sayGoodbyeThrowError();
+    }
+
     @Test
     public void testNamespace() throws Exception {
         Constructor<FF4jNameSpaceConstants> c = FF4jNameSpaceConstants.class.getDeclaredConstructor();
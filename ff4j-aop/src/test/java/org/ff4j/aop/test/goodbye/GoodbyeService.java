@@ -44,4 +44,13 @@ public interface GoodbyeService {
 	@Flip(name = "language-english", alterClazz = GoodbyeServiceEnglishImpl.class)
 	void sayGoodbyeWithClassInvocationTargetExceptionNull() throws InvocationTargetException;
 
+	@Flip(name = "language-english", alterBean = "goodbye.english")
+	void sayGoodbyeThrowError();
+
+	@Flip(name = "language-english", alterBean = "goodbye.english")
+	String sayGoodbyeMany(String name, int times, boolean polite);
+
+	@Flip(name = "language-english", alterClazz = GoodbyeServiceEnglishImpl.class)
+	String sayGoodbyeManyWithClass(String name, int times, boolean polite);
+
 }
@@ -20,6 +20,7 @@ package org.ff4j.aop.test.goodbye;
  * #L%
  */
 
+import org.ff4j.aop.test.exception.ApplicationError;
 import org.ff4j.aop.test.exception.ApplicationException;
 import org.springframework.stereotype.Component;
 
@@ -57,4 +58,27 @@ public class GoodbyeServiceFrenchImpl implements GoodbyeService {
 	public void sayGoodbyeWithClassInvocationTargetExceptionNull() throws InvocationTargetException {
 		throw new InvocationTargetException(null);
 	}
+
+	@Override
+	public void sayGoodbyeThrowError() {
+		throw new ApplicationError();
+	}
+
+	@Override
+	public String sayGoodbyeMany(String name, int times, boolean polite) {
+		return repeat("Au revoir", name, times, polite);
+	}
+
+	@Override
+	public String sayGoodbyeManyWithClass(String name, int times, boolean polite) {
+		return repeat("Au revoir", name, times, polite);
+	}
+
+	private String repeat(String word, String name, int times, boolean polite) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			sb.append(word).append(' ');
+		}
+		return sb.append(polite ? "dear " : "").append(name).toString();
+	}
 }
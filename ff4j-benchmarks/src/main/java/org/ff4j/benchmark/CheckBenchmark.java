@@ -0,0 +1,181 @@
+package org.ff4j.benchmark;
+
+/*-
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.AsyncEventPublisher;
+import org.ff4j.audit.EventPublisher;
+import org.ff4j.audit.MetricsEventPublisher;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.core.Feature;
+import org.ff4j.security.AbstractAuthorizationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link FF4j#check(String)} for the main configurations: plain, audited, auto-created and secured.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckBenchmark {
+
+    /** No audit, no security. */
+    private FF4j plain;
+
+    /** Autocreate enabled, features are created on first check. */
+    private FF4j autocreate;
+
+    /** Authorization manager and permissions on feature. */
+    private FF4j secured;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new FF4j();
+        plain.createFeature(new Feature("on", true));
+        plain.createFeature(new Feature("off", false));
+
+        autocreate = new FF4j().autoCreate(true);
+        
+        secured = new FF4j();
+        Feature sf = new Feature("on", true);
+        sf.setPermissions(new HashSet<>(Collections.singleton("USER")));
+        secured.createFeature(sf);
+        secured.setAuthorizationsManager(new StaticAuthorizationManager("USER"));
+    }
+
+    @Benchmark
+    public boolean checkEnabled() {
+        return plain.check("on");
+    }
+
+    @Benchmark
+    public boolean checkDisabled() {
+        return plain.check("off");
+    }
+
+    @Benchmark
+    public boolean checkAudited(AuditedState state) {
+        return state.ff4j.check("on");
+    }
+
+    @Benchmark
+    public boolean checkAutocreate() {
+        return autocreate.check("auto");
+    }
+
+    @Benchmark
+    public boolean checkSecured() {
+        return secured.check("on");
+    }
+
+    /**
+     * Instance with audit enabled, for each kind of publisher.
+     */
+    @State(Scope.Benchmark)
+    public static class AuditedState {
+
+        /** Publisher used when audit is enabled. */
+        @Param({"sync", "async", "metrics"})
+        public String publisher;
+
+        /** Audit enabled. */
+        private FF4j ff4j;
+
+        /** Publisher injected in ff4j, so stopped here. */
+        private EventPublisher eventPublisher;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            InMemoryEventRepository repository = new InMemoryEventRepository();
+            switch (publisher) {
+                case "async":
+                    eventPublisher = new AsyncEventPublisher(repository);
+                break;
+                case "metrics":
+                    eventPublisher = new MetricsEventPublisher(repository);
+                break;
+                default:
+                    eventPublisher = new EventPublisher(repository);
+            }
+            ff4j = new FF4j();
+            ff4j.createFeature(new Feature("on", true));
+            ff4j.setEventRepository(repository);
+            ff4j.setEventPublisher(eventPublisher);
+            ff4j.audit(true);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            eventPublisher.stop();
+        }
+    }
+
+    /**
+     * Authorization manager with fixed permissions.
+     */
+    public static class StaticAuthorizationManager extends AbstractAuthorizationManager {
+
+        /** User permissions. */
+        private final Set<String> permissions;
+
+        public StaticAuthorizationManager(String... perms) {
+            permissions = new HashSet<>();
+            Collections.addAll(permissions, perms);
+        }
+
+        /** {@inheritDoc} */
+        public String getCurrentUserName() {
+            return "benchmark";
+        }
+
+        /** {@inheritDoc} */
+        public Set<String> getCurrentUserPermissions() {
+            return permissions;
+        }
+
+        /** {@inheritDoc} */
+        public Set<String> listAllPermissions() {
+            return permissions;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.ff4j.benchmark;
+
+/*-
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.store.InMemorySnapshotFeatureStore;
+import org.ff4j.store.JdbcFeatureStore;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read operations on {@link FeatureStore} implementations : in memory, in memory snapshot, in memory behind
+ * {@link FF4jCacheProxy} and JDBC on an embedded HSQL database (plain and cached).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureStoreBenchmark {
+
+    /** Number of groups features are spread over. */
+    private static final int GROUPS = 5;
+
+    /** Store under test. */
+    @Param({"inmemory", "inmemory-cached", "snapshot", "jdbc", "jdbc-cached"})
+    public String store;
+
+    /** Number of features in store. */
+    @Param({"100"})
+    public int features;
+
+    /** Tested store. */
+    private FeatureStore featureStore;
+
+    /** Feature read in single-item benchmarks. */
+    private String uid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FeatureStore target;
+        if (store.startsWith("jdbc")) {
+            JDBCDataSource ds = new JDBCDataSource();
+            ds.setURL("jdbc:hsqldb:mem:ff4j-bench-" + System.nanoTime());
+            ds.setUser("sa");
+            ds.setPassword("");
+            JdbcFeatureStore jdbcStore = new JdbcFeatureStore(ds);
+            jdbcStore.createSchema();
+            target = jdbcStore;
+        } else if ("snapshot".equals(store)) {
+            target = new InMemorySnapshotFeatureStore();
+        } else {
+            target = new InMemoryFeatureStore();
+        }
+        for (int i = 0; i < features; i++) {
+            Feature f = new Feature("feature" + i, i % 2 == 0);
+            f.setGroup("group" + (i % GROUPS));
+            f.setPermissions(new HashSet<>(Collections.singleton("USER")));
+            f.addProperty(new PropertyString("p" + i, "value" + i));
+            target.create(f);
+        }
+        if (store.endsWith("cached")) {
+            featureStore = new FF4jCacheProxy(target, new InMemoryPropertyStore(), new InMemoryCacheManager());
+        } else {
+            featureStore = target;
+        }
+        uid = "feature" + (features / 2);
+    }
+
+    @Benchmark
+    public Feature read() {
+        return featureStore.read(uid);
+    }
+
+    @Benchmark
+    public boolean exist() {
+        return featureStore.exist(uid);
+    }
+
+    @Benchmark
+    public Map<String, Feature> readAll() {
+        return featureStore.readAll();
+    }
+
+    @Benchmark
+    public Map<String, Feature> readGroup() {
+        return featureStore.readGroup("group1");
+    }
+}
@@ -0,0 +1,156 @@
+package org.ff4j.benchmark;
+
+/*-
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.core.FlippingStrategy;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.strategy.BlackListStrategy;
+import org.ff4j.strategy.ClientFilterStrategy;
+import org.ff4j.strategy.DarkLaunchStrategy;
+import org.ff4j.strategy.PonderationStrategy;
+import org.ff4j.strategy.RegionFlippingStrategy;
+import org.ff4j.strategy.ServerFilterStrategy;
+import org.ff4j.strategy.WhiteListStrategy;
+import org.ff4j.strategy.el.ExpressionFlipStrategy;
+import org.ff4j.strategy.time.OfficeHourStrategy;
+import org.ff4j.strategy.time.ReleaseDateFlipStrategy;
+import org.ff4j.utils.IOUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation cost of every built-in {@link FlippingStrategy}, initialized the same way the XML parser does.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlipStrategyBenchmark {
+
+    /** Feature holding the strategy. */
+    private static final String FEATURE = "target";
+
+    /** Strategy under test. */
+    @Param({"ponderation", "darklaunch", "whitelist", "blacklist", "clientfilter", 
+            "serverfilter", "region", "expression", "officehour", "releasedate"})
+    public String strategy;
+
+    /** Tested strategy. */
+    private FlippingStrategy flippingStrategy;
+
+    /** Store, used by expressions. */
+    private FeatureStore store;
+
+    /** Context with every key expected by strategies. */
+    private FlippingExecutionContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new InMemoryFeatureStore();
+        store.create(new Feature("A", true));
+        store.create(new Feature("B", false));
+        store.create(new Feature("C", true));
+        store.create(new Feature("D", true));
+
+        context = new FlippingExecutionContext();
+        context.putString(ClientFilterStrategy.CLIENT_HOSTNAME, "client2");
+        context.putString(RegionFlippingStrategy.PARAMNAME_USER_REGION, "EU");
+
+        Map<String, String> params = new HashMap<>();
+        switch (strategy) {
+            case "ponderation":
+                flippingStrategy = new PonderationStrategy();
+                params.put("weight", "0.5");
+            break;
+            case "darklaunch":
+                flippingStrategy = new DarkLaunchStrategy();
+                params.put("weight", "0.5");
+            break;
+            case "whitelist":
+                flippingStrategy = new WhiteListStrategy();
+                params.put("grantedClients", "client1,client2,client3");
+            break;
+            case "blacklist":
+                flippingStrategy = new BlackListStrategy();
+                params.put("grantedClients", "client1,client2,client3");
+            break;
+            case "clientfilter":
+                flippingStrategy = new ClientFilterStrategy();
+                params.put("grantedClients", "client1,client2,client3");
+            break;
+            case "serverfilter":
+                flippingStrategy = new ServerFilterStrategy();
+                params.put("grantedServers", "server1," + IOUtil.resolveHostName());
+            break;
+            case "region":
+                flippingStrategy = new RegionFlippingStrategy();
+                params.put(RegionFlippingStrategy.INIT_PARAMNAME_REGIONS, "US,EU,ASIA");
+            break;
+            case "expression":
+                flippingStrategy = new ExpressionFlipStrategy();
+                params.put(ExpressionFlipStrategy.PARAM_EXPRESSION, "A & B | C & !D | (A | D) & !B");
+            break;
+            case "officehour":
+                flippingStrategy = new OfficeHourStrategy();
+                params.put("monday",    "08:00-12:00,13:30-18:00");
+                params.put("tuesday",   "08:00-12:00,13:30-18:00");
+                params.put("wednesday", "08:00-12:00,13:30-18:00");
+                params.put("thursday",  "08:00-12:00,13:30-18:00");
+                params.put("friday",    "08:00-12:00,13:30-18:00");
+                params.put("saturday",  "10:00-19:00");
+                params.put("publicHolidays", "2015-01-01,2015-05-01,2015-12-25");
+            break;
+            case "releasedate":
+                flippingStrategy = new ReleaseDateFlipStrategy();
+                params.put(ReleaseDateFlipStrategy.PARAMNAME_RELEASEDATE, "2015-01-01-00:00");
+            break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + strategy);
+        }
+        flippingStrategy.init(FEATURE, params);
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        return flippingStrategy.evaluate(FEATURE, store, context);
+    }
+}
@@ -0,0 +1,156 @@
+package org.ff4j.benchmark;
+
+/*-
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.conf.XmlConfig;
+import org.ff4j.conf.XmlParser;
+import org.ff4j.core.Feature;
+import org.ff4j.property.PropertyInt;
+import org.ff4j.property.PropertyString;
+import org.ff4j.strategy.PonderationStrategy;
+import org.ff4j.utils.json.EventJsonParser;
+import org.ff4j.utils.json.FeatureJsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON and XML (de)serialization of features and events, as used by the web console, the REST api and the stores.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /** Number of features in exported XML configuration. */
+    @Param({"100"})
+    public int features;
+
+    /** XML parser. */
+    private XmlParser xmlParser;
+
+    /** Single feature. */
+    private Feature feature;
+
+    /** Single feature as JSON. */
+    private String featureJson;
+
+    /** Event. */
+    private Event event;
+
+    /** Event as JSON. */
+    private String eventJson;
+
+    /** Map of features to export. */
+    private Map<String, Feature> mapOfFeatures;
+
+    /** Exported XML. */
+    private byte[] xml;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        xmlParser     = new XmlParser();
+        mapOfFeatures = new LinkedHashMap<>();
+        for (int i = 0; i < features; i++) {
+            Feature f = new Feature("feature" + i, i % 2 == 0, "description " + i, "group" + (i % 5));
+            f.setPermissions(new HashSet<>(Collections.singleton("USER")));
+            f.setFlippingStrategy(new PonderationStrategy(0.5));
+            f.addProperty(new PropertyString("p" + i, "value" + i));
+            f.addProperty(new PropertyInt("i" + i, i));
+            mapOfFeatures.put(f.getUid(), f);
+        }
+        feature     = mapOfFeatures.values().iterator().next();
+        featureJson = feature.toJson();
+        event       = new Event("JAVA_API", "feature", "feature0", "checkOn");
+        eventJson   = event.toJson();
+        xml         = toBytes(xmlParser.exportFeatures(mapOfFeatures));
+    }
+
+    private static byte[] toBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            bos.write(buffer, 0, n);
+        }
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public String featureToJson() {
+        return feature.toJson();
+    }
+
+    @Benchmark
+    public Feature featureFromJson() {
+        return Feature.fromJson(featureJson);
+    }
+
+    @Benchmark
+    public Feature featureFromJsonJackson() {
+        return FeatureJsonParser.parseFeature(featureJson);
+    }
+
+    @Benchmark
+    public String eventToJson() {
+        return event.toJson();
+    }
+
+    @Benchmark
+    public Event eventFromJsonJackson() {
+        return EventJsonParser.parseEvent(eventJson);
+    }
+
+    @Benchmark
+    public byte[] exportXml() throws IOException {
+        return toBytes(xmlParser.exportFeatures(mapOfFeatures));
+    }
+
+    @Benchmark
+    public XmlConfig parseXml() {
+        return xmlParser.parseConfigurationFile(new ByteArrayInputStream(xml));
+    }
+}
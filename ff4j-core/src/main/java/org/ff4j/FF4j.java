@@ -29,10 +29,13 @@ import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.ff4j.audit.ChangeFeed;
 import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
+import org.ff4j.audit.MetricsEventPublisher;
 import org.ff4j.audit.proxy.FeatureStoreAuditProxy;
 import org.ff4j.audit.proxy.PropertyStoreAuditProxy;
 import org.ff4j.audit.repository.EventRepository;
@@ -53,6 +56,8 @@ import org.ff4j.property.store.InMemoryPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.security.AuthorizationsManager;
 import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.utils.IOUtil;
+import org.ff4j.utils.Util;
 
 /**
  * Principal class stands as public api to work with FF4J.
@@ -117,6 +122,9 @@ public class FF4j {
     /** This attribute indicates to stop the event publisher. */
     private volatile boolean shutdownEventPublisher;
 
+    /** Journal of changes on stores, consumed by the change feed endpoint (disabled if null). */
+    private ChangeFeed changeFeed = null;
+
     // -- Settings --
     
     /** Post Processing like audit enable. */
@@ -223,7 +231,75 @@ public class FF4j {
      * @return current feature status
      */
     public boolean check(String featureID, FlippingExecutionContext executionContext) {
-        Feature fp = getFeature(featureID);
+        boolean flipped = isFlipped(getFeature(featureID), executionContext);
+        
+        // Update current context (only when changed, check(featureID) hands back the current one)
+        if (executionContext != flippingExecutionContext.get()) {
+            flippingExecutionContext.set(executionContext);
+        }
+        
+        // Any access is logged into audit system
+        publishCheck(featureID, flipped);
+
+        return flipped;
+    }
+
+    /**
+     * Check several features with a single read in the store.
+     * 
+     * @param featureIDs
+     *            features unique identifiers.
+     * @return current status of each feature
+     */
+    public Map<String, Boolean> checkAll(Collection<String> featureIDs) {
+        return checkAll(featureIDs, flippingExecutionContext.get());
+    }
+
+    /**
+     * Check several features with a single read in the store. Unknown features are
+     * created if autocreate is enabled, otherwise {@link FeatureNotFoundException} is raised as with check().
+     * 
+     * @param featureIDs
+     *            features unique identifiers.
+     * @param executionContext
+     *            current execution context
+     * @return current status of each feature, in the order of identifiers
+     */
+    public Map<String, Boolean> checkAll(Collection<String> featureIDs, FlippingExecutionContext executionContext) {
+        Util.assertNotNull("Feature identifiers", featureIDs);
+        Map<String, Feature> features = getFeatureStore().readMany(featureIDs);
+        Map<String, Boolean> statuses = new LinkedHashMap<>();
+        for (String featureID : featureIDs) {
+            Feature fp = features.get(featureID);
+            if (fp == null) {
+                // Not found : autocreate or FeatureNotFoundException
+                fp = getFeature(featureID);
+            }
+            statuses.put(featureID, isFlipped(fp, executionContext));
+        }
+        
+        // Update current context (only when changed)
+        if (executionContext != flippingExecutionContext.get()) {
+            flippingExecutionContext.set(executionContext);
+        }
+        
+        // Any access is logged into audit system
+        for (Map.Entry<String, Boolean> status : statuses.entrySet()) {
+            publishCheck(status.getKey(), status.getValue());
+        }
+        return statuses;
+    }
+
+    /**
+     * Evaluate status of a feature : enabled, allowed and accepted by its strategy.
+     * 
+     * @param fp
+     *            current feature
+     * @param executionContext
+     *            current execution context
+     * @return if the feature is toggled
+     */
+    private boolean isFlipped(Feature fp, FlippingExecutionContext executionContext) {
         boolean flipped = fp.isEnable();
 
         // If authorization manager provided, apply security filter
@@ -233,15 +309,8 @@ public class FF4j {
 
         // If custom strategy has been defined, delegate flipping to
         if (flipped && fp.getFlippingStrategy() != null) {
-            flipped = fp.getFlippingStrategy().evaluate(featureID, getFeatureStore(), executionContext);
+            flipped = fp.getFlippingStrategy().evaluate(fp.getUid(), getFeatureStore(), executionContext);
         }
-        
-        // Update current context
-        flippingExecutionContext.set(executionContext);
-        
-        // Any access is logged into audit system
-        publishCheck(featureID, flipped);
-
         return flipped;
     }
     
@@ -255,10 +324,18 @@ public class FF4j {
      */
     private void publishCheck(String uid, boolean checked) {
         if (isEnableAudit()) {
-            getEventPublisher().publish(new EventBuilder(this)
+            EventPublisher publisher = getEventPublisher();
+            if (publisher instanceof MetricsEventPublisher) {
+                // Metrics mode, counted in memory without building an Event per check
+                String user = (getAuthorizationsManager() != null) ? getAuthorizationsManager().getCurrentUserName() : null;
+                ((MetricsEventPublisher) publisher).hit(uid, checked ? ACTION_CHECK_OK : ACTION_CHECK_OFF,
+                        IOUtil.resolveHostName(), getSource(), user, System.currentTimeMillis());
+            } else {
+                publisher.publish(new EventBuilder(this)
                         .feature(uid)
                         .action(checked ? ACTION_CHECK_OK : ACTION_CHECK_OFF)
                         .build());
+            }
         }
     }
 
@@ -646,6 +723,16 @@ public class FF4j {
          return this;
     }
 
+    /**
+     * Record changes on stores into a {@link ChangeFeed} with default capacity.
+     *
+     * @return current instance
+     */
+    public FF4j changeFeed() {
+        setChangeFeed(new ChangeFeed());
+        return this;
+    }
+
     /**
      * Delete feature name.
      * 
@@ -827,8 +914,8 @@ public class FF4j {
             this.shutdownEventPublisher = true;
         }
         
-        // Audit is enabled, stores got a proxy for auditing
-        if (isEnableAudit()) {
+        // Audit or change feed is enabled, stores got a proxy for auditing
+        if (isEnableAudit() || changeFeed != null) {
         	
         	if (featureStore != null && !(featureStore instanceof FeatureStoreAuditProxy)) {
                 this.featureStore = new FeatureStoreAuditProxy(this, featureStore);
@@ -997,6 +1084,28 @@ public class FF4j {
     	// if you disable the audit : the auditProxy must be destroyed and use targets
     	initialized = false;
     }
+
+    /**
+     * Getter accessor for attribute 'changeFeed'.
+     *
+     * @return
+     *       current value of 'changeFeed'
+     */
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * Setter accessor for attribute 'changeFeed'.
+     *
+     * @param changeFeed
+     *      new value for 'changeFeed', null to disable
+     */
+    public void setChangeFeed(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+        // Audit proxies are installed (or removed) on next access to the stores
+        initialized = false;
+    }
     
     /**
      * Required for spring namespace and 'fileName' attribute on ff4j tag.
@@ -0,0 +1,353 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.ff4j.audit.repository.EventRepository;
+
+/**
+ * Fire-and-forget publisher : calling threads only enqueue events in a bounded {@link EventRingBuffer}
+ * and never wait for the {@link EventRepository}. Dedicated drainer threads dequeue events by batches and
+ * write them into the repository.
+ * 
+ * When the buffer is full the {@link EventOverflowPolicy} decides which event is lost, each loss is counted
+ * and available through {@link #getDroppedCount()}.
+ * 
+ * <pre>
+ * ff4j.setEventPublisher(new AsyncEventPublisher(ff4j.getEventRepository()));
+ * ff4j.audit(true);
+ * </pre>
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class AsyncEventPublisher extends EventPublisher {
+    
+    /** DEFAULT. */
+    public static final int DEFAULT_BUFFER_CAPACITY = 8192;
+    
+    /** DEFAULT. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    
+    /** DEFAULT. */
+    public static final int DEFAULT_DRAINER_COUNT = 1;
+    
+    /** DEFAULT. */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+    
+    /** Wait for drainers when the buffer is empty (in milliseconds). */
+    public static final long DEFAULT_IDLE_WAIT = 10L;
+    
+    /** Buffer between application threads and drainers. */
+    private final EventRingBuffer ringBuffer;
+    
+    /** What to do when the buffer is full. */
+    private final EventOverflowPolicy overflowPolicy;
+    
+    /** Maximum number of events written in one pass. */
+    private final int batchSize;
+    
+    /** Threads writing into the repository. */
+    private final Thread[] drainers;
+    
+    /** One event out of 'sampleRate' is kept above the high-water mark (SAMPLE). */
+    private volatile int sampleRate = DEFAULT_SAMPLE_RATE;
+    
+    /** Wait in nanoseconds when the buffer is empty. */
+    private volatile long idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_WAIT);
+    
+    /** Drainers stop when false. */
+    private volatile boolean running = true;
+    
+    /** Events accepted in buffer. */
+    private final LongAdder publishedCount = new LongAdder();
+    
+    /** Events lost due to overflow. */
+    private final LongAdder droppedCount = new LongAdder();
+    
+    /** Events written into repository. */
+    private final LongAdder savedCount = new LongAdder();
+    
+    /** Events the repository failed to write. */
+    private final LongAdder failedCount = new LongAdder();
+    
+    /**
+     * Default constructor.
+     */
+    public AsyncEventPublisher(EventRepository er) {
+        this(er, DEFAULT_BUFFER_CAPACITY, EventOverflowPolicy.DROP_NEWEST);
+    }
+    
+    /**
+     * Constructor with buffer settings.
+     */
+    public AsyncEventPublisher(EventRepository er, int bufferCapacity, EventOverflowPolicy policy) {
+        this(er, bufferCapacity, DEFAULT_DRAINER_COUNT, DEFAULT_BATCH_SIZE, policy);
+    }
+    
+    /**
+     * Full constructor.
+     *
+     * @param er
+     *      repository to save events
+     * @param bufferCapacity
+     *      maximum number of pending events
+     * @param drainerCount
+     *      number of threads writing into repository
+     * @param batchSize
+     *      maximum number of events written in one pass
+     * @param policy
+     *      behaviour when the buffer is full
+     */
+    public AsyncEventPublisher(EventRepository er, int bufferCapacity, int drainerCount, int batchSize, EventOverflowPolicy policy) {
+        super(er, null, timeout);
+        if (drainerCount < 1) {
+            throw new IllegalArgumentException("At least one drainer is required");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size should be positive");
+        }
+        this.ringBuffer     = new EventRingBuffer(bufferCapacity);
+        this.overflowPolicy = (policy == null) ? EventOverflowPolicy.DROP_NEWEST : policy;
+        this.batchSize      = batchSize;
+        this.drainers       = new Thread[drainerCount];
+        ThreadFactory tFactory = new PublisherThreadFactory();
+        for (int i = 0; i < drainerCount; i++) {
+            drainers[i] = tFactory.newThread(this::drain);
+            drainers[i].setDaemon(true);
+            drainers[i].start();
+        }
+    }
+    
+    /**
+     * Enqueue event and return immediately.
+     * 
+     * @param e
+     *            event.
+     */
+    @Override
+    public void publish(Event e) {
+        if (e == null) {
+            return;
+        }
+        if (!running) {
+            droppedCount.increment();
+            return;
+        }
+        if (overflowPolicy == EventOverflowPolicy.SAMPLE && isAboveHighWaterMark() 
+                && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            droppedCount.increment();
+            return;
+        }
+        if (ringBuffer.offer(e)) {
+            publishedCount.increment();
+            return;
+        }
+        if (overflowPolicy == EventOverflowPolicy.DROP_OLDEST) {
+            // Evict oldest until the event fits, give up if drainers keep filling the gap
+            for (int retry = 0; retry < 3; retry++) {
+                if (ringBuffer.poll() != null) {
+                    droppedCount.increment();
+                }
+                if (ringBuffer.offer(e)) {
+                    publishedCount.increment();
+                    return;
+                }
+            }
+        }
+        droppedCount.increment();
+    }
+    
+    /**
+     * Buffer is filled at 75%.
+     *
+     * @return
+     *      if the sampling should start
+     */
+    private boolean isAboveHighWaterMark() {
+        return ringBuffer.size() >= (ringBuffer.capacity() - (ringBuffer.capacity() >> 2));
+    }
+    
+    /**
+     * Loop executed by drainer threads.
+     */
+    private void drain() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, idleWaitNanos);
+            } else {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        // Flush what remains before leaving
+        while (ringBuffer.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+    
+    /**
+     * Write a batch of events into the repository with a single bulk call, errors are counted and never propagated.
+     *
+     * @param batch
+     *      events to save
+     */
+    protected void writeBatch(List<Event> batch) {
+        try {
+            if (getRepository().saveEvents(batch)) {
+                savedCount.add(batch.size());
+            } else {
+                failedCount.add(batch.size());
+            }
+        } catch (RuntimeException ex) {
+            failedCount.add(batch.size());
+        }
+    }
+    
+    /**
+     * Stops drainers once pending events have been written.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread drainer : drainers) {
+            LockSupport.unpark(drainer);
+        }
+        for (Thread drainer : drainers) {
+            try {
+                drainer.join(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'overflowPolicy'.
+     *
+     * @return
+     *       current value of 'overflowPolicy'
+     */
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    /**
+     * Getter accessor for attribute 'batchSize'.
+     *
+     * @return
+     *       current value of 'batchSize'
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'sampleRate'.
+     *
+     * @return
+     *       current value of 'sampleRate'
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+    
+    /**
+     * Setter accessor for attribute 'sampleRate'.
+     * @param sampleRate
+     *      new value for 'sampleRate '
+     */
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate should be positive");
+        }
+        this.sampleRate = sampleRate;
+    }
+    
+    /**
+     * Setter accessor for attribute 'idleWait'.
+     * @param idleWait
+     *      wait of drainers in milliseconds when buffer is empty
+     */
+    public void setIdleWait(long idleWait) {
+        this.idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWait);
+    }
+    
+    /**
+     * Number of events accepted in buffer.
+     *
+     * @return
+     *       current value of 'publishedCount'
+     */
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+    
+    /**
+     * Number of events lost due to overflow.
+     *
+     * @return
+     *       current value of 'droppedCount'
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+    
+    /**
+     * Number of events written into repository.
+     *
+     * @return
+     *       current value of 'savedCount'
+     */
+    public long getSavedCount() {
+        return savedCount.sum();
+    }
+    
+    /**
+     * Number of events the repository failed to write.
+     *
+     * @return
+     *       current value of 'failedCount'
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+    
+    /**
+     * Number of events waiting in buffer.
+     *
+     * @return
+     *       current size of buffer
+     */
+    public int getPendingCount() {
+        return ringBuffer.size();
+    }
+    
+}
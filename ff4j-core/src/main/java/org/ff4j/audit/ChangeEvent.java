@@ -0,0 +1,148 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+
+import org.ff4j.utils.JsonUtils;
+
+/**
+ * Single entry of the {@link ChangeFeed}: a write operation on a feature or a property
+ * tagged with a monotonically increasing sequence number.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ChangeEvent implements Serializable {
+
+    /** Serial. */
+    private static final long serialVersionUID = -3406325372497211843L;
+
+    /** Position of the event in the feed. */
+    private final long sequence;
+
+    /** Time of the change. */
+    private final long timestamp;
+
+    /** feature, property, group... */
+    private final String type;
+
+    /** feature or property name. */
+    private final String name;
+
+    /** Action performed. */
+    private final String action;
+
+    /**
+     * Full constructor.
+     *
+     * @param sequence
+     *      position of the event in the feed
+     * @param timestamp
+     *      time of the change
+     * @param type
+     *      target type
+     * @param name
+     *      target name
+     * @param action
+     *      action performed
+     */
+    public ChangeEvent(long sequence, long timestamp, String type, String name, String action) {
+        this.sequence  = sequence;
+        this.timestamp = timestamp;
+        this.type      = type;
+        this.name      = name;
+        this.action    = action;
+    }
+
+    /**
+     * Serialized as JSON.
+     *
+     * @return
+     *      json expression
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"sequence\":").append(sequence);
+        sb.append(",\"timestamp\":").append(timestamp);
+        sb.append(",\"type\":").append(JsonUtils.valueAsJson(type));
+        sb.append(",\"name\":").append(JsonUtils.valueAsJson(name));
+        sb.append(",\"action\":").append(JsonUtils.valueAsJson(action));
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    /**
+     * Getter accessor for attribute 'sequence'.
+     *
+     * @return
+     *       current value of 'sequence'
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Getter accessor for attribute 'timestamp'.
+     *
+     * @return
+     *       current value of 'timestamp'
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Getter accessor for attribute 'type'.
+     *
+     * @return
+     *       current value of 'type'
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Getter accessor for attribute 'name'.
+     *
+     * @return
+     *       current value of 'name'
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter accessor for attribute 'action'.
+     *
+     * @return
+     *       current value of 'action'
+     */
+    public String getAction() {
+        return action;
+    }
+
+}
@@ -0,0 +1,266 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, in-memory journal of the write operations performed on the stores.
+ *
+ * <p>Each change gets a sequence number, strictly increasing, starting at 1. Sequences restart with
+ * the feed, so each feed also has an <code>epoch</code> (its creation time, unique in the JVM): consumers
+ * (e.g. the change feed endpoint of the web API) remember the epoch and the last sequence they processed,
+ * see {@link #getEventId(long)}, and resume from there with {@link #readSince(long, int)} or
+ * {@link #awaitSince(long, int, long)}. Only the last <code>capacity</code> events are retained: when a
+ * consumer falls behind, or when the epoch it holds comes from a previous run,
+ * {@link #isResumable(long, long)} returns false and the consumer should reload the whole configuration.</p>
+ *
+ * <p>The feed is filled by the audit proxies, see {@link org.ff4j.FF4j#setChangeFeed(ChangeFeed)}.</p>
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ChangeFeed {
+
+    /** Default number of events retained. */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /** Last epoch given to a feed, two feeds of the same JVM never share an epoch. */
+    private static final AtomicLong LAST_EPOCH = new AtomicLong();
+
+    /** Separator between epoch and sequence in event identifiers. */
+    private static final char ID_SEPARATOR = '-';
+
+    /** Ring buffer, event with sequence 's' is stored at index 's % capacity'. */
+    private final ChangeEvent[] events;
+
+    /** Sequence of the last event appended, 0 when empty. */
+    private long lastSequence = 0;
+
+    /** Run of the feed, sequences of another epoch are meaningless. */
+    private final long epoch;
+
+    /**
+     * Default constructor.
+     */
+    public ChangeFeed() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity.
+     *
+     * @param capacity
+     *      number of events retained
+     */
+    public ChangeFeed(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity of the change feed must be positive");
+        }
+        this.events = new ChangeEvent[capacity];
+        long now = System.currentTimeMillis();
+        this.epoch  = LAST_EPOCH.updateAndGet(last -> Math.max(now, last + 1));
+    }
+
+    /**
+     * Append an audit event to the feed.
+     *
+     * @param evt
+     *      event produced by the audit proxies
+     * @return
+     *      entry created in the feed
+     */
+    public ChangeEvent append(Event evt) {
+        return append(evt.getType(), evt.getName(), evt.getAction(), evt.getTimestamp());
+    }
+
+    /**
+     * Append a change to the feed and wake up waiting consumers.
+     *
+     * @param type
+     *      target type
+     * @param name
+     *      target name
+     * @param action
+     *      action performed
+     * @param timestamp
+     *      time of the change
+     * @return
+     *      entry created in the feed
+     */
+    public synchronized ChangeEvent append(String type, String name, String action, long timestamp) {
+        lastSequence++;
+        ChangeEvent ce = new ChangeEvent(lastSequence, timestamp, type, name, action);
+        events[(int) (lastSequence % events.length)] = ce;
+        notifyAll();
+        return ce;
+    }
+
+    /**
+     * Read events with sequence strictly greater than the one provided.
+     *
+     * @param since
+     *      last sequence processed by the consumer
+     * @param max
+     *      maximum number of events to return
+     * @return
+     *      events in sequence order, may be empty
+     */
+    public synchronized List<ChangeEvent> readSince(long since, int max) {
+        List<ChangeEvent> result = new ArrayList<ChangeEvent>();
+        long seq = Math.max(since + 1, getFirstSequence());
+        while (seq <= lastSequence && result.size() < max) {
+            result.add(events[(int) (seq % events.length)]);
+            seq++;
+        }
+        return result;
+    }
+
+    /**
+     * Read events with sequence strictly greater than the one provided, waiting
+     * up to <code>timeout</code> milliseconds if there are none yet.
+     *
+     * @param since
+     *      last sequence processed by the consumer
+     * @param max
+     *      maximum number of events to return
+     * @param timeout
+     *      maximum time to wait in milliseconds
+     * @return
+     *      events in sequence order, empty if nothing happened before timeout
+     * @throws InterruptedException
+     *      current thread has been interrupted while waiting
+     */
+    public synchronized List<ChangeEvent> awaitSince(long since, int max, long timeout)
+    throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        long remaining = timeout;
+        while (lastSequence <= since && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return readSince(since, max);
+    }
+
+    /**
+     * Tell if every event after the provided sequence is still available. A sequence of a previous run
+     * cannot be told apart when it is lower than the current one, use {@link #isResumable(long, long)}.
+     *
+     * @param since
+     *      last sequence processed by the consumer
+     * @return
+     *      false if events have been dropped or if the sequence is ahead of the feed
+     */
+    public synchronized boolean isResumable(long since) {
+        return since >= getFirstSequence() - 1 && since <= lastSequence;
+    }
+
+    /**
+     * Tell if the consumer position belongs to this feed and every event after it is still available.
+     *
+     * @param epoch
+     *      epoch of the feed the sequence comes from
+     * @param since
+     *      last sequence processed by the consumer
+     * @return
+     *      false if events have been dropped or if the position comes from a previous run
+     */
+    public boolean isResumable(long epoch, long since) {
+        return this.epoch == epoch && isResumable(since);
+    }
+
+    /**
+     * Identifier of an event handed to consumers, epoch and sequence.
+     *
+     * @param sequence
+     *      sequence in the feed
+     * @return
+     *      identifier as <code>epoch-sequence</code>
+     */
+    public String getEventId(long sequence) {
+        return String.valueOf(epoch) + ID_SEPARATOR + sequence;
+    }
+
+    /**
+     * Sequence of an identifier built by {@link #getEventId(long)}.
+     *
+     * @param eventId
+     *      identifier provided by a consumer
+     * @return
+     *      sequence, or -1 (never resumable) if the identifier is invalid or comes from a previous run
+     */
+    public long parseEventId(String eventId) {
+        if (eventId == null) {
+            return -1;
+        }
+        int idx = eventId.indexOf(ID_SEPARATOR);
+        try {
+            if (idx > 0 && Long.parseLong(eventId.substring(0, idx).trim()) == epoch) {
+                return Long.parseLong(eventId.substring(idx + 1).trim());
+            }
+        } catch (NumberFormatException nfe) {
+            // Not an identifier of this feed
+        }
+        return -1;
+    }
+
+    /**
+     * Sequence of the oldest event retained.
+     *
+     * @return
+     *      oldest sequence available, <code>lastSequence + 1</code> when empty
+     */
+    public synchronized long getFirstSequence() {
+        return Math.max(1, lastSequence - events.length + 1);
+    }
+
+    /**
+     * Getter accessor for attribute 'lastSequence'.
+     *
+     * @return
+     *       current value of 'lastSequence'
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Getter accessor for attribute 'epoch'.
+     *
+     * @return
+     *       current value of 'epoch'
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Getter accessor for attribute 'capacity'.
+     *
+     * @return
+     *       current value of 'capacity'
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+}
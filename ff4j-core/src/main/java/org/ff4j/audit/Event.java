@@ -20,6 +20,8 @@ package org.ff4j.audit;
  * #L%
  */
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
@@ -38,8 +40,8 @@ public class Event implements Serializable, Comparable < Event > {
     /** Serial. */
     private static final long serialVersionUID = 6490780530212257217L;
 
-    /** Unique identifier. */
-    private String uuid;
+    /** Unique identifier, generated on first access (volatile for double-checked initialisation). */
+    private volatile String uuid;
     
     /** Time of event creation. */
     private long timestamp;
@@ -76,7 +78,6 @@ public class Event implements Serializable, Comparable < Event > {
      * 
      */
     public Event() {
-        uuid        = UUID.randomUUID().toString();
         timestamp   = System.currentTimeMillis();
         hostName    = IOUtil.resolveHostName();
     }
@@ -104,7 +105,7 @@ public class Event implements Serializable, Comparable < Event > {
      */
     public String toJson() {
         StringBuilder sb = new StringBuilder("{");
-        sb.append("\"id\": \"" + uuid + "\"");
+        sb.append("\"id\": \"" + getUuid() + "\"");
         sb.append(", \"timestamp\":" + timestamp);
         keyAsString(sb, "hostName", hostName);
         keyAsString(sb, "source",   source);
@@ -187,7 +188,18 @@ public class Event implements Serializable, Comparable < Event > {
      *       current value of 'uuid'
      */
     public String getUuid() {
-        return uuid;
+        // SecureRandom behind randomUUID is costly, only pay for it when the id is read
+        String current = uuid;
+        if (current == null) {
+            synchronized (this) {
+                current = uuid;
+                if (current == null) {
+                    current = UUID.randomUUID().toString();
+                    uuid = current;
+                }
+            }
+        }
+        return current;
     }
 
     /**
@@ -386,5 +398,18 @@ public class Event implements Serializable, Comparable < Event > {
         // Not equals even if same timestamp (of course...)
         return (myTime != 0) ? myTime : evt.getUuid().compareTo(getUuid());
     }
+    
+    /**
+     * Make sure the lazy identifier is part of the serialized form.
+     *
+     * @param out
+     *      target stream
+     * @throws IOException
+     *      error during serialization
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getUuid();
+        out.defaultWriteObject();
+    }
 
 }
@@ -65,6 +65,16 @@ public class EventConstants {
     public static final String ATTRIBUTE_DURATION = "duration";
     public static final String ATTRIBUTE_USER     = "user";
     public static final String ATTRIBUTE_KEYS     = "customKeys";
+    
+    /** Custom key holding the number of hits of an aggregated event (1 when absent). */
+    public static final String ATTRIBUTE_HITCOUNT = "hitCount";
+    
+    /** Custom key holding the roll-up level of an aggregated event (see {@link EventRetentionEngine}). */
+    public static final String ATTRIBUTE_ROLLUP   = "rollup";
+    
+    /** ROLL-UP LEVELS. */
+    public static final String ROLLUP_HOURLY      = "hourly";
+    public static final String ROLLUP_DAILY       = "daily";
 
 	/** total hit count. */
 	public static final String TITLE_PIE_HITCOUNT = "Total Hit Counts";
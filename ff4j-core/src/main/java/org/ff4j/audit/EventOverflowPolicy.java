@@ -0,0 +1,39 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Behaviour of the {@link AsyncEventPublisher} when its buffer cannot accept more events.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public enum EventOverflowPolicy {
+
+    /** Buffer is full, the incoming event is discarded. */
+    DROP_NEWEST,
+
+    /** Buffer is full, the oldest pending event is discarded to make room for the incoming one. */
+    DROP_OLDEST,
+
+    /** Above the high-water mark only one event out of 'sampleRate' is kept, full buffer drops newest. */
+    SAMPLE;
+
+}
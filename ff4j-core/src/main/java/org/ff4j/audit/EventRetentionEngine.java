@@ -0,0 +1,542 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_HITCOUNT;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_ROLLUP;
+import static org.ff4j.audit.EventConstants.ROLLUP_DAILY;
+import static org.ff4j.audit.EventConstants.ROLLUP_HOURLY;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.property.PropertyLong;
+import org.ff4j.property.store.PropertyStore;
+import org.ff4j.utils.Util;
+
+/**
+ * Retention of audit data with a {@link RetentionPolicy} per action.
+ * 
+ * Checks ({@link EventConstants#ACTION_CHECK_OK}, {@link EventConstants#ACTION_CHECK_OFF}) older than the policy
+ * are rolled up : events of a time window are read, replaced by one aggregated {@link Event} per (feature, action, host,
+ * source, user, hour or day) carrying the number of hits in custom key {@link EventConstants#ATTRIBUTE_HITCOUNT} and
+ * the level in {@link EventConstants#ATTRIBUTE_ROLLUP}. As hit counts and charts already sum 
+ * {@link MutableHitCount#hitsOf(Event)}, queries merge raw and aggregated events transparently. Other actions 
+ * (audit trail) are only dropped.
+ * 
+ * Aggregates are saved before the events they replace are purged, their identifier is derived from the dimensions
+ * and the bucket (not from the events, some stores rebuild them with a new identifier) : a run interrupted between
+ * the two steps finds the aggregates already saved and completes the purge. Events of a bucket arriving after its
+ * aggregate are purged without being counted, the cutoff of a policy is expected to be older than any late event.
+ * Only stores honouring query bounds ({@link EventRepository#supportsRangePurge()}) are accepted.
+ * 
+ * Windows are processed one day at a time from a watermark kept per action and step, each run only reads what
+ * changed since the previous one. A day is read in slices, split until a search no longer fills the
+ * {@link EventSeries} capacity, and the watermark moves only once the whole day has been aggregated and purged. Watermarks are saved in a {@link PropertyStore} when provided, else the first 
+ * run after a restart looks back 'horizon' milliseconds again (already aggregated windows are left untouched).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventRetentionEngine {
+    
+    /** DEFAULT : one hour. */
+    public static final long DEFAULT_RUN_INTERVAL = 3600000L;
+    
+    /** DEFAULT : one year. */
+    public static final long DEFAULT_HORIZON = TimeUnit.DAYS.toMillis(365);
+    
+    /** Prefix of properties holding watermarks. */
+    public static final String WATERMARK_PREFIX = "ff4j.audit.retention.";
+    
+    /** Watermark of hourly roll-up. */
+    private static final String STEP_HOURLY = ".hourly";
+    
+    /** Watermark of daily roll-up. */
+    private static final String STEP_DAILY = ".daily";
+    
+    /** Watermark of drop. */
+    private static final String STEP_DROP = ".drop";
+    
+    /** One hour in milliseconds. */
+    private static final long HOUR = 3600000L;
+    
+    /** Target repository. */
+    private final EventRepository repository;
+    
+    /** Store for watermarks (optional). */
+    private final PropertyStore watermarkStore;
+    
+    /** Policies per action. */
+    private final Map<String, RetentionPolicy> policies = new ConcurrentHashMap<>();
+    
+    /** End of last processed window per action and step. */
+    private final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+    
+    /** First run look back. */
+    private long horizon = DEFAULT_HORIZON;
+    
+    /** Time zone of hourly and daily aggregates, same as time series charts. */
+    private TimeZone timeZone = TimeZone.getDefault();
+    
+    /** Scheduler. */
+    private ScheduledExecutorService executor;
+    
+    /**
+     * Default constructor, watermarks are kept in memory.
+     *
+     * @param repository
+     *      repository to clean
+     */
+    public EventRetentionEngine(EventRepository repository) {
+        this(repository, null);
+    }
+    
+    /**
+     * Constructor with watermarks saved as properties.
+     *
+     * @param repository
+     *      repository to clean
+     * @param watermarkStore
+     *      store for watermarks, can be null
+     */
+    public EventRetentionEngine(EventRepository repository, PropertyStore watermarkStore) {
+        Util.assertNotNull(repository);
+        if (!repository.supportsRangePurge()) {
+            throw new IllegalArgumentException("Repository " + repository.getClass().getSimpleName() 
+                    + " cannot purge a range of events, retention would lose or count hits twice");
+        }
+        this.repository     = repository;
+        this.watermarkStore = watermarkStore;
+    }
+    
+    /**
+     * Define policy of an action.
+     *
+     * @param action
+     *      event action
+     * @param policy
+     *      retention policy
+     * @return
+     *      current engine
+     */
+    public EventRetentionEngine policy(String action, RetentionPolicy policy) {
+        Util.assertHasLength(action);
+        Util.assertNotNull(policy);
+        policies.put(action, policy);
+        return this;
+    }
+    
+    /**
+     * Run in background every {@link #DEFAULT_RUN_INTERVAL}.
+     */
+    public void start() {
+        start(DEFAULT_RUN_INTERVAL);
+    }
+    
+    /**
+     * Run in background.
+     *
+     * @param runInterval
+     *      delay between two runs in milliseconds
+     */
+    public synchronized void start(long runInterval) {
+        if (runInterval < 1) {
+            throw new IllegalArgumentException("Run interval should be positive");
+        }
+        if (executor != null) {
+            throw new IllegalStateException("Retention engine is already started");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "FF4j_EventRetention");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                run();
+            } catch (RuntimeException ex) {
+                // Do not stop the scheduler, the window in error is processed again on next run
+            }
+        }, 0, runInterval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stop background runs.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+    
+    /**
+     * Apply policies now.
+     *
+     * @return
+     *      number of aggregated events written
+     */
+    public int run() {
+        return run(System.currentTimeMillis());
+    }
+    
+    /**
+     * Apply policies at a given time.
+     *
+     * @param now
+     *      reference time
+     * @return
+     *      number of aggregated events written
+     */
+    public synchronized int run(long now) {
+        int written = 0;
+        for (Map.Entry<String, RetentionPolicy> entry : policies.entrySet()) {
+            String action = entry.getKey();
+            RetentionPolicy policy = entry.getValue();
+            if (isUsage(action)) {
+                if (policy.isHourlyRollUp()) {
+                    written += rollUp(action, STEP_HOURLY, floorHour(now - policy.getRaw()), ROLLUP_HOURLY);
+                }
+                if (policy.isDailyRollUp()) {
+                    written += rollUp(action, STEP_DAILY, floorDay(now - policy.getHourly()), ROLLUP_DAILY);
+                }
+            }
+            if (policy.isDrop()) {
+                drop(action, now - policy.getMax());
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Replace events of an action older than cutoff by aggregates.
+     *
+     * @param action
+     *      check action
+     * @param step
+     *      watermark step
+     * @param cutoff
+     *      end of window (excluded)
+     * @param level
+     *      roll-up level
+     * @return
+     *      number of aggregated events written
+     */
+    private int rollUp(String action, String step, long cutoff, String level) {
+        long start = getWatermark(action + step, ROLLUP_DAILY.equals(level) ? floorDay(cutoff - horizon) : floorHour(cutoff - horizon));
+        int written = 0;
+        while (start < cutoff) {
+            long end = Math.min(nextDay(start), cutoff);
+            written += rollUpWindow(action, start, end, level);
+            // Only reached when every slice of the window has been aggregated and purged
+            start = end;
+            putWatermark(action + step, start);
+        }
+        return written;
+    }
+    
+    /**
+     * Replace events of a window by aggregates, slice by slice to stay below the capacity of {@link EventSeries}.
+     *
+     * @param action
+     *      check action
+     * @param start
+     *      start of window (included)
+     * @param end
+     *      end of window (excluded)
+     * @param level
+     *      roll-up level
+     * @return
+     *      number of aggregated events written
+     */
+    private int rollUpWindow(String action, long start, long end, String level) {
+        Map<String, Event> rows = new LinkedHashMap<>();
+        Set<String> existing = new HashSet<>();
+        forEachSlice(action, start, end, events -> {
+            for (Event evt : events) {
+                int rank = rank(evt.getKey(ATTRIBUTE_ROLLUP));
+                if (rank == rank(level)) {
+                    // Aggregate saved by a previous run, left untouched
+                    existing.add(aggregateUid(evt, level));
+                } else if (rank < rank(level)) {
+                    accumulate(rows, evt, level);
+                }
+            }
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Event> created = new ArrayList<>();
+        for (Map.Entry<String, Event> row : rows.entrySet()) {
+            if (!existing.contains(row.getKey())) {
+                created.add(row.getValue());
+            }
+        }
+        // Aggregates first, if the purge fails they are found as existing on next run
+        repository.saveEvents(created);
+        forEachSlice(action, start, end, events -> {
+            List<Event> sources = new ArrayList<>();
+            for (Event evt : events) {
+                if (rank(evt.getKey(ATTRIBUTE_ROLLUP)) < rank(level)) {
+                    sources.add(evt);
+                }
+            }
+            if (!sources.isEmpty()) {
+                repository.purgeEvents(sources);
+            }
+        });
+        return created.size();
+    }
+    
+    /**
+     * Read events of a window in slices, a slice is split while the search fills the {@link EventSeries}.
+     *
+     * @param action
+     *      check action
+     * @param start
+     *      start of window (included)
+     * @param end
+     *      end of window (excluded)
+     * @param consumer
+     *      process events of a slice
+     */
+    private void forEachSlice(String action, long start, long end, Consumer<List<Event>> consumer) {
+        long from  = start;
+        long width = end - start;
+        while (from < end) {
+            long to = Math.min(from + width, end);
+            EventSeries series = repository.searchFeatureUsageEvents(window(action, from - 1, to));
+            if (series.isFull()) {
+                if (to - from == 1) {
+                    throw new IllegalStateException("More than " + series.getCapacity() 
+                            + " events at " + from + ", cannot roll up " + action);
+                }
+                width = (to - from) / 2;
+                continue;
+            }
+            // Stores have inclusive or exclusive bounds, keep [from, to[
+            List<Event> events = new ArrayList<>();
+            for (Event evt : series) {
+                if (evt.getTimestamp() >= from && evt.getTimestamp() < to) {
+                    events.add(evt);
+                }
+            }
+            consumer.accept(events);
+            from = to;
+            if (series.size() < series.getCapacity() / 4) {
+                // Sparse again after a burst
+                width = Math.min(width * 2, end - start);
+            }
+        }
+    }
+    
+    /**
+     * Drop events of an action older than cutoff.
+     *
+     * @param action
+     *      event action
+     * @param cutoff
+     *      end of window (excluded)
+     */
+    private void drop(String action, long cutoff) {
+        long start = getWatermark(action + STEP_DROP, cutoff - horizon);
+        if (start < cutoff) {
+            if (isUsage(action)) {
+                repository.purgeFeatureUsage(window(action, start - 1, cutoff - 1));
+            } else {
+                repository.purgeAuditTrail(window(action, start - 1, cutoff - 1));
+            }
+            putWatermark(action + STEP_DROP, cutoff);
+        }
+    }
+    
+    /**
+     * Add hits of an event to the aggregate of its dimensions and bucket.
+     *
+     * @param rows
+     *      aggregates by identifier
+     * @param evt
+     *      raw event or finer aggregate
+     * @param level
+     *      roll-up level
+     */
+    private void accumulate(Map<String, Event> rows, Event evt, String level) {
+        Event row = rows.computeIfAbsent(aggregateUid(evt, level), uid -> {
+            Event created = new Event(evt.getSource(), TARGET_FEATURE, evt.getName(), evt.getAction());
+            created.setUuid(uid);
+            created.setTimestamp(bucket(evt.getTimestamp(), level));
+            created.setHostName(evt.getHostName());
+            created.setUser(evt.getUser());
+            created.put(ATTRIBUTE_HITCOUNT, "0");
+            created.put(ATTRIBUTE_ROLLUP, level);
+            return created;
+        });
+        long hits = Long.parseLong(row.getKey(ATTRIBUTE_HITCOUNT)) + MutableHitCount.hitsOf(evt);
+        row.put(ATTRIBUTE_HITCOUNT, String.valueOf(hits));
+    }
+    
+    /**
+     * Identifier of an aggregate derived from its dimensions and bucket, stores rebuilding events with a new
+     * identifier give the same value on next run.
+     *
+     * @param evt
+     *      raw event or aggregate
+     * @param level
+     *      roll-up level
+     * @return
+     *      name-based uuid
+     */
+    private String aggregateUid(Event evt, String level) {
+        String key = String.join("\n", level, evt.getName(), evt.getAction(), 
+                String.valueOf(evt.getHostName()), String.valueOf(evt.getSource()), String.valueOf(evt.getUser()),
+                String.valueOf(bucket(evt.getTimestamp(), level)));
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+    
+    private long bucket(long time, String level) {
+        return ROLLUP_DAILY.equals(level) ? floorDay(time) : floorHour(time);
+    }
+    
+    private EventQueryDefinition window(String action, long from, long to) {
+        EventQueryDefinition query = new EventQueryDefinition(from, to);
+        query.getActionFilters().add(action);
+        return query;
+    }
+    
+    private long getWatermark(String key, long defaultValue) {
+        Long watermark = watermarks.get(key);
+        if (watermark == null && watermarkStore != null && watermarkStore.existProperty(WATERMARK_PREFIX + key)) {
+            watermark = Long.valueOf(watermarkStore.readProperty(WATERMARK_PREFIX + key).asString());
+            watermarks.put(key, watermark);
+        }
+        return (watermark == null) ? defaultValue : watermark;
+    }
+    
+    private void putWatermark(String key, long watermark) {
+        watermarks.put(key, watermark);
+        if (watermarkStore != null) {
+            if (watermarkStore.existProperty(WATERMARK_PREFIX + key)) {
+                watermarkStore.updateProperty(WATERMARK_PREFIX + key, String.valueOf(watermark));
+            } else {
+                watermarkStore.createProperty(new PropertyLong(WATERMARK_PREFIX + key, watermark));
+            }
+        }
+    }
+    
+    /** Raw events 0, hourly 1, daily 2. */
+    private int rank(String level) {
+        if (ROLLUP_DAILY.equals(level)) {
+            return 2;
+        }
+        return ROLLUP_HOURLY.equals(level) ? 1 : 0;
+    }
+    
+    private boolean isUsage(String action) {
+        return ACTION_CHECK_OK.equals(action) || ACTION_CHECK_OFF.equals(action);
+    }
+    
+    private long floorHour(long time) {
+        return time - Math.floorMod(time + timeZone.getOffset(time), HOUR);
+    }
+    
+    private long floorDay(long time) {
+        Calendar cal = Calendar.getInstance(timeZone);
+        cal.setTimeInMillis(time);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTimeInMillis();
+    }
+    
+    private long nextDay(long time) {
+        Calendar cal = Calendar.getInstance(timeZone);
+        cal.setTimeInMillis(floorDay(time));
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        return cal.getTimeInMillis();
+    }
+    
+    /**
+     * Getter accessor for attribute 'policies'.
+     *
+     * @return
+     *       current value of 'policies'
+     */
+    public Map<String, RetentionPolicy> getPolicies() {
+        return policies;
+    }
+
+    /**
+     * Getter accessor for attribute 'horizon'.
+     *
+     * @return
+     *       current value of 'horizon'
+     */
+    public long getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Setter accessor for attribute 'horizon'.
+     * @param horizon
+     * 		new value for 'horizon '
+     */
+    public void setHorizon(long horizon) {
+        this.horizon = horizon;
+    }
+
+    /**
+     * Getter accessor for attribute 'timeZone'.
+     *
+     * @return
+     *       current value of 'timeZone'
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Setter accessor for attribute 'timeZone'.
+     * @param timeZone
+     * 		new value for 'timeZone '
+     */
+    public void setTimeZone(TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+}
@@ -0,0 +1,186 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer holding {@link Event} before they are written in the repository.
+ * 
+ * Each slot carries a sequence number telling whether it can be written or read (D. Vyukov bounded queue),
+ * producers and consumers only contend with a CAS on their own cursor. Application threads enqueue
+ * while one or more drainer threads dequeue. Consumer operations are safe for several threads
+ * which allows producers to evict the oldest element when the buffer is full.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventRingBuffer {
+    
+    /** Slots. */
+    private final AtomicReferenceArray<Event> buffer;
+    
+    /** Sequence number for each slot. */
+    private final AtomicLongArray sequences;
+    
+    /** Capacity minus one (capacity is a power of 2). */
+    private final int mask;
+    
+    /** Next position to write. */
+    private final AtomicLong enqueuePosition = new AtomicLong(0);
+    
+    /** Next position to read. */
+    private final AtomicLong dequeuePosition = new AtomicLong(0);
+    
+    /**
+     * Constructor with capacity.
+     *
+     * @param expectedCapacity
+     *      minimal capacity of the buffer, rounded to the next power of 2
+     */
+    public EventRingBuffer(int expectedCapacity) {
+        if (expectedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity should be greater than 1");
+        }
+        int capacity = Integer.highestOneBit(expectedCapacity - 1) << 1;
+        this.buffer    = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask      = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    /**
+     * Add an event at the end of the buffer without blocking.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      false if the buffer is full
+     */
+    public boolean offer(Event evt) {
+        if (evt == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        long pos = enqueuePosition.get();
+        for (;;) {
+            int idx  = (int) (pos & mask);
+            long dif = sequences.get(idx) - pos;
+            if (dif == 0) {
+                if (enqueuePosition.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(idx, evt);
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+                pos = enqueuePosition.get();
+            } else if (dif < 0) {
+                return false;
+            } else {
+                pos = enqueuePosition.get();
+            }
+        }
+    }
+    
+    /**
+     * Remove and return the oldest event without blocking.
+     *
+     * @return
+     *      oldest event or null if the buffer is empty
+     */
+    public Event poll() {
+        long pos = dequeuePosition.get();
+        for (;;) {
+            int idx  = (int) (pos & mask);
+            long dif = sequences.get(idx) - (pos + 1);
+            if (dif == 0) {
+                if (dequeuePosition.compareAndSet(pos, pos + 1)) {
+                    Event evt = buffer.get(idx);
+                    buffer.lazySet(idx, null);
+                    sequences.set(idx, pos + mask + 1);
+                    return evt;
+                }
+                pos = dequeuePosition.get();
+            } else if (dif < 0) {
+                return null;
+            } else {
+                pos = dequeuePosition.get();
+            }
+        }
+    }
+    
+    /**
+     * Move up to 'max' events into the target collection.
+     *
+     * @param target
+     *      collection to fill
+     * @param max
+     *      maximum number of events to move
+     * @return
+     *      number of events moved
+     */
+    public int drainTo(Collection<Event> target, int max) {
+        int count = 0;
+        Event evt;
+        while (count < max && (evt = poll()) != null) {
+            target.add(evt);
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Approximative number of pending events.
+     *
+     * @return
+     *      current size
+     */
+    public int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity());
+    }
+    
+    /**
+     * Check if the buffer is empty.
+     *
+     * @return
+     *      if no pending events
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Real capacity of the buffer.
+     *
+     * @return
+     *      capacity (power of 2)
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+}
@@ -69,10 +69,30 @@ public class EventSeries extends TreeSet< Event > {
         this.capacity = capacity;
     }
     
+    /**
+     * Tell if events have been refused, a search returning a full series may have been truncated.
+     *
+     * @return
+     *      if the capacity is reached
+     */
+    public boolean isFull() {
+        return capacity > 0 && size() >= capacity;
+    }
+
+    /**
+     * Getter accessor for attribute 'capacity'.
+     *
+     * @return
+     *       current value of 'capacity'
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public boolean add(final Event e) {
-        if (capacity > 0 && size() >= capacity) {
+        if (isFull()) {
             return false;
         }
         return super.add(e);
@@ -0,0 +1,300 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_HITCOUNT;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.ff4j.audit.repository.EventRepository;
+
+/**
+ * Metrics mode for feature usage : checks ({@link EventConstants#ACTION_CHECK_OK}, {@link EventConstants#ACTION_CHECK_OFF})
+ * are not stored one by one but counted in memory by (feature, action, host, source, user, time bucket) with
+ * striped {@link LongAdder}. A background task periodically flushes aggregated rows into the {@link EventRepository}
+ * with a single {@link EventRepository#saveEvents(java.util.Collection)}.
+ * 
+ * An aggregated row is an {@link Event} whose timestamp is the beginning of the bucket and carrying the number
+ * of hits in custom key {@link EventConstants#ATTRIBUTE_HITCOUNT}. Other events (audit trail) are published as usual.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class MetricsEventPublisher extends EventPublisher {
+    
+    /** DEFAULT : one minute. */
+    public static final long DEFAULT_BUCKET_WIDTH = 60000L;
+    
+    /** DEFAULT : ten seconds. */
+    public static final long DEFAULT_FLUSH_INTERVAL = 10000L;
+    
+    /** Counters. */
+    private final Map<HitCountKey, LongAdder> counters = new ConcurrentHashMap<>();
+    
+    /** Keys found empty at last flush, removed at next one if still empty. */
+    private final Map<HitCountKey, Boolean> idleKeys = new ConcurrentHashMap<>();
+    
+    /** Width of a time bucket in milliseconds. */
+    private final long bucketWidth;
+    
+    /** Scheduler for flush. */
+    private ScheduledExecutorService executor;
+    
+    /**
+     * Default constructor.
+     */
+    public MetricsEventPublisher(EventRepository er) {
+        this(er, DEFAULT_BUCKET_WIDTH, DEFAULT_FLUSH_INTERVAL);
+    }
+    
+    /**
+     * Parameterized constructor.
+     *
+     * @param er
+     *      repository to save aggregated rows
+     * @param bucketWidth
+     *      width of a time bucket in milliseconds
+     * @param flushInterval
+     *      delay between two flushes in milliseconds
+     */
+    public MetricsEventPublisher(EventRepository er, long bucketWidth, long flushInterval) {
+        super(DEFAULT_QUEUE_CAPACITY, DEFAULT_POOL_SIZE, er);
+        if (bucketWidth < 1) {
+            throw new IllegalArgumentException("Bucket width should be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "FF4j_MetricsEventPublisher");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void publish(Event e) {
+        if (e != null && TARGET_FEATURE.equals(e.getType()) 
+                && (ACTION_CHECK_OK.equals(e.getAction()) || ACTION_CHECK_OFF.equals(e.getAction()))) {
+            hit(e.getName(), e.getAction(), e.getHostName(), e.getSource(), e.getUser(), e.getTimestamp());
+        } else {
+            super.publish(e);
+        }
+    }
+    
+    /**
+     * Count a check without creating any {@link Event}.
+     *
+     * @param feature
+     *      feature unique identifier
+     * @param action
+     *      check action
+     * @param host
+     *      current host
+     * @param source
+     *      current source
+     * @param user
+     *      current user if any
+     * @param timestamp
+     *      time of check
+     */
+    public void hit(String feature, String action, String host, String source, String user, long timestamp) {
+        add(new HitCountKey(feature, action, host, source, user, timestamp / bucketWidth), 1);
+    }
+    
+    /**
+     * Add hits to a counter. A counter removed by flush while being incremented is drained again
+     * and its hits moved to the new counter, nothing is lost.
+     *
+     * @param key
+     *      counter dimensions
+     * @param hits
+     *      number of hits
+     */
+    private void add(HitCountKey key, long hits) {
+        while (hits > 0) {
+            LongAdder adder = counters.get(key);
+            if (adder == null) {
+                adder = counters.computeIfAbsent(key, k -> new LongAdder());
+            }
+            adder.add(hits);
+            if (counters.get(key) == adder) {
+                return;
+            }
+            // Removed meanwhile, the flush may already have drained it
+            hits = adder.sumThenReset();
+        }
+    }
+    
+    /**
+     * Write aggregated rows into repository, constant cost whatever the number of checks.
+     * 
+     * Counters are reset and not removed to keep hot entries, an entry is removed only after two 
+     * flushes without any hit. Hits on a removed counter are moved to a new one. When the repository
+     * fails the hits drained are added back to the counters.
+     *
+     * @return
+     *      number of rows written
+     */
+    public synchronized int flush() {
+        List<Event> rows = new ArrayList<>();
+        Map<HitCountKey, Long> drained = new HashMap<>();
+        Iterator<Map.Entry<HitCountKey, LongAdder>> entries = counters.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<HitCountKey, LongAdder> entry = entries.next();
+            LongAdder adder = entry.getValue();
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                idleKeys.remove(entry.getKey());
+                rows.add(entry.getKey().toEvent(bucketWidth, count));
+                drained.put(entry.getKey(), count);
+            } else if (idleKeys.remove(entry.getKey()) != null) {
+                // Only if not replaced, hits counted since reset are kept
+                if (counters.remove(entry.getKey(), adder)) {
+                    add(entry.getKey(), adder.sumThenReset());
+                }
+            } else {
+                idleKeys.put(entry.getKey(), Boolean.TRUE);
+            }
+        }
+        if (!rows.isEmpty()) {
+            try {
+                getRepository().saveEvents(rows);
+            } catch (RuntimeException ex) {
+                // Hits are counted again and written by next flush
+                for (Map.Entry<HitCountKey, Long> entry : drained.entrySet()) {
+                    add(entry.getKey(), entry.getValue());
+                }
+                // Do not propagate error, it's monitoring (aside business logic)
+                return 0;
+            }
+        }
+        return rows.size();
+    }
+    
+    /**
+     * Flush pending counters and stop.
+     */
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        flush();
+        super.stop();
+    }
+    
+    /**
+     * Number of distinct counters in memory.
+     *
+     * @return
+     *      size of counters
+     */
+    public int getCounterCount() {
+        return counters.size();
+    }
+    
+    /**
+     * Getter accessor for attribute 'bucketWidth'.
+     *
+     * @return
+     *       current value of 'bucketWidth'
+     */
+    public long getBucketWidth() {
+        return bucketWidth;
+    }
+    
+    /**
+     * Dimensions of a counter.
+     */
+    private static final class HitCountKey {
+        
+        private final String feature;
+        private final String action;
+        private final String host;
+        private final String source;
+        private final String user;
+        private final long bucket;
+        private final int hash;
+        
+        private HitCountKey(String feature, String action, String host, String source, String user, long bucket) {
+            this.feature = feature;
+            this.action  = action;
+            this.host    = host;
+            this.source  = source;
+            this.user    = user;
+            this.bucket  = bucket;
+            int h = Objects.hashCode(feature);
+            h = 31 * h + Objects.hashCode(action);
+            h = 31 * h + Objects.hashCode(host);
+            h = 31 * h + Objects.hashCode(source);
+            h = 31 * h + Objects.hashCode(user);
+            this.hash = 31 * h + Long.hashCode(bucket);
+        }
+        
+        private Event toEvent(long bucketWidth, long count) {
+            Event row = new Event(source, TARGET_FEATURE, feature, action);
+            row.setTimestamp(bucket * bucketWidth);
+            row.setHostName(host);
+            row.setUser(user);
+            row.put(ATTRIBUTE_HITCOUNT, String.valueOf(count));
+            return row;
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof HitCountKey)) {
+                return false;
+            }
+            HitCountKey other = (HitCountKey) obj;
+            return bucket == other.bucket 
+                    && Objects.equals(feature, other.feature) 
+                    && Objects.equals(action, other.action)
+                    && Objects.equals(host, other.host) 
+                    && Objects.equals(source, other.source) 
+                    && Objects.equals(user, other.user);
+        }
+    }
+
+}
@@ -20,6 +20,8 @@ package org.ff4j.audit;
  * #L%
  */
 
+import java.util.Map;
+
 /**
  * Utility class to perform some computation. The mutable implementation is more efficient because
  * there is less instanciations.
@@ -59,6 +61,51 @@ public final class MutableHitCount {
         value += operand;
     }
     
+    /**
+     * Increment by the number of hits represented by the event.
+     *
+     * @param evt
+     *      current event
+     */
+    public void inc(Event evt) {
+        value += hitsOf(evt);
+    }
+    
+    /**
+     * Number of hits represented by an event, aggregated events (metrics mode) carry
+     * their count in custom key {@link EventConstants#ATTRIBUTE_HITCOUNT}.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      number of hits (1 for a regular event)
+     */
+    public static int hitsOf(Event evt) {
+        return hitsOf(evt.getCustomKeys());
+    }
+    
+    /**
+     * Number of hits represented by the custom keys of a stored event.
+     *
+     * @param customKeys
+     *      custom keys (can be null)
+     * @return
+     *      number of hits (1 for a regular event)
+     */
+    public static int hitsOf(Map<String, String> customKeys) {
+        if (customKeys != null) {
+            String hitCount = customKeys.get(EventConstants.ATTRIBUTE_HITCOUNT);
+            if (hitCount != null) {
+                try {
+                    return Integer.parseInt(hitCount);
+                } catch (NumberFormatException nfe) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+    
     /**
      * Read value.
      * @return
@@ -0,0 +1,165 @@
+package org.ff4j.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long events of an action are kept by the {@link EventRetentionEngine}.
+ * 
+ * Checks can be rolled up : raw events older than 'raw' are replaced by hourly aggregates, hourly aggregates
+ * older than 'hourly' by daily aggregates. Anything older than 'max' is dropped. A negative duration disables
+ * the step (no roll-up, no drop).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class RetentionPolicy {
+    
+    /** Disabled step. */
+    public static final long NEVER = -1;
+    
+    /** Raw events kept in milliseconds. */
+    private final long raw;
+    
+    /** Hourly aggregates kept in milliseconds. */
+    private final long hourly;
+    
+    /** Any event kept in milliseconds. */
+    private final long max;
+    
+    /**
+     * Parameterized constructor.
+     *
+     * @param raw
+     *      raw events kept before hourly roll-up, milliseconds
+     * @param hourly
+     *      hourly aggregates kept before daily roll-up, milliseconds
+     * @param max
+     *      events kept before drop, milliseconds
+     */
+    public RetentionPolicy(long raw, long hourly, long max) {
+        if (raw >= 0 && hourly >= 0 && hourly < raw) {
+            throw new IllegalArgumentException("Hourly aggregates cannot be rolled up before raw events");
+        }
+        if (max >= 0 && (max < raw || max < hourly)) {
+            throw new IllegalArgumentException("Events cannot be dropped before being rolled up");
+        }
+        this.raw    = raw;
+        this.hourly = hourly;
+        this.max    = max;
+    }
+    
+    /**
+     * Roll checks up into hourly then daily aggregates.
+     *
+     * @param rawHours
+     *      hours of raw events
+     * @param hourlyDays
+     *      days of hourly aggregates
+     * @param maxDays
+     *      days before drop, negative to keep daily aggregates forever
+     * @return
+     *      policy
+     */
+    public static RetentionPolicy rollUp(int rawHours, int hourlyDays, int maxDays) {
+        return new RetentionPolicy(TimeUnit.HOURS.toMillis(rawHours), TimeUnit.DAYS.toMillis(hourlyDays), 
+                maxDays < 0 ? NEVER : TimeUnit.DAYS.toMillis(maxDays));
+    }
+    
+    /**
+     * Drop events without roll-up (audit trail).
+     *
+     * @param maxDays
+     *      days before drop
+     * @return
+     *      policy
+     */
+    public static RetentionPolicy dropAfter(int maxDays) {
+        return new RetentionPolicy(NEVER, NEVER, TimeUnit.DAYS.toMillis(maxDays));
+    }
+    
+    /**
+     * If raw events are rolled up into hourly aggregates.
+     *
+     * @return
+     *      hourly roll-up enabled
+     */
+    public boolean isHourlyRollUp() {
+        return raw >= 0;
+    }
+    
+    /**
+     * If hourly aggregates are rolled up into daily aggregates.
+     *
+     * @return
+     *      daily roll-up enabled
+     */
+    public boolean isDailyRollUp() {
+        return hourly >= 0;
+    }
+    
+    /**
+     * If events are dropped.
+     *
+     * @return
+     *      drop enabled
+     */
+    public boolean isDrop() {
+        return max >= 0;
+    }
+    
+    /**
+     * Getter accessor for attribute 'raw'.
+     *
+     * @return
+     *       current value of 'raw'
+     */
+    public long getRaw() {
+        return raw;
+    }
+
+    /**
+     * Getter accessor for attribute 'hourly'.
+     *
+     * @return
+     *       current value of 'hourly'
+     */
+    public long getHourly() {
+        return hourly;
+    }
+
+    /**
+     * Getter accessor for attribute 'max'.
+     *
+     * @return
+     *       current value of 'max'
+     */
+    public long getMax() {
+        return max;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "{raw:" + raw + ", hourly:" + hourly + ", max:" + max + "}";
+    }
+
+}
@@ -20,13 +20,16 @@ package org.ff4j.audit.chart;
  * #L%
  */
 
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
 
 import org.ff4j.audit.Event;
 import org.ff4j.audit.MutableHitCount;
@@ -51,6 +54,18 @@ public class TimeSeriesChart extends AbstractChart {
     /** SerieID -> Serie (label/color/value) value=<slotID, nombre de point> */
     private Map < String, Serie < Map < String, MutableHitCount >>> series = 
             new HashMap<String, Serie<Map<String,MutableHitCount>>>();
+
+    /** Above this number of events, {@link #addEvents(Collection)} aggregates in parallel. */
+    public static final int PARALLEL_THRESHOLD = 10000;
+
+    /** Width of a slot in milliseconds. */
+    private long slotWidth = 1000;
+
+    /** Start time of each slot (parsed once from its label), resolution without formatting dates. */
+    private long[] slotStarts = new long[0];
+
+    /** SerieID -> counters indexed by slot, same instances as in the serie map. */
+    private transient Map < String, MutableHitCount[] > slotCounters = new HashMap<String, MutableHitCount[]>();
     
     /**
      * Default constuctor
@@ -111,8 +126,66 @@ public class TimeSeriesChart extends AbstractChart {
             String slotLabel   = sdf.format(new Date(startSlotTime));
             getTimeSlots().add(slotLabel);
         }
+        // Labels are formatted once, events are then matched by time
+        this.slotWidth  = slotWitdh;
+        this.slotStarts = new long[timeSlots.size()];
+        for (int i = 0; i < slotStarts.length; i++) {
+            try {
+                slotStarts[i] = sdf.parse(timeSlots.get(i)).getTime();
+            } catch (ParseException pe) {
+                slotStarts[i] = from + slotWitdh * i;
+            }
+        }
     }
-    
+
+    /**
+     * Getter accessor for attribute 'slotWidth'.
+     *
+     * @return
+     *       current value of 'slotWidth'
+     */
+    public long getSlotWidth() {
+        return slotWidth;
+    }
+
+    /**
+     * Finest bucket (in seconds) a store can aggregate on without crossing slot boundaries: slots of
+     * an hour or a day start on a local time which is always a whole minute away from epoch.
+     *
+     * @return
+     *       bucket width in seconds
+     */
+    public long getBucketSeconds() {
+        return Math.max(1, Math.min(slotWidth, 60000) / 1000);
+    }
+
+    /**
+     * Find the slot of a timestamp, same result as matching the formatted date against slot labels.
+     *
+     * @param timestamp
+     *      event time
+     * @return
+     *      slot index or -1 if outside of the chart
+     */
+    public int getSlotIndex(long timestamp) {
+        int nbSlots = slotStarts.length;
+        if (nbSlots == 0 || timestamp < slotStarts[0]) {
+            return -1;
+        }
+        int idx = (int) Math.min((timestamp - slotStarts[0]) / slotWidth, nbSlots - 1);
+        // Slots are not all the same width when daylight saving time changes
+        while (idx > 0 && timestamp < slotStarts[idx]) {
+            idx--;
+        }
+        while (idx + 1 < nbSlots && timestamp >= slotStarts[idx + 1]) {
+            idx++;
+        }
+        if (idx == nbSlots - 1 && timestamp >= slotStarts[idx] + slotWidth) {
+            return -1;
+        }
+        return idx;
+    }
+
     /**
      * Add Event to chart.
      *
@@ -120,17 +193,99 @@ public class TimeSeriesChart extends AbstractChart {
      *      current event
      */
     public void addEvent(Event evt) {
-        if (!series.containsKey(evt.getName())) {
-            createNewSerie(evt.getName());
+        addHits(evt.getName(), evt.getTimestamp(), MutableHitCount.hitsOf(evt));
+    }
+
+    /**
+     * Add hits to the slot of a timestamp.
+     *
+     * @param idSerie
+     *      target serie id
+     * @param timestamp
+     *      time of the hits
+     * @param hits
+     *      number of hits
+     */
+    public void addHits(String idSerie, long timestamp, int hits) {
+        if (!series.containsKey(idSerie)) {
+            createNewSerie(idSerie);
+        }
+        int slot = getSlotIndex(timestamp);
+        if (slot >= 0) {
+            getSlotCounters(idSerie)[slot].incBy(hits);
+        }
+    }
+
+    /**
+     * Add a set of events to the chart, hits are first summed per serie and slot (in parallel for large sets).
+     *
+     * @param events
+     *      events to add
+     */
+    public void addEvents(Collection<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        final int nbSlots = slotStarts.length;
+        Collector<Event, Map<String, int[]>, Map<String, int[]>> sumPerSlot = Collector.of(
+                HashMap::new,
+                (acc, evt) -> {
+                    int slot = getSlotIndex(evt.getTimestamp());
+                    if (slot >= 0) {
+                        acc.computeIfAbsent(evt.getName(), k -> new int[nbSlots])[slot] += MutableHitCount.hitsOf(evt);
+                    }
+                },
+                (left, right) -> {
+                    for (Map.Entry<String, int[]> entry : right.entrySet()) {
+                        int[] target = left.computeIfAbsent(entry.getKey(), k -> new int[nbSlots]);
+                        for (int i = 0; i < nbSlots; i++) {
+                            target[i] += entry.getValue()[i];
+                        }
+                    }
+                    return left;
+                });
+        Map<String, int[]> hits = (events.size() > PARALLEL_THRESHOLD) ?
+                events.parallelStream().collect(sumPerSlot) : events.stream().collect(sumPerSlot);
+        for (Map.Entry<String, int[]> entry : hits.entrySet()) {
+            if (!series.containsKey(entry.getKey())) {
+                createNewSerie(entry.getKey());
+            }
+            MutableHitCount[] counters = getSlotCounters(entry.getKey());
+            for (int i = 0; i < nbSlots; i++) {
+                if (entry.getValue()[i] > 0) {
+                    counters[i].incBy(entry.getValue()[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counters of a serie indexed by slot, rebuilt from the serie map if it was set from outside.
+     *
+     * @param idSerie
+     *      target serie id
+     * @return
+     *      counters per slot
+     */
+    private MutableHitCount[] getSlotCounters(String idSerie) {
+        if (slotCounters == null) {
+            slotCounters = new HashMap<String, MutableHitCount[]>();
         }
-        String targetSlot = sdf.format(new Date(evt.getTimestamp()));
-        Serie < Map <String, MutableHitCount > > targetSerie = series.get(evt.getName());
-        if (targetSerie != null) {
-            MutableHitCount mhc = targetSerie.getValue().get(targetSlot);
-            if (mhc != null) {
-                mhc.inc();
+        MutableHitCount[] counters = slotCounters.get(idSerie);
+        Map<String, MutableHitCount> values = series.get(idSerie).getValue();
+        if (counters == null || counters.length != timeSlots.size() || counters.length > 0 && counters[0] != values.get(timeSlots.get(0))) {
+            counters = new MutableHitCount[timeSlots.size()];
+            for (int i = 0; i < counters.length; i++) {
+                MutableHitCount mhc = values.get(timeSlots.get(i));
+                if (mhc == null) {
+                    mhc = new MutableHitCount();
+                    values.put(timeSlots.get(i), mhc);
+                }
+                counters[i] = mhc;
             }
+            slotCounters.put(idSerie, counters);
         }
+        return counters;
     }
     
     
@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.ff4j.FF4j;
+import org.ff4j.audit.Event;
 import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.core.Feature;
@@ -198,7 +199,14 @@ public class FeatureStoreAuditProxy implements FeatureStore {
      *      current builder
      */
     private void publish(EventBuilder eb) {
-        ff4j.getEventPublisher().publish(eb.build());
+        Event evt = eb.build();
+        // Proxy may have been installed only to fill the change feed
+        if (ff4j.isEnableAudit() || ff4j.getChangeFeed() == null) {
+            ff4j.getEventPublisher().publish(evt);
+        }
+        if (ff4j.getChangeFeed() != null) {
+            ff4j.getChangeFeed().append(evt);
+        }
     }
     
     /** {@inheritDoc} */
@@ -213,6 +221,12 @@ public class FeatureStoreAuditProxy implements FeatureStore {
         return target.read(uid);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        return target.readMany(featureUids);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
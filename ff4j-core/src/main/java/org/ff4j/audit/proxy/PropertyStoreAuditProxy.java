@@ -34,6 +34,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.ff4j.FF4j;
+import org.ff4j.audit.Event;
 import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.property.Property;
@@ -183,7 +184,14 @@ public class PropertyStoreAuditProxy implements PropertyStore {
      *      current builder
      */
     private void publish(EventBuilder eb) {
-        ff4j.getEventPublisher().publish(eb.build());
+        Event evt = eb.build();
+        // Proxy may have been installed only to fill the change feed
+        if (ff4j.isEnableAudit() || ff4j.getChangeFeed() == null) {
+            ff4j.getEventPublisher().publish(evt);
+        }
+        if (ff4j.getChangeFeed() != null) {
+            ff4j.getChangeFeed().append(evt);
+        }
     }
 
 	/**
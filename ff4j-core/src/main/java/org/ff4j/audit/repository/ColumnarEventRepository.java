@@ -0,0 +1,773 @@
+package org.ff4j.audit.repository;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventSeries;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.Serie;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.utils.Util;
+
+/**
+ * Implementation of in memory {@link EventRepository} storing feature usage as primitive columns.
+ *
+ * <p>Check events (the bulk of the volume) are grouped in fixed-width time buckets (one minute by default).
+ * Each bucket holds a <code>long</code> column for timestamps and <code>int</code> columns for name, host,
+ * source, user, action, roll-up level (dictionary-encoded), duration and hit count: {@value #BYTES_PER_EVENT} bytes
+ * per event.
+ * Hit counts and histograms are computed by scanning those arrays, without building {@link Event} objects.</p>
+ *
+ * <p>Memory is bounded by <code>maxBytes</code>: when the allocated columns exceed the budget the oldest buckets
+ * are dropped. The dictionary of distinct strings is not part of the budget. Events are rebuilt on demand by
+ * {@link #searchFeatureUsageEvents(EventQueryDefinition)} with a new unique identifier, only audit trail events
+ * (console and store operations, low volume) are kept as objects and can be fetched by uuid.</p>
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ColumnarEventRepository extends AbstractEventRepository {
+
+    /** Default width of a bucket: one minute. */
+    public static final long DEFAULT_BUCKET_WIDTH = 60 * 1000L;
+
+    /** Default memory budget for columns: 64MB. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /** Timestamp (long) and 8 int columns. */
+    public static final int BYTES_PER_EVENT = 8 + 8 * 4;
+
+    /** Default number of audit trail events retained. */
+    private static final int DEFAULT_AUDIT_CAPACITY = 10000;
+
+    /** Initial number of rows of a bucket. */
+    private static final int INITIAL_BUCKET_CAPACITY = 64;
+
+    /** Dictionary id for null values. */
+    private static final int NULL_ID = 0;
+
+    /** Column indexes. */
+    private static final int COL_NAME     = 0;
+    private static final int COL_HOST     = 1;
+    private static final int COL_SOURCE   = 2;
+    private static final int COL_USER     = 3;
+    private static final int COL_ACTION   = 4;
+    private static final int COL_DURATION = 5;
+    private static final int COL_HITS     = 6;
+    private static final int COL_ROLLUP   = 7;
+    private static final int NB_COLUMNS   = 8;
+
+    /** Width of buckets in milliseconds. */
+    private final long bucketWidth;
+
+    /** Memory budget for columns in bytes. */
+    private final long maxBytes;
+
+    /** Buckets by start time. */
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<Long, Bucket>();
+
+    /** Strings shared by all columns. */
+    private final Dictionary dictionary = new Dictionary();
+
+    /** Bytes allocated for columns. */
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    /** Events dropped with the oldest buckets. */
+    private final AtomicLong evictedEvents = new AtomicLong();
+
+    /** Operations on features and properties (not check events), oldest dropped when full. */
+    private final EventSeries auditTrail = new EventSeries(0);
+
+    /** Maximum number of audit trail events. */
+    private final int auditCapacity;
+
+    /**
+     * Default constructor with 64MB budget and one minute buckets.
+     */
+    public ColumnarEventRepository() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructor to tune memory budget.
+     *
+     * @param maxBytes
+     *      memory budget for columns in bytes
+     */
+    public ColumnarEventRepository(long maxBytes) {
+        this(maxBytes, DEFAULT_BUCKET_WIDTH);
+    }
+
+    /**
+     * Constructor to tune memory budget and bucket width.
+     *
+     * @param maxBytes
+     *      memory budget for columns in bytes
+     * @param bucketWidth
+     *      width of buckets in milliseconds
+     */
+    public ColumnarEventRepository(long maxBytes, long bucketWidth) {
+        if (maxBytes < INITIAL_BUCKET_CAPACITY * BYTES_PER_EVENT) {
+            throw new IllegalArgumentException("Memory budget must be at least " + (INITIAL_BUCKET_CAPACITY * BYTES_PER_EVENT) + " bytes");
+        }
+        if (bucketWidth < 1) {
+            throw new IllegalArgumentException("Bucket width must be positive");
+        }
+        this.maxBytes      = maxBytes;
+        this.bucketWidth   = bucketWidth;
+        this.auditCapacity = DEFAULT_AUDIT_CAPACITY;
+    }
+
+    /**
+     * Strings encoded as int, 0 stands for null.
+     */
+    private static final class Dictionary {
+
+        /** id by value. */
+        private final Map<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+
+        /** value by id, replaced when growing. */
+        private volatile String[] values = new String[64];
+
+        /** next id. */
+        private int size = 1;
+
+        private int encode(String value) {
+            if (value == null) {
+                return NULL_ID;
+            }
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            synchronized (this) {
+                id = ids.get(value);
+                if (id == null) {
+                    String[] current = values;
+                    if (size == current.length) {
+                        current = Arrays.copyOf(current, size * 2);
+                    }
+                    current[size] = value;
+                    values = current;
+                    id = size++;
+                    // Published after the value, readers finding the id can decode it
+                    ids.put(value, id);
+                }
+                return id;
+            }
+        }
+
+        private String decode(int id) {
+            return values[id];
+        }
+
+        /**
+         * Evaluate a predicate once per distinct value.
+         */
+        private boolean[] match(Predicate<String> predicate) {
+            String[] current = values;
+            boolean[] result = new boolean[current.length];
+            for (int i = 0; i < current.length; i++) {
+                result[i] = predicate.test(current[i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Events of a time slot stored as columns.
+     */
+    private static final class Bucket {
+
+        /** Start of bucket. */
+        private final long start;
+
+        /** Timestamps. */
+        private long[] timestamps;
+
+        /** Int columns. */
+        private int[][] columns = new int[NB_COLUMNS][];
+
+        /** Number of rows. */
+        private int size = 0;
+
+        /** Bucket has been dropped, do not write anymore. */
+        private boolean evicted = false;
+
+        private Bucket(long start, int capacity) {
+            this.start      = start;
+            this.timestamps = new long[capacity];
+            for (int c = 0; c < NB_COLUMNS; c++) {
+                columns[c] = new int[capacity];
+            }
+        }
+
+        /** Append a row, return the number of rows allocated by growth. */
+        private int add(long timestamp, int[] row) {
+            int grown = 0;
+            if (size == timestamps.length) {
+                grown = timestamps.length;
+                timestamps = Arrays.copyOf(timestamps, size + grown);
+                for (int c = 0; c < NB_COLUMNS; c++) {
+                    columns[c] = Arrays.copyOf(columns[c], size + grown);
+                }
+            }
+            timestamps[size] = timestamp;
+            for (int c = 0; c < NB_COLUMNS; c++) {
+                columns[c][size] = row[c];
+            }
+            size++;
+            return grown;
+        }
+
+        /** Consistent view for readers, rows below size are never modified in place. */
+        private synchronized BucketView view() {
+            return new BucketView(start, timestamps, columns.clone(), size);
+        }
+    }
+
+    /**
+     * Immutable view of a bucket used for scans.
+     */
+    private static final class BucketView {
+        private final long start;
+        private final long[] timestamps;
+        private final int[][] columns;
+        private final int size;
+
+        private BucketView(long start, long[] timestamps, int[][] columns, int size) {
+            this.start      = start;
+            this.timestamps = timestamps;
+            this.columns    = columns;
+            this.size       = size;
+        }
+    }
+
+    /**
+     * Filters of a query resolved against the dictionary.
+     */
+    private final class RowFilter {
+        private final long from;
+        private final long to;
+        private final int actionId;
+        private final boolean[] names;
+        private final boolean[] hosts;
+        private final boolean[] sources;
+
+        private RowFilter(EventQueryDefinition q) {
+            this.from     = q.getFrom();
+            this.to       = q.getTo();
+            // Feature usage only, as in other repositories
+            this.actionId = q.matchAction(EventConstants.ACTION_CHECK_OK) ? dictionary.encode(EventConstants.ACTION_CHECK_OK) : -1;
+            this.names    = dictionary.match(q::matchName);
+            this.hosts    = dictionary.match(q::matchHost);
+            this.sources  = dictionary.match(q::matchSource);
+        }
+
+        private boolean accept(BucketView v, int row) {
+            long ts = v.timestamps[row];
+            return ts >= from && ts <= to
+                    && v.columns[COL_ACTION][row] == actionId
+                    && allowed(names,   v.columns[COL_NAME][row])
+                    && allowed(hosts,   v.columns[COL_HOST][row])
+                    && allowed(sources, v.columns[COL_SOURCE][row]);
+        }
+
+        /** Ids created after the filter are rejected, their events came after the query. */
+        private boolean allowed(boolean[] matches, int id) {
+            return id < matches.length && matches[id];
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void createSchema() {
+        // There is nothing to create for inMemeory store
+        return;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvent(Event e) {
+        Util.assertEvent(e);
+        if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction()) ||
+                EventConstants.ACTION_CHECK_OFF.equalsIgnoreCase(e.getAction())) {
+            return saveColumns(e);
+        }
+        synchronized (auditTrail) {
+            if (auditTrail.size() >= auditCapacity) {
+                auditTrail.pollFirst();
+            }
+            return auditTrail.add(e);
+        }
+    }
+
+    /**
+     * Append check event to its bucket.
+     *
+     * @param e
+     *      current event
+     * @return
+     *      if the event has been stored
+     */
+    private boolean saveColumns(Event e) {
+        int[] row = toRow(e);
+        long start = e.getTimestamp() - Math.floorMod(e.getTimestamp(), bucketWidth);
+        Bucket bucket = buckets.get(start);
+        if (bucket == null) {
+            Bucket created = new Bucket(start, INITIAL_BUCKET_CAPACITY);
+            bucket = buckets.putIfAbsent(start, created);
+            if (bucket == null) {
+                bucket = created;
+                allocatedBytes.addAndGet((long) INITIAL_BUCKET_CAPACITY * BYTES_PER_EVENT);
+            }
+        }
+        int grown;
+        synchronized (bucket) {
+            if (bucket.evicted) {
+                return false;
+            }
+            grown = bucket.add(e.getTimestamp(), row);
+        }
+        if (grown > 0) {
+            allocatedBytes.addAndGet((long) grown * BYTES_PER_EVENT);
+        }
+        evictIfNeeded();
+        return true;
+    }
+
+    /**
+     * Encode a check event as int columns.
+     *
+     * @param e
+     *      current event
+     * @return
+     *      values of the int columns
+     */
+    private int[] toRow(Event e) {
+        int[] row = new int[NB_COLUMNS];
+        row[COL_NAME]     = dictionary.encode(e.getName());
+        row[COL_HOST]     = dictionary.encode(e.getHostName());
+        row[COL_SOURCE]   = dictionary.encode(e.getSource());
+        row[COL_USER]     = dictionary.encode(e.getUser());
+        row[COL_ACTION]   = dictionary.encode(EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction()) ?
+                                EventConstants.ACTION_CHECK_OK : EventConstants.ACTION_CHECK_OFF);
+        row[COL_DURATION] = (int) Math.min(e.getDuration(), Integer.MAX_VALUE);
+        row[COL_HITS]     = MutableHitCount.hitsOf(e);
+        row[COL_ROLLUP]   = dictionary.encode(e.getKey(EventConstants.ATTRIBUTE_ROLLUP));
+        return row;
+    }
+
+    /**
+     * Drop oldest buckets until the columns fit in the budget (the last bucket is always kept).
+     */
+    private void evictIfNeeded() {
+        while (allocatedBytes.get() > maxBytes && buckets.size() > 1) {
+            Map.Entry<Long, Bucket> oldest = buckets.pollFirstEntry();
+            if (oldest == null) {
+                return;
+            }
+            Bucket bucket = oldest.getValue();
+            synchronized (bucket) {
+                bucket.evicted = true;
+                allocatedBytes.addAndGet(-(long) bucket.timestamps.length * BYTES_PER_EVENT);
+                evictedEvents.addAndGet(bucket.size);
+            }
+        }
+    }
+
+    /**
+     * Buckets which may contain events of the query.
+     */
+    private Iterable<Bucket> getCandidateBuckets(EventQueryDefinition q) {
+        long from = q.getFrom() - Math.floorMod(q.getFrom(), bucketWidth);
+        return buckets.subMap(from, true, q.getTo(), true).values();
+    }
+
+    /**
+     * Sum hits of feature usage grouped by a dictionary-encoded column.
+     *
+     * @param q
+     *      current query
+     * @param column
+     *      column to group by
+     * @return
+     *      hits per distinct value of the column
+     */
+    private int[] sumHitsBy(EventQueryDefinition q, int column) {
+        RowFilter filter = new RowFilter(q);
+        int[] hits = new int[dictionary.values.length];
+        for (Bucket bucket : getCandidateBuckets(q)) {
+            BucketView v = bucket.view();
+            int[] keys   = v.columns[column];
+            int[] counts = v.columns[COL_HITS];
+            for (int row = 0; row < v.size; row++) {
+                if (filter.accept(v, row)) {
+                    // Value may have been encoded after the query started
+                    if (keys[row] >= hits.length) {
+                        hits = Arrays.copyOf(hits, dictionary.values.length);
+                    }
+                    hits[keys[row]] += counts[row];
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Decode hits per id as expected by charts.
+     */
+    private Map<String, MutableHitCount> toHitCounts(int[] hits, String nullLabel) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        for (int id = 0; id < hits.length; id++) {
+            if (hits[id] > 0) {
+                String key = dictionary.decode(id);
+                if (!Util.hasLength(key)) {
+                    if (nullLabel == null) {
+                        continue;
+                    }
+                    key = nullLabel;
+                }
+                if (!hitRatio.containsKey(key)) {
+                    hitRatio.put(key, new MutableHitCount());
+                }
+                hitRatio.get(key).incBy(hits[id]);
+            }
+        }
+        return hitRatio;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
+        return toHitCounts(sumHitsBy(query, COL_NAME), null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getHostHitCount(EventQueryDefinition query) {
+        return toHitCounts(sumHitsBy(query, COL_HOST), null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getSourceHitCount(EventQueryDefinition query) {
+        return toHitCounts(sumHitsBy(query, COL_SOURCE), null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, MutableHitCount> getUserHitCount(EventQueryDefinition query) {
+        return toHitCounts(sumHitsBy(query, COL_USER), "anonymous");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getFeatureUsageTotalHitCount(EventQueryDefinition query) {
+        int total = 0;
+        for (int hits : sumHitsBy(query, COL_NAME)) {
+            total += hits;
+        }
+        return total;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
+        TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        RowFilter filter = new RowFilter(query);
+        for (Bucket bucket : getCandidateBuckets(query)) {
+            BucketView v = bucket.view();
+            int[] names = v.columns[COL_NAME];
+            int[] hits  = v.columns[COL_HITS];
+            for (int row = 0; row < v.size; row++) {
+                if (filter.accept(v, row)) {
+                    // Slot resolved from the timestamp, no date formatting per row
+                    tsc.addHits(dictionary.decode(names[row]), v.timestamps[row], hits[row]);
+                }
+            }
+        }
+        // Recolor series
+        List < String > colors = Util.generateHSVGradient("ee1100", "442299", tsc.getSeries().size());
+        int idxColor = 0;
+        for (Map.Entry<String, Serie<Map<String, MutableHitCount>>> serie : tsc.getSeries().entrySet()) {
+            serie.getValue().setColor(colors.get(idxColor));
+            idxColor++;
+        }
+        return tsc;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
+        EventSeries es = new EventSeries(1000000);
+        RowFilter filter = new RowFilter(query);
+        for (Bucket bucket : getCandidateBuckets(query)) {
+            BucketView v = bucket.view();
+            for (int row = 0; row < v.size; row++) {
+                if (filter.accept(v, row)) {
+                    es.add(toEvent(v, row));
+                }
+            }
+        }
+        return es;
+    }
+
+    /**
+     * Rebuild an event from its columns.
+     */
+    private Event toEvent(BucketView v, int row) {
+        Event evt = new Event();
+        evt.setTimestamp(v.timestamps[row]);
+        evt.setType(EventConstants.TARGET_FEATURE);
+        evt.setName(dictionary.decode(v.columns[COL_NAME][row]));
+        evt.setHostName(dictionary.decode(v.columns[COL_HOST][row]));
+        evt.setSource(dictionary.decode(v.columns[COL_SOURCE][row]));
+        evt.setUser(dictionary.decode(v.columns[COL_USER][row]));
+        evt.setAction(dictionary.decode(v.columns[COL_ACTION][row]));
+        evt.setDuration(v.columns[COL_DURATION][row]);
+        if (v.columns[COL_HITS][row] != 1) {
+            evt.put(EventConstants.ATTRIBUTE_HITCOUNT, String.valueOf(v.columns[COL_HITS][row]));
+        }
+        if (v.columns[COL_ROLLUP][row] != NULL_ID) {
+            evt.put(EventConstants.ATTRIBUTE_ROLLUP, dictionary.decode(v.columns[COL_ROLLUP][row]));
+        }
+        return evt;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void purgeFeatureUsage(EventQueryDefinition q) {
+        RowFilter filter = new RowFilter(q);
+        for (Bucket bucket : getCandidateBuckets(q)) {
+            removeRows(bucket, filter::accept);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsRangePurge() {
+        return true;
+    }
+
+    /**
+     * Check events are stored without their identifier, for each event one row holding the same values is removed.
+     *
+     * @param events
+     *      events to remove
+     */
+    @Override
+    public void purgeEvents(Collection<Event> events) {
+        Util.assertNotNull(events);
+        Map<Long, Map<List<Long>, int[]>> rowsPerBucket = new HashMap<Long, Map<List<Long>, int[]>>();
+        for (Event e : events) {
+            if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction()) ||
+                    EventConstants.ACTION_CHECK_OFF.equalsIgnoreCase(e.getAction())) {
+                long start = e.getTimestamp() - Math.floorMod(e.getTimestamp(), bucketWidth);
+                Map<List<Long>, int[]> rows = rowsPerBucket.computeIfAbsent(start, k -> new HashMap<List<Long>, int[]>());
+                // Number of rows to remove per distinct values
+                rows.computeIfAbsent(rowKey(e.getTimestamp(), toRow(e)), k -> new int[1])[0]++;
+            } else {
+                synchronized (auditTrail) {
+                    auditTrail.remove(e);
+                }
+            }
+        }
+        for (Map.Entry<Long, Map<List<Long>, int[]>> entry : rowsPerBucket.entrySet()) {
+            Bucket bucket = buckets.get(entry.getKey());
+            if (bucket != null) {
+                Map<List<Long>, int[]> rows = entry.getValue();
+                removeRows(bucket, (v, row) -> {
+                    int[] remaining = rows.get(rowKey(v.timestamps[row], columnsOf(v, row)));
+                    if (remaining == null || remaining[0] == 0) {
+                        return false;
+                    }
+                    remaining[0]--;
+                    return true;
+                });
+            }
+        }
+    }
+
+    private int[] columnsOf(BucketView v, int row) {
+        int[] values = new int[NB_COLUMNS];
+        for (int c = 0; c < NB_COLUMNS; c++) {
+            values[c] = v.columns[c][row];
+        }
+        return values;
+    }
+
+    private List<Long> rowKey(long timestamp, int[] row) {
+        List<Long> key = new ArrayList<Long>(NB_COLUMNS + 1);
+        key.add(timestamp);
+        for (int value : row) {
+            key.add((long) value);
+        }
+        return key;
+    }
+
+    /**
+     * Remove rows of a bucket in a single pass, the bucket is dropped when empty.
+     *
+     * @param bucket
+     *      current bucket
+     * @param removed
+     *      tells if a row must be removed
+     */
+    private void removeRows(Bucket bucket, BiPredicate<BucketView, Integer> removed) {
+        boolean empty;
+        synchronized (bucket) {
+            // Copy on write, readers may hold the previous arrays
+            BucketView v = new BucketView(bucket.start, bucket.timestamps, bucket.columns, bucket.size);
+            long[] timestamps = new long[bucket.timestamps.length];
+            int[][] columns   = new int[NB_COLUMNS][bucket.timestamps.length];
+            int kept = 0;
+            for (int row = 0; row < v.size; row++) {
+                if (!removed.test(v, row)) {
+                    timestamps[kept] = v.timestamps[row];
+                    for (int c = 0; c < NB_COLUMNS; c++) {
+                        columns[c][kept] = v.columns[c][row];
+                    }
+                    kept++;
+                }
+            }
+            bucket.timestamps = timestamps;
+            bucket.columns    = columns;
+            bucket.size       = kept;
+            empty = (kept == 0);
+            if (empty) {
+                bucket.evicted = true;
+            }
+        }
+        if (empty && buckets.remove(bucket.start, bucket)) {
+            allocatedBytes.addAndGet(-(long) bucket.timestamps.length * BYTES_PER_EVENT);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventSeries getAuditTrail(EventQueryDefinition q) {
+        EventSeries resultSeries = new EventSeries(10000);
+        synchronized (auditTrail) {
+            for (Event evt : auditTrail) {
+                if (q.match(evt)) {
+                    resultSeries.add(evt);
+                }
+            }
+        }
+        return resultSeries;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void purgeAuditTrail(EventQueryDefinition q) {
+        synchronized (auditTrail) {
+            Iterator<Event> iterEvents = auditTrail.iterator();
+            while (iterEvents.hasNext()) {
+                if (q.match(iterEvents.next())) {
+                    iterEvents.remove();
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Event getEventByUUID(String uuid, Long timestamp) {
+        Util.assertHasLength(uuid);
+        synchronized (auditTrail) {
+            for (Event evt : auditTrail) {
+                if (uuid.equalsIgnoreCase(evt.getUuid())) {
+                    return evt;
+                }
+            }
+        }
+        // Check events are stored without their identifier
+        return null;
+    }
+
+    /**
+     * Getter accessor for attribute 'allocatedBytes'.
+     *
+     * @return
+     *       bytes currently allocated for columns
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * Getter accessor for attribute 'evictedEvents'.
+     *
+     * @return
+     *       number of events dropped to respect the memory budget
+     */
+    public long getEvictedEvents() {
+        return evictedEvents.get();
+    }
+
+    /**
+     * Number of buckets currently retained.
+     *
+     * @return
+     *       number of buckets
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Getter accessor for attribute 'maxBytes'.
+     *
+     * @return
+     *       current value of 'maxBytes'
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Getter accessor for attribute 'bucketWidth'.
+     *
+     * @return
+     *       current value of 'bucketWidth'
+     */
+    public long getBucketWidth() {
+        return bucketWidth;
+    }
+
+}
@@ -21,10 +21,12 @@ package org.ff4j.audit.repository;
  */
 
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
@@ -48,6 +50,25 @@ public interface EventRepository {
      */
     boolean saveEvent(Event e);
     
+    /**
+     * Save a batch of events into store synchronously, implementations should
+     * override it to use the native bulk operation of the underlying storage.
+     * 
+     * @param events
+     *            target events to store
+     * @return if all events have been saved
+     */
+    default boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        boolean allSaved = true;
+        for (Event evt : events) {
+            allSaved &= saveEvent(evt);
+        }
+        return allSaved;
+    }
+    
     /**
      * Retrieve an event by its unique identifer.
      *
@@ -261,6 +282,53 @@ public interface EventRepository {
      */
     void purgeAuditTrail(EventQueryDefinition query);
     
+    /**
+     * Tell if purge operations honour the query (only events of the time window matching the filters are
+     * removed) and if {@link #purgeEvents(Collection)} is implemented. Retention of events relies on it.
+     *
+     * @return
+     *      if the store can purge a range of events
+     */
+    default boolean supportsRangePurge() {
+        // Many stores ignore the query when purging, they must opt in
+        return false;
+    }
+    
+    /**
+     * Remove the given events, identified by their unique identifier and timestamp. The default implementation
+     * purges each event with a query on its timestamp, name, action, source and host : events sharing all of them
+     * are removed together. Stores able to delete by identifier should override it.
+     *
+     * @param events
+     *      events to remove
+     * @throws UnsupportedOperationException
+     *      when {@link #supportsRangePurge()} is false, the query would be ignored and everything removed
+     */
+    default void purgeEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (!supportsRangePurge()) {
+            throw new UnsupportedOperationException("Store " + getClass().getSimpleName() + " cannot remove individual events");
+        }
+        for (Event evt : events) {
+            EventQueryDefinition query = new EventQueryDefinition(evt.getTimestamp(), evt.getTimestamp());
+            query.addFilterName(evt.getName());
+            query.addFilterAction(evt.getAction());
+            if (evt.getSource() != null) {
+                query.addFilterSource(evt.getSource());
+            }
+            if (evt.getHostName() != null) {
+                query.addFilterHost(evt.getHostName());
+            }
+            if (EventConstants.ACTION_CHECK_OK.equals(evt.getAction()) || EventConstants.ACTION_CHECK_OFF.equals(evt.getAction())) {
+                purgeFeatureUsage(query);
+            } else {
+                purgeAuditTrail(query);
+            }
+        }
+    }
+    
     /**
      * Initialize target database with expected schema if needed.
      */
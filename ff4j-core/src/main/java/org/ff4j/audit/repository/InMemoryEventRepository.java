@@ -21,6 +21,8 @@ package org.ff4j.audit.repository;
  */
 
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -110,7 +112,7 @@ public class InMemoryEventRepository extends AbstractEventRepository {
             if (!hitRatio.containsKey(event.getName())) {
                 hitRatio.put(event.getName(), new MutableHitCount());
              }
-             hitRatio.get(event.getName()).inc();
+             hitRatio.get(event.getName()).inc(event);
         }
         return hitRatio;
     }
@@ -123,7 +125,7 @@ public class InMemoryEventRepository extends AbstractEventRepository {
             if (!hitRatio.containsKey(event.getSource())) {
                 hitRatio.put(event.getSource(), new MutableHitCount());
              }
-             hitRatio.get(event.getSource()).inc();
+             hitRatio.get(event.getSource()).inc(event);
         }
         return hitRatio;
     }
@@ -136,7 +138,7 @@ public class InMemoryEventRepository extends AbstractEventRepository {
             if (!hitRatio.containsKey(event.getHostName())) {
                 hitRatio.put(event.getHostName(), new MutableHitCount());
              }
-             hitRatio.get(event.getHostName()).inc();
+             hitRatio.get(event.getHostName()).inc(event);
         }
         return hitRatio;
     }
@@ -150,7 +152,7 @@ public class InMemoryEventRepository extends AbstractEventRepository {
             if (!hitRatio.containsKey(user)) {
                 hitRatio.put(user, new MutableHitCount());
              }
-             hitRatio.get(user).inc();
+             hitRatio.get(user).inc(event);
         }
         return hitRatio;
     }
@@ -185,6 +187,7 @@ public class InMemoryEventRepository extends AbstractEventRepository {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
         
+        List < Event > matchingEvents = new ArrayList<Event>();
         for (String currentDay : getCandidateDays(query.getFrom(), query.getTo())) {
             // There are some event this day
             if (featureUsageEvents.containsKey(currentDay)) {
@@ -197,25 +200,15 @@ public class InMemoryEventRepository extends AbstractEventRepository {
                         for (Event evt : entry.getValue()) {
                             // Between bounds (keydate not enough)
                             if (isEventInInterval(evt, query.getFrom(), query.getTo())) {
-                                // Create new serie if new feature Name
-                                if (!tsc.getSeries().containsKey((currentFeatureName))) {
-                                    tsc.createNewSerie(currentFeatureName);
-                                }
-                                // Match FeatureName
-                                Serie < Map<String , MutableHitCount > > serie = tsc.getSeries().get(currentFeatureName);
-                                // Match SlotName
-                                String slotName = tsc.getSdf().format(new Date(evt.getTimestamp()));
-                                // Should be always 'true' as the tsc.getsdf().format() will get a slotName.
-                                if (serie.getValue().containsKey(slotName)) {
-                                    // Fast Increment
-                                    serie.getValue().get(slotName).inc();
-                                }
+                                matchingEvents.add(evt);
                             }
                         }
                     }
                 }
             }
         }
+        // Hits summed per slot index, in parallel for large sets
+        tsc.addEvents(matchingEvents);
         
         // Recolor series
         List < String > colors = Util.generateHSVGradient("ee1100", "442299", tsc.getSeries().size());
@@ -249,16 +242,17 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     @Override
     public void purgeAuditTrail(EventQueryDefinition q) {
         for (String currentDay : getCandidateDays(q.getFrom(), q.getTo())) {
-            if (auditTrailEvents.containsKey(currentDay)) {
-                Iterator<Event> iterEvents = auditTrailEvents.get(currentDay).iterator();
-                while (iterEvents.hasNext()) {
-                    Event evt = iterEvents.next();
-                    if (q.match(evt)) {
-                        auditTrailEvents.get(currentDay).remove(evt);
-                    }
-                }
-                if (auditTrailEvents.get(currentDay).isEmpty()) {
+            EventSeries currentDayEvents = auditTrailEvents.get(currentDay);
+            if (currentDayEvents != null) {
+                if (isDayCovered(currentDay, q) && q.getActionFilters().isEmpty() 
+                        && q.getHostFilters().isEmpty() && q.getSourceFilters().isEmpty() && q.getNamesFilter().isEmpty()) {
+                    // Whole partition
                     auditTrailEvents.remove(currentDay);
+                } else {
+                    currentDayEvents.removeIf(q::match);
+                    if (currentDayEvents.isEmpty()) {
+                        auditTrailEvents.remove(currentDay);
+                    }
                 }
             }
         }
@@ -267,19 +261,24 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public void purgeFeatureUsage(EventQueryDefinition q) {
-        Set<String> candidateDates = getCandidateDays(q.getFrom(), q.getTo());
-        for (String currentDay : candidateDates) {
-            if (featureUsageEvents.containsKey(currentDay)) {
-                Map<String, EventSeries> currentDayEvents = featureUsageEvents.get(currentDay);
-                for (String currentFeature : currentDayEvents.keySet()) {
-                    Iterator<Event> iterEvents = currentDayEvents.get(currentFeature).iterator();
-                    while (iterEvents.hasNext()) {
-                        Event evt = iterEvents.next();
-                        if (q.match(evt)) {
-                            removeEventIfPresent(currentDayEvents.get(currentFeature), evt);
-                        }
-                        if (currentDayEvents.get(currentFeature).isEmpty()){
-                            currentDayEvents.remove(currentFeature);
+        boolean dropSeries = q.matchAction(EventConstants.ACTION_CHECK_OK) 
+                && q.getHostFilters().isEmpty() && q.getSourceFilters().isEmpty();
+        for (String currentDay : getCandidateDays(q.getFrom(), q.getTo())) {
+            Map<String, EventSeries> currentDayEvents = featureUsageEvents.get(currentDay);
+            if (currentDayEvents != null) {
+                boolean dropDay = dropSeries && isDayCovered(currentDay, q);
+                Iterator<Map.Entry<String, EventSeries>> iterSeries = currentDayEvents.entrySet().iterator();
+                while (iterSeries.hasNext()) {
+                    Map.Entry<String, EventSeries> series = iterSeries.next();
+                    if (q.matchName(series.getKey())) {
+                        // Series of the feature for the whole day, else event by event in a single pass
+                        if (dropDay) {
+                            iterSeries.remove();
+                        } else {
+                            series.getValue().removeIf(q::match);
+                            if (series.getValue().isEmpty()) {
+                                iterSeries.remove();
+                            }
                         }
                     }
                 }
@@ -291,15 +290,52 @@ public class InMemoryEventRepository extends AbstractEventRepository {
         }
     }
     
-    private void removeEventIfPresent(EventSeries es, Event evt) {
-        Iterator < Event > iterEvt = es.iterator();
-        while(iterEvt.hasNext()) {
-            Event currentEvent = iterEvt.next();
-            if (currentEvent.getUuid().equalsIgnoreCase(evt.getUuid())) {
-                es.remove(currentEvent);
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsRangePurge() {
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void purgeEvents(Collection<Event> events) {
+        Util.assertNotNull(events);
+        for (Event evt : events) {
+            String key = getKeyDate(evt.getTimestamp());
+            Map<String, Map<String, EventSeries>> target = null;
+            if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(evt.getAction())) {
+                target = featureUsageEvents;
+            } else if (EventConstants.ACTION_CHECK_OFF.equalsIgnoreCase(evt.getAction())) {
+                target = checkOffEvents;
+            }
+            if (target == null) {
+                EventSeries series = auditTrailEvents.get(key);
+                if (series != null) {
+                    // Series are sorted by timestamp and uuid
+                    series.remove(evt);
+                }
+            } else if (target.containsKey(key)) {
+                EventSeries series = target.get(key).get(evt.getName());
+                if (series != null) {
+                    series.remove(evt);
+                }
             }
         }
     }
+    
+    /**
+     * Check if a day is fully inside the query interval (days strictly between the days of the bounds).
+     *
+     * @param keyDate
+     *      day as key
+     * @param q
+     *      query
+     * @return
+     *      if every event of the day is in the interval
+     */
+    private boolean isDayCovered(String keyDate, EventQueryDefinition q) {
+        return keyDate.compareTo(getKeyDate(q.getFrom())) > 0 && keyDate.compareTo(getKeyDate(q.getTo())) < 0;
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -20,8 +20,6 @@ package org.ff4j.audit.repository;
  * #L%
  */
 
-
-import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
 import static org.ff4j.store.JdbcStoreConstants.*;
 
 import static org.ff4j.utils.JdbcUtils.closeConnection;
@@ -35,7 +33,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -74,6 +74,9 @@ public class JdbcEventRepository extends AbstractEventRepository {
     /** Query builder. */
     private JdbcQueryBuilder queryBuilder;
     
+    /** Compute time series with GROUP BY in the database, disabled when the dialect does not support it. */
+    private boolean nativeHistogram = true;
+    
     /** Mapper to read from SQL result. */
     private static final JdbcEventMapper EVENT_MAPPER = new JdbcEventMapper();
     
@@ -99,6 +102,7 @@ public class JdbcEventRepository extends AbstractEventRepository {
         JdbcQueryBuilder qb = getQueryBuilder();
         if (!isTableExist(ds, qb.getTableNameAudit())) {
             executeUpdate(ds, qb.sqlCreateTableAudit());
+            executeUpdate(ds, qb.sqlCreateIndexAuditTime());
         }
     }
     
@@ -147,7 +151,7 @@ public class JdbcEventRepository extends AbstractEventRepository {
             stmt = sqlConn.prepareStatement(sb.toString());
             stmt.setString(1, evt.getUuid());
             stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
-            stmt.setString(3, evt.getType());
+            stmt.setString(3, JdbcEventMapper.getTypeColumnValue(evt));
             stmt.setString(4, evt.getName());
             stmt.setString(5, evt.getAction());
             stmt.setString(6, evt.getHostName());
@@ -172,7 +176,59 @@ public class JdbcEventRepository extends AbstractEventRepository {
         }
         return true;
     }
-    
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+        for (Event evt : events) {
+            Util.assertEvent(evt);
+        }
+        Connection        sqlConn = null;
+        PreparedStatement stmt = null;
+        try {
+            // Get collection from Pool
+            sqlConn = dataSource.getConnection();
+
+            // Single TX for the whole batch
+            sqlConn.setAutoCommit(false);
+            stmt = sqlConn.prepareStatement(getQueryBuilder().sqlSaveAudit());
+            for (Event evt : events) {
+                stmt.setString(1, evt.getUuid());
+                stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
+                stmt.setString(3, JdbcEventMapper.getTypeColumnValue(evt));
+                stmt.setString(4, evt.getName());
+                stmt.setString(5, evt.getAction());
+                stmt.setString(6, evt.getHostName());
+                stmt.setString(7, evt.getSource());
+                stmt.setLong(8, evt.getDuration());
+                stmt.setString(9, Util.hasLength(evt.getUser()) ? evt.getUser() : null);
+                stmt.setString(10, Util.hasLength(evt.getValue()) ? evt.getValue() : null);
+                stmt.setString(11, evt.getCustomKeys().isEmpty() ? null : MappingUtil.fromMap(evt.getCustomKeys()));
+                stmt.addBatch();
+            }
+
+            // Execute Query
+            stmt.executeBatch();
+
+            // Commit TX
+            sqlConn.commit();
+
+        } catch(SQLException exc) {
+            rollback(sqlConn);
+            throw new AuditAccessException("Cannot insert events into DB (" + exc.getClass() + ") "+ exc.getCause(), exc);
+        } finally {
+           closeStatement(stmt);
+           closeConnection(sqlConn);
+        }
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -224,9 +280,7 @@ public class JdbcEventRepository extends AbstractEventRepository {
     @Override
     public void purgeFeatureUsage(EventQueryDefinition qDef) {
         Util.assertNotNull(qDef);
-        // Enforce remove "checks"
-        qDef.getActionFilters().add(ACTION_CHECK_OK);
-        
+        // Checks are removed when there is no dedicated action filter (query builder)
         Connection          sqlConn = null;
         PreparedStatement   ps = null;
         ResultSet           rs = null;
@@ -245,6 +299,42 @@ public class JdbcEventRepository extends AbstractEventRepository {
         }
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsRangePurge() {
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void purgeEvents(Collection<Event> events) {
+        Util.assertNotNull(events);
+        if (events.isEmpty()) {
+            return;
+        }
+        Connection        sqlConn = null;
+        PreparedStatement stmt = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            // Single TX for the whole batch
+            sqlConn.setAutoCommit(false);
+            stmt = sqlConn.prepareStatement(getQueryBuilder().getPurgeEventQuery());
+            for (Event evt : events) {
+                stmt.setString(1, evt.getUuid());
+                stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            sqlConn.commit();
+        } catch(SQLException exc) {
+            rollback(sqlConn);
+            throw new AuditAccessException("Cannot delete events from DB (" + exc.getClass() + ") "+ exc.getCause(), exc);
+        } finally {
+           closeStatement(stmt);
+           closeConnection(sqlConn);
+        }
+    }
+    
     /** {@inheritDoc} */
     private EventSeries searchEvents(String sqlQuery, long from, long to) {
         Connection          sqlConn = null;
@@ -293,6 +383,16 @@ public class JdbcEventRepository extends AbstractEventRepository {
             closeStatement(ps);
             closeConnection(sqlConn);
         }
+        // Aggregated events count for their number of hits
+        EventQueryDefinition qDef = new EventQueryDefinition(from, to);
+        for (Event evt : searchEvents(getQueryBuilder().getSelectHitCountEventsQuery(qDef), from, to)) {
+            String key = JdbcEventMapper.getColumnValue(evt, columnName);
+            if (hitCount.containsKey(key)) {
+                hitCount.get(key).inc(evt);
+            } else {
+                hitCount.put(key, new MutableHitCount(MutableHitCount.hitsOf(evt)));
+            }
+        }
         return hitCount;
     }
     
@@ -337,6 +437,19 @@ public class JdbcEventRepository extends AbstractEventRepository {
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        if (nativeHistogram) {
+            try {
+                computeHistogram(tsc, query);
+                return tsc;
+            } catch (SQLException sqlEX) {
+                if (!isSyntaxError(sqlEX)) {
+                    throw new IllegalStateException("CANNOT_READ_AUDITTABLE", sqlEX);
+                }
+                // Dialect without the date function, bucket client side from now on
+                nativeHistogram = false;
+                tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+            }
+        }
         // Search All events
         Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
         // Dispatch events into time slots
@@ -345,6 +458,56 @@ public class JdbcEventRepository extends AbstractEventRepository {
         }
         return tsc;
     }
+    
+    /**
+     * Only a query the database cannot parse (function not available in the dialect) disables
+     * the native histogram, errors on a valid query (connection, timeout) are raised.
+     *
+     * @param sqlEX
+     *      error when computing the histogram
+     * @return
+     *      if the query is not supported by the dialect
+     */
+    private boolean isSyntaxError(SQLException sqlEX) {
+        return sqlEX instanceof SQLSyntaxErrorException 
+                || (sqlEX.getSQLState() != null && sqlEX.getSQLState().startsWith("42"));
+    }
+    
+    /**
+     * Fill the chart with counts grouped by feature and time bucket in the database, only events
+     * carrying their own hit count (metrics mode) are read one by one.
+     *
+     * @param tsc
+     *      target chart
+     * @param query
+     *      query definition
+     * @throws SQLException
+     *      error when querying the database
+     */
+    private void computeHistogram(TimeSeriesChart tsc, EventQueryDefinition query) throws SQLException {
+        long bucketSeconds = tsc.getBucketSeconds();
+        long origin        = getQueryBuilder().getHistogramOrigin(query.getFrom(), bucketSeconds);
+        Connection          sqlConn = null;
+        PreparedStatement   ps = null;
+        ResultSet           rs = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureUsageHistogramQuery(query, bucketSeconds));
+            ps.setTimestamp(1, new Timestamp(query.getFrom()));
+            ps.setTimestamp(2, new Timestamp(query.getTo()));
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                tsc.addHits(rs.getString(COL_EVENT_NAME), origin + rs.getLong("SLOT") * bucketSeconds * 1000, rs.getInt("NB"));
+            }
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+        for (Event evt : searchEvents(getQueryBuilder().getSelectHitCountEventsQuery(query), query.getFrom(), query.getTo())) {
+            tsc.addEvent(evt);
+        }
+    }
    
     /**
      * Getter accessor for attribute 'dataSource'.
@@ -381,4 +544,23 @@ public class JdbcEventRepository extends AbstractEventRepository {
 	public void setQueryBuilder(JdbcQueryBuilder queryBuilder) {
 		this.queryBuilder = queryBuilder;
 	}
+
+    /**
+     * Getter accessor for attribute 'nativeHistogram'.
+     *
+     * @return
+     *       current value of 'nativeHistogram'
+     */
+    public boolean isNativeHistogram() {
+        return nativeHistogram;
+    }
+
+    /**
+     * Setter accessor for attribute 'nativeHistogram'.
+     * @param nativeHistogram
+     * 		new value for 'nativeHistogram '
+     */
+    public void setNativeHistogram(boolean nativeHistogram) {
+        this.nativeHistogram = nativeHistogram;
+    }
 }
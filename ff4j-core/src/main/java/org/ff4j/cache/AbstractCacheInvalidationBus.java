@@ -0,0 +1,293 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Superclass for {@link CacheInvalidationBus} : coalesce invalidations and dispatch received messages.
+ * 
+ * <p>Invalidations are accumulated during 'batchDelay' milliseconds then sent as a single message where each
+ * name appears once ('invalidateAll' replaces names). Messages published by this node are not dispatched back to its
+ * listeners. Implementations only have to transport messages, see {@link #send(CacheInvalidationMessage)} and
+ * {@link #onMessage(CacheInvalidationMessage)}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    /** Default delay to coalesce invalidations in milliseconds. */
+    public static final long DEFAULT_BATCH_DELAY = 50;
+
+    /** Identifier of this node. */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** Local subscribers. */
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Features waiting to be sent. */
+    private Set<String> pendingFeatures = new LinkedHashSet<>();
+
+    /** Properties waiting to be sent. */
+    private Set<String> pendingProperties = new LinkedHashSet<>();
+
+    /** All features to be invalidated. */
+    private boolean pendingAllFeatures = false;
+
+    /** All properties to be invalidated. */
+    private boolean pendingAllProperties = false;
+
+    /** A flush is scheduled. */
+    private boolean flushScheduled = false;
+
+    /** Delay to coalesce invalidations in milliseconds, 0 sends each invalidation immediately. */
+    private long batchDelay = DEFAULT_BATCH_DELAY;
+
+    /** Send pending invalidations after 'batchDelay'. */
+    private ScheduledExecutorService flusher;
+
+    /** Messages which could not be sent. */
+    private final AtomicLong sendErrors = new AtomicLong();
+
+    /**
+     * Transport message to other nodes.
+     *
+     * @param message
+     *      invalidations to send
+     */
+    protected abstract void send(CacheInvalidationMessage message);
+
+    /**
+     * Message received from transport, dispatched to listeners if published by another node.
+     *
+     * @param message
+     *      received message
+     */
+    protected void onMessage(CacheInvalidationMessage message) {
+        if (message == null || nodeId.equals(message.getOrigin()) || message.isEmpty()) {
+            return;
+        }
+        dispatch(message);
+    }
+
+    /**
+     * Evict all entries of local listeners, used when messages from other nodes may have been missed
+     * (for instance while the connection to the transport was lost).
+     */
+    protected void invalidateAllLocally() {
+        dispatch(new CacheInvalidationMessage(nodeId, 
+                Collections.<String>emptySet(), true, Collections.<String>emptySet(), true));
+    }
+
+    /**
+     * Notify local listeners.
+     *
+     * @param message
+     *      invalidations to apply
+     */
+    private void dispatch(CacheInvalidationMessage message) {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(message);
+            } catch(RuntimeException re) {
+                // A listener must not prevent others to be notified
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidateFeature(String featureUid) {
+        synchronized (this) {
+            if (!pendingAllFeatures) {
+                pendingFeatures.add(featureUid);
+            }
+        }
+        scheduleFlush();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidateProperty(String propertyName) {
+        synchronized (this) {
+            if (!pendingAllProperties) {
+                pendingProperties.add(propertyName);
+            }
+        }
+        scheduleFlush();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidateAllFeatures() {
+        synchronized (this) {
+            pendingAllFeatures = true;
+            pendingFeatures.clear();
+        }
+        scheduleFlush();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidateAllProperties() {
+        synchronized (this) {
+            pendingAllProperties = true;
+            pendingProperties.clear();
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Send now or wait for other invalidations.
+     */
+    private void scheduleFlush() {
+        if (batchDelay <= 0) {
+            flush();
+            return;
+        }
+        synchronized (this) {
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+            getFlusher().schedule(this::flush, batchDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send pending invalidations as a single message.
+     */
+    public void flush() {
+        CacheInvalidationMessage message;
+        synchronized (this) {
+            flushScheduled = false;
+            message = new CacheInvalidationMessage(nodeId, 
+                    pendingFeatures, pendingAllFeatures, pendingProperties, pendingAllProperties);
+            pendingFeatures      = new LinkedHashSet<>();
+            pendingProperties    = new LinkedHashSet<>();
+            pendingAllFeatures   = false;
+            pendingAllProperties = false;
+        }
+        if (!message.isEmpty()) {
+            try {
+                send(message);
+            } catch(RuntimeException re) {
+                // Other nodes keep their values until time-to-live
+                sendErrors.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Daemon thread sending batches.
+     *
+     * @return
+     *      scheduler
+     */
+    private synchronized ScheduledExecutorService getFlusher() {
+        if (flusher == null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "FF4j_CacheInvalidationBus");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return flusher;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unsubscribe(CacheInvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        flush();
+        synchronized (this) {
+            if (flusher != null) {
+                flusher.shutdown();
+                flusher = null;
+            }
+        }
+        listeners.clear();
+    }
+
+    /**
+     * Getter accessor for attribute 'nodeId'.
+     *
+     * @return
+     *       current value of 'nodeId'
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Getter accessor for attribute 'batchDelay'.
+     *
+     * @return
+     *       current value of 'batchDelay'
+     */
+    public long getBatchDelay() {
+        return batchDelay;
+    }
+
+    /**
+     * Setter accessor for attribute 'batchDelay'.
+     *
+     * @param batchDelay
+     *      delay to coalesce invalidations in milliseconds, 0 sends each invalidation immediately
+     */
+    public void setBatchDelay(long batchDelay) {
+        this.batchDelay = batchDelay;
+    }
+
+    /**
+     * Number of messages which could not be sent.
+     *
+     * @return
+     *      errors count
+     */
+    public long getSendErrors() {
+        return sendErrors.get();
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Propagate cache evictions between the nodes sharing a target store.
+ * 
+ * <p>When a feature or a property is modified through a {@link FF4jCacheProxy}, the proxy evicts it from its local
+ * cache and publishes an invalidation on the bus. Other nodes subscribed to the same bus evict it as well, so long
+ * time-to-live can be used without serving stale values until expiration. Implementations may coalesce invalidations
+ * and send them as batches.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Feature has been created, modified or deleted.
+     *
+     * @param featureUid
+     *      feature identifier
+     */
+    void invalidateFeature(String featureUid);
+
+    /**
+     * Property has been created, modified or deleted.
+     *
+     * @param propertyName
+     *      property name
+     */
+    void invalidateProperty(String propertyName);
+
+    /**
+     * Several features modified (group operations, import, clear).
+     */
+    void invalidateAllFeatures();
+
+    /**
+     * Several properties modified (import, clear).
+     */
+    void invalidateAllProperties();
+
+    /**
+     * Receive invalidations published by other nodes.
+     *
+     * @param listener
+     *      listener
+     */
+    void subscribe(CacheInvalidationListener listener);
+
+    /**
+     * Stop receiving invalidations.
+     *
+     * @param listener
+     *      listener
+     */
+    void unsubscribe(CacheInvalidationListener listener);
+
+    /**
+     * Send pending invalidations and release resources.
+     */
+    void close();
+
+}
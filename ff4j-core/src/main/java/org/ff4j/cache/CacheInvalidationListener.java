@@ -0,0 +1,39 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Receive invalidations published by other nodes on a {@link CacheInvalidationBus}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@FunctionalInterface
+public interface CacheInvalidationListener {
+
+    /**
+     * Invalidations received.
+     *
+     * @param message
+     *      features and properties to evict
+     */
+    void onInvalidation(CacheInvalidationMessage message);
+
+}
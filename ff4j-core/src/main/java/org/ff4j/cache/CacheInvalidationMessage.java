@@ -0,0 +1,215 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Batch of invalidations sent on a {@link CacheInvalidationBus}.
+ * 
+ * <p>Text form (for channels carrying strings) is made of 3 lines : origin, features and properties. Names are
+ * URL encoded and separated with commas, '!' means all entries.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationMessage implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = -4418386853546911432L;
+
+    /** Marker for all entries, never produced by URL encoding. */
+    private static final String ALL = "!";
+
+    /** Node publishing the message. */
+    private final String origin;
+
+    /** Features to evict. */
+    private final Set<String> features;
+
+    /** Properties to evict. */
+    private final Set<String> properties;
+
+    /** Evict all features. */
+    private final boolean allFeatures;
+
+    /** Evict all properties. */
+    private final boolean allProperties;
+
+    /**
+     * Full constructor.
+     *
+     * @param origin
+     *      node publishing the message
+     * @param features
+     *      features to evict
+     * @param allFeatures
+     *      evict all features
+     * @param properties
+     *      properties to evict
+     * @param allProperties
+     *      evict all properties
+     */
+    public CacheInvalidationMessage(String origin, Set<String> features, boolean allFeatures, 
+            Set<String> properties, boolean allProperties) {
+        this.origin        = origin;
+        this.allFeatures   = allFeatures;
+        this.allProperties = allProperties;
+        this.features      = allFeatures ? Collections.<String>emptySet() : 
+            Collections.unmodifiableSet(new LinkedHashSet<>(features));
+        this.properties    = allProperties ? Collections.<String>emptySet() : 
+            Collections.unmodifiableSet(new LinkedHashSet<>(properties));
+    }
+
+    /**
+     * Parse text form.
+     *
+     * @param text
+     *      text produced by {@link #toText()}
+     * @return
+     *      message
+     */
+    public static CacheInvalidationMessage fromText(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Invalidation message cannot be null");
+        }
+        String[] lines = text.split("\n", -1);
+        if (lines.length != 3) {
+            throw new IllegalArgumentException("Invalid invalidation message '" + text + "'");
+        }
+        return new CacheInvalidationMessage(decode(lines[0]), 
+                decodeNames(lines[1]), ALL.equals(lines[1]), 
+                decodeNames(lines[2]), ALL.equals(lines[2]));
+    }
+
+    /**
+     * Text form of the message.
+     *
+     * @return
+     *      text to be parsed with {@link #fromText(String)}
+     */
+    public String toText() {
+        return encode(origin) + "\n" + encodeNames(features, allFeatures) + "\n" + encodeNames(properties, allProperties);
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String encodeNames(Set<String> names, boolean all) {
+        if (all) {
+            return ALL;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        for (String name : names) {
+            joiner.add(encode(name));
+        }
+        return joiner.toString();
+    }
+
+    private static Set<String> decodeNames(String line) {
+        Set<String> names = new LinkedHashSet<>();
+        if (!line.isEmpty() && !ALL.equals(line)) {
+            for (String name : line.split(",")) {
+                names.add(decode(name));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Nothing to invalidate.
+     *
+     * @return
+     *      if message is empty
+     */
+    public boolean isEmpty() {
+        return !allFeatures && !allProperties && features.isEmpty() && properties.isEmpty();
+    }
+
+    /**
+     * Getter accessor for attribute 'origin'.
+     *
+     * @return
+     *       current value of 'origin'
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Getter accessor for attribute 'features'.
+     *
+     * @return
+     *       current value of 'features'
+     */
+    public Set<String> getFeatures() {
+        return features;
+    }
+
+    /**
+     * Getter accessor for attribute 'properties'.
+     *
+     * @return
+     *       current value of 'properties'
+     */
+    public Set<String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Getter accessor for attribute 'allFeatures'.
+     *
+     * @return
+     *       current value of 'allFeatures'
+     */
+    public boolean isAllFeatures() {
+        return allFeatures;
+    }
+
+    /**
+     * Getter accessor for attribute 'allProperties'.
+     *
+     * @return
+     *       current value of 'allProperties'
+     */
+    public boolean isAllProperties() {
+        return allProperties;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "CacheInvalidationMessage [origin=" + origin + ", features=" + (allFeatures ? ALL : features) 
+                + ", properties=" + (allProperties ? ALL : properties) + "]";
+    }
+
+}
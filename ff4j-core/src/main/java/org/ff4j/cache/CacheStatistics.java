@@ -0,0 +1,176 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a cache : hits, misses, loads and evictions.
+ * 
+ * <p>Counters are updated without locking and can be read while the cache is in use.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheStatistics implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = 3317410417404880231L;
+
+    /** Entry found in cache. */
+    private final LongAdder hitCount = new LongAdder();
+
+    /** Entry not found in cache (or expired). */
+    private final LongAdder missCount = new LongAdder();
+
+    /** Entry read from the target store. */
+    private final LongAdder loadCount = new LongAdder();
+
+    /** Time spent reading the target store in nanoseconds. */
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /** Entry removed because of size or time-to-live. */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Record a cache hit.
+     */
+    public void recordHit() {
+        hitCount.increment();
+    }
+
+    /**
+     * Record a cache miss.
+     */
+    public void recordMiss() {
+        missCount.increment();
+    }
+
+    /**
+     * Record a load from the target store.
+     *
+     * @param loadTimeNanos
+     *      time spent in the store
+     */
+    public void recordLoad(long loadTimeNanos) {
+        loadCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    /**
+     * Record an eviction.
+     */
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        loadCount.reset();
+        totalLoadTime.reset();
+        evictionCount.reset();
+    }
+
+    /**
+     * Ratio of hits among requests, 1 when there was no request.
+     *
+     * @return
+     *      hit ratio
+     */
+    public double getHitRate() {
+        long hits     = getHitCount();
+        long requests = hits + getMissCount();
+        return (requests == 0) ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Average time spent reading the target store.
+     *
+     * @return
+     *      average load time in nanoseconds
+     */
+    public double getAverageLoadPenalty() {
+        long loads = getLoadCount();
+        return (loads == 0) ? 0.0 : (double) getTotalLoadTime() / loads;
+    }
+
+    /**
+     * Getter accessor for attribute 'hitCount'.
+     *
+     * @return
+     *       current value of 'hitCount'
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Getter accessor for attribute 'missCount'.
+     *
+     * @return
+     *       current value of 'missCount'
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Getter accessor for attribute 'loadCount'.
+     *
+     * @return
+     *       current value of 'loadCount'
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * Getter accessor for attribute 'totalLoadTime'.
+     *
+     * @return
+     *       current value of 'totalLoadTime' in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime.sum();
+    }
+
+    /**
+     * Getter accessor for attribute 'evictionCount'.
+     *
+     * @return
+     *       current value of 'evictionCount'
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "CacheStatistics [hits=" + getHitCount() + ", misses=" + getMissCount() 
+                + ", loads=" + getLoadCount() + ", totalLoadTime=" + getTotalLoadTime() 
+                + ", evictions=" + getEvictionCount() + "]";
+    }
+}
@@ -0,0 +1,62 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time read on every cache hit, refreshed by a daemon thread instead of calling the system clock each time.
+ * 
+ * @author Cedrick Lunven (@clunven)
+ */
+final class CoarseClock {
+
+    /** Maximum delay in milliseconds between the system clock and this one. */
+    static final long PRECISION = 50;
+
+    /** Current time in milliseconds. */
+    private static volatile long now = System.currentTimeMillis();
+
+    static {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, InMemoryCacheManager.DEFAULT_CACHENAME + "-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), PRECISION, PRECISION, TimeUnit.MILLISECONDS);
+    }
+
+    /** Hide constructor. */
+    private CoarseClock() {
+    }
+
+    /**
+     * Current time, late by {@link #PRECISION} milliseconds at most.
+     *
+     * @return
+     *      time in milliseconds since epoch
+     */
+    static long currentTimeMillis() {
+        return now;
+    }
+}
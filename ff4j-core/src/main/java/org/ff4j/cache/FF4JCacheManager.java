@@ -27,6 +27,7 @@ import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.PropertyStore;
 
 /**
  * Cache Layer on top of {@link FeatureStore} to enhance performances.
@@ -139,4 +140,25 @@ public interface FF4JCacheManager {
      */
     default void onException(Throwable error) {};
 
+    /**
+     * Hits, misses, loads and evictions of this cache.
+     *
+     * @return
+     *      statistics or null if the provider does not collect them
+     */
+    default CacheStatistics getCacheStatistics() {
+        return null;
+    }
+
+    /**
+     * Stores behind the cache, given by {@link FF4jCacheProxy}. Providers able to reload
+     * entries by themselves (refresh-ahead) keep them, others ignore them.
+     *
+     * @param featureStore
+     *      target feature store
+     * @param propertyStore
+     *      target property store
+     */
+    default void setTargetStores(FeatureStore featureStore, PropertyStore propertyStore) {}
+
 }
@@ -20,13 +20,25 @@ package org.ff4j.cache;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Collection;
-
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.GroupNotFoundException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.utils.Util;
@@ -42,6 +54,12 @@ import org.ff4j.utils.Util;
  */
 public class FF4jCacheProxy implements FeatureStore, PropertyStore {
 
+    /** Default time (milliseconds) a missing feature or property is remembered : disabled, see {@link #setNegativeCacheTtl(long)}. */
+    public static final long DEFAULT_NEGATIVE_CACHE_TTL = 0;
+
+    /** Upper bound for remembered missing features (and properties). */
+    private static final int MAX_NEGATIVE_ENTRIES = 1000;
+
     /** Target feature store to be proxified to cache features. */
     private FeatureStore targetFeatureStore;
 
@@ -54,6 +72,45 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     /** Daemon to fetch data from target store to cache on a fixed delay basis. */
     private Store2CachePollingScheduler store2CachePoller = null;
 
+    /** Time (milliseconds) a missing feature or property is remembered, 0 disables negative caching. */
+    private volatile long negativeCacheTtl = DEFAULT_NEGATIVE_CACHE_TTL;
+
+    /** Features not found in target store with expiration time. */
+    private final ConcurrentMap<String, Long> missingFeatures = new ConcurrentHashMap<>();
+
+    /** Properties not found in target store with expiration time. */
+    private final ConcurrentMap<String, Long> missingProperties = new ConcurrentHashMap<>();
+
+    /** Features written through the proxy, a miss read before a write is not remembered. */
+    private final AtomicLong featureWrites = new AtomicLong();
+
+    /** Properties written through the proxy, a miss read before a write is not remembered. */
+    private final AtomicLong propertyWrites = new AtomicLong();
+
+    /** Loads in progress, concurrent misses on same feature wait for the same load. */
+    private final ConcurrentMap<String, CompletableFuture<Feature>> featureLoads = new ConcurrentHashMap<>();
+
+    /** Loads in progress, concurrent misses on same property wait for the same load. */
+    private final ConcurrentMap<String, CompletableFuture<Property<?>>> propertyLoads = new ConcurrentHashMap<>();
+
+    /** Bulk and group queries answered from the snapshot published by the poller (complete snapshot mode). */
+    private volatile boolean completeSnapshot = false;
+
+    /** Complete snapshot of features, null if not available or invalidated by a write. */
+    private volatile FeaturesSnapshot snapshot;
+
+    /** Incremented on each write, a snapshot read before a write is not published. */
+    private long snapshotVersion = 0;
+
+    /** Guard version and snapshot publication. */
+    private final Object snapshotLock = new Object();
+
+    /** Propagate evictions to other nodes, null if single node. */
+    private CacheInvalidationBus invalidationBus;
+
+    /** Apply evictions published by other nodes. */
+    private final CacheInvalidationListener invalidationListener = this::onRemoteInvalidation;
+
     /**
      * Allow Ioc and defeine default constructor.
      */
@@ -72,6 +129,340 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         this.targetFeatureStore  = fStore;
         this.targetPropertyStore = pStore;
         this.store2CachePoller   = new Store2CachePollingScheduler(fStore, pStore, cache);
+        bindCacheToStores();
+    }
+
+    /**
+     * Cache managers may reload entries from target stores (refresh-ahead).
+     */
+    private void bindCacheToStores() {
+        if (cacheManager != null) {
+            cacheManager.setTargetStores(targetFeatureStore, targetPropertyStore);
+        }
+    }
+
+    /**
+     * Record time spent to load from target store, if cache manager provides statistics.
+     *
+     * @param start
+     *      start of the load with {@link System#nanoTime()}
+     */
+    private void recordLoad(long start) {
+        CacheStatistics statistics = getCacheManager().getCacheStatistics();
+        if (statistics != null) {
+            statistics.recordLoad(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Execute load only once per key, concurrent callers wait for the result (or error) of the load in progress.
+     *
+     * @param loads
+     *      loads in progress
+     * @param key
+     *      feature or property name
+     * @param loader
+     *      read from target store
+     * @return
+     *      loaded value
+     */
+    private <T> T loadOnce(ConcurrentMap<String, CompletableFuture<T>> loads, String key, Supplier<T> loader) {
+        CompletableFuture<T> load = new CompletableFuture<>();
+        CompletableFuture<T> inProgress = loads.putIfAbsent(key, load);
+        if (inProgress != null) {
+            try {
+                return inProgress.join();
+            } catch(CompletionException ce) {
+                if (ce.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ce.getCause();
+                }
+                throw ce;
+            }
+        }
+        try {
+            T value = loader.get();
+            load.complete(value);
+            return value;
+        } catch(RuntimeException re) {
+            load.completeExceptionally(re);
+            throw re;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Check if key has been recently reported as missing by the target store.
+     *
+     * @param missing
+     *      negative cache
+     * @param key
+     *      feature or property name
+     * @return
+     *      if key is known to be missing
+     */
+    private boolean isKnownMissing(ConcurrentMap<String, Long> missing, String key) {
+        if (missing.isEmpty()) {
+            return false;
+        }
+        Long expiration = missing.get(key);
+        if (expiration == null) {
+            return false;
+        }
+        if (expiration > System.currentTimeMillis()) {
+            return true;
+        }
+        missing.remove(key, expiration);
+        return false;
+    }
+
+    /**
+     * Remember key as missing in target store for a short time.
+     *
+     * @param missing
+     *      negative cache
+     * @param writes
+     *      write counter of the negative cache
+     * @param stamp
+     *      write counter read before accessing the target store
+     * @param key
+     *      feature or property name
+     */
+    private void markMissing(ConcurrentMap<String, Long> missing, AtomicLong writes, long stamp, String key) {
+        if (negativeCacheTtl <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (missing.size() >= MAX_NEGATIVE_ENTRIES) {
+            missing.values().removeIf(expiration -> expiration <= now);
+            if (missing.size() >= MAX_NEGATIVE_ENTRIES) {
+                // Bounded, evict an arbitrary entry
+                missing.keySet().stream().findAny().ifPresent(missing::remove);
+            }
+        }
+        Long expiration = now + negativeCacheTtl;
+        missing.put(key, expiration);
+        if (writes.get() != stamp) {
+            // Created or updated while the target was read, the miss may be stale
+            missing.remove(key, expiration);
+        }
+    }
+
+    /**
+     * Forget missing key(s) when a value is stored, before removing the marker the write counter is increased
+     * so a concurrent {@link #markMissing(ConcurrentMap, AtomicLong, long, String)} drops its own marker.
+     *
+     * @param missing
+     *      negative cache
+     * @param writes
+     *      write counter of the negative cache
+     * @param key
+     *      feature or property name, null for all
+     */
+    private void forgetMissing(ConcurrentMap<String, Long> missing, AtomicLong writes, String key) {
+        writes.incrementAndGet();
+        if (key == null) {
+            missing.clear();
+        } else {
+            missing.remove(key);
+        }
+    }
+
+    /**
+     * Evict entries modified on other nodes.
+     *
+     * @param message
+     *      invalidations received from the bus
+     */
+    private void onRemoteInvalidation(CacheInvalidationMessage message) {
+        if (message.isAllFeatures() || !message.getFeatures().isEmpty()) {
+            invalidateSnapshot();
+        }
+        try {
+            if (message.isAllFeatures()) {
+                forgetMissing(missingFeatures, featureWrites, null);
+                getCacheManager().clearFeatures();
+            } else {
+                for (String uid : message.getFeatures()) {
+                    forgetMissing(missingFeatures, featureWrites, uid);
+                    getCacheManager().evictFeature(uid);
+                }
+            }
+            if (message.isAllProperties()) {
+                forgetMissing(missingProperties, propertyWrites, null);
+                getCacheManager().clearProperties();
+            } else {
+                for (String name : message.getProperties()) {
+                    forgetMissing(missingProperties, propertyWrites, name);
+                    getCacheManager().evictProperty(name);
+                }
+            }
+        } catch(RuntimeException re) {
+            getCacheManager().onException(re);
+        }
+    }
+
+    /**
+     * Notify other nodes that a feature changed.
+     *
+     * @param featureUid
+     *      feature identifier
+     */
+    private void publishFeatureInvalidation(String featureUid) {
+        if (invalidationBus != null) {
+            invalidationBus.invalidateFeature(featureUid);
+        }
+    }
+
+    /**
+     * Notify other nodes that several features changed.
+     */
+    private void publishAllFeaturesInvalidation() {
+        if (invalidationBus != null) {
+            invalidationBus.invalidateAllFeatures();
+        }
+    }
+
+    /**
+     * Notify other nodes that a property changed.
+     *
+     * @param propertyName
+     *      property name
+     */
+    private void publishPropertyInvalidation(String propertyName) {
+        if (invalidationBus != null) {
+            invalidationBus.invalidateProperty(propertyName);
+        }
+    }
+
+    /**
+     * Notify other nodes that several properties changed.
+     */
+    private void publishAllPropertiesInvalidation() {
+        if (invalidationBus != null) {
+            invalidationBus.invalidateAllProperties();
+        }
+    }
+
+    /**
+     * Snapshot if complete snapshot mode is enabled and published snapshot is not expired.
+     *
+     * @return
+     *      current snapshot or null
+     */
+    private FeaturesSnapshot getValidSnapshot() {
+        FeaturesSnapshot current = snapshot;
+        if (!completeSnapshot || current == null || current.expirationTime < System.currentTimeMillis()) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Write through the proxy, snapshot is no more complete until next poll.
+     */
+    private void invalidateSnapshot() {
+        synchronized (snapshotLock) {
+            snapshotVersion++;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Version to provide when publishing a snapshot read from now.
+     *
+     * @return
+     *      current version
+     */
+    long getSnapshotVersion() {
+        synchronized (snapshotLock) {
+            return snapshotVersion;
+        }
+    }
+
+    /**
+     * Publish all features of target store (used by poller), ignored if a write happened since version was read.
+     *
+     * @param features
+     *      all features of target store
+     * @param timeToLive
+     *      validity of the snapshot in milliseconds
+     * @param version
+     *      value of {@link #getSnapshotVersion()} before reading features
+     */
+    void publishSnapshot(Map<String, Feature> features, long timeToLive, long version) {
+        FeaturesSnapshot next = new FeaturesSnapshot(features, System.currentTimeMillis() + timeToLive);
+        synchronized (snapshotLock) {
+            if (version == snapshotVersion) {
+                snapshot = next;
+            }
+        }
+    }
+
+    /**
+     * Load feature from target store (once for concurrent misses) and put it in cache.
+     *
+     * @param featureUid
+     *      feature identifier
+     * @return
+     *      feature
+     */
+    private Feature loadFeature(String featureUid) {
+        Util.assertHasLength(featureUid);
+        if (isKnownMissing(missingFeatures, featureUid)) {
+            throw new FeatureNotFoundException(featureUid);
+        }
+        return loadOnce(featureLoads, featureUid, () -> {
+            long start = System.nanoTime();
+            long stamp = featureWrites.get();
+            Feature fp;
+            try {
+                fp = getTargetFeatureStore().read(featureUid);
+            } catch(FeatureNotFoundException fnf) {
+                markMissing(missingFeatures, featureWrites, stamp, featureUid);
+                throw fnf;
+            }
+            recordLoad(start);
+            try {
+                getCacheManager().putFeature(fp);
+            } catch(RuntimeException re) {
+                getCacheManager().onException(re);
+            }
+            return fp;
+        });
+    }
+
+    /**
+     * Load property from target store (once for concurrent misses) and put it in cache.
+     *
+     * @param name
+     *      property name
+     * @return
+     *      property
+     */
+    private Property<?> loadProperty(String name) {
+        Util.assertHasLength(name);
+        if (isKnownMissing(missingProperties, name)) {
+            throw new PropertyNotFoundException(name);
+        }
+        return loadOnce(propertyLoads, name, () -> {
+            long start = System.nanoTime();
+            long stamp = propertyWrites.get();
+            Property<?> p;
+            try {
+                p = getTargetPropertyStore().readProperty(name);
+            } catch(PropertyNotFoundException pnf) {
+                markMissing(missingProperties, propertyWrites, stamp, name);
+                throw pnf;
+            }
+            recordLoad(start);
+            try {
+                getCacheManager().putProperty(p);
+            } catch(RuntimeException re) {
+                getCacheManager().onException(re);
+            }
+            return p;
+        });
     }
     
     /**
@@ -81,6 +472,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         if (store2CachePoller == null) {
             throw new IllegalStateException("The poller has not been initialize, please check");
         }
+        getStore2CachePoller().setCacheProxy(this);
         getStore2CachePoller().start(delay);
     }
     
@@ -99,6 +491,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void enable(String featureId) {
         // Reach target
         getTargetFeatureStore().enable(featureId);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         
         // Modification => flush cache
         try {
@@ -113,6 +507,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void disable(String featureId) {
         // Reach target
         getTargetFeatureStore().disable(featureId);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         
         // Modification => flush cache
         try {
@@ -127,14 +523,22 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public boolean exist(String featureId) {
         Util.assertHasLength(featureId);
         try {
-            // not in cache but maybe created from last access
-            if (getCacheManager().getFeature(featureId) == null) {
-                return getTargetFeatureStore().exist(featureId);
+            if (getCacheManager().getFeature(featureId) != null) {
+                return true;
             }
         } catch(RuntimeException re) {
             getCacheManager().onException(re);
         }
-        return true;
+        if (isKnownMissing(missingFeatures, featureId)) {
+            return false;
+        }
+        // not in cache but maybe created from last access
+        long stamp = featureWrites.get();
+        boolean exist = getTargetFeatureStore().exist(featureId);
+        if (!exist) {
+            markMissing(missingFeatures, featureWrites, stamp, featureId);
+        }
+        return exist;
     }
     
     /** {@inheritDoc} */
@@ -150,6 +554,9 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void create(Feature fp) {
         getTargetFeatureStore().create(fp);
+        invalidateSnapshot();
+        publishFeatureInvalidation(fp.getUid());
+        forgetMissing(missingFeatures, featureWrites, fp.getUid());
         try {
             getCacheManager().putFeature(fp);
         } catch(RuntimeException re) {
@@ -169,12 +576,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         }
         // not in cache but may has been created from now
         if (null == fp) {
-            fp = getTargetFeatureStore().read(featureUid);
-            try {
-                getCacheManager().putFeature(fp);
-            } catch(RuntimeException re) {
-                getCacheManager().onException(re);
-            }
+            fp = loadFeature(featureUid);
         }
         return fp;
     }
@@ -182,13 +584,66 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
+        FeaturesSnapshot current = getValidSnapshot();
+        if (current != null) {
+            return current.features;
+        }
         // Cannot be sure of whole cache - do not test any feature one-by-one : accessing FeatureStore
         return getTargetFeatureStore().readAll();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        Map<String, Feature> features = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String uid : featureUids) {
+            Feature fp = null;
+            try {
+                fp = getCacheManager().getFeature(uid);
+            } catch(RuntimeException re) {
+                // Cache errors should NOT impact main behaviour
+                getCacheManager().onException(re);
+            }
+            if (null == fp) {
+                if (!isKnownMissing(missingFeatures, uid)) {
+                    missing.add(uid);
+                }
+            } else {
+                features.put(uid, fp);
+            }
+        }
+        // Only features not in cache are fetched, with a single call to the target
+        if (!missing.isEmpty()) {
+            long start = System.nanoTime();
+            long stamp = featureWrites.get();
+            Map<String, Feature> loaded = getTargetFeatureStore().readMany(missing);
+            recordLoad(start);
+            for (String uid : missing) {
+                if (!loaded.containsKey(uid)) {
+                    markMissing(missingFeatures, featureWrites, stamp, uid);
+                }
+            }
+            for (Feature fp : loaded.values()) {
+                try {
+                    getCacheManager().putFeature(fp);
+                } catch(RuntimeException re) {
+                    getCacheManager().onException(re);
+                }
+            }
+            features.putAll(loaded);
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Set<String> readAllGroups() {
+        FeaturesSnapshot current = getValidSnapshot();
+        if (current != null) {
+            return current.groups.keySet();
+        }
         // Cannot be sure of whole cache - do not test any feature one-by-one : accessing FeatureStore
         return getTargetFeatureStore().readAllGroups();
     }
@@ -198,6 +653,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void delete(String featureId) {
         // Access target store
         getTargetFeatureStore().delete(featureId);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         
         // even is not present, evict won't failed
         try {
@@ -211,6 +668,9 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void update(Feature fp) {
         getTargetFeatureStore().update(fp);
+        invalidateSnapshot();
+        publishFeatureInvalidation(fp.getUid());
+        forgetMissing(missingFeatures, featureWrites, fp.getUid());
         
         // even is not present, evict won't failed
         try {
@@ -224,6 +684,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void grantRoleOnFeature(String featureId, String roleName) {
         getTargetFeatureStore().grantRoleOnFeature(featureId, roleName);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         try {
             getCacheManager().evictFeature(featureId);
         } catch(RuntimeException re) {
@@ -235,6 +697,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void removeRoleFromFeature(String featureId, String roleName) {
         getTargetFeatureStore().removeRoleFromFeature(featureId, roleName);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         try {
             getCacheManager().evictFeature(featureId);
         } catch(RuntimeException re) {
@@ -246,6 +710,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void enableGroup(String groupName) {
         getTargetFeatureStore().enableGroup(groupName);
+        invalidateSnapshot();
+        publishAllFeaturesInvalidation();
 
         // Cannot know wich feature to work with (exceptional event) : flush cache
         try {
@@ -259,6 +725,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void disableGroup(String groupName) {
         getTargetFeatureStore().disableGroup(groupName);
+        invalidateSnapshot();
+        publishAllFeaturesInvalidation();
         // Cannot know wich feature to work with (exceptional event) : flush cache
         try {
             getCacheManager().clearFeatures();
@@ -270,6 +738,11 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     /** {@inheritDoc} */
     @Override
     public boolean existGroup(String groupName) {
+        FeaturesSnapshot current = getValidSnapshot();
+        if (current != null) {
+            Util.assertHasLength(groupName);
+            return current.groups.containsKey(groupName);
+        }
         // Cache cannot help you
         return getTargetFeatureStore().existGroup(groupName);
     }
@@ -277,6 +750,15 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readGroup(String groupName) {
+        FeaturesSnapshot current = getValidSnapshot();
+        if (current != null) {
+            Util.assertHasLength(groupName);
+            Map<String, Feature> group = current.groups.get(groupName);
+            if (group == null) {
+                throw new GroupNotFoundException(groupName);
+            }
+            return group;
+        }
         // Cache cannot help you
         return getTargetFeatureStore().readGroup(groupName);
     }
@@ -285,6 +767,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void addToGroup(String featureId, String groupName) {
         getTargetFeatureStore().addToGroup(featureId, groupName);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         try {
             getCacheManager().evictFeature(featureId);
         } catch(RuntimeException re) {
@@ -296,6 +780,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void removeFromGroup(String featureId, String groupName) {
         getTargetFeatureStore().removeFromGroup(featureId, groupName);
+        invalidateSnapshot();
+        publishFeatureInvalidation(featureId);
         try {
             getCacheManager().evictFeature(featureId);
         } catch(RuntimeException re) {
@@ -347,6 +833,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
      */
     public void setCacheManager(FF4JCacheManager cacheManager) {
         this.cacheManager = cacheManager;
+        bindCacheToStores();
     }
 
     // ------------ Cache related method --------------------
@@ -379,21 +866,32 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     /** {@inheritDoc} */
     @Override
     public boolean existProperty(String propertyName) {
+        Util.assertHasLength(propertyName);
         try {
-            // not in cache but maybe created from last access
-            if (getCacheManager().getProperty(propertyName) == null) {
-                return getTargetPropertyStore().existProperty(propertyName);
+            if (getCacheManager().getProperty(propertyName) != null) {
+                return true;
             }
         } catch(RuntimeException re) {
             getCacheManager().onException(re);
-        }    
-        return true;
+        }
+        if (isKnownMissing(missingProperties, propertyName)) {
+            return false;
+        }
+        // not in cache but maybe created from last access
+        long stamp = propertyWrites.get();
+        boolean exist = getTargetPropertyStore().existProperty(propertyName);
+        if (!exist) {
+            markMissing(missingProperties, propertyWrites, stamp, propertyName);
+        }
+        return exist;
     }
 
     /** {@inheritDoc} */
     @Override
     public <T> void createProperty(Property<T> property) {
         getTargetPropertyStore().createProperty(property);
+        publishPropertyInvalidation(property.getName());
+        forgetMissing(missingProperties, propertyWrites, property.getName());
         try {
             getCacheManager().putProperty(property);
         } catch(RuntimeException re) {
@@ -413,12 +911,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         
         // not in cache but may has been created from now
         if (null == p) {
-            p = getTargetPropertyStore().readProperty(name);
-            try {
-                getCacheManager().putProperty(p);
-            } catch(RuntimeException re) {
-                getCacheManager().onException(re);
-            }
+            p = loadProperty(name);
         }
         return p;
     }
@@ -435,7 +928,9 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Not in cache but may has been created from now
         // Or in cache but with different value that default
         if (null == p) {
+            long start = System.nanoTime();
             p = getTargetPropertyStore().readProperty(name, defaultValue);
+            recordLoad(start);
             try {
                 getCacheManager().putProperty(p);
             } catch(RuntimeException re) {
@@ -453,6 +948,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         fp.setValueFromString(newValue);
         // Update value in target store
         getTargetPropertyStore().updateProperty(fp);
+        publishPropertyInvalidation(fp.getName());
         try {
             // Remove from cache old value
             getCacheManager().evictProperty(fp.getName());
@@ -468,6 +964,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public <T> void updateProperty(Property<T> propertyValue) {
         // Update the property
         getTargetPropertyStore().updateProperty(propertyValue);
+        publishPropertyInvalidation(propertyValue.getName());
+        forgetMissing(missingProperties, propertyWrites, propertyValue.getName());
         try {
             // Update the cache accordirly
             getCacheManager().evictProperty(propertyValue.getName());
@@ -483,6 +981,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void deleteProperty(String name) {
         // Access target store
         getTargetPropertyStore().deleteProperty(name);
+        publishPropertyInvalidation(name);
         try {
             // even is not present, evict name failed
             getCacheManager().evictProperty(name);
@@ -512,10 +1011,15 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         } catch(RuntimeException re) {
             getCacheManager().onException(re);
         }
+        forgetMissing(missingFeatures, featureWrites, null);
+        forgetMissing(missingProperties, propertyWrites, null);
         // Cache Operations : As modification, flush cache for this
         getTargetPropertyStore().clear();
+        publishAllPropertiesInvalidation();
         // Cache Operations : As modification, flush cache for this
         getTargetFeatureStore().clear();
+        invalidateSnapshot();
+        publishAllFeaturesInvalidation();
     }
     
     /** {@inheritDoc} */
@@ -526,6 +1030,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
             getCacheManager().onException(re);
         }
         getTargetPropertyStore().importProperties(properties);
+        publishAllPropertiesInvalidation();
+        forgetMissing(missingProperties, propertyWrites, null);
     }
 
     /** {@inheritDoc} */
@@ -536,6 +1042,9 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
             getCacheManager().onException(re);
         }
         getTargetFeatureStore().importFeatures(features);
+        invalidateSnapshot();
+        publishAllFeaturesInvalidation();
+        forgetMissing(missingFeatures, featureWrites, null);
     }
 
     /**
@@ -546,6 +1055,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
      */
     public void setTargetFeatureStore(FeatureStore targetFeatureStore) {
         this.targetFeatureStore = targetFeatureStore;
+        bindCacheToStores();
     }
 
     /**
@@ -556,6 +1066,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
      */
     public void setTargetPropertyStore(PropertyStore targetPropertyStore) {
         this.targetPropertyStore = targetPropertyStore;
+        bindCacheToStores();
     }
 
     /**
@@ -576,4 +1087,109 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void setStore2CachePoller(Store2CachePollingScheduler store2CachePoller) {
         this.store2CachePoller = store2CachePoller;
     }    
+    /**
+     * Getter accessor for attribute 'negativeCacheTtl'.
+     *
+     * @return
+     *       current value of 'negativeCacheTtl'
+     */
+    public long getNegativeCacheTtl() {
+        return negativeCacheTtl;
+    }
+
+    /**
+     * Setter accessor for attribute 'negativeCacheTtl'.
+     * 
+     * Negative caching is disabled by default : a feature or property created in the target store
+     * without going through this proxy (other node, console) is only seen once the miss has expired.
+     *
+     * @param negativeCacheTtl
+     *      time (milliseconds) a missing feature or property is remembered, 0 disables negative caching
+     */
+    public void setNegativeCacheTtl(long negativeCacheTtl) {
+        this.negativeCacheTtl = negativeCacheTtl;
+        if (negativeCacheTtl <= 0) {
+            missingFeatures.clear();
+            missingProperties.clear();
+        }
+    }
+    /**
+     * Getter accessor for attribute 'invalidationBus'.
+     *
+     * @return
+     *       current value of 'invalidationBus'
+     */
+    public CacheInvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+
+    /**
+     * Setter accessor for attribute 'invalidationBus' : modifications made through this proxy are published on the
+     * bus and modifications published by other nodes are evicted from the cache.
+     *
+     * @param invalidationBus
+     *      bus shared by nodes, null to stop propagation
+     */
+    public void setInvalidationBus(CacheInvalidationBus invalidationBus) {
+        if (this.invalidationBus != null) {
+            this.invalidationBus.unsubscribe(invalidationListener);
+        }
+        this.invalidationBus = invalidationBus;
+        if (invalidationBus != null) {
+            invalidationBus.subscribe(invalidationListener);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'completeSnapshot'.
+     *
+     * @return
+     *       current value of 'completeSnapshot'
+     */
+    public boolean isCompleteSnapshot() {
+        return completeSnapshot;
+    }
+
+    /**
+     * Setter accessor for attribute 'completeSnapshot'. When enabled (with polling), readAll(), readAllGroups(),
+     * existGroup() and readGroup() are answered from the last poll, the target store is used when the snapshot is
+     * expired or after a write through the proxy.
+     * 
+     * @param completeSnapshot
+     *      new value for 'completeSnapshot '
+     */
+    public void setCompleteSnapshot(boolean completeSnapshot) {
+        this.completeSnapshot = completeSnapshot;
+    }
+
+    /**
+     * Immutable view of every feature with group index.
+     */
+    private static final class FeaturesSnapshot {
+
+        /** Features by uid. */
+        private final Map<String, Feature> features;
+
+        /** Features by group. */
+        private final Map<String, Map<String, Feature>> groups;
+
+        /** Time after which the target store must be used. */
+        private final long expirationTime;
+
+        private FeaturesSnapshot(Map<String, Feature> all, long expirationTime) {
+            Map<String, Map<String, Feature>> index = new HashMap<>();
+            for (Feature f : all.values()) {
+                if (f.getGroup() != null && !f.getGroup().isEmpty()) {
+                    index.computeIfAbsent(f.getGroup(), g -> new HashMap<>()).put(f.getUid(), f);
+                }
+            }
+            for (Map.Entry<String, Map<String, Feature>> group : index.entrySet()) {
+                group.setValue(Collections.unmodifiableMap(group.getValue()));
+            }
+            this.features       = Collections.unmodifiableMap(new HashMap<>(all));
+            this.groups         = Collections.unmodifiableMap(index);
+            this.expirationTime = expirationTime;
+        }
+    }
+
 }
@@ -46,6 +46,9 @@ public final class InMemoryCacheEntry<T> implements Serializable {
 
     /** Current entry to cache. */
     private final T entry;
+    
+    /** Read since last eviction sweep (second chance). */
+    private transient volatile boolean accessed;
 
     /**
      * Parameterized contructor with target cached object.
@@ -80,6 +83,38 @@ public final class InMemoryCacheEntry<T> implements Serializable {
         return (System.currentTimeMillis() - getInsertedDate()) >= (TO_MILLIS * timeToLive);
     }
 
+    /**
+     * Flag entry as read, written only when not already set to keep hits cheap.
+     */
+    void markAccessed() {
+        if (!accessed) {
+            accessed = true;
+        }
+    }
+    
+    /**
+     * Clear flag when the eviction sweep reaches the entry.
+     *
+     * @return
+     *      if entry was read since last sweep
+     */
+    boolean clearAccessed() {
+        if (accessed) {
+            accessed = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Getter accessor for attribute 'timeToLive'.
+     * 
+     * @return current value of 'timeToLive' in seconds
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
     /**
      * Getter accessor for attribute 'insertedDate'.
      * 
@@ -0,0 +1,76 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Invalidation bus between instances of the same JVM (tests, several FF4j in one application).
+ * 
+ * <p>Buses created with {@link #InMemoryCacheInvalidationBus(InMemoryCacheInvalidationBus)} join the group of the
+ * provided bus, messages are delivered synchronously to every member of the group.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    /** Buses of the group, shared by members. */
+    private final List<InMemoryCacheInvalidationBus> members;
+
+    /**
+     * New group.
+     */
+    public InMemoryCacheInvalidationBus() {
+        this.members = new CopyOnWriteArrayList<>();
+        members.add(this);
+    }
+
+    /**
+     * Join group of another bus.
+     *
+     * @param peer
+     *      member of the group
+     */
+    public InMemoryCacheInvalidationBus(InMemoryCacheInvalidationBus peer) {
+        if (peer == null) {
+            throw new IllegalArgumentException("Peer bus cannot be null");
+        }
+        this.members = peer.members;
+        members.add(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void send(CacheInvalidationMessage message) {
+        for (InMemoryCacheInvalidationBus member : members) {
+            member.onMessage(message);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        super.close();
+        members.remove(this);
+    }
+
+}
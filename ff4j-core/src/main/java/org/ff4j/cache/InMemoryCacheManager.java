@@ -22,17 +22,38 @@ package org.ff4j.cache;
 
 
 import static org.ff4j.cache.InMemoryCacheEntry.DEFAULT_TTL;
+import static org.ff4j.cache.InMemoryCacheEntry.TO_MILLIS;
 
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
+import org.ff4j.property.store.PropertyStore;
 
 /**
  * Proposition of inmemory cache implementation.
  * 
+ * <p>Caches are bounded : beyond max size, entries are evicted with the clock (second chance) algorithm. A read only
+ * sets a flag on the entry, so reads never lock. A sweep, resumed where the previous one stopped, clears the flag of
+ * entries read since its last pass and evicts the first entry found without it. This is not LRU: the entry evicted
+ * is one not read during the last turn of the sweep, not the least recently read one. When the stores behind the
+ * cache are known (see {@link FF4jCacheProxy}), an entry read after a part of its time-to-live (refresh-ahead ratio)
+ * is reloaded in background while the current value is still served, so requests do not pay the store read when
+ * the time-to-live is reached.
+ * 
  * Warn : DO NOT USE THIS CACHE WHEN WORKING WITH EXTERNAL FEATURESTORE (as Database) and cluster application : EACH NODE GOT ITS
  * MEMORY AND AN MODIFICATION IN STORE WON'T REFRESH THIS CACHE. Please use REDIS/MEMCACHED implementations.
  * 
@@ -43,22 +64,123 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** cache name if several caches within memory. */
     public static final String DEFAULT_CACHENAME = "ff4j-cache";
 
+    /** Default maximum number of entries for features (and for properties). */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    /** Default part of the time-to-live after which an entry read is reloaded in background. */
+    public static final double DEFAULT_REFRESH_AHEAD_RATIO = 0.8;
+
+    /** Maximum number of entries per cache. */
+    private final int maxSize;
+
+    /** Time to live of entries in seconds. */
+    private final long timeToLive;
+
+    /** Hits, misses, loads and evictions. */
+    private final CacheStatistics statistics = new CacheStatistics();
+
     /** Cached Feature Map */
-    private final Map<String, InMemoryCacheEntry<Feature>> featuresCache = 
-            new WeakHashMap<String, InMemoryCacheEntry<Feature>>();
+    private final Map<String, InMemoryCacheEntry<Feature>> featuresCache;
     
     /** Cached Property Map */
-    private final Map<String, InMemoryCacheEntry<Property<?>>> propertyCache = 
-            new WeakHashMap<String, InMemoryCacheEntry<Property<?>>>();
+    private final Map<String, InMemoryCacheEntry<Property<?>>> propertyCache;
+    
+    /** Position of eviction sweep in features. */
+    private final EvictionHand<Feature> featuresHand = new EvictionHand<>();
+    
+    /** Position of eviction sweep in properties. */
+    private final EvictionHand<Property<?>> propertyHand = new EvictionHand<>();
 
-    private final long timeToLive;
+    /** Features being reloaded in background. */
+    private final Set<String> refreshingFeatures = ConcurrentHashMap.newKeySet();
+
+    /** Properties being reloaded in background. */
+    private final Set<String> refreshingProperties = ConcurrentHashMap.newKeySet();
+
+    /** Part of time-to-live after which entries are reloaded, 1 or more disables refresh-ahead. */
+    private volatile double refreshAheadRatio = DEFAULT_REFRESH_AHEAD_RATIO;
+
+    /** Reload features from target store (refresh-ahead), null if unknown. */
+    private volatile Function<String, Feature> featureLoader;
+
+    /** Reload properties from target store (refresh-ahead), null if unknown. */
+    private volatile Function<String, Property<?>> propertyLoader;
+
+    /** Executor for background reloads. */
+    private Executor refreshExecutor;
 
     public InMemoryCacheManager() {
         this(DEFAULT_TTL);
     }
 
     public InMemoryCacheManager(long timeToLive) {
-        this.timeToLive = timeToLive;
+        this(timeToLive, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Bounded cache.
+     *
+     * @param timeToLive
+     *      time to live of entries in seconds
+     * @param maxSize
+     *      maximum number of features (and of properties) kept in cache
+     */
+    public InMemoryCacheManager(long timeToLive, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("ff4j-core: Cache max size must be greater than 0");
+        }
+        this.timeToLive    = timeToLive;
+        this.maxSize       = maxSize;
+        this.featuresCache = new ConcurrentHashMap<>();
+        this.propertyCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Position of the eviction sweep in a cache, kept between puts so every entry gets its second chance.
+     */
+    private static final class EvictionHand<T> {
+        
+        /** Current position, weakly consistent iterator. */
+        private Iterator<Map.Entry<String, InMemoryCacheEntry<T>>> position;
+    }
+    
+    /**
+     * Put entry and evict entries beyond max size.
+     *
+     * @param cache
+     *      target cache
+     * @param hand
+     *      eviction sweep of the cache
+     * @param key
+     *      entry key
+     * @param entry
+     *      new entry
+     */
+    private <T> void putEntry(Map<String, InMemoryCacheEntry<T>> cache, EvictionHand<T> hand, String key, InMemoryCacheEntry<T> entry) {
+        cache.put(key, entry);
+        if (cache.size() <= maxSize) {
+            return;
+        }
+        synchronized (hand) {
+            // Two turns at most : the first one clears the flags
+            int steps = 2 * cache.size() + 2;
+            while (cache.size() > maxSize && steps-- > 0) {
+                if (hand.position == null || !hand.position.hasNext()) {
+                    hand.position = cache.entrySet().iterator();
+                    if (!hand.position.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<String, InMemoryCacheEntry<T>> candidate = hand.position.next();
+                InMemoryCacheEntry<T> current = candidate.getValue();
+                if (key.equals(candidate.getKey()) || current.clearAccessed()) {
+                    continue;
+                }
+                if (cache.remove(candidate.getKey(), current)) {
+                    statistics.recordEviction();
+                }
+            }
+        }
     }
        
     /** {@inheritDoc} */
@@ -70,7 +192,25 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public Set<String> listCachedFeatureNames() {
-        return featuresCache.keySet();
+        return liveKeys(featuresCache);
+    }
+
+    /**
+     * Keys of entries not expired yet, without reading them (no statistics, no refresh-ahead, no access flag).
+     *
+     * @param cache
+     *      target cache
+     * @return
+     *      keys of live entries
+     */
+    private <T> Set<String> liveKeys(Map<String, InMemoryCacheEntry<T>> cache) {
+        Set<String> keys = new HashSet<>();
+        for (Map.Entry<String, InMemoryCacheEntry<T>> entry : cache.entrySet()) {
+            if (!entry.getValue().hasReachTimeToLive()) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
     }
 
     /** {@inheritDoc} */
@@ -88,17 +228,13 @@ public class InMemoryCacheManager implements FF4JCacheManager {
     /** {@inheritDoc} */
     @Override
     public void evictFeature(String featureId) {
-        if (getFeaturesCache().containsKey(featureId)) {
-            getFeaturesCache().remove(featureId);
-        }
+        getFeaturesCache().remove(featureId);
     }
 
     /** {@inheritDoc} */
     @Override
     public void evictProperty(String propertyName) {
-        if (getPropertyCache().containsKey(propertyName)) {
-            getPropertyCache().remove(propertyName);
-        }
+        getPropertyCache().remove(propertyName);
     }
 
     /** {@inheritDoc} */
@@ -115,7 +251,7 @@ public class InMemoryCacheManager implements FF4JCacheManager {
         if (feat.getUid() == null || feat.getUid().isEmpty()) {
             throw new IllegalArgumentException("ff4j-core: Cannot insert feature with null identifier into cache");
         }
-        getFeaturesCache().put(feat.getUid(), new InMemoryCacheEntry<Feature>(feat, timeToLive));
+        putEntry(featuresCache, featuresHand, feat.getUid(), new InMemoryCacheEntry<Feature>(feat, timeToLive));
     }
 
     /** {@inheritDoc} */
@@ -132,43 +268,118 @@ public class InMemoryCacheManager implements FF4JCacheManager {
         if (prop.getName() == null || prop.getName().isEmpty()) {
             throw new IllegalArgumentException("ff4j-core: Cannot insert property with null identifier into cache");
         }
-        getPropertyCache().put(prop.getName(), new InMemoryCacheEntry<Property<?>>(prop, timeToLive));
+        putEntry(propertyCache, propertyHand, prop.getName(), new InMemoryCacheEntry<Property<?>>(prop, timeToLive));
     }
 
     /** {@inheritDoc} */
     @Override
     public Feature getFeature(String featureId) {
-        InMemoryCacheEntry<Feature> cacheEntry = getFeaturesCache().get(featureId);
-        if (cacheEntry != null) {
-            if (cacheEntry.hasReachTimeToLive()) {
-                evictFeature(featureId);
-            } else {
-                // return cached value
-                return cacheEntry.getEntry();
-            }
-        }
-        return null;
+        return getEntry(featuresCache, featureId, refreshingFeatures, featureLoader);
     }
 
     /** {@inheritDoc} */
     @Override
     public Property<?> getProperty(String pName) {
-        InMemoryCacheEntry<Property<?>> cacheEntry = getPropertyCache().get(pName);
-        if (cacheEntry != null) {
-            if (cacheEntry.hasReachTimeToLive()) {
-                evictProperty(pName);
-            } else {
-                // return cached value
-                return cacheEntry.getEntry();
+        return getEntry(propertyCache, pName, refreshingProperties, propertyLoader);
+    }
+
+    /**
+     * Read entry, expired entries are removed and entries close to their time-to-live are reloaded in background.
+     *
+     * @param cache
+     *      target cache
+     * @param key
+     *      entry key
+     * @param refreshing
+     *      keys being reloaded
+     * @param loader
+     *      read from target store (can be null)
+     * @return
+     *      cached value or null
+     */
+    private <T> T getEntry(Map<String, InMemoryCacheEntry<T>> cache, String key, Set<String> refreshing, Function<String, T> loader) {
+        InMemoryCacheEntry<T> cacheEntry = cache.get(key);
+        if (cacheEntry == null) {
+            statistics.recordMiss();
+            return null;
+        }
+        long age = CoarseClock.currentTimeMillis() - cacheEntry.getInsertedDate();
+        long ttl = TO_MILLIS * cacheEntry.getTimeToLive();
+        if (age >= ttl) {
+            // Removed only if not replaced in the meantime
+            if (cache.remove(key, cacheEntry)) {
+                statistics.recordEviction();
             }
+            statistics.recordMiss();
+            return null;
+        }
+        if (loader != null && age >= ttl * refreshAheadRatio) {
+            refreshAhead(cache, key, cacheEntry, refreshing, loader);
+        }
+        cacheEntry.markAccessed();
+        statistics.recordHit();
+        return cacheEntry.getEntry();
+    }
+
+    /**
+     * Reload entry in background, current value is still served meanwhile.
+     *
+     * @param cache
+     *      target cache
+     * @param key
+     *      entry key
+     * @param current
+     *      current entry, replaced only if still in cache
+     * @param refreshing
+     *      keys being reloaded
+     * @param loader
+     *      read from target store
+     */
+    private <T> void refreshAhead(Map<String, InMemoryCacheEntry<T>> cache, String key, 
+            InMemoryCacheEntry<T> current, Set<String> refreshing, Function<String, T> loader) {
+        if (!refreshing.add(key)) {
+            // Already in progress
+            return;
+        }
+        try {
+            getRefreshExecutor().execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    T value = loader.apply(key);
+                    statistics.recordLoad(System.nanoTime() - start);
+                    // evicted (updated, deleted) or put again meanwhile : nothing to do
+                    cache.replace(key, current, new InMemoryCacheEntry<T>(value, current.getTimeToLive()));
+                } catch (FeatureNotFoundException | PropertyNotFoundException notFound) {
+                    cache.remove(key, current);
+                } catch (RuntimeException re) {
+                    // Current value is served until its time-to-live
+                    onException(re);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            refreshing.remove(key);
         }
-        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setTargetStores(FeatureStore featureStore, PropertyStore propertyStore) {
+        this.featureLoader  = (featureStore  == null) ? null : featureStore::read;
+        this.propertyLoader = (propertyStore == null) ? null : propertyStore::readProperty;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return statistics;
     }
 
     /** {@inheritDoc} */
     @Override
     public Set<String> listCachedPropertyNames() {
-        return propertyCache.keySet();
+        return liveKeys(propertyCache);
     }
 
     /** {@inheritDoc} */
@@ -203,4 +414,68 @@ public class InMemoryCacheManager implements FF4JCacheManager {
         return propertyCache;
     }   
 
+    /**
+     * Getter accessor for attribute 'maxSize'.
+     *
+     * @return
+     *       current value of 'maxSize'
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Getter accessor for attribute 'refreshAheadRatio'.
+     *
+     * @return
+     *       current value of 'refreshAheadRatio'
+     */
+    public double getRefreshAheadRatio() {
+        return refreshAheadRatio;
+    }
+
+    /**
+     * Setter accessor for attribute 'refreshAheadRatio'.
+     * 
+     * @param refreshAheadRatio
+     *      part of the time-to-live after which entries are reloaded, 1 or more disables refresh-ahead
+     */
+    public void setRefreshAheadRatio(double refreshAheadRatio) {
+        if (refreshAheadRatio <= 0) {
+            throw new IllegalArgumentException("ff4j-core: Refresh ahead ratio must be greater than 0");
+        }
+        this.refreshAheadRatio = refreshAheadRatio;
+    }
+
+    /**
+     * Getter accessor for attribute 'refreshExecutor', a single daemon thread is created if not set.
+     *
+     * @return
+     *       current value of 'refreshExecutor'
+     */
+    public synchronized Executor getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, 
+                    new LinkedBlockingQueue<Runnable>(), runnable -> {
+                        Thread thread = new Thread(runnable, DEFAULT_CACHENAME + "-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            // No idle thread kept
+            executor.allowCoreThreadTimeOut(true);
+            refreshExecutor = executor;
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * Setter accessor for attribute 'refreshExecutor'.
+     * 
+     * @param refreshExecutor
+     *      executor for background reloads
+     */
+    public synchronized void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
 }
@@ -22,6 +22,7 @@ package org.ff4j.cache;
 
 import java.io.Serializable;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +33,9 @@ import org.ff4j.property.store.PropertyStore;
 /**
  * Poll target stores on a fixed delay basis and fill cache to avoid reaching TTL of key.
  * 
+ * <p>When 'maxPollingDelay' is greater than 'pollingDelay' the delay adapts to changes : it doubles after each poll
+ * without any change up to 'maxPollingDelay' and goes back to 'pollingDelay' as soon as a change is detected.
+ * 
  * @author Cedrick LUNVEN (@clunven)
  */
 public class Store2CachePollingScheduler implements Serializable{
@@ -44,9 +48,15 @@ public class Store2CachePollingScheduler implements Serializable{
     
     /** initial delay at start. */
     private long initialDelay = 0;
+
+    /** maximum polling delay when no change is detected, not greater than 'pollingDelay' means fixed delay. */
+    private long maxPollingDelay = 0;
+
+    /** delay before next poll. */
+    private volatile long currentDelay;
     
     /** Scheduler for the worker. */
-    private ScheduledExecutorService executor;
+    private volatile ScheduledExecutorService executor;
     
     /** Current runnable. */
     private Store2CachePollingWorker worker;
@@ -102,7 +112,30 @@ public class Store2CachePollingScheduler implements Serializable{
      * Start polling.
      */
     public void start() {
-        executor.scheduleWithFixedDelay(worker, initialDelay, pollingDelay, TimeUnit.MILLISECONDS);
+        currentDelay = pollingDelay;
+        // A snapshot remains valid if one poll is missed
+        worker.setSnapshotTimeToLive(2 * Math.max(pollingDelay, maxPollingDelay));
+        executor.schedule(this::pollAndReschedule, initialDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Poll stores then schedule next poll according to changes.
+     */
+    private void pollAndReschedule() {
+        worker.run();
+        if (maxPollingDelay > pollingDelay && worker.getLastDeltaSize() == 0) {
+            currentDelay = Math.min(currentDelay * 2, maxPollingDelay);
+        } else {
+            currentDelay = pollingDelay;
+        }
+        ScheduledExecutorService scheduler = executor;
+        if (scheduler != null) {
+            try {
+                scheduler.schedule(this::pollAndReschedule, currentDelay, TimeUnit.MILLISECONDS);
+            } catch(RejectedExecutionException ree) {
+                // Polling has been stopped
+            }
+        }
     }
     
     /** Stop Polling. */
@@ -113,6 +146,46 @@ public class Store2CachePollingScheduler implements Serializable{
         }
     }
 
+    /**
+     * Polls update the cache of the proxy and, in complete snapshot mode, publish all features to it.
+     *
+     * @param fcp
+     *      cache proxy
+     */
+    public void setCacheProxy(FF4jCacheProxy fcp) {
+        worker.setCacheProxy(fcp);
+    }
+
+    /**
+     * Duration of last poll.
+     *
+     * @return
+     *      duration in milliseconds
+     */
+    public long getLastPollDuration() {
+        return worker.getLastPollDuration();
+    }
+
+    /**
+     * Number of features and properties created, modified or deleted in stores during last poll.
+     *
+     * @return
+     *      number of entries applied to cache
+     */
+    public int getLastDeltaSize() {
+        return worker.getLastDeltaSize();
+    }
+
+    /**
+     * Delay before next poll.
+     *
+     * @return
+     *      delay in milliseconds
+     */
+    public long getCurrentDelay() {
+        return currentDelay;
+    }
+
     /**
      * Getter accessor for attribute 'pollingDelay'.
      *
@@ -150,6 +223,25 @@ public class Store2CachePollingScheduler implements Serializable{
     public void setInitialDelay(long initialDelay) {
         this.initialDelay = initialDelay;
     }
+
+    /**
+     * Getter accessor for attribute 'maxPollingDelay'.
+     *
+     * @return
+     *       current value of 'maxPollingDelay'
+     */
+    public long getMaxPollingDelay() {
+        return maxPollingDelay;
+    }
+
+    /**
+     * Setter accessor for attribute 'maxPollingDelay'.
+     * @param maxPollingDelay
+     * 		new value for 'maxPollingDelay '
+     */
+    public void setMaxPollingDelay(long maxPollingDelay) {
+        this.maxPollingDelay = maxPollingDelay;
+    }
     
     
 
@@ -21,7 +21,9 @@ package org.ff4j.cache;
  */
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
@@ -30,6 +32,13 @@ import org.ff4j.property.store.PropertyStore;
 
 /**
  * Working thread to poll and fetch data from store and copy to local cache.
+ * 
+ * <p>Each poll is compared with the previous one (JSON of each feature and property) : only created or modified
+ * entries are put in cache and only deleted entries are evicted. The cache is never cleared, so readers never face
+ * an empty cache during a poll.
+ * 
+ * <p>When the cache proxy is in complete snapshot mode, all features read are also published to the proxy to answer
+ * bulk and group queries.
  *
  * @author Cedrick LUNVEN (@clunven)
  */
@@ -49,6 +58,21 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
 
     /** Cache proxy. */
     private FF4jCacheProxy ff4JCacheProxy;
+
+    /** Features of last poll (uid to json). */
+    private Map<String, String> lastFeatures = new HashMap<>();
+
+    /** Properties of last poll (name to json). */
+    private Map<String, String> lastProperties = new HashMap<>();
+
+    /** Duration of last poll in milliseconds. */
+    private volatile long lastPollDuration = 0;
+
+    /** Number of entries created, modified or deleted during last poll. */
+    private volatile int lastDeltaSize = 0;
+
+    /** Validity in milliseconds of snapshots published to the cache proxy. */
+    private long snapshotTimeToLive = 20000;
     
     /**
      * Parameterized constructor.
@@ -76,50 +100,135 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
         this(fcp.getTargetFeatureStore(),fcp.getTargetPropertyStore(),null);
         this.ff4JCacheProxy      = fcp;
     }
-
     
     /** {@inheritDoc} */
     @Override
     public void run() {
-
         try {
-            FF4JCacheManager cacheManager;
-            if (ff4JCacheProxy!=null) {
-                cacheManager = new InMemoryCacheManager();
-            } else {
-                cacheManager = this.cacheManager;
-            }
+            poll();
+        } catch (Exception ex) {
+            // Work in background (worker) failed 'silently'
+            ex.printStackTrace();
+        }
+    }
 
-            if (sourceFeatureStore != null) {
-                // Access the store, if failed an error is raised and cache is not cleared.
-                Map < String, Feature > mapOfFeatures = sourceFeatureStore.readAll();
-                // Clear cache
-                cacheManager.clearFeatures();
-                // Fill Cache
-                for (Feature f : mapOfFeatures.values()) {
+    /**
+     * Read stores and apply differences with previous poll to the cache.
+     *
+     * @return
+     *      number of entries created, modified or deleted
+     */
+    public synchronized int poll() {
+        long start = System.currentTimeMillis();
+        FF4JCacheManager cacheManager;
+        if (ff4JCacheProxy != null) {
+            cacheManager = ff4JCacheProxy.getCacheManager();
+        } else {
+            cacheManager = this.cacheManager;
+        }
+        int delta = 0;
+        if (sourceFeatureStore != null) {
+            boolean publishSnapshot = ff4JCacheProxy != null && ff4JCacheProxy.isCompleteSnapshot();
+            long snapshotVersion    = publishSnapshot ? ff4JCacheProxy.getSnapshotVersion() : 0;
+            // Access the store, if failed an error is raised and cache is not modified.
+            Map < String, Feature > mapOfFeatures = sourceFeatureStore.readAll();
+            Map < String, String > currentFeatures = new HashMap<>(mapOfFeatures.size() * 2);
+            // Names only, a lookup would trigger refresh-ahead, count in stats and mark entries as accessed
+            Set < String > cachedFeatures = cacheManager.listCachedFeatureNames();
+            for (Feature f : mapOfFeatures.values()) {
+                String json = f.toJson();
+                currentFeatures.put(f.getUid(), json);
+                // Changed in the store, or evicted from the cache since last poll
+                if (!json.equals(lastFeatures.get(f.getUid())) || !cachedFeatures.contains(f.getUid())) {
                     cacheManager.putFeature(f);
+                    delta++;
+                }
+            }
+            for (String uid : lastFeatures.keySet()) {
+                if (!currentFeatures.containsKey(uid)) {
+                    cacheManager.evictFeature(uid);
+                    delta++;
                 }
             }
-            
-            if (sourcePropertyStore != null) {
-                // Access the store, if failed an error is raised and cache is not cleared.
-                Map < String, Property<?> > mapOfProperties = sourcePropertyStore.readAllProperties();
-                // Clear cache
-                cacheManager.clearProperties();
-                // Fill Cache
-                for (Property<?> p : mapOfProperties.values()) {
+            lastFeatures = currentFeatures;
+            if (publishSnapshot) {
+                ff4JCacheProxy.publishSnapshot(mapOfFeatures, snapshotTimeToLive, snapshotVersion);
+            }
+        }
+        if (sourcePropertyStore != null) {
+            // Access the store, if failed an error is raised and cache is not modified.
+            Map < String, Property<?> > mapOfProperties = sourcePropertyStore.readAllProperties();
+            Map < String, String > currentProperties = new HashMap<>(mapOfProperties.size() * 2);
+            Set < String > cachedProperties = cacheManager.listCachedPropertyNames();
+            for (Property<?> p : mapOfProperties.values()) {
+                String json = p.toJson();
+                currentProperties.put(p.getName(), json);
+                if (!json.equals(lastProperties.get(p.getName())) || !cachedProperties.contains(p.getName())) {
                     cacheManager.putProperty(p);
+                    delta++;
                 }
             }
-
-            if (ff4JCacheProxy!=null) {
-                ff4JCacheProxy.setCacheManager(cacheManager);
+            for (String name : lastProperties.keySet()) {
+                if (!currentProperties.containsKey(name)) {
+                    cacheManager.evictProperty(name);
+                    delta++;
+                }
             }
-            
-        } catch (Exception ex) {
-            // Work in background (worker) failed 'silently'
-            ex.printStackTrace();
+            lastProperties = currentProperties;
         }
+        lastDeltaSize    = delta;
+        lastPollDuration = System.currentTimeMillis() - start;
+        return delta;
+    }
+
+    /**
+     * Setter accessor for attribute 'ff4JCacheProxy', cache of the proxy is updated by polls.
+     *
+     * @param fcp
+     *      cache proxy
+     */
+    public void setCacheProxy(FF4jCacheProxy fcp) {
+        this.ff4JCacheProxy = fcp;
+    }
+
+    /**
+     * Getter accessor for attribute 'snapshotTimeToLive'.
+     *
+     * @return
+     *       current value of 'snapshotTimeToLive'
+     */
+    public long getSnapshotTimeToLive() {
+        return snapshotTimeToLive;
+    }
+
+    /**
+     * Setter accessor for attribute 'snapshotTimeToLive'.
+     *
+     * @param snapshotTimeToLive
+     *      validity in milliseconds of snapshots published to the cache proxy
+     */
+    public void setSnapshotTimeToLive(long snapshotTimeToLive) {
+        this.snapshotTimeToLive = snapshotTimeToLive;
+    }
+
+    /**
+     * Getter accessor for attribute 'lastPollDuration'.
+     *
+     * @return
+     *       current value of 'lastPollDuration'
+     */
+    public long getLastPollDuration() {
+        return lastPollDuration;
+    }
+
+    /**
+     * Getter accessor for attribute 'lastDeltaSize'.
+     *
+     * @return
+     *       current value of 'lastDeltaSize'
+     */
+    public int getLastDeltaSize() {
+        return lastDeltaSize;
     }
 
 }
@@ -21,7 +21,7 @@ package org.ff4j.core;
  */
 
 import java.util.Collection;
-
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -78,6 +78,27 @@ public interface FeatureStore {
      */
     Map<String, Feature> readAll();
 
+    /**
+     * Read several features at once, implementations should override it to fetch them with as few calls
+     * to the backend as possible.
+     * 
+     * @param featureUids
+     *            unique feature identifiers
+     * @return features found, identifiers not present in the store are not part of the result
+     */
+    default Map<String, Feature> readMany(Collection<String> featureUids) {
+        if (featureUids == null) {
+            throw new IllegalArgumentException("Feature identifiers cannot be null");
+        }
+        Map<String, Feature> features = new HashMap<>();
+        for (String uid : featureUids) {
+            if (exist(uid)) {
+                features.put(uid, read(uid));
+            }
+        }
+        return features;
+    }
+
     /**
      * Remove fliPoint from store.
      * 
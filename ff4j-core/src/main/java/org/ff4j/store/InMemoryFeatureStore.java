@@ -23,6 +23,7 @@ package org.ff4j.store;
 import static org.ff4j.utils.Util.assertHasLength;
 
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -33,6 +34,7 @@ import java.util.Set;
 import org.ff4j.conf.FF4jConfiguration;
 import org.ff4j.conf.XmlParser;
 import org.ff4j.core.Feature;
+import org.ff4j.utils.Util;
 
 /**
  * Storing states of feature inmemory with initial values. Could be used mostly for testing purpose.
@@ -218,6 +220,20 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         return featuresMap.get(uid);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        Map<String, Feature> features = new HashMap<>();
+        for (String uid : featureUids) {
+            Feature feature = featuresMap.get(uid);
+            if (feature != null) {
+                features.put(uid, feature);
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     public boolean existGroup(String groupName) {
         assertHasLength(groupName);
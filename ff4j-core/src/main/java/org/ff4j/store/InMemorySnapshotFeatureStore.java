@@ -0,0 +1,556 @@
+package org.ff4j.store;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.utils.Util.assertHasLength;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.ff4j.conf.FF4jConfiguration;
+import org.ff4j.conf.XmlParser;
+import org.ff4j.core.Feature;
+import org.ff4j.exception.FeatureAlreadyExistException;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.GroupNotFoundException;
+import org.ff4j.utils.Util;
+
+/**
+ * In-memory store where features live in an immutable snapshot (features, group index, permission index)
+ * published through a single volatile reference.
+ * 
+ * <p>Readers never lock and always see a consistent view : a feature, its group and its permissions come
+ * from the same snapshot. Writers are serialized, build the next snapshot from the current one (copy-on-write)
+ * and swap it atomically. Only the groups and permissions touched by a write are re-indexed.</p>
+ * 
+ * <p>Features published in the store are never mutated by the store : {@link #enable(String)},
+ * {@link #grantRoleOnFeature(String, String)}, {@link #addToGroup(String, String)}... publish a modified copy.
+ * Features returned by read operations must be considered read-only, use {@link #update(Feature)} to change them.</p>
+ * 
+ * <p>Best suited for read-mostly workloads, each write costs a copy of the feature map.</p>
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemorySnapshotFeatureStore extends AbstractFeatureStore {
+
+    /** XML File where features are load. */
+    private String fileName = null;
+
+    /** Current snapshot, replaced as a whole on each write. */
+    private volatile FeatureSnapshot snapshot = FeatureSnapshot.EMPTY;
+
+    /** Default constructor. */
+    public InMemorySnapshotFeatureStore() {}
+
+    /**
+     * Constructor with configuration fileName.
+     * 
+     * @param fileName
+     *            fileName present in classPath or on fileSystem.
+     */
+    public InMemorySnapshotFeatureStore(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "fileName is required, cannot be null nor empty : the file must exist in classpath");
+        }
+        loadConfFile(fileName);
+    }
+
+    /**
+     * Constructor with inputstream fileName.
+     * 
+     * @param xmlIN
+     *            xml configuration stream.
+     */
+    public InMemorySnapshotFeatureStore(InputStream xmlIN) {
+        loadConf(xmlIN);
+    }
+
+    /**
+     * Constructor with full set of feature.
+     * 
+     * @param ff4jConfig
+     *            configuration
+     */
+    public InMemorySnapshotFeatureStore(FF4jConfiguration ff4jConfig) {
+        this(ff4jConfig.getFeatures());
+    }
+
+    /**
+     * Constructor with full set of feature.
+     * 
+     * @param maps
+     *            initial features
+     */
+    public InMemorySnapshotFeatureStore(Map<String, Feature> maps) {
+        this.snapshot = FeatureSnapshot.of(maps.values());
+    }
+
+    /**
+     * Load configuration through FF4J.vml file.
+     * 
+     * @param conf
+     *            xml filename
+     */
+    private void loadConfFile(String conf) {
+        this.fileName = conf;
+        loadConf(getClass().getClassLoader().getResourceAsStream(conf));
+    }
+
+    /**
+     * Load configuration through FF4J.vml file.
+     * 
+     * @param xmlIN
+     *            xml stream
+     */
+    private void loadConf(InputStream xmlIN) {
+        if (xmlIN == null) {
+            throw new IllegalArgumentException("Cannot parse feature stream");
+        }
+        this.snapshot = FeatureSnapshot.of(new XmlParser().parseConfigurationFile(xmlIN).getFeatures().values());
+    }
+
+    /**
+     * Read feature from a snapshot.
+     *
+     * @param current
+     *            target snapshot
+     * @param uid
+     *            feature identifier
+     * @return
+     *            feature, never null
+     */
+    private static Feature readFrom(FeatureSnapshot current, String uid) {
+        assertHasLength(uid);
+        Feature feature = current.features.get(uid);
+        if (feature == null) {
+            throw new FeatureNotFoundException(uid);
+        }
+        return feature;
+    }
+
+    /**
+     * Copy of a feature before being modified by the store. Strategy and properties
+     * are shared, they are not modified by the store.
+     *
+     * @param f
+     *            published feature
+     * @return
+     *            copy to be modified then published
+     */
+    private static Feature copyOf(Feature f) {
+        Feature copy = new Feature(f.getUid(), f.isEnable(), f.getDescription(), f.getGroup(), 
+                f.getPermissions(), f.getFlippingStrategy());
+        if (f.getCustomProperties() != null) {
+            copy.setCustomProperties(new LinkedHashMap<>(f.getCustomProperties()));
+        }
+        return copy;
+    }
+
+    /** {@inheritDoc} */
+    public boolean exist(String uid) {
+        assertHasLength(uid);
+        return snapshot.features.containsKey(uid);
+    }
+
+    /** {@inheritDoc} */
+    public Feature read(String uid) {
+        return readFrom(snapshot, uid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        // Same snapshot for every identifier
+        Map<String, Feature> current = snapshot.features;
+        Map<String, Feature> features = new HashMap<>();
+        for (String uid : featureUids) {
+            Feature feature = current.get(uid);
+            if (feature != null) {
+                features.put(uid, feature);
+            }
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readAll() {
+        return snapshot.features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean existGroup(String groupName) {
+        assertHasLength(groupName);
+        return snapshot.groups.containsKey(groupName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readGroup(String groupName) {
+        assertHasLength(groupName);
+        FeatureSnapshot current = snapshot;
+        Set<String> uids = current.groups.get(groupName);
+        if (uids == null) {
+            throw new GroupNotFoundException(groupName);
+        }
+        Map<String, Feature> features = new HashMap<String, Feature>(uids.size() * 2);
+        for (String uid : uids) {
+            features.put(uid, current.features.get(uid));
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> readAllGroups() {
+        return new HashSet<String>(snapshot.groups.keySet());
+    }
+
+    /**
+     * List permissions granted on at least one feature (from the permission index).
+     *
+     * @return
+     *      set of permissions
+     */
+    public Set<String> readAllPermissions() {
+        return new HashSet<String>(snapshot.permissions.keySet());
+    }
+
+    /**
+     * Read features on which a permission is granted (from the permission index).
+     *
+     * @param permission
+     *      target permission
+     * @return
+     *      features indexed by uid, empty if none
+     */
+    public Map<String, Feature> readByPermission(String permission) {
+        assertHasLength(permission);
+        FeatureSnapshot current = snapshot;
+        Set<String> uids = current.permissions.getOrDefault(permission, Collections.<String>emptySet());
+        Map<String, Feature> features = new HashMap<String, Feature>(uids.size() * 2);
+        for (String uid : uids) {
+            features.put(uid, current.features.get(uid));
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void create(Feature fp) {
+        assertFeatureNotNull(fp);
+        assertHasLength(fp.getUid());
+        if (snapshot.features.containsKey(fp.getUid())) {
+            throw new FeatureAlreadyExistException(fp.getUid());
+        }
+        snapshot = snapshot.with(fp);
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void update(Feature fp) {
+        assertFeatureNotNull(fp);
+        readFrom(snapshot, fp.getUid());
+        snapshot = snapshot.with(fp);
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void delete(String uid) {
+        readFrom(snapshot, uid);
+        snapshot = snapshot.without(uid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void enable(String uid) {
+        Feature f = copyOf(readFrom(snapshot, uid));
+        f.enable();
+        snapshot = snapshot.with(f);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void disable(String uid) {
+        Feature f = copyOf(readFrom(snapshot, uid));
+        f.disable();
+        snapshot = snapshot.with(f);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void grantRoleOnFeature(String uid, String roleName) {
+        Feature f = copyOf(readFrom(snapshot, uid));
+        assertHasLength(roleName);
+        f.getPermissions().add(roleName);
+        snapshot = snapshot.with(f);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void removeRoleFromFeature(String uid, String roleName) {
+        Feature f = copyOf(readFrom(snapshot, uid));
+        assertHasLength(roleName);
+        f.getPermissions().remove(roleName);
+        snapshot = snapshot.with(f);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void enableGroup(String groupName) {
+        toggleGroup(groupName, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void disableGroup(String groupName) {
+        toggleGroup(groupName, false);
+    }
+
+    /**
+     * Enable or disable every feature of a group in a single publication.
+     *
+     * @param groupName
+     *      target group
+     * @param enable
+     *      target status
+     */
+    private synchronized void toggleGroup(String groupName, boolean enable) {
+        assertGroupExist(groupName);
+        Set<String> uids = snapshot.groups.get(groupName);
+        Collection<Feature> toggled = new ArrayList<Feature>(uids.size());
+        for (String uid : uids) {
+            Feature f = copyOf(snapshot.features.get(uid));
+            f.setEnable(enable);
+            toggled.add(f);
+        }
+        snapshot = snapshot.with(toggled);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void addToGroup(String uid, String groupName) {
+        assertHasLength(groupName);
+        Feature f = copyOf(readFrom(snapshot, uid));
+        f.setGroup(groupName);
+        snapshot = snapshot.with(f);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void removeFromGroup(String uid, String groupName) {
+        Feature f = copyOf(readFrom(snapshot, uid));
+        assertGroupExist(groupName);
+        f.setGroup("");
+        snapshot = snapshot.with(f);
+    }
+
+    /**
+     * Import features with a single publication.
+     *
+     * @param features
+     *      features to import
+     */
+    @Override
+    public synchronized void importFeatures(Collection<Feature> features) {
+        if (features != null) {
+            for (Feature feature : features) {
+                assertFeatureNotNull(feature);
+                assertHasLength(feature.getUid());
+            }
+            snapshot = snapshot.with(features);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void clear() {
+        snapshot = FeatureSnapshot.EMPTY;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toJson() {
+        String json = super.toJson();
+        json = json.substring(0, json.length() - 1) + ",\"xmlInputFile\":";
+        if (null == fileName) {
+            json += "null";
+        } else {
+            json += "\"" + this.fileName + "\"";
+        }
+        json += "}";
+        return json;
+    }
+
+    /**
+     * Setter accessor for attribute 'locations'.
+     * 
+     * @param locations
+     *            new value for 'locations '
+     */
+    public void setLocation(String locations) {
+        loadConfFile(locations);
+    }
+
+    /**
+     * Getter accessor for attribute 'fileName'.
+     * 
+     * @return current value of 'fileName'
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Immutable view of the store. Sets of the indexes are never modified once published,
+     * a new snapshot shares the ones not impacted by the write.
+     */
+    private static final class FeatureSnapshot {
+
+        /** Empty store. */
+        private static final FeatureSnapshot EMPTY = new FeatureSnapshot(
+                Collections.<String, Feature>emptyMap(), 
+                Collections.<String, Set<String>>emptyMap(), 
+                Collections.<String, Set<String>>emptyMap());
+
+        /** Features by uid (unmodifiable). */
+        private final Map<String, Feature> features;
+
+        /** Feature uids by group (unmodifiable, no null nor empty group). */
+        private final Map<String, Set<String>> groups;
+
+        /** Feature uids by permission (unmodifiable). */
+        private final Map<String, Set<String>> permissions;
+
+        private FeatureSnapshot(Map<String, Feature> features, Map<String, Set<String>> groups, Map<String, Set<String>> permissions) {
+            this.features    = features;
+            this.groups      = groups;
+            this.permissions = permissions;
+        }
+
+        /**
+         * Build a snapshot from scratch.
+         */
+        private static FeatureSnapshot of(Collection<Feature> initial) {
+            return EMPTY.with(initial);
+        }
+
+        /**
+         * Next snapshot with a feature created or replaced.
+         */
+        private FeatureSnapshot with(Feature feature) {
+            return with(Collections.singleton(feature));
+        }
+
+        /**
+         * Next snapshot with several features created or replaced.
+         */
+        private FeatureSnapshot with(Collection<Feature> changes) {
+            Map<String, Feature> nextFeatures = new LinkedHashMap<String, Feature>(features);
+            Map<String, Set<String>> nextGroups = new HashMap<String, Set<String>>(groups);
+            Map<String, Set<String>> nextPermissions = new HashMap<String, Set<String>>(permissions);
+            Set<String> copiedGroups = new HashSet<String>();
+            Set<String> copiedPermissions = new HashSet<String>();
+            for (Feature feature : changes) {
+                if (nextFeatures.put(feature.getUid(), feature) != null) {
+                    unindexAll(nextGroups, copiedGroups, feature.getUid());
+                    unindexAll(nextPermissions, copiedPermissions, feature.getUid());
+                }
+                index(nextGroups, copiedGroups, feature.getGroup(), feature.getUid());
+                if (feature.getPermissions() != null) {
+                    for (String permission : feature.getPermissions()) {
+                        index(nextPermissions, copiedPermissions, permission, feature.getUid());
+                    }
+                }
+            }
+            return new FeatureSnapshot(Collections.unmodifiableMap(nextFeatures), 
+                    Collections.unmodifiableMap(nextGroups), Collections.unmodifiableMap(nextPermissions));
+        }
+
+        /**
+         * Next snapshot without a feature.
+         */
+        private FeatureSnapshot without(String uid) {
+            Map<String, Feature> nextFeatures = new LinkedHashMap<String, Feature>(features);
+            if (nextFeatures.remove(uid) == null) {
+                return this;
+            }
+            Map<String, Set<String>> nextGroups = new HashMap<String, Set<String>>(groups);
+            Map<String, Set<String>> nextPermissions = new HashMap<String, Set<String>>(permissions);
+            unindexAll(nextGroups, new HashSet<String>(), uid);
+            unindexAll(nextPermissions, new HashSet<String>(), uid);
+            return new FeatureSnapshot(Collections.unmodifiableMap(nextFeatures), 
+                    Collections.unmodifiableMap(nextGroups), Collections.unmodifiableMap(nextPermissions));
+        }
+
+        /**
+         * Add uid to the entry of an index, the set is copied once per write as it may be shared.
+         */
+        private static void index(Map<String, Set<String>> index, Set<String> copied, String key, String uid) {
+            if (key == null || key.isEmpty()) {
+                return;
+            }
+            Set<String> uids = index.get(key);
+            if (uids == null) {
+                uids = new HashSet<String>();
+                index.put(key, uids);
+                copied.add(key);
+            } else if (copied.add(key)) {
+                uids = new HashSet<String>(uids);
+                index.put(key, uids);
+            }
+            uids.add(uid);
+        }
+
+        /**
+         * Remove uid from every entry of an index, entries are removed when empty. The previous
+         * feature cannot be trusted to give the indexed keys (caller may have updated the same
+         * instance), so all keys are scanned : groups and permissions are few compared to features.
+         */
+        private static void unindexAll(Map<String, Set<String>> index, Set<String> copied, String uid) {
+            Iterator<Map.Entry<String, Set<String>>> entries = index.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Set<String>> entry = entries.next();
+                Set<String> uids = entry.getValue();
+                if (!uids.contains(uid)) {
+                    continue;
+                }
+                if (copied.add(entry.getKey())) {
+                    uids = new HashSet<String>(uids);
+                    entry.setValue(uids);
+                }
+                uids.remove(uid);
+                if (uids.isEmpty()) {
+                    entries.remove();
+                    copied.remove(entry.getKey());
+                }
+            }
+        }
+    }
+}
@@ -31,11 +31,13 @@ import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TYPE;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_UUID;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_VALUE;
+import static org.ff4j.store.JdbcStoreConstants.TYPE_FEATURE_HITS;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
 import org.ff4j.utils.MappingUtil;
 
 /**
@@ -60,7 +62,8 @@ public class JdbcEventMapper {
         Event evt = new Event();
         evt.setUuid(rs.getString(COL_EVENT_UUID));
         evt.setTimestamp(rs.getTimestamp(COL_EVENT_TIME).getTime());
-        evt.setType(rs.getString(COL_EVENT_TYPE));
+        String type = rs.getString(COL_EVENT_TYPE);
+        evt.setType(TYPE_FEATURE_HITS.equals(type) ? EventConstants.TARGET_FEATURE : type);
         evt.setName(rs.getString(COL_EVENT_NAME));
         evt.setAction(rs.getString(COL_EVENT_ACTION));
         evt.setHostName(rs.getString(COL_EVENT_HOSTNAME));
@@ -71,5 +74,44 @@ public class JdbcEventMapper {
         evt.setCustomKeys(MappingUtil.toMap(rs.getString(COL_EVENT_KEYS)));
         return evt;
     }
+    
+    /**
+     * Value written in type column, feature usage rows carrying their own hit count are told apart
+     * from raw checks with {@link org.ff4j.store.JdbcStoreConstants#TYPE_FEATURE_HITS}.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      value for the type column
+     */
+    public static String getTypeColumnValue(Event evt) {
+        if (EventConstants.TARGET_FEATURE.equals(evt.getType()) && evt.getKey(EventConstants.ATTRIBUTE_HITCOUNT) != null) {
+            return TYPE_FEATURE_HITS;
+        }
+        return evt.getType();
+    }
+    
+    /**
+     * Value of an event for a column used in hit counts.
+     *
+     * @param evt
+     *      current event
+     * @param columnName
+     *      one of name, hostname, user, source columns
+     * @return
+     *      value for the column
+     */
+    public static String getColumnValue(Event evt, String columnName) {
+        if (COL_EVENT_HOSTNAME.equals(columnName)) {
+            return evt.getHostName();
+        } else if (COL_EVENT_USER.equals(columnName)) {
+            return evt.getUser();
+        } else if (COL_EVENT_SOURCE.equals(columnName)) {
+            return evt.getSource();
+        } else if (COL_EVENT_NAME.equals(columnName)) {
+            return evt.getName();
+        }
+        throw new IllegalArgumentException("Column '" + columnName + "' is not a hit count dimension");
+    }
 
 }
@@ -21,6 +21,7 @@ package org.ff4j.store;
  */
 
 import static org.ff4j.store.JdbcStoreConstants.COL_FEAT_GROUPNAME;
+import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_FEATID;
 import static org.ff4j.store.JdbcStoreConstants.COL_ROLE_FEATID;
 import static org.ff4j.store.JdbcStoreConstants.COL_ROLE_ROLENAME;
 import static org.ff4j.utils.JdbcUtils.buildStatement;
@@ -40,6 +41,7 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -49,6 +51,8 @@ import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureAccessException;
 import org.ff4j.exception.FeatureAlreadyExistException;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.JdbcPropertyMapper;
 import org.ff4j.utils.JdbcUtils;
@@ -162,49 +166,111 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     /** {@inheritDoc} */
    @Override
    public Feature read(String uid) {
-    	assertFeatureExist(uid);
-        Connection          sqlConn = null;
-        PreparedStatement   ps = null;
-        ResultSet           rs = null;
+        assertHasLength(uid);
+        Connection sqlConn = null;
+        try {
+            sqlConn = getDataSource().getConnection();
+            Map<String, Feature> features = loadFeatures(sqlConn, getQueryBuilder().getFeature(), 
+                    getQueryBuilder().getFeatureRoles(), getQueryBuilder().getFeatureProperties(), uid);
+            if (features.isEmpty()) {
+                throw new FeatureNotFoundException(uid);
+            }
+            return features.get(uid);
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
+        } finally {
+            closeConnection(sqlConn);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        Object[] uids = new LinkedHashSet<String>(featureUids).toArray();
+        if (uids.length == 0) {
+            return new LinkedHashMap<String, Feature>();
+        }
+        Connection sqlConn = null;
         try {
             sqlConn = getDataSource().getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeature());
-            ps.setString(1, uid);
+            return loadFeatures(sqlConn, getQueryBuilder().getFeaturesIn(uids.length), 
+                    getQueryBuilder().getRolesIn(uids.length), 
+                    getQueryBuilder().getFeaturePropertiesIn(uids.length), uids);
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
+        } finally {
+            closeConnection(sqlConn);
+        }
+    }
+
+    /**
+     * Load features with their roles and custom properties using three statements, whatever the
+     * number of features (no query per feature).
+     *
+     * @param sqlConn
+     *      current connection
+     * @param sqlFeatures
+     *      query for features
+     * @param sqlRoles
+     *      query for roles (FEAT_UID, ROLE_NAME)
+     * @param sqlProperties
+     *      query for custom properties
+     * @param params
+     *      parameters, same for the 3 queries
+     * @return
+     *      features by uid, in order
+     * @throws SQLException
+     *      error during access
+     */
+    private Map<String, Feature> loadFeatures(Connection sqlConn, String sqlFeatures, String sqlRoles, String sqlProperties, Object... params) 
+    throws SQLException {
+        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            // Features
+            ps = buildStatement(sqlConn, sqlFeatures, params);
             rs = ps.executeQuery();
-            // Existence is tested before
-            rs.next();
-            Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
+            while (rs.next()) {
+                Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
+                mapFP.put(f.getUid(), f);
+            }
             closeResultSet(rs);
             rs = null;
             closeStatement(ps);
             ps = null;
-
-            // Enrich to get roles 2nd request
-            ps = sqlConn.prepareStatement(getQueryBuilder().getRoles());
-            ps.setString(1, uid);
+            if (mapFP.isEmpty()) {
+                return mapFP;
+            }
+            
+            // Roles
+            ps = buildStatement(sqlConn, sqlRoles, params);
             rs = ps.executeQuery();
             while (rs.next()) {
-                f.getPermissions().add(rs.getString("ROLE_NAME"));
+                Feature f = mapFP.get(rs.getString(COL_ROLE_FEATID));
+                if (f != null) {
+                    f.getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
+                }
             }
             closeResultSet(rs);
             rs = null;
             closeStatement(ps);
             ps = null;
-
-            // Enrich with properties 3d request to get custom properties by uid
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-            ps.setString(1, uid);
+            
+            // Custom properties
+            ps = buildStatement(sqlConn, sqlProperties, params);
             rs = ps.executeQuery();
             while (rs.next()) {
-               f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
+                Feature f = mapFP.get(rs.getString(COL_PROPERTY_FEATID));
+                if (f != null) {
+                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
+                }
             }
-            return f;
-        } catch (SQLException sqlEX) {
-            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
+            return mapFP;
         } finally {
             closeResultSet(rs);
             closeStatement(ps);
-            closeConnection(sqlConn);
         }
     }
 
@@ -352,58 +418,14 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
-        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
         Connection sqlConn = null;
-        PreparedStatement ps = null;
-        ResultSet rs = null;
         try {
-
-        	// Returns features
             sqlConn = dataSource.getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllFeatures());
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-                mapFP.put(f.getUid(), f);
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Returns Roles
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllRoles());
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String uid = rs.getString(COL_ROLE_FEATID);
-                mapFP.get(uid).getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Read custom properties for each feature
-            for (Feature f : mapFP.values()) {
-                ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-                ps.setString(1, f.getUid());
-                rs = ps.executeQuery();
-                while (rs.next()) {
-                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
-                }
-                closeResultSet(rs);
-                rs = null;
-                closeStatement(ps);
-                ps = null;
-            }
-
-            return mapFP;
-
+            return loadFeatures(sqlConn, getQueryBuilder().getAllFeatures(), 
+                    getQueryBuilder().getAllRoles(), getQueryBuilder().getAllFeatureProperties());
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
-            closeResultSet(rs);
-            closeStatement(ps);
             closeConnection(sqlConn);
         }
     }
@@ -644,62 +666,19 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readGroup(String groupName) {
-    	assertGroupExist(groupName);
-        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
+        assertHasLength(groupName);
         Connection sqlConn = null;
-        PreparedStatement ps = null;
-        ResultSet rs = null;
         try {
-            // Returns features
             sqlConn = dataSource.getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureOfGroup());
-            ps.setString(1, groupName);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-                mapFP.put(f.getUid(), f);
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Returns Roles
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllRoles());
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String uid = rs.getString(COL_ROLE_FEATID);
-                // only feature in the group must be processed
-                if (mapFP.containsKey(uid)) {
-                    mapFP.get(uid).getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
-                }
+            Map<String, Feature> features = loadFeatures(sqlConn, getQueryBuilder().getFeatureOfGroup(), 
+                    getQueryBuilder().getRolesOfGroup(), getQueryBuilder().getFeaturePropertiesOfGroup(), groupName);
+            if (features.isEmpty()) {
+                throw new GroupNotFoundException(groupName);
             }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Read custom properties for each feature
-            for (Feature f : mapFP.values()) {
-                ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-                ps.setString(1, f.getUid());
-                rs = ps.executeQuery();
-                while (rs.next()) {
-                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
-                }
-                closeResultSet(rs);
-                rs = null;
-                closeStatement(ps);
-                ps = null;
-            }
-
-            return mapFP;
-
+            return features;
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
-            closeResultSet(rs);
-            closeStatement(ps);
             closeConnection(sqlConn);
         }
     }
@@ -35,9 +35,11 @@ import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_NAME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_SOURCE;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TIME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TYPE;
+import static org.ff4j.store.JdbcStoreConstants.TYPE_FEATURE_HITS;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_UUID;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
 
+import java.sql.Timestamp;
 import java.util.Collection;
 
 
@@ -256,6 +258,22 @@ public class JdbcQueryBuilder {
     }
     
     
+    /**
+     * Index on event time, retention and queries delete or read by time range.
+     *
+     * @return
+     *      sql to create the index
+     */
+    public String sqlCreateIndexAuditTime() {
+        StringBuilder sb = new StringBuilder("CREATE INDEX ");
+        sb.append(getTableNameAudit());
+        sb.append("_TIME ON ");
+        sb.append(getSchemaPattern());
+        sb.append(getTableNameAudit());
+        sb.append("(EVT_TIME)");
+        return sb.toString();
+    }
+    
 	public String getAllFeatures() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT FEAT_UID,ENABLE,DESCRIPTION,STRATEGY,EXPRESSION,GROUPNAME FROM ");
@@ -264,6 +282,29 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	/** Features with identifier in a list (params: uids). */
+	public String getFeaturesIn(int nbFeatures) {
+		StringBuilder sb = new StringBuilder(getAllFeatures());
+		appendFeatureUidIn(sb, nbFeatures);
+		return sb.toString();
+	}
+	
+	/**
+	 * Append a 'FEAT_UID IN (?,?...)' clause.
+	 *
+	 * @param sb
+	 * 		current query
+	 * @param nbFeatures
+	 * 		number of parameters
+	 */
+	private void appendFeatureUidIn(StringBuilder sb, int nbFeatures) {
+		sb.append(" WHERE FEAT_UID IN (");
+		for (int i = 0; i < nbFeatures; i++) {
+			sb.append(i == 0 ? "?" : ",?");
+		}
+		sb.append(")");
+	}
+	
 	public String getAllGroups() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT DISTINCT(GROUPNAME) FROM ");
@@ -433,6 +474,30 @@ public class JdbcQueryBuilder {
 		return sb.toString(); 
 	}
 	
+	/** Roles of a feature with feature identifier column (param: uid). */
+	public String getFeatureRoles() {
+		StringBuilder sb = new StringBuilder(getAllRoles());
+		sb.append(" WHERE FEAT_UID = ?");
+		return sb.toString();
+	}
+	
+	/** Roles of features with identifier in a list (params: uids). */
+	public String getRolesIn(int nbFeatures) {
+		StringBuilder sb = new StringBuilder(getAllRoles());
+		appendFeatureUidIn(sb, nbFeatures);
+		return sb.toString();
+	}
+	
+	/** Roles of the features in a group (param: groupName). */
+	public String getRolesOfGroup() {
+		StringBuilder sb = new StringBuilder(getAllRoles());
+		sb.append(" WHERE FEAT_UID IN (SELECT FEAT_UID FROM ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameFeatures());
+		sb.append(" WHERE GROUPNAME = ?)");
+		return sb.toString();
+	}
+	
     // ------- Properties -------------
     
 	public String getFeatureProperties() {
@@ -444,6 +509,32 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	/** Custom properties of every feature, a single statement instead of one per feature. */
+	public String getAllFeatureProperties() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,DESCRIPTION,FIXEDVALUES,FEAT_UID FROM ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameCustomProperties());
+		return sb.toString();
+	}
+	
+	/** Custom properties of features with identifier in a list (params: uids). */
+	public String getFeaturePropertiesIn(int nbFeatures) {
+		StringBuilder sb = new StringBuilder(getAllFeatureProperties());
+		appendFeatureUidIn(sb, nbFeatures);
+		return sb.toString();
+	}
+	
+	/** Custom properties of the features in a group (param: groupName). */
+	public String getFeaturePropertiesOfGroup() {
+		StringBuilder sb = new StringBuilder(getAllFeatureProperties());
+		sb.append(" WHERE FEAT_UID IN (SELECT FEAT_UID FROM ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameFeatures());
+		sb.append(" WHERE GROUPNAME = ?)");
+		return sb.toString();
+	}
+	
 	public String getFeatureProperty() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT PROPERTY_ID,CLAZZ,CURRENTVALUE,FIXEDVALUES,FEAT_UID FROM ");
@@ -584,6 +675,15 @@ public class JdbcQueryBuilder {
 	     return sb.toString();
 	}
 	
+	public String getPurgeEventQuery() {
+	    StringBuilder sb = new StringBuilder();
+	    sb.append("DELETE FROM ");
+	    sb.append(getSchemaPattern());
+	    sb.append(getTableNameAudit());
+	    sb.append(" WHERE " + COL_EVENT_UUID + " = ? AND " + COL_EVENT_TIME + " = ?");
+	    return sb.toString();
+	}
+	
 	public String getPurgeFeatureUsageQuery(EventQueryDefinition eqd) {
 	    StringBuilder sb = new StringBuilder();
         sb.append("DELETE FROM ");
@@ -625,6 +725,7 @@ public class JdbcQueryBuilder {
         sb.append("SELECT count(" + COL_EVENT_UUID + ") as NB, " + columName + " FROM ");
         sb.append(getSchemaPattern());
         sb.append(getTableNameAudit());
+        // Aggregated events (metrics mode, roll-up) have their own type, read with getSelectHitCountEventsQuery
         sb.append(" WHERE (" + COL_EVENT_TYPE   + " LIKE '" + EventConstants.TARGET_FEATURE  + "') ");
         sb.append(" AND   (" + COL_EVENT_ACTION + " LIKE '" + EventConstants.ACTION_CHECK_OK + "') ");
         sb.append(" AND   (" + COL_EVENT_TIME + "> ?) ");
@@ -633,6 +734,83 @@ public class JdbcQueryBuilder {
         return sb.toString();
 	}
 	
+	/**
+	 * Expression giving the number of seconds between two timestamps, used to bucket events in
+	 * the database. Default works for HSQLDB, MySQL and MariaDB, override for other dialects
+	 * (e.g. 'EXTRACT(EPOCH FROM (end - start))' with PostgreSQL).
+	 *
+	 * @param start
+	 *         sql expression of the first timestamp
+	 * @param end
+	 *         sql expression of the second timestamp
+	 * @return
+	 *         sql expression
+	 */
+	public String sqlSecondsBetween(String start, String end) {
+	    return "TIMESTAMPDIFF(SQL_TSI_SECOND, " + start + ", " + end + ")";
+	}
+	
+	/**
+	 * First bucket of a histogram : query lower bound rounded down to a multiple of the bucket width
+	 * since epoch, buckets then never cross the slots of a chart.
+	 *
+	 * @param from
+	 *         query lower bound (epoch millis)
+	 * @param bucketSeconds
+	 *         width of a bucket in seconds
+	 * @return
+	 *         start of the first bucket (epoch millis)
+	 */
+	public long getHistogramOrigin(long from, long bucketSeconds) {
+	    return from - Math.floorMod(from, bucketSeconds * 1000);
+	}
+	
+	/**
+	 * Count feature usage per feature and time bucket, only aggregated rows are returned.
+	 * Events carrying their own hit count (type {@link JdbcStoreConstants#TYPE_FEATURE_HITS}) are excluded, see {@link #getSelectHitCountEventsQuery(EventQueryDefinition)}.
+	 * 
+	 * Buckets are counted from the origin literal, written like the event timestamps (local time of the JVM):
+	 * the time zone of the database session does not shift them.
+	 *
+	 * @param eqd
+	 *         query definition
+	 * @param bucketSeconds
+	 *         width of a bucket in seconds
+	 * @return
+	 *         sql query returning columns EVT_NAME, SLOT (index of the bucket since {@link #getHistogramOrigin(long, long)}) and NB
+	 */
+	public String getFeatureUsageHistogramQuery(EventQueryDefinition eqd, long bucketSeconds) {
+	    Timestamp origin = new Timestamp(getHistogramOrigin(eqd.getFrom(), bucketSeconds));
+	    String bucket = "FLOOR(" + sqlSecondsBetween("TIMESTAMP '" + origin + "'", COL_EVENT_TIME) + " / " + bucketSeconds + ")";
+	    StringBuilder sb = new StringBuilder();
+	    sb.append("SELECT " + COL_EVENT_NAME + ", " + bucket + " AS SLOT, count(" + COL_EVENT_UUID + ") AS NB FROM ");
+	    sb.append(getSchemaPattern());
+	    sb.append(getTableNameAudit());
+	    sb.append(buildWhereClause(eqd, true, false));
+	    sb.append(" AND (" + COL_EVENT_TYPE + " = '" + EventConstants.TARGET_FEATURE + "')");
+	    sb.append(" GROUP BY " + COL_EVENT_NAME + ", " + bucket);
+	    return sb.toString();
+	}
+	
+	/**
+	 * Select feature usage events carrying their own hit count (metrics mode), complement of
+	 * {@link #getFeatureUsageHistogramQuery(EventQueryDefinition, long)}.
+	 *
+	 * @param eqd
+	 *         query definition
+	 * @return
+	 *         sql query
+	 */
+	public String getSelectHitCountEventsQuery(EventQueryDefinition eqd) {
+	    StringBuilder sb = new StringBuilder();
+	    sb.append("SELECT * FROM ");
+	    sb.append(getSchemaPattern());
+	    sb.append(getTableNameAudit());
+	    sb.append(buildWhereClause(eqd, true, false));
+	    sb.append(" AND (" + COL_EVENT_TYPE + " = '" + TYPE_FEATURE_HITS + "')");
+	    return sb.toString();
+	}
+	
 	public String getFeaturesHitCount() {
 	    return getHitCount(COL_EVENT_NAME);
     }
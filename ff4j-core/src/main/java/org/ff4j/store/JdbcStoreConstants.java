@@ -154,6 +154,9 @@ public class JdbcStoreConstants {
     /** sql column name for table FF4J_AUDIT. */
     public static final String COL_EVENT_UUID = "EVT_UUID";
     
+    /** value of EVT_TYPE for feature usage rows carrying their own hit count (metrics mode, roll-up). */
+    public static final String TYPE_FEATURE_HITS = "feature_hits";
+    
     /** sql column name for table FF4J_AUDIT. */
     public static final String COL_EVENT_TIME = "EVT_TIME";
     
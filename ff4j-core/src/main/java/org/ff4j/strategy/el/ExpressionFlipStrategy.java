@@ -22,10 +22,12 @@ package org.ff4j.strategy.el;
 
 import java.io.Serializable;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
@@ -45,11 +47,14 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
     /** Expected parameter. */
     public static final String PARAM_EXPRESSION = "expression";
 
+    /** Maximum number of parsed expressions kept (expressions can come from execution context). */
+    public static final int MAX_CACHED_EXPRESSIONS = 1000;
+
     /** Cached init value. */
-    private static Map<String, String> mapOfValue = new HashMap<String, String>();
+    private static Map<String, String> mapOfValue = new ConcurrentHashMap<String, String>();
 
     /** Cached syntax trees. */
-    private static Map<String, ExpressionNode> cachedExpression = new HashMap<String, ExpressionNode>();
+    private static Map<String, CompiledExpression> cachedExpression = new ConcurrentHashMap<String, CompiledExpression>();
 
     /**
      * Default constructor using introspection.
@@ -75,9 +80,11 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
         // If execution context specified overriding initvalue
         if ((null != executionContext) && executionContext.containsKey(PARAM_EXPRESSION)) {
             return evaluateExpression(executionContext.getString(PARAM_EXPRESSION), currentStore,executionContext);
-        } else if (mapOfValue.containsKey(featureName)) {
-            // Else, check initial value of featureName (if exist)
-            return evaluateExpression(mapOfValue.get(featureName), currentStore, executionContext);
+        }
+        // Else, check initial value of featureName (if exist)
+        String expression = mapOfValue.get(featureName);
+        if (expression != null) {
+            return evaluateExpression(expression, currentStore, executionContext);
         }
         // FeatureName does not exit, no condition required
         return true;
@@ -92,25 +99,48 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
      */
     private boolean evaluateExpression(String expression, FeatureStore currentStore,
                                        FlippingExecutionContext executionContext) {
-        if (!cachedExpression.containsKey(expression)) {
-            cachedExpression.put(expression, ExpressionParser.parseExpression(expression));
+        CompiledExpression compiled = compile(expression);
+        return compiled.tree.evalue(getFeaturesStatus(compiled.featureNames, currentStore, executionContext));
+    }
+
+    /**
+     * Parse expression once and keep syntax tree with the features it references.
+     *
+     * @param expression
+     *            target expression
+     * @return compiled expression
+     */
+    private static CompiledExpression compile(String expression) {
+        CompiledExpression compiled = cachedExpression.get(expression);
+        if (compiled == null) {
+            compiled = new CompiledExpression(ExpressionParser.parseExpression(expression));
+            if (cachedExpression.size() >= MAX_CACHED_EXPRESSIONS) {
+                // Bounded : evict any entry, it will be parsed again if needed
+                Iterator<String> keys = cachedExpression.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            cachedExpression.put(expression, compiled);
         }
-        return cachedExpression.get(expression).evalue(getFeaturesStatus(currentStore, executionContext));
+        return compiled;
     }
 
     /**
-     * Return status of all the features to calculate.
+     * Return status of the features used in the expression, others are not read.
      * 
+     * @param featureNames
+     *            features referenced in expression
      * @param currentStore
      *            current store for features
      * @return current statuses for stores
      */
-    private Map<String, Boolean> getFeaturesStatus(FeatureStore currentStore,
+    private Map<String, Boolean> getFeaturesStatus(Set<String> featureNames, FeatureStore currentStore,
                                                    FlippingExecutionContext executionContext) {
-        Map<String, Boolean> bools = new HashMap<String, Boolean>();
-        List<Feature> listOfFlip = new ArrayList<Feature>();
-        listOfFlip.addAll(currentStore.readAll().values());
-        for (Feature fp : listOfFlip) {
+        Map<String, Boolean> bools = new HashMap<String, Boolean>(featureNames.size() * 2);
+        // Single bulk read, unknown features are not returned and evaluate to false
+        for (Feature fp : currentStore.readMany(featureNames).values()) {
             if (fp.isEnable() && 
                 null != fp.getFlippingStrategy() &&
                 !(fp.getFlippingStrategy() instanceof ExpressionFlipStrategy)) {
@@ -122,4 +152,21 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
         return bools;
     }
 
+    /**
+     * Syntax tree and referenced features, immutable once built.
+     */
+    private static final class CompiledExpression {
+
+        /** Syntax tree. */
+        private final ExpressionNode tree;
+
+        /** Features used in the expression. */
+        private final Set<String> featureNames;
+
+        private CompiledExpression(ExpressionNode tree) {
+            this.tree         = tree;
+            this.featureNames = Collections.unmodifiableSet(tree.getFeatureNames());
+        }
+    }
+
 }
@@ -21,8 +21,10 @@ package org.ff4j.strategy.el;
  */
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Storage of an node in expression tree.
@@ -139,6 +141,32 @@ public class ExpressionNode {
         return status;
     }
 
+    /**
+     * List feature names (sheets) referenced in the tree.
+     * 
+     * @return names of features used by the expression
+     */
+    public Set<String> getFeatureNames() {
+        Set<String> names = new HashSet<String>();
+        collectFeatureNames(names);
+        return names;
+    }
+
+    /**
+     * Walk the tree and collect sheet values.
+     * 
+     * @param names
+     *            target set
+     */
+    private void collectFeatureNames(Set<String> names) {
+        if (value != null && !value.isEmpty()) {
+            names.add(value);
+        }
+        for (ExpressionNode subNode : subNodes) {
+            subNode.collectFeatureNames(names);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toString() {
@@ -34,6 +34,9 @@ public class IOUtil {
     /** Would like to use the Inet Component. */
     private static boolean useInetAddress = true;
     
+    /** Resolved hostname, looked up only once as DNS resolution is expensive. */
+    private static volatile String hostName;
+    
     /**
      * Static
      */
@@ -49,7 +52,10 @@ public class IOUtil {
     public static String resolveHostName() {
         try {
             if (useInetAddress) {
-                return InetAddress.getLocalHost().getHostName();
+                if (hostName == null) {
+                    hostName = InetAddress.getLocalHost().getHostName();
+                }
+                return hostName;
             }
             throw new UnknownHostException("Do not use the Inet Adress");
         } catch (UnknownHostException e) {
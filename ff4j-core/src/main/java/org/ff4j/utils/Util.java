@@ -133,10 +133,22 @@ public class Util {
     }
 
     /**
-     * Check that string is not null
+     * Check that a single string is not null nor empty (no varargs array on hot paths).
+     *
+     * @param param
+     *            target string
+     */
+    public static void assertHasLength(String param) {
+        if (null == param || param.isEmpty()) {
+            throw new IllegalArgumentException("[Assertion failed] - Parameter #0(string)  must not be null nor empty");
+        }
+    }
+    
+    /**
+     * Check that string is not null nor empty.
      * 
-     * @param object
-     *            target object
+     * @param params
+     *            target strings
      */
     public static void assertHasLength(String... params) {
         if (params == null) {
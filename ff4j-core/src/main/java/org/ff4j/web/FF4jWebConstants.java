@@ -111,6 +111,24 @@ public class FF4jWebConstants {
     /** nb of points in the curve. */
     public static final String PARAM_NBPOINTS = "nbpoints";
 
+    /** change feed. */
+    public static final String RESOURCE_CHANGES = "changes";
+
+    /** last sequence processed by the client. */
+    public static final String PARAM_SINCE = "since";
+
+    /** epoch of the change feed the sequence comes from. */
+    public static final String PARAM_EPOCH = "epoch";
+
+    /** maximum time to wait for changes in milliseconds. */
+    public static final String PARAM_TIMEOUT = "timeout";
+
+    /** HTTP Header sent by server-sent events clients on reconnect. */
+    public static final String HEADER_LAST_EVENT_ID = "Last-Event-ID";
+
+    /** Server-sent events media type. */
+    public static final String MEDIATYPE_EVENT_STREAM = "text/event-stream";
+
     /** security role. */
     public static final String ROLE_READ = "READ";
 
@@ -53,3 +53,6 @@ CREATE TABLE FF4J_AUDIT (
   PRIMARY KEY(EVT_UUID, EVT_TIME)
 );
 
+-- Retention and queries read or delete audit events by time range
+CREATE INDEX FF4J_AUDIT_TIME ON FF4J_AUDIT(EVT_TIME);
+
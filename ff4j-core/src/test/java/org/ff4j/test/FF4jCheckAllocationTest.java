@@ -0,0 +1,134 @@
+package org.ff4j.test;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.Event;
+import org.ff4j.core.Feature;
+import org.ff4j.utils.IOUtil;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Make sure the common {@link FF4j#check(String)} path (no audit, no security, no strategy)
+ * does not allocate once warmed up, and that an audited check only allocates its event.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FF4jCheckAllocationTest {
+
+    /** Number of invocations measured. */
+    private static final int ITERATIONS = 100_000;
+
+    /** Number of invocations measured with audit (each check is saved in the repository). */
+    private static final int AUDIT_ITERATIONS = 10_000;
+
+    /** Tolerance for allocations not related to check (counters, JIT deoptimization), in bytes. */
+    private static final long ALLOCATION_TOLERANCE = 16 * 1024;
+
+    /** Upper bound of bytes allocated by the calling thread for one audited check (event and its submission). */
+    private static final long MAX_BYTES_PER_AUDITED_CHECK = 512;
+
+    @Test
+    public void testCheckDoesNotAllocate() {
+        com.sun.management.ThreadMXBean mx = getThreadMXBean();
+        FF4j ff4j = new FF4j();
+        ff4j.createFeature(new Feature("on", true));
+        ff4j.createFeature(new Feature("off", false));
+
+        long allocated = measureCheckAllocations(mx, ff4j, ITERATIONS);
+        Assert.assertTrue("Check allocated " + allocated + " bytes for " + (2 * ITERATIONS) + " invocations", 
+                allocated < ALLOCATION_TOLERANCE);
+    }
+
+    @Test
+    public void testAuditedCheckAllocationIsBounded() {
+        com.sun.management.ThreadMXBean mx = getThreadMXBean();
+        FF4j ff4j = new FF4j().audit();
+        ff4j.createFeature(new Feature("on", true));
+        ff4j.createFeature(new Feature("off", false));
+
+        // Events are created for each check, host name must not be resolved on the calling thread
+        long allocated = measureCheckAllocations(mx, ff4j, AUDIT_ITERATIONS);
+        Assert.assertTrue("Audited check allocated " + allocated + " bytes for " + (2 * AUDIT_ITERATIONS) + " invocations", 
+                allocated < 2 * AUDIT_ITERATIONS * MAX_BYTES_PER_AUDITED_CHECK + ALLOCATION_TOLERANCE);
+        ff4j.stop();
+    }
+
+    private com.sun.management.ThreadMXBean getThreadMXBean() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(mx.isThreadAllocatedMemorySupported());
+        mx.setThreadAllocatedMemoryEnabled(true);
+        return mx;
+    }
+
+    private long measureCheckAllocations(com.sun.management.ThreadMXBean mx, FF4j ff4j, int iterations) {
+        // Warm up (class loading, init, JIT)
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            hits += checkBoth(ff4j);
+        }
+        long before = mx.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            hits += checkBoth(ff4j);
+        }
+        long allocated = mx.getCurrentThreadAllocatedBytes() - before;
+        Assert.assertEquals(4 * iterations, hits);
+        return allocated;
+    }
+
+    private int checkBoth(FF4j ff4j) {
+        return (ff4j.check("on") ? 1 : 0) + (ff4j.check("off") ? 0 : 1);
+    }
+
+    @Test
+    public void testEventUuidIsLazyAndStable() throws Exception {
+        Event evt = new Event();
+        String uuid = evt.getUuid();
+        Assert.assertNotNull(uuid);
+        Assert.assertEquals(uuid, evt.getUuid());
+
+        // Never read before serialization, identifier must survive the round trip
+        Event fresh = new Event();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(fresh);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            Event copy = (Event) ois.readObject();
+            Assert.assertEquals(fresh.getUuid(), copy.getUuid());
+        }
+    }
+
+    @Test
+    public void testHostNameIsResolvedOnce() {
+        Assert.assertSame(IOUtil.resolveHostName(), IOUtil.resolveHostName());
+        Assert.assertSame(IOUtil.resolveHostName(), new Event().getHostName());
+    }
+}
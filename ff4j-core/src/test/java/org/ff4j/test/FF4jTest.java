@@ -72,6 +72,45 @@ public class FF4jTest extends AbstractFf4jTest {
         // expect error...
     }
     
+    @Test
+    public void testCheckAll() {
+        // Given
+        FF4j ff4j = new FF4j().cache(new InMemoryCacheManager());
+        ff4j.createFeature(new Feature("on", true));
+        ff4j.createFeature(new Feature("off", false));
+        Feature never = new Feature("never", true);
+        never.setFlippingStrategy(new PonderationStrategy(0d));
+        ff4j.createFeature(never);
+        ff4j.check("on");
+        // When
+        Map<String, Boolean> statuses = ff4j.checkAll(Arrays.asList("off", "on", "never"));
+        // Then
+        Assert.assertEquals(Arrays.asList("off", "on", "never"), new ArrayList<String>(statuses.keySet()));
+        Assert.assertFalse(statuses.get("off"));
+        Assert.assertTrue(statuses.get("on"));
+        Assert.assertFalse(statuses.get("never"));
+    }
+    
+    @Test
+    public void testCheckAllAutocreate() {
+        // Given
+        FF4j ff4j = new FF4j().autoCreate(true);
+        ff4j.createFeature(new Feature("on", true));
+        // When
+        Map<String, Boolean> statuses = ff4j.checkAll(Arrays.asList("on", "new"));
+        // Then
+        Assert.assertTrue(statuses.get("on"));
+        Assert.assertFalse(statuses.get("new"));
+        Assert.assertTrue(ff4j.exist("new"));
+    }
+    
+    @Test(expected = FeatureNotFoundException.class)
+    public void testCheckAllFeatureNotFound() {
+        FF4j ff4j = new FF4j();
+        ff4j.createFeature(new Feature("on", true));
+        ff4j.checkAll(Arrays.asList("on", "i-dont-exist"));
+    }
+    
     @Test
     public void testDeleteFeature() {
         FF4j ff4j = new FF4j(new XmlParser(),"ff4j.xml");
@@ -31,6 +31,7 @@ import static org.ff4j.audit.EventConstants.SOURCE_WEBAPI;
 import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -121,6 +122,21 @@ public abstract class AbstractEventRepositoryTest {
         Assert.assertEquals(1, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(start-20, System.currentTimeMillis())));
     }
     
+    @Test
+    public void testSaveEventsBulk() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        List<Event> events = new ArrayList<Event>();
+        for (int i = 0; i < 10; i++) {
+            events.add(generateFeatureUsageEvent("f" + (i % 2)));
+        }
+        events.add(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE));
+        Assert.assertTrue(repo.saveEvents(events));
+        Thread.sleep(100);
+        EventQueryDefinition eqd = new EventQueryDefinition(start - 20, System.currentTimeMillis());
+        Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(eqd));
+        Assert.assertEquals(1, repo.getAuditTrail(eqd).size());
+    }
+    
     @Test(expected = IllegalArgumentException.class)
     public void testSaveEventNull() {
         Assert.assertFalse(repo.saveEvent(null));
@@ -0,0 +1,196 @@
+package org.ff4j.test.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.AsyncEventPublisher;
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventOverflowPolicy;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventRingBuffer;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Fire-and-forget publication of events.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class AsyncEventPublisherTest {
+    
+    private Event newEvent(String name) {
+        return new Event(SOURCE_JAVA, TARGET_FEATURE, name, ACTION_CHECK_OK);
+    }
+    
+    @Test
+    public void testRingBufferFifo() {
+        EventRingBuffer rb = new EventRingBuffer(3);
+        Assert.assertEquals(4, rb.capacity());
+        Assert.assertTrue(rb.isEmpty());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(rb.offer(newEvent("F" + i)));
+        }
+        Assert.assertFalse(rb.offer(newEvent("F4")));
+        Assert.assertEquals(4, rb.size());
+        Assert.assertEquals("F0", rb.poll().getName());
+        Assert.assertTrue(rb.offer(newEvent("F4")));
+        List<Event> target = new ArrayList<>();
+        Assert.assertEquals(4, rb.drainTo(target, 10));
+        Assert.assertEquals("F4", target.get(3).getName());
+        Assert.assertNull(rb.poll());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRingBufferInvalidCapacity() {
+        new EventRingBuffer(1);
+    }
+    
+    @Test
+    public void testPublishAndFlushOnStop() {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        AsyncEventPublisher pub = new AsyncEventPublisher(repo);
+        for (int i = 0; i < 500; i++) {
+            pub.publish(newEvent("F1"));
+        }
+        pub.stop();
+        Assert.assertEquals(500, pub.getPublishedCount());
+        Assert.assertEquals(500, pub.getSavedCount());
+        Assert.assertEquals(0, pub.getDroppedCount());
+        Assert.assertEquals(0, pub.getPendingCount());
+        Assert.assertEquals(500, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+    }
+    
+    @Test
+    public void testDropNewestWhenFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EventRepository repo = mock(EventRepository.class);
+        when(repo.saveEvents(anyCollection())).thenAnswer(inv -> {
+            blocked.countDown();
+            release.await();
+            return true;
+        });
+        AsyncEventPublisher pub = new AsyncEventPublisher(repo, 4, EventOverflowPolicy.DROP_NEWEST);
+        pub.publish(newEvent("first"));
+        blocked.await();
+        for (int i = 0; i < 10; i++) {
+            pub.publish(newEvent("F" + i));
+        }
+        Assert.assertEquals(4, pub.getPendingCount());
+        Assert.assertEquals(6, pub.getDroppedCount());
+        release.countDown();
+        pub.stop();
+        Assert.assertEquals(5, pub.getSavedCount());
+    }
+    
+    @Test
+    public void testDropOldestWhenFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> saved = new ArrayList<>();
+        EventRepository repo = mock(EventRepository.class);
+        when(repo.saveEvents(anyCollection())).thenAnswer(inv -> {
+            blocked.countDown();
+            release.await();
+            for (Object evt : inv.getArgument(0, Collection.class)) {
+                saved.add(((Event) evt).getName());
+            }
+            return true;
+        });
+        AsyncEventPublisher pub = new AsyncEventPublisher(repo, 4, EventOverflowPolicy.DROP_OLDEST);
+        pub.publish(newEvent("first"));
+        blocked.await();
+        for (int i = 0; i < 10; i++) {
+            pub.publish(newEvent("F" + i));
+        }
+        Assert.assertEquals(6, pub.getDroppedCount());
+        release.countDown();
+        pub.stop();
+        Assert.assertEquals("F6", saved.get(1));
+        Assert.assertEquals("F9", saved.get(4));
+    }
+    
+    @Test
+    public void testSampleAboveHighWaterMark() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EventRepository repo = mock(EventRepository.class);
+        when(repo.saveEvents(anyCollection())).thenAnswer(inv -> {
+            blocked.countDown();
+            release.await();
+            return true;
+        });
+        AsyncEventPublisher pub = new AsyncEventPublisher(repo, 64, EventOverflowPolicy.SAMPLE);
+        pub.setSampleRate(1000000);
+        pub.publish(newEvent("first"));
+        blocked.await();
+        for (int i = 0; i < 100; i++) {
+            pub.publish(newEvent("F" + i));
+        }
+        // 48 events reach the high-water mark, others are sampled out
+        Assert.assertTrue(pub.getPendingCount() < 64);
+        Assert.assertEquals(100, pub.getDroppedCount() + pub.getPendingCount());
+        release.countDown();
+        pub.stop();
+    }
+    
+    @Test
+    public void testRepositoryErrorsAreCounted() {
+        EventRepository repo = mock(EventRepository.class);
+        when(repo.saveEvents(anyCollection())).thenThrow(new RuntimeException("Erreur"));
+        AsyncEventPublisher pub = new AsyncEventPublisher(repo);
+        pub.publish(newEvent("F1"));
+        pub.publish(newEvent("F2"));
+        pub.stop();
+        Assert.assertEquals(2, pub.getFailedCount());
+        Assert.assertEquals(0, pub.getSavedCount());
+    }
+    
+    @Test
+    public void testAuditWithFF4j() {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        FF4j ff4j = new FF4j();
+        ff4j.setEventRepository(repo);
+        ff4j.setEventPublisher(new AsyncEventPublisher(repo));
+        ff4j.audit(true);
+        ff4j.createFeature("F1", true);
+        for (int i = 0; i < 100; i++) {
+            ff4j.check("F1");
+        }
+        ff4j.getEventPublisher().stop();
+        Assert.assertEquals(100, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+    }
+
+}
@@ -23,7 +23,11 @@ package org.ff4j.test.audit;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.FF4j;
@@ -85,6 +89,25 @@ public class AuditBeanTest {
         Assert.assertEquals("SampleValue", evt.getKey("SampleKey"));
     }
     
+    @Test
+    public void testEventUuidReadConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 200; i++) {
+                final Event evt = new Event();
+                List<Future<String>> uuids = new ArrayList<Future<String>>();
+                for (int t = 0; t < 8; t++) {
+                    uuids.add(executor.submit(evt::getUuid));
+                }
+                for (Future<String> uuid : uuids) {
+                    Assert.assertEquals(evt.getUuid(), uuid.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
     @Test
     public void testEventQueryDefinition() {
         EventQueryDefinition eqd = new EventQueryDefinition();
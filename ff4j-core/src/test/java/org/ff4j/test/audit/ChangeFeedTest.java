@@ -0,0 +1,146 @@
+package org.ff4j.test.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.ChangeEvent;
+import org.ff4j.audit.ChangeFeed;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.proxy.FeatureStoreAuditProxy;
+import org.ff4j.core.Feature;
+import org.ff4j.property.PropertyString;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit testing of {@link ChangeFeed}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ChangeFeedTest {
+
+    @Test
+    public void testAppendAndReadSince() {
+        ChangeFeed feed = new ChangeFeed(10);
+        Assert.assertEquals(0, feed.getLastSequence());
+        Assert.assertTrue(feed.isResumable(0));
+        feed.append(EventConstants.TARGET_FEATURE, "f1", EventConstants.ACTION_CREATE, 1L);
+        feed.append(EventConstants.TARGET_FEATURE, "f2", EventConstants.ACTION_CREATE, 2L);
+        feed.append(EventConstants.TARGET_PROPERTY, "p1", EventConstants.ACTION_UPDATE, 3L);
+        Assert.assertEquals(3, feed.getLastSequence());
+        List<ChangeEvent> events = feed.readSince(1, 100);
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(2, events.get(0).getSequence());
+        Assert.assertEquals("f2", events.get(0).getName());
+        Assert.assertEquals("p1", events.get(1).getName());
+        Assert.assertEquals(1, feed.readSince(0, 1).size());
+        Assert.assertTrue(feed.readSince(3, 100).isEmpty());
+        Assert.assertTrue(events.get(1).toJson().contains("\"sequence\":3"));
+    }
+
+    @Test
+    public void testOverflowIsNotResumable() {
+        ChangeFeed feed = new ChangeFeed(3);
+        for (int i = 0; i < 5; i++) {
+            feed.append(EventConstants.TARGET_FEATURE, "f" + i, EventConstants.ACTION_UPDATE, i);
+        }
+        Assert.assertEquals(3, feed.getFirstSequence());
+        Assert.assertTrue(feed.isResumable(2));
+        Assert.assertFalse(feed.isResumable(1));
+        // Sequence from a previous run
+        Assert.assertFalse(feed.isResumable(10));
+        List<ChangeEvent> events = feed.readSince(0, 100);
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(3, events.get(0).getSequence());
+    }
+
+    @Test
+    public void testRestartIsNotResumable() {
+        ChangeFeed before = new ChangeFeed(10);
+        for (int i = 0; i < 5; i++) {
+            before.append(EventConstants.TARGET_FEATURE, "f" + i, EventConstants.ACTION_UPDATE, i);
+        }
+        String lastEventId = before.getEventId(2);
+        Assert.assertEquals(2, before.parseEventId(lastEventId));
+        Assert.assertTrue(before.isResumable(before.getEpoch(), 2));
+        
+        // Sequences restart at 1 with a new feed, the same number means something else
+        ChangeFeed after = new ChangeFeed(10);
+        for (int i = 0; i < 5; i++) {
+            after.append(EventConstants.TARGET_FEATURE, "g" + i, EventConstants.ACTION_UPDATE, i);
+        }
+        Assert.assertNotEquals(before.getEpoch(), after.getEpoch());
+        Assert.assertTrue(after.isResumable(2));
+        Assert.assertFalse(after.isResumable(before.getEpoch(), 2));
+        Assert.assertEquals(-1, after.parseEventId(lastEventId));
+        Assert.assertFalse(after.isResumable(after.parseEventId(lastEventId)));
+        Assert.assertEquals(-1, after.parseEventId("2"));
+        Assert.assertEquals(-1, after.parseEventId("not-an-id"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new ChangeFeed(0);
+    }
+
+    @Test
+    public void testAwaitSince() throws InterruptedException {
+        final ChangeFeed feed = new ChangeFeed();
+        // Nothing happens, returns after timeout
+        Assert.assertTrue(feed.awaitSince(0, 10, 50).isEmpty());
+        Thread writer = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                feed.append(EventConstants.TARGET_FEATURE, "f1", EventConstants.ACTION_TOGGLE_ON, System.currentTimeMillis());
+            }
+        });
+        writer.start();
+        long start = System.currentTimeMillis();
+        List<ChangeEvent> events = feed.awaitSince(0, 10, 10000);
+        Assert.assertEquals(1, events.size());
+        Assert.assertTrue(System.currentTimeMillis() - start < 10000);
+        writer.join();
+    }
+
+    @Test
+    public void testFeedFilledByStores() {
+        FF4j ff4j = new FF4j().changeFeed();
+        Assert.assertFalse(ff4j.isEnableAudit());
+        ff4j.createFeature(new Feature("f1", false));
+        ff4j.enable("f1");
+        ff4j.createProperty(new PropertyString("p1", "v1"));
+        List<ChangeEvent> events = ff4j.getChangeFeed().readSince(0, 100);
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(EventConstants.TARGET_FEATURE, events.get(0).getType());
+        Assert.assertEquals(EventConstants.ACTION_TOGGLE_ON, events.get(1).getAction());
+        Assert.assertEquals("p1", events.get(2).getName());
+        // Removing the feed removes the proxies
+        ff4j.setChangeFeed(null);
+        Assert.assertFalse(ff4j.getFeatureStore() instanceof FeatureStoreAuditProxy);
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.ff4j.test.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.repository.ColumnarEventRepository;
+import org.ff4j.audit.repository.EventRepository;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for publisher and columnar in memory Event repository.
+ * 
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ColumnarEventRepositoryTest extends AbstractEventRepositoryTest {
+    
+    /** {@inheritDoc} */
+    @Override
+    protected EventRepository initRepository() {
+        return new ColumnarEventRepository();
+    }
+
+    /** Check events are stored without their uuid, only the audit trail can be searched by id. */
+    @Test
+    @Override
+    public void testPurgeEvents() throws InterruptedException {
+        long topStart = System.currentTimeMillis();
+        Event evtAudit = new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, "f1", EventConstants.ACTION_CREATE);
+        Event evtFeatureUsage = new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, "f2", EventConstants.ACTION_CHECK_OK);
+        repo.saveEvent(evtAudit);
+        repo.saveEvent(evtFeatureUsage);
+        EventQueryDefinition testQuery = new EventQueryDefinition(topStart - 100, System.currentTimeMillis());
+        Assert.assertEquals(1, repo.searchFeatureUsageEvents(testQuery).size());
+        Assert.assertNull(repo.getEventByUUID(evtFeatureUsage.getUuid(), null));
+        repo.purgeFeatureUsage(testQuery);
+        Assert.assertTrue(repo.searchFeatureUsageEvents(testQuery).isEmpty());
+        Assert.assertNotNull(repo.getEventByUUID(evtAudit.getUuid(), null));
+        repo.purgeAuditTrail(new EventQueryDefinition(topStart - 100, System.currentTimeMillis()));
+        Assert.assertNull(repo.getEventByUUID(evtAudit.getUuid(), null));
+    }
+
+    @Test
+    public void testMemoryBudgetEvictsOldestBuckets() {
+        // Budget of 4 buckets with initial capacity
+        long budget = 4 * 64 * ColumnarEventRepository.BYTES_PER_EVENT;
+        ColumnarEventRepository repo = new ColumnarEventRepository(budget, 1000);
+        long start = 1000000;
+        for (int i = 0; i < 10; i++) {
+            Event evt = new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, "f1", EventConstants.ACTION_CHECK_OK);
+            evt.setTimestamp(start + i * 1000);
+            Assert.assertTrue(repo.saveEvent(evt));
+        }
+        Assert.assertTrue(repo.getAllocatedBytes() <= budget);
+        Assert.assertEquals(4, repo.getBucketCount());
+        Assert.assertEquals(6, repo.getEvictedEvents());
+        // Only the 4 most recent events are left
+        EventQueryDefinition q = new EventQueryDefinition(start, start + 20000);
+        Assert.assertEquals(4, repo.getFeatureUsageTotalHitCount(q));
+        Assert.assertEquals(start + 6000, repo.searchFeatureUsageEvents(q).first().getTimestamp());
+    }
+
+    @Test
+    public void testHitCountFromColumns() {
+        ColumnarEventRepository repo = new ColumnarEventRepository();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 300; i++) {
+            Event evt = new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, "f" + (i % 3), EventConstants.ACTION_CHECK_OK);
+            evt.setTimestamp(now - i * 1000);
+            evt.setUser(i % 2 == 0 ? "alice" : null);
+            repo.saveEvent(evt);
+        }
+        EventQueryDefinition q = new EventQueryDefinition(now - 3600000, now + 1000);
+        Assert.assertEquals(300, repo.getFeatureUsageTotalHitCount(q));
+        Assert.assertEquals(100, repo.getFeatureUsageHitCount(q).get("f1").get());
+        Assert.assertEquals(150, repo.getUserHitCount(q).get("anonymous").get());
+        Assert.assertEquals(1, repo.getFeatureUsageHitCount(q.addFilterName("f2")).size());
+        // Purge one feature
+        repo.purgeFeatureUsage(new EventQueryDefinition(now - 3600000, now + 1000).addFilterName("f0"));
+        Assert.assertEquals(200, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(now - 3600000, now + 1000)));
+    }
+
+}
@@ -0,0 +1,394 @@
+package org.ff4j.test.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ACTION_CREATE;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventRetentionEngine;
+import org.ff4j.audit.EventSeries;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.RetentionPolicy;
+import org.ff4j.audit.repository.ColumnarEventRepository;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.audit.repository.JdbcEventRepository;
+import org.ff4j.exception.AuditAccessException;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.kv.KeyValueEventRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Roll-up and drop of audit events with {@link EventRetentionEngine}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventRetentionEngineTest {
+    
+    /** Reference time. */
+    private static final long NOW = System.currentTimeMillis();
+    
+    /** Tested repository. */
+    private EventRepository repo;
+    
+    @Before
+    public void setUp() {
+        repo = new InMemoryEventRepository();
+    }
+    
+    private void check(String feature, long timestamp) {
+        Event evt = new Event(SOURCE_JAVA, TARGET_FEATURE, feature, ACTION_CHECK_OK);
+        evt.setTimestamp(timestamp);
+        repo.saveEvent(evt);
+    }
+    
+    private Map<String, MutableHitCount> hitCount() {
+        return repo.getFeatureUsageHitCount(new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW));
+    }
+    
+    private int totalHits() {
+        int sum = 0;
+        for (MutableHitCount mhc : hitCount().values()) {
+            sum += mhc.get();
+        }
+        return sum;
+    }
+    
+    /** Populate 3 features with one check every 5 minutes during 3 days. */
+    private int populate() {
+        int total = 0;
+        for (long t = NOW - TimeUnit.DAYS.toMillis(3); t < NOW; t += TimeUnit.MINUTES.toMillis(5)) {
+            check("f1", t);
+            check("f2", t + 1);
+            check("f3", t + 2);
+            total += 3;
+        }
+        return total;
+    }
+    
+    @Test
+    public void testHourlyRollUpKeepsHitCounts() {
+        int total = populate();
+        Map<String, MutableHitCount> before = hitCount();
+        
+        EventRetentionEngine engine = new EventRetentionEngine(repo)
+                .policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1));
+        int written = engine.run(NOW);
+        Assert.assertTrue(written > 0);
+        
+        // Same counts, far less events
+        Map<String, MutableHitCount> after = hitCount();
+        Assert.assertEquals(before.keySet(), after.keySet());
+        int sum = 0;
+        for (String feature : before.keySet()) {
+            Assert.assertEquals(before.get(feature).get(), after.get(feature).get());
+            sum += after.get(feature).get();
+        }
+        Assert.assertEquals(total, sum);
+        EventSeries remaining = repo.searchFeatureUsageEvents(new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW));
+        Assert.assertTrue(remaining.size() < total / 5);
+        
+        // Raw events kept for the last 6 hours
+        EventSeries recent = repo.searchFeatureUsageEvents(new EventQueryDefinition(NOW - TimeUnit.HOURS.toMillis(5), NOW));
+        for (Event evt : recent) {
+            Assert.assertNull(evt.getKey(EventConstants.ATTRIBUTE_HITCOUNT));
+        }
+        
+        // Nothing to do on second run
+        Assert.assertEquals(0, engine.run(NOW));
+    }
+    
+    @Test
+    public void testDailyRollUpAndDrop() {
+        int total = populate();
+        EventRetentionEngine engine = new EventRetentionEngine(repo)
+                .policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(1, 1, 30));
+        engine.run(NOW);
+        int sum = 0;
+        for (MutableHitCount mhc : hitCount().values()) {
+            sum += mhc.get();
+        }
+        Assert.assertEquals(total, sum);
+        boolean daily = false;
+        for (Event evt : repo.searchFeatureUsageEvents(new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW))) {
+            daily |= EventConstants.ROLLUP_DAILY.equals(evt.getKey(EventConstants.ATTRIBUTE_ROLLUP));
+        }
+        Assert.assertTrue(daily);
+        
+        // Ten days later everything is dropped
+        engine.policy(ACTION_CHECK_OK, new RetentionPolicy(TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toMillis(5)));
+        engine.run(NOW + TimeUnit.DAYS.toMillis(10));
+        Assert.assertTrue(hitCount().isEmpty());
+    }
+    
+    @Test
+    public void testDropAuditTrail() {
+        Event old = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE);
+        old.setTimestamp(NOW - TimeUnit.DAYS.toMillis(10));
+        repo.saveEvent(old);
+        Event recent = new Event(SOURCE_JAVA, TARGET_FEATURE, "f2", ACTION_CREATE);
+        recent.setTimestamp(NOW);
+        repo.saveEvent(recent);
+        new EventRetentionEngine(repo).policy(ACTION_CREATE, RetentionPolicy.dropAfter(7)).run(NOW + 1000);
+        EventSeries trail = repo.getAuditTrail(new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW + 1000));
+        Assert.assertEquals(1, trail.size());
+        Assert.assertEquals("f2", trail.first().getName());
+    }
+    
+    @Test
+    public void testRollUpJdbc() {
+        EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.HSQL)
+                .setName("retention")
+                .addScript("classpath:schema-ddl.sql")
+                .build();
+        try {
+            repo = new JdbcEventRepository(db);
+            int total = populate();
+            new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 2, -1)).run(NOW);
+            int sum = 0;
+            for (MutableHitCount mhc : hitCount().values()) {
+                sum += mhc.get();
+            }
+            Assert.assertEquals(total, sum);
+            Assert.assertTrue(repo.searchFeatureUsageEvents(
+                    new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW)).size() < total / 5);
+        } finally {
+            db.shutdown();
+        }
+    }
+    
+    @Test
+    public void testDropCheckOffKeepsCheckOkJdbc() {
+        EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.HSQL)
+                .setName("retentionCheckOff")
+                .addScript("classpath:schema-ddl.sql")
+                .build();
+        try {
+            repo = new JdbcEventRepository(db);
+            for (int i = 0; i < 10; i++) {
+                long t = NOW - TimeUnit.DAYS.toMillis(10) + i;
+                check("f1", t);
+                Event off = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OFF);
+                off.setTimestamp(t);
+                repo.saveEvent(off);
+            }
+            new EventRetentionEngine(repo).policy(ACTION_CHECK_OFF, RetentionPolicy.dropAfter(7)).run(NOW);
+            
+            // CHECK_OFF dropped, CHECK_OK never aggregated nor purged by this policy
+            EventQueryDefinition qOff = new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW);
+            qOff.getActionFilters().add(ACTION_CHECK_OFF);
+            Assert.assertTrue(repo.searchFeatureUsageEvents(qOff).isEmpty());
+            Assert.assertEquals(10, totalHits());
+        } finally {
+            db.shutdown();
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectStoreIgnoringPurgeWindow() {
+        // Purge does nothing, aggregates would be counted next to raw events
+        new EventRetentionEngine(new KeyValueEventRepository<String>());
+    }
+    
+    @Test
+    public void testFailedSaveKeepsRawEvents() {
+        repo = new InMemoryEventRepository() {
+            @Override
+            public boolean saveEvents(Collection<Event> events) {
+                throw new AuditAccessException("Store unavailable");
+            }
+        };
+        int total = populate();
+        try {
+            new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1)).run(NOW);
+            Assert.fail();
+        } catch (AuditAccessException ex) {
+            // Nothing purged
+        }
+        Assert.assertEquals(total, totalHits());
+    }
+    
+    @Test
+    public void testRunAgainAfterFailedPurge() {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        repo = new InMemoryEventRepository() {
+            @Override
+            public void purgeEvents(Collection<Event> events) {
+                if (fail.get()) {
+                    throw new AuditAccessException("Store unavailable");
+                }
+                super.purgeEvents(events);
+            }
+        };
+        int total = populate();
+        EventRetentionEngine engine = new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1));
+        try {
+            engine.run(NOW);
+            Assert.fail();
+        } catch (AuditAccessException ex) {
+            // Aggregates of the first window saved, raw events still there
+        }
+        fail.set(false);
+        engine.run(NOW);
+        Assert.assertEquals(total, totalHits());
+        // Nothing written again by a new engine starting from the horizon
+        Assert.assertEquals(0, new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1)).run(NOW));
+        Assert.assertEquals(total, totalHits());
+    }
+    
+    @Test
+    public void testRollUpMoreEventsThanSeriesCapacity() {
+        final AtomicBoolean limited = new AtomicBoolean(true);
+        repo = new InMemoryEventRepository() {
+            @Override
+            public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
+                if (!limited.get()) {
+                    return super.searchFeatureUsageEvents(query);
+                }
+                EventSeries series = new EventSeries(50);
+                series.addAll(super.searchFeatureUsageEvents(query));
+                return series;
+            }
+        };
+        int total = populate();
+        Assert.assertTrue(new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1)).run(NOW) > 0);
+        limited.set(false);
+        // Every slice of the windows aggregated and purged
+        Assert.assertEquals(total, totalHits());
+        EventSeries remaining = repo.searchFeatureUsageEvents(new EventQueryDefinition(NOW - TimeUnit.DAYS.toMillis(30), NOW));
+        Assert.assertTrue(remaining.size() < total / 5);
+    }
+    
+    @Test
+    public void testRunAgainColumnar() {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        repo = new ColumnarEventRepository() {
+            @Override
+            public void purgeEvents(Collection<Event> events) {
+                if (fail.get()) {
+                    throw new AuditAccessException("Store unavailable");
+                }
+                super.purgeEvents(events);
+            }
+        };
+        int total = populate();
+        EventRetentionEngine engine = new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1));
+        try {
+            engine.run(NOW);
+            Assert.fail();
+        } catch (AuditAccessException ex) {
+            // Aggregates saved, events rebuilt with new identifiers on next search
+        }
+        fail.set(false);
+        Assert.assertTrue(engine.run(NOW) > 0);
+        Assert.assertEquals(total, totalHits());
+        Assert.assertEquals(0, new EventRetentionEngine(repo).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1)).run(NOW));
+        Assert.assertEquals(total, totalHits());
+    }
+    
+    @Test
+    public void testWatermarksSavedAsProperties() {
+        populate();
+        PropertyStore watermarks = new InMemoryPropertyStore();
+        Assert.assertTrue(new EventRetentionEngine(repo, watermarks).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1)).run(NOW) > 0);
+        Assert.assertTrue(watermarks.existProperty(EventRetentionEngine.WATERMARK_PREFIX + ACTION_CHECK_OK + ".hourly"));
+        
+        // Restart, no window read again
+        EventRepository noSearch = new InMemoryEventRepository() {
+            @Override
+            public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
+                throw new IllegalStateException("Window already processed");
+            }
+        };
+        Assert.assertEquals(0, new EventRetentionEngine(noSearch, watermarks).policy(ACTION_CHECK_OK, RetentionPolicy.rollUp(6, 30, -1)).run(NOW));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPolicy() {
+        new RetentionPolicy(TimeUnit.DAYS.toMillis(2), TimeUnit.DAYS.toMillis(1), -1);
+    }
+    
+    /**
+     * Repository implementing only abstract methods, delegating to an in-memory store.
+     */
+    private EventRepository defaultMethodsRepository(final EventRepository target, final boolean rangePurge) {
+        return (EventRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { EventRepository.class }, 
+            (proxy, method, args) -> {
+                if ("supportsRangePurge".equals(method.getName())) {
+                    return rangePurge;
+                }
+                if (method.isDefault()) {
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+                }
+                return method.invoke(target, args);
+            });
+    }
+    
+    @Test
+    public void testDefaultPurgeEvents() {
+        EventRepository thirdParty = defaultMethodsRepository(repo, true);
+        long t = NOW - TimeUnit.HOURS.toMillis(1);
+        Event f1 = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK);
+        f1.setTimestamp(t);
+        Event f1Later = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK);
+        f1Later.setTimestamp(t + 1);
+        Event f2 = new Event(SOURCE_JAVA, TARGET_FEATURE, "f2", ACTION_CHECK_OK);
+        f2.setTimestamp(t);
+        Assert.assertTrue(thirdParty.saveEvents(Arrays.asList(f1, f1Later, f2)));
+        Assert.assertEquals(3, totalHits());
+        // When
+        thirdParty.purgeEvents(Collections.singletonList(f1));
+        // Then, only the matching event is removed
+        Assert.assertEquals(2, totalHits());
+        Assert.assertEquals(1, hitCount().get("f1").get());
+        Assert.assertEquals(1, hitCount().get("f2").get());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDefaultPurgeEventsNeedsRangePurge() {
+        EventRepository thirdParty = defaultMethodsRepository(repo, false);
+        Assert.assertFalse(thirdParty.supportsRangePurge());
+        thirdParty.purgeEvents(Collections.singletonList(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK)));
+    }
+}
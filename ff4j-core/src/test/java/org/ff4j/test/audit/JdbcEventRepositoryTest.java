@@ -20,10 +20,21 @@ package org.ff4j.test.audit;
  * #L%
  */
 
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.audit.repository.JdbcEventRepository;
+import org.ff4j.store.JdbcQueryBuilder;
+import org.ff4j.store.JdbcStoreConstants;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
@@ -70,4 +81,96 @@ public class JdbcEventRepositoryTest extends AbstractEventRepositoryTest {
         return new JdbcEventRepository(db);
     }
 
+    @Test
+    public void testFeatureUsageHistoryGroupedInDatabase() throws InterruptedException {
+        long to   = System.currentTimeMillis();
+        long from = to - TimeUnit.HOURS.toMillis(3);
+        populateRepository(from, to, 200);
+        Event aggregated = generateFeatureUsageEvent("f1", from + 1000);
+        aggregated.put(EventConstants.ATTRIBUTE_HITCOUNT, "50");
+        repo.saveEvent(aggregated);
+        
+        JdbcEventRepository jdbcRepo = (JdbcEventRepository) repo;
+        for (TimeUnit unit : new TimeUnit[] {TimeUnit.MINUTES, TimeUnit.HOURS}) {
+            TimeSeriesChart grouped = jdbcRepo.getFeatureUsageHistory(new EventQueryDefinition(from - 10, to + 10), unit);
+            Assert.assertTrue(jdbcRepo.isNativeHistogram());
+            // Same chart as bucketing every event in memory
+            TimeSeriesChart expected = new TimeSeriesChart(from - 10, to + 10, unit);
+            for (Event evt : jdbcRepo.searchFeatureUsageEvents(new EventQueryDefinition(from - 10, to + 10))) {
+                expected.addEvent(evt);
+            }
+            Assert.assertEquals(expected.getSeries().keySet(), grouped.getSeries().keySet());
+            int total = 0;
+            for (String serie : expected.getSeries().keySet()) {
+                for (String slot : expected.getTimeSlots()) {
+                    int hits = expected.getSeries().get(serie).getValue().get(slot).get();
+                    Assert.assertEquals(hits, grouped.getSeries().get(serie).getValue().get(slot).get());
+                    total += hits;
+                }
+            }
+            Assert.assertEquals(250, total);
+        }
+    }
+    
+    @Test
+    public void testAggregatedRowsHaveTheirOwnType() {
+        long now = System.currentTimeMillis();
+        Event raw = generateFeatureUsageEvent("f1", now - 1000);
+        // Custom keys are free text, they must not tell raw and aggregated rows apart
+        raw.put("comment", EventConstants.ATTRIBUTE_HITCOUNT + "=9");
+        repo.saveEvent(raw);
+        Event aggregated = generateFeatureUsageEvent("f1", now - 2000);
+        aggregated.put(EventConstants.ATTRIBUTE_HITCOUNT, "50");
+        repo.saveEvent(aggregated);
+        
+        EventQueryDefinition q = new EventQueryDefinition(now - 10000, now + 10);
+        Assert.assertEquals(51, repo.getFeatureUsageHitCount(q).get("f1").get());
+        Assert.assertEquals(Integer.valueOf(1), new JdbcTemplate(db).queryForObject("SELECT COUNT(*) FROM FF4J_AUDIT WHERE EVT_TYPE = ?", 
+                Integer.class, JdbcStoreConstants.TYPE_FEATURE_HITS));
+        for (Event evt : repo.searchFeatureUsageEvents(q)) {
+            Assert.assertEquals(EventConstants.TARGET_FEATURE, evt.getType());
+        }
+    }
+    
+    @Test
+    public void testFeatureUsageHistoryFallbackOnSyntaxError() throws InterruptedException {
+        long to   = System.currentTimeMillis();
+        long from = to - TimeUnit.HOURS.toMillis(1);
+        populateRepository(from, to, 20);
+        JdbcEventRepository jdbcRepo = (JdbcEventRepository) repo;
+        jdbcRepo.setQueryBuilder(new JdbcQueryBuilder() {
+            public String sqlSecondsBetween(String start, String end) {
+                return "NOT_A_FUNCTION(" + start + ", " + end + ")";
+            }
+        });
+        TimeSeriesChart tsc = jdbcRepo.getFeatureUsageHistory(new EventQueryDefinition(from - 10, to + 10), TimeUnit.HOURS);
+        Assert.assertFalse(jdbcRepo.isNativeHistogram());
+        int total = 0;
+        for (String serie : tsc.getSeries().keySet()) {
+            for (String slot : tsc.getTimeSlots()) {
+                total += tsc.getSeries().get(serie).getValue().get(slot).get();
+            }
+        }
+        Assert.assertEquals(20, total);
+    }
+    
+    @Test
+    public void testFeatureUsageHistoryKeepsNativeOnDataError() throws InterruptedException {
+        long to   = System.currentTimeMillis();
+        long from = to - TimeUnit.HOURS.toMillis(1);
+        populateRepository(from, to, 20);
+        JdbcEventRepository jdbcRepo = (JdbcEventRepository) repo;
+        jdbcRepo.setQueryBuilder(new JdbcQueryBuilder() {
+            public String sqlSecondsBetween(String start, String end) {
+                return "CAST('abc' AS INTEGER)";
+            }
+        });
+        try {
+            jdbcRepo.getFeatureUsageHistory(new EventQueryDefinition(from - 10, to + 10), TimeUnit.HOURS);
+            Assert.fail("Error on a valid query must be raised");
+        } catch (IllegalStateException ise) {
+            Assert.assertTrue(jdbcRepo.isNativeHistogram());
+        }
+    }
+
 }
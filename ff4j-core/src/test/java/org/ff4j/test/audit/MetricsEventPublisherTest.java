@@ -0,0 +1,222 @@
+package org.ff4j.test.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ACTION_CREATE;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_HITCOUNT;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ff4j.FF4j;
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MetricsEventPublisher;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.exception.AuditAccessException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Pre-aggregated hit counters.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class MetricsEventPublisherTest {
+    
+    @Test
+    public void testChecksAreAggregated() {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        MetricsEventPublisher pub = new MetricsEventPublisher(repo, 60000L, 3600000L);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            pub.publish(new Event(SOURCE_JAVA, TARGET_FEATURE, "f" + (i % 2), ACTION_CHECK_OK));
+        }
+        pub.publish(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OFF));
+        Assert.assertTrue(pub.getCounterCount() <= 6);
+        // Only 3 rows, whatever the number of checks (unless the minute changed in between)
+        int rows = pub.flush();
+        Assert.assertTrue(rows >= 3 && rows <= 6);
+        
+        EventQueryDefinition q = new EventQueryDefinition(start - 60000L, System.currentTimeMillis());
+        Map<String, MutableHitCount> hits = repo.getFeatureUsageHitCount(q);
+        Assert.assertEquals(500, hits.get("f0").get());
+        Assert.assertEquals(500, hits.get("f1").get());
+        Assert.assertEquals(1000, repo.getFeatureUsageTotalHitCount(q));
+        Assert.assertEquals(1000, repo.getSourceHitCount(q).get(SOURCE_JAVA).get());
+        TimeSeriesChart tsc = repo.getFeatureUsageHistory(q, TimeUnit.MINUTES);
+        int total = 0;
+        for (MutableHitCount mhc : tsc.getSeries().get("f0").getValue().values()) {
+            total += mhc.get();
+        }
+        Assert.assertEquals(500, total);
+        pub.stop();
+    }
+    
+    @Test
+    public void testNothingToFlushTwice() {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        MetricsEventPublisher pub = new MetricsEventPublisher(repo, 60000L, 3600000L);
+        pub.hit("f1", ACTION_CHECK_OK, "host", SOURCE_JAVA, null, System.currentTimeMillis());
+        Assert.assertEquals(1, pub.flush());
+        Assert.assertEquals(0, pub.flush());
+        Assert.assertEquals(1, pub.getCounterCount());
+        // Idle counters are removed at second empty flush
+        Assert.assertEquals(0, pub.flush());
+        Assert.assertEquals(0, pub.getCounterCount());
+        pub.stop();
+    }
+    
+    @Test
+    public void testNoHitLostWhenIdleCountersAreRemoved() throws InterruptedException {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        final MetricsEventPublisher pub = new MetricsEventPublisher(repo, 3600000L, 3600000L);
+        final long start = System.currentTimeMillis();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        // Flush continuously, counters become idle between bursts and are removed
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                pub.flush();
+            }
+        });
+        flusher.start();
+        Thread[] hitters = new Thread[4];
+        for (int t = 0; t < hitters.length; t++) {
+            hitters[t] = new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    pub.hit("f1", ACTION_CHECK_OK, "host", SOURCE_JAVA, null, start);
+                    if (i % 500 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            hitters[t].start();
+        }
+        for (Thread hitter : hitters) {
+            hitter.join();
+        }
+        running.set(false);
+        flusher.join();
+        pub.stop();
+        EventQueryDefinition q = new EventQueryDefinition(start - 3600000L, System.currentTimeMillis());
+        Assert.assertEquals(80000, repo.getFeatureUsageHitCount(q).get("f1").get());
+    }
+    
+    @Test
+    public void testAuditTrailIsNotAggregated() throws InterruptedException {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        MetricsEventPublisher pub = new MetricsEventPublisher(repo);
+        long start = System.currentTimeMillis();
+        pub.publish(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE));
+        Assert.assertEquals(0, pub.getCounterCount());
+        Assert.assertEquals(1, repo.getAuditTrail(new EventQueryDefinition(start - 10, System.currentTimeMillis())).size());
+        pub.stop();
+    }
+    
+    @Test
+    public void testHitsOf() {
+        Event evt = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK);
+        Assert.assertEquals(1, MutableHitCount.hitsOf(evt));
+        evt.put(ATTRIBUTE_HITCOUNT, "42");
+        Assert.assertEquals(42, MutableHitCount.hitsOf(evt));
+        evt.put(ATTRIBUTE_HITCOUNT, "invalid");
+        Assert.assertEquals(1, MutableHitCount.hitsOf(evt));
+    }
+    
+    @Test
+    public void testMetricsModeWithFF4j() {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        FF4j ff4j = new FF4j();
+        ff4j.setEventRepository(repo);
+        ff4j.setEventPublisher(new MetricsEventPublisher(repo));
+        ff4j.audit(true);
+        ff4j.createFeature("F1", true);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            ff4j.check("F1");
+        }
+        ff4j.getEventPublisher().stop();
+        EventQueryDefinition q = new EventQueryDefinition(start - 60000L, System.currentTimeMillis());
+        Assert.assertEquals(100, repo.getFeatureUsageTotalHitCount(q));
+    }
+
+    @Test
+    public void testChecksDoNotBuildEvents() {
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        final AtomicInteger published = new AtomicInteger();
+        FF4j ff4j = new FF4j();
+        ff4j.setEventRepository(repo);
+        ff4j.setEventPublisher(new MetricsEventPublisher(repo) {
+            @Override
+            public void publish(Event e) {
+                published.incrementAndGet();
+                super.publish(e);
+            }
+        });
+        ff4j.audit(true);
+        ff4j.createFeature("F1", true);
+        published.set(0);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            ff4j.check("F1");
+        }
+        Assert.assertEquals(0, published.get());
+        ff4j.getEventPublisher().stop();
+        EventQueryDefinition q = new EventQueryDefinition(start - 60000L, System.currentTimeMillis());
+        Assert.assertEquals(10, repo.getFeatureUsageHitCount(q).get("F1").get());
+    }
+    
+    @Test
+    public void testFailedFlushKeepsHits() {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        InMemoryEventRepository repo = new InMemoryEventRepository() {
+            @Override
+            public boolean saveEvents(Collection<Event> events) {
+                if (fail.get()) {
+                    throw new AuditAccessException("Store unavailable");
+                }
+                return super.saveEvents(events);
+            }
+        };
+        MetricsEventPublisher pub = new MetricsEventPublisher(repo, 3600000L, 3600000L);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            pub.hit("f1", ACTION_CHECK_OK, "host", SOURCE_JAVA, null, start);
+        }
+        Assert.assertEquals(0, pub.flush());
+        pub.hit("f1", ACTION_CHECK_OK, "host", SOURCE_JAVA, null, start);
+        fail.set(false);
+        Assert.assertEquals(1, pub.flush());
+        EventQueryDefinition q = new EventQueryDefinition(start - 3600000L, System.currentTimeMillis());
+        Assert.assertEquals(11, repo.getFeatureUsageHitCount(q).get("f1").get());
+        pub.stop();
+    }
+
+}
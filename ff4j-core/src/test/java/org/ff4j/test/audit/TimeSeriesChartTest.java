@@ -0,0 +1,107 @@
+package org.ff4j.test.audit;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Slot resolution and aggregation of {@link TimeSeriesChart}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class TimeSeriesChartTest {
+
+    /** Reference date. */
+    private static final long FROM = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+
+    private Event feature(String name, long timestamp) {
+        Event evt = new Event(EventConstants.SOURCE_JAVA, EventConstants.TARGET_FEATURE, name, EventConstants.ACTION_CHECK_OK);
+        evt.setTimestamp(timestamp);
+        return evt;
+    }
+
+    @Test
+    public void testSlotIndexMatchesLabels() {
+        long to = FROM + TimeUnit.DAYS.toMillis(1);
+        for (TimeUnit unit : new TimeUnit[] {TimeUnit.MINUTES, TimeUnit.HOURS, TimeUnit.DAYS}) {
+            TimeSeriesChart tsc = new TimeSeriesChart(FROM, to, unit);
+            for (long ts = FROM; ts <= to; ts += 37777) {
+                int idx = tsc.getSlotIndex(ts);
+                String label = tsc.getSdf().format(new Date(ts));
+                if (idx >= 0) {
+                    Assert.assertEquals(label, tsc.getTimeSlots().get(idx));
+                } else {
+                    Assert.assertFalse(tsc.getTimeSlots().contains(label));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSlotIndexOutOfRange() {
+        TimeSeriesChart tsc = new TimeSeriesChart(FROM, FROM + TimeUnit.HOURS.toMillis(2), TimeUnit.HOURS);
+        Assert.assertEquals(-1, tsc.getSlotIndex(FROM - TimeUnit.DAYS.toMillis(1)));
+        Assert.assertEquals(-1, tsc.getSlotIndex(FROM + TimeUnit.DAYS.toMillis(1)));
+    }
+
+    @Test
+    public void testAddEventsSameAsAddEvent() {
+        long to = FROM + TimeUnit.HOURS.toMillis(6);
+        List<Event> events = new ArrayList<Event>();
+        for (int i = 0; i < TimeSeriesChart.PARALLEL_THRESHOLD * 2; i++) {
+            events.add(feature("f" + (i % 3), FROM + (i * 1013L) % (to - FROM)));
+        }
+        TimeSeriesChart one = new TimeSeriesChart(FROM, to, TimeUnit.MINUTES);
+        for (Event evt : events) {
+            one.addEvent(evt);
+        }
+        TimeSeriesChart all = new TimeSeriesChart(FROM, to, TimeUnit.MINUTES);
+        all.addEvents(events);
+        Assert.assertEquals(3, all.getSeries().size());
+        int total = 0;
+        for (String serie : one.getSeries().keySet()) {
+            for (String slot : one.getTimeSlots()) {
+                int expected = one.getSeries().get(serie).getValue().get(slot).get();
+                Assert.assertEquals(expected, all.getSeries().get(serie).getValue().get(slot).get());
+                total += expected;
+            }
+        }
+        Assert.assertEquals(events.size(), total);
+    }
+
+    @Test
+    public void testAddHitsCreatesSerie() {
+        TimeSeriesChart tsc = new TimeSeriesChart(FROM, FROM + TimeUnit.HOURS.toMillis(1), TimeUnit.MINUTES);
+        tsc.addHits("f1", FROM + 1000, 5);
+        tsc.addHits("f1", FROM + 2000, 2);
+        String slot = tsc.getSdf().format(new Date(FROM + 1000));
+        Assert.assertEquals(7, tsc.getSeries().get("f1").getValue().get(slot).get());
+    }
+}
@@ -0,0 +1,161 @@
+package org.ff4j.test.cache;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.ff4j.cache.AbstractCacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheInvalidationBus;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link InMemoryCacheInvalidationBus} and {@link AbstractCacheInvalidationBus}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationBusTest {
+
+    @Test
+    public void testMessageText() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage("node1", 
+                new HashSet<>(Arrays.asList("f1", "a,b", "line\nbreak", "!")), false, new HashSet<String>(), true);
+        CacheInvalidationMessage parsed = CacheInvalidationMessage.fromText(message.toText());
+        Assert.assertEquals("node1", parsed.getOrigin());
+        Assert.assertEquals(message.getFeatures(), parsed.getFeatures());
+        Assert.assertFalse(parsed.isAllFeatures());
+        Assert.assertTrue(parsed.isAllProperties());
+        Assert.assertTrue(parsed.getProperties().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMessageTextInvalid() {
+        CacheInvalidationMessage.fromText("node1");
+    }
+
+    @Test
+    public void testCoalescing() {
+        // Given
+        List<CacheInvalidationMessage> sent = new ArrayList<>();
+        AbstractCacheInvalidationBus bus = new AbstractCacheInvalidationBus() {
+            @Override
+            protected void send(CacheInvalidationMessage message) {
+                sent.add(message);
+            }
+        };
+        bus.setBatchDelay(60000);
+        // When
+        bus.invalidateFeature("f1");
+        bus.invalidateFeature("f1");
+        bus.invalidateFeature("f2");
+        bus.invalidateProperty("p1");
+        bus.invalidateAllProperties();
+        bus.flush();
+        bus.flush();
+        // Then
+        Assert.assertEquals(1, sent.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("f1", "f2")), sent.get(0).getFeatures());
+        Assert.assertTrue(sent.get(0).isAllProperties());
+        bus.close();
+    }
+
+    @Test
+    public void testPropagationBetweenNodes() throws InterruptedException {
+        // Given : 2 nodes sharing stores, each with its own cache
+        InMemoryFeatureStore  sharedFeatures   = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryPropertyStore sharedProperties = new InMemoryPropertyStore("ff4j.xml");
+        InMemoryCacheInvalidationBus bus1 = new InMemoryCacheInvalidationBus();
+        InMemoryCacheInvalidationBus bus2 = new InMemoryCacheInvalidationBus(bus1);
+        bus1.setBatchDelay(10);
+        FF4jCacheProxy node1 = new FF4jCacheProxy(sharedFeatures, sharedProperties, new InMemoryCacheManager());
+        FF4jCacheProxy node2 = new FF4jCacheProxy(sharedFeatures, sharedProperties, new InMemoryCacheManager());
+        node1.setInvalidationBus(bus1);
+        node2.setInvalidationBus(bus2);
+        node2.createProperty(new PropertyString("p1", "v1"));
+        Assert.assertTrue(node1.read("first").isEnable());
+        Assert.assertTrue(node2.read("first").isEnable());
+        Assert.assertEquals("v1", node2.readProperty("p1").asString());
+        Assert.assertFalse(node2.exist("newFeature"));
+        // When
+        node1.update(new Feature("first", false));
+        node1.updateProperty("p1", "v2");
+        node1.create(new Feature("newFeature"));
+        Thread.sleep(200);
+        // Then
+        Assert.assertFalse(node2.getCacheManager().listCachedFeatureNames().contains("first"));
+        Assert.assertFalse(node2.read("first").isEnable());
+        Assert.assertEquals("v2", node2.readProperty("p1").asString());
+        Assert.assertTrue(node2.exist("newFeature"));
+        bus1.close();
+        bus2.close();
+    }
+
+    @Test
+    public void testNoEchoToPublisher() {
+        // Given
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        bus.setBatchDelay(0);
+        List<CacheInvalidationMessage> received = new ArrayList<>();
+        bus.subscribe(received::add);
+        // When
+        bus.invalidateFeature("f1");
+        // Then
+        Assert.assertTrue(received.isEmpty());
+        bus.close();
+    }
+
+    @Test
+    public void testInvalidateAllLocally() {
+        // Given : a transport which lost messages
+        List<CacheInvalidationMessage> sent = new ArrayList<>();
+        AbstractCacheInvalidationBus bus = new AbstractCacheInvalidationBus() {
+            @Override
+            protected void send(CacheInvalidationMessage message) {
+                sent.add(message);
+            }
+            @Override
+            public void close() {
+                invalidateAllLocally();
+                super.close();
+            }
+        };
+        List<CacheInvalidationMessage> received = new ArrayList<>();
+        bus.subscribe(received::add);
+        // When
+        bus.close();
+        // Then : local listeners evict everything, nothing is published
+        Assert.assertEquals(1, received.size());
+        Assert.assertTrue(received.get(0).isAllFeatures());
+        Assert.assertTrue(received.get(0).isAllProperties());
+        Assert.assertTrue(sent.isEmpty());
+    }
+
+}
@@ -20,14 +20,22 @@ package org.ff4j.test.cache;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.ff4j.FF4j;
 import org.ff4j.cache.FF4JCacheManager;
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.core.Feature;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.PropertyLogLevel;
 import org.ff4j.property.PropertyLogLevel.LogLevel;
@@ -129,4 +137,145 @@ public class CacheProxyTest {
         
     }
 
+    @Test
+    public void testSingleFlightLoad() throws InterruptedException {
+        // Given : a slow store
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryFeatureStore slowStore = new InMemoryFeatureStore() {
+            @Override
+            public Feature read(String uid) {
+                reads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(uid);
+            }
+        };
+        slowStore.create(new Feature("f1", true));
+        FF4jCacheProxy proxy = new FF4jCacheProxy(slowStore, new InMemoryPropertyStore(), new InMemoryCacheManager());
+        List<Thread> readers = new ArrayList<>();
+        AtomicInteger enabled = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            Thread t = new Thread(() -> {
+                if (proxy.read("f1").isEnable()) {
+                    enabled.incrementAndGet();
+                }
+            });
+            readers.add(t);
+            t.start();
+        }
+        // When
+        Thread.sleep(200);
+        release.countDown();
+        for (Thread t : readers) {
+            t.join(5000);
+        }
+        // Then
+        Assert.assertEquals(1, reads.get());
+        Assert.assertEquals(8, enabled.get());
+    }
+
+    @Test
+    public void testNegativeCacheFeature() {
+        // Given
+        AtomicInteger hits = new AtomicInteger();
+        // read() also checks existence
+        InMemoryFeatureStore store = new InMemoryFeatureStore() {
+            @Override
+            public boolean exist(String uid) {
+                hits.incrementAndGet();
+                return super.exist(uid);
+            }
+        };
+        FF4jCacheProxy proxy = new FF4jCacheProxy(store, new InMemoryPropertyStore(), new InMemoryCacheManager());
+        proxy.setNegativeCacheTtl(1000);
+        // When
+        for (int i = 0; i < 3; i++) {
+            try {
+                proxy.read("unknown");
+                Assert.fail();
+            } catch (FeatureNotFoundException fnf) {
+                // expected
+            }
+            Assert.assertFalse(proxy.exist("unknown"));
+        }
+        // Then
+        Assert.assertEquals(1, hits.get());
+        // Creation through the proxy forgets the missing feature
+        proxy.create(new Feature("unknown"));
+        Assert.assertTrue(proxy.exist("unknown"));
+        Assert.assertNotNull(proxy.read("unknown"));
+    }
+
+    @Test
+    public void testNegativeCacheDisabled() {
+        // Given
+        InMemoryFeatureStore store = new InMemoryFeatureStore();
+        FF4jCacheProxy proxy = new FF4jCacheProxy(store, new InMemoryPropertyStore(), new InMemoryCacheManager());
+        // Opt-in
+        Assert.assertEquals(0, proxy.getNegativeCacheTtl());
+        Assert.assertFalse(proxy.exist("f1"));
+        // When
+        store.create(new Feature("f1"));
+        // Then
+        Assert.assertTrue(proxy.exist("f1"));
+    }
+
+    @Test
+    public void testNegativeCacheProperty() {
+        // Given
+        AtomicInteger hits = new AtomicInteger();
+        InMemoryPropertyStore store = new InMemoryPropertyStore() {
+            @Override
+            public Property<?> readProperty(String name) {
+                hits.incrementAndGet();
+                return super.readProperty(name);
+            }
+        };
+        FF4jCacheProxy proxy = new FF4jCacheProxy(new InMemoryFeatureStore(), store, new InMemoryCacheManager());
+        proxy.setNegativeCacheTtl(1000);
+        // When
+        for (int i = 0; i < 3; i++) {
+            try {
+                proxy.readProperty("unknown");
+                Assert.fail();
+            } catch (PropertyNotFoundException pnf) {
+                // expected
+            }
+        }
+        // Then
+        Assert.assertEquals(1, hits.get());
+        proxy.createProperty(new PropertyString("unknown", "v1"));
+        Assert.assertEquals("v1", proxy.readProperty("unknown").asString());
+    }
+
+    @Test
+    public void testNegativeCacheCreateDuringMiss() {
+        // Given (feature created through the proxy while the target store answers it does not exist)
+        final AtomicBoolean racing = new AtomicBoolean(true);
+        final AtomicReference<FF4jCacheProxy> proxyRef = new AtomicReference<>();
+        InMemoryFeatureStore store = new InMemoryFeatureStore() {
+            @Override
+            public boolean exist(String uid) {
+                boolean exist = super.exist(uid);
+                if (!exist && racing.compareAndSet(true, false)) {
+                    proxyRef.get().create(new Feature(uid));
+                }
+                return exist;
+            }
+        };
+        InMemoryCacheManager cache = new InMemoryCacheManager();
+        FF4jCacheProxy proxy = new FF4jCacheProxy(store, new InMemoryPropertyStore(), cache);
+        proxy.setNegativeCacheTtl(60000);
+        proxyRef.set(proxy);
+        // When
+        Assert.assertFalse(proxy.exist("f1"));
+        cache.evictFeature("f1");
+        // Then, the stale miss has not been remembered
+        Assert.assertTrue(proxy.exist("f1"));
+    }
+
 }
@@ -22,17 +22,24 @@ package org.ff4j.test.cache;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.ff4j.cache.FF4JCacheManager;
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.cache.Store2CachePollingScheduler;
+import org.ff4j.cache.Store2CachePollingWorker;
+import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.property.Property;
+import org.ff4j.property.PropertyString;
 import org.ff4j.property.store.InMemoryPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.store.InMemoryFeatureStore;
@@ -133,7 +140,160 @@ public class CacheProxyWithPollingTest {
 
         }
     }
-    
-    
+
+    @Test
+    public void testPollingAppliesDeltaOnly() {
+        // Given
+        FeatureStore fs = new InMemoryFeatureStore("ff4j.xml");
+        PropertyStore ps = new InMemoryPropertyStore("ff4j.xml");
+        AtomicInteger puts = new AtomicInteger();
+        InMemoryCacheManager cm = new InMemoryCacheManager() {
+            @Override
+            public void putFeature(Feature feat) {
+                puts.incrementAndGet();
+                super.putFeature(feat);
+            }
+        };
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, ps, cm);
+        Assert.assertEquals(fs.readAll().size() + ps.readAllProperties().size(), worker.poll());
+        puts.set(0);
+        long hits   = cm.getCacheStatistics().getHitCount();
+        long misses = cm.getCacheStatistics().getMissCount();
+        // When nothing changed
+        Assert.assertEquals(0, worker.poll());
+        Assert.assertEquals(0, puts.get());
+        // Then, cache entries are not read by the worker
+        Assert.assertEquals(hits, cm.getCacheStatistics().getHitCount());
+        Assert.assertEquals(misses, cm.getCacheStatistics().getMissCount());
+        // When
+        fs.disable("first");
+        fs.delete("AwesomeFeature");
+        ps.createProperty(new PropertyString("newProperty", "value"));
+        // Then
+        Assert.assertEquals(3, worker.poll());
+        Assert.assertEquals(1, puts.get());
+        Assert.assertFalse(cm.getFeature("first").isEnable());
+        Assert.assertNull(cm.getFeature("AwesomeFeature"));
+        Assert.assertNotNull(cm.getProperty("newProperty"));
+    }
+
+    @Test
+    public void testPollingRestoresEntriesMissingFromCache() throws InterruptedException {
+        // Given (entries live one second in cache)
+        FeatureStore  fs    = new InMemoryFeatureStore("ff4j.xml");
+        PropertyStore ps    = new InMemoryPropertyStore("ff4j.xml");
+        FF4JCacheManager cm = new InMemoryCacheManager(1);
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, ps, cm);
+        int nbEntries = fs.readAll().size() + ps.readAllProperties().size();
+        Assert.assertEquals(nbEntries, worker.poll());
+        Assert.assertEquals(0, worker.poll());
+        // When (evicted by the cache, stores did not change)
+        cm.evictFeature("first");
+        cm.evictProperty(ps.listPropertyNames().iterator().next());
+        // Then
+        Assert.assertEquals(2, worker.poll());
+        Assert.assertNotNull(cm.getFeature("first"));
+        // When (time-to-live reached)
+        Thread.sleep(1100);
+        Assert.assertNull(cm.getFeature("AwesomeFeature"));
+        // Then
+        Assert.assertEquals(nbEntries, worker.poll());
+        Assert.assertNotNull(cm.getFeature("AwesomeFeature"));
+        for (String name : ps.listPropertyNames()) {
+            Assert.assertNotNull(cm.getProperty(name));
+        }
+    }
+
+    @Test
+    public void testAdaptivePollingDelay() throws InterruptedException {
+        // Given
+        FeatureStore fs = new InMemoryFeatureStore("ff4j.xml");
+        PropertyStore ps = new InMemoryPropertyStore("ff4j.xml");
+        Store2CachePollingScheduler scheduler = new Store2CachePollingScheduler(fs, ps, new InMemoryCacheManager());
+        scheduler.setMaxPollingDelay(80);
+        // When
+        scheduler.start(10);
+        Thread.sleep(400);
+        // Then (no change, delay increased)
+        Assert.assertEquals(0, scheduler.getLastDeltaSize());
+        Assert.assertEquals(80, scheduler.getCurrentDelay());
+        Assert.assertTrue(scheduler.getLastPollDuration() >= 0);
+        scheduler.stop();
+    }
+
+    @Test
+    public void testCompleteSnapshot() {
+        // Given
+        AtomicInteger storeCalls = new AtomicInteger();
+        FeatureStore fs = new InMemoryFeatureStore("ff4j.xml") {
+            @Override
+            public Map<String, Feature> readAll() {
+                storeCalls.incrementAndGet();
+                return super.readAll();
+            }
+            @Override
+            public Set<String> readAllGroups() {
+                storeCalls.incrementAndGet();
+                return super.readAllGroups();
+            }
+            @Override
+            public Map<String, Feature> readGroup(String groupName) {
+                storeCalls.incrementAndGet();
+                return super.readGroup(groupName);
+            }
+        };
+        FF4jCacheProxy proxy = new FF4jCacheProxy(fs, new InMemoryPropertyStore("ff4j.xml"), new InMemoryCacheManager());
+        proxy.setCompleteSnapshot(true);
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(proxy);
+        worker.poll();
+        storeCalls.set(0);
+        // When
+        Assert.assertEquals(fs.readAll().size(), proxy.readAll().size());
+        storeCalls.set(0);
+        Assert.assertEquals(fs.readAllGroups(), proxy.readAllGroups());
+        storeCalls.set(0);
+        Assert.assertTrue(proxy.existGroup("GRP1"));
+        Assert.assertFalse(proxy.existGroup("invalid"));
+        Assert.assertEquals(1, proxy.readGroup("GRP0").size());
+        // Then
+        Assert.assertEquals(0, storeCalls.get());
+        try {
+            proxy.readGroup("invalid");
+            Assert.fail();
+        } catch (GroupNotFoundException gnf) {
+            Assert.assertEquals(0, storeCalls.get());
+        }
+        // When a write goes through the proxy, store is used until next poll
+        proxy.addToGroup("first", "GRP0");
+        Assert.assertEquals(2, proxy.readGroup("GRP0").size());
+        Assert.assertEquals(1, storeCalls.get());
+        worker.poll();
+        storeCalls.set(0);
+        Assert.assertEquals(2, proxy.readGroup("GRP0").size());
+        Assert.assertEquals(0, storeCalls.get());
+    }
+
+    @Test
+    public void testCompleteSnapshotExpired() {
+        // Given
+        AtomicInteger storeCalls = new AtomicInteger();
+        FeatureStore fs = new InMemoryFeatureStore("ff4j.xml") {
+            @Override
+            public Map<String, Feature> readAll() {
+                storeCalls.incrementAndGet();
+                return super.readAll();
+            }
+        };
+        FF4jCacheProxy proxy = new FF4jCacheProxy(fs, new InMemoryPropertyStore("ff4j.xml"), new InMemoryCacheManager());
+        proxy.setCompleteSnapshot(true);
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(proxy);
+        worker.setSnapshotTimeToLive(-1);
+        worker.poll();
+        storeCalls.set(0);
+        // When
+        proxy.readAll();
+        // Then
+        Assert.assertEquals(1, storeCalls.get());
+    }
 
 }
@@ -20,6 +20,7 @@ package org.ff4j.test.cache;
  * #L%
  */
 
+import org.ff4j.cache.CacheStatistics;
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.core.Feature;
@@ -227,5 +228,119 @@ public class InMemoryCacheTest extends CoreFeatureStoreTestSupport {
         p1.setName("");
         imcm.putProperty(p1, 1);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeInvalid()  {
+        new InMemoryCacheManager(10, 0);
+    }
+
+    @Test
+    public void testEvictEntryNotReadSinceLastSweep() {
+        // Given (f1 read since last sweep, f2 is not)
+        InMemoryCacheManager imcm = new InMemoryCacheManager(100, 2);
+        imcm.putFeature(new Feature("f1"));
+        imcm.putFeature(new Feature("f2"));
+        Assert.assertNotNull(imcm.getFeature("f1"));
+        // When
+        imcm.putFeature(new Feature("f3"));
+        // Then
+        Assert.assertEquals(2, imcm.listCachedFeatureNames().size());
+        Assert.assertNotNull(imcm.getFeature("f1"));
+        Assert.assertNull(imcm.getFeature("f2"));
+        Assert.assertNotNull(imcm.getFeature("f3"));
+        Assert.assertEquals(1, imcm.getCacheStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testEvictionKeepsMaxSize() {
+        // Given
+        InMemoryCacheManager imcm = new InMemoryCacheManager(100, 10);
+        imcm.putFeature(new Feature("hot"));
+        // When
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertNotNull(imcm.getFeature("hot"));
+            imcm.putFeature(new Feature("f" + i));
+            // Then (entry just put is never the one evicted)
+            Assert.assertTrue(imcm.listCachedFeatureNames().contains("f" + i));
+        }
+        Assert.assertEquals(10, imcm.listCachedFeatureNames().size());
+        Assert.assertTrue(imcm.listCachedFeatureNames().contains("hot"));
+        Assert.assertEquals(991, imcm.getCacheStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testStatistics() throws InterruptedException {
+        // Given
+        InMemoryCacheManager imcm = new InMemoryCacheManager();
+        imcm.putFeature(new Feature("f1"));
+        imcm.putProperty(new PropertyString("p1"), 1);
+        // When
+        imcm.getFeature("f1");
+        imcm.getFeature("f2");
+        imcm.getProperty("p1");
+        Thread.sleep(1100);
+        imcm.getProperty("p1");
+        // Then
+        CacheStatistics stats = imcm.getCacheStatistics();
+        Assert.assertEquals(2, stats.getHitCount());
+        Assert.assertEquals(2, stats.getMissCount());
+        Assert.assertEquals(1, stats.getEvictionCount());
+        Assert.assertEquals(0.5, stats.getHitRate(), 0.001);
+        stats.reset();
+        Assert.assertEquals(0, stats.getHitCount());
+    }
+
+    @Test
+    public void testProxyRecordsLoads() {
+        // Given
+        FF4jCacheProxy proxy = new FF4jCacheProxy(
+                new InMemoryFeatureStore("ff4j.xml"), 
+                new InMemoryPropertyStore("ff4j.xml"),
+                new InMemoryCacheManager());
+        // When
+        proxy.read("first");
+        proxy.read("first");
+        // Then
+        CacheStatistics stats = proxy.getCacheManager().getCacheStatistics();
+        Assert.assertEquals(1, stats.getLoadCount());
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    public void testRefreshAhead() throws InterruptedException {
+        // Given
+        InMemoryFeatureStore store = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryCacheManager imcm = new InMemoryCacheManager(10);
+        imcm.setRefreshAheadRatio(0.001);
+        // Reload in the calling thread for the test
+        imcm.setRefreshExecutor(Runnable::run);
+        FF4jCacheProxy proxy = new FF4jCacheProxy(store, null, imcm);
+        Assert.assertTrue(proxy.read("first").isEnable());
+        store.update(new Feature("first", false));
+        Thread.sleep(50);
+        // When : old value still served while reloading
+        Assert.assertTrue(proxy.read("first").isEnable());
+        // Then
+        Assert.assertFalse(proxy.read("first").isEnable());
+        Assert.assertEquals(2, imcm.getCacheStatistics().getLoadCount());
+    }
+
+    @Test
+    public void testRefreshAheadDeletedFeature() throws InterruptedException {
+        // Given
+        InMemoryFeatureStore store = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryCacheManager imcm = new InMemoryCacheManager(10);
+        imcm.setRefreshAheadRatio(0.001);
+        imcm.setRefreshExecutor(Runnable::run);
+        FF4jCacheProxy proxy = new FF4jCacheProxy(store, null, imcm);
+        proxy.read("first");
+        store.delete("first");
+        Thread.sleep(50);
+        // When
+        Assert.assertNotNull(imcm.getFeature("first"));
+        // Then
+        Assert.assertFalse(imcm.listCachedFeatureNames().contains("first"));
+    }
    
 }
@@ -0,0 +1,99 @@
+package org.ff4j.test.store;
+
+/*-
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Map;
+
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.store.InMemorySnapshotFeatureStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run the store contract on {@link InMemorySnapshotFeatureStore} and check snapshot isolation.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemorySnapshotFeatureStoreTest extends CoreFeatureStoreTestSupport {
+
+    /** {@inheritDoc} */
+    @Override
+    public FeatureStore initStore() {
+        InMemorySnapshotFeatureStore store = new InMemorySnapshotFeatureStore();
+        store.setLocation("ff4j.xml");
+        return store;
+    }
+
+    @Test
+    public void testEnableDoesNotMutatePublishedFeature() {
+        InMemorySnapshotFeatureStore store = new InMemorySnapshotFeatureStore();
+        store.create(new Feature("f1", false, "desc", "g1"));
+        Feature before = store.read("f1");
+        Map<String, Feature> allBefore = store.readAll();
+        store.enable("f1");
+        Assert.assertFalse(before.isEnable());
+        Assert.assertFalse(allBefore.get("f1").isEnable());
+        Assert.assertTrue(store.read("f1").isEnable());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadAllIsImmutable() {
+        InMemorySnapshotFeatureStore store = new InMemorySnapshotFeatureStore();
+        store.create(new Feature("f1", true));
+        store.readAll().remove("f1");
+    }
+
+    @Test
+    public void testIndexesFollowWrites() {
+        InMemorySnapshotFeatureStore store = new InMemorySnapshotFeatureStore();
+        store.create(new Feature("f1", true, "desc", "g1"));
+        store.create(new Feature("f2", true, "desc", "g1"));
+        store.grantRoleOnFeature("f1", "ADMIN");
+        Assert.assertEquals(2, store.readGroup("g1").size());
+        Assert.assertTrue(store.readByPermission("ADMIN").containsKey("f1"));
+
+        // Same instance modified then updated, old group must be unindexed
+        Feature f2 = store.read("f2");
+        f2.setGroup("g2");
+        store.update(f2);
+        Assert.assertEquals(1, store.readGroup("g1").size());
+        Assert.assertTrue(store.readGroup("g2").containsKey("f2"));
+
+        store.removeRoleFromFeature("f1", "ADMIN");
+        Assert.assertTrue(store.readAllPermissions().isEmpty());
+        store.delete("f1");
+        Assert.assertFalse(store.existGroup("g1"));
+        Assert.assertEquals(1, store.readAllGroups().size());
+    }
+
+    @Test
+    public void testDisableGroupPublishedAtOnce() {
+        InMemorySnapshotFeatureStore store = new InMemorySnapshotFeatureStore();
+        store.create(new Feature("f1", true, "desc", "g1"));
+        store.create(new Feature("f2", true, "desc", "g1"));
+        Map<String, Feature> before = store.readAll();
+        store.disableGroup("g1");
+        Assert.assertTrue(before.get("f1").isEnable());
+        Assert.assertFalse(store.read("f1").isEnable());
+        Assert.assertFalse(store.read("f2").isEnable());
+    }
+}
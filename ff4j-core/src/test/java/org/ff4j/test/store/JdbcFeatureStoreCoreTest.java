@@ -22,12 +22,16 @@ package org.ff4j.test.store;
 
 import org.ff4j.audit.EventQueryDefinition;
 
+import java.util.Map;
+
+import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.store.JdbcFeatureStore;
 import org.ff4j.store.JdbcQueryBuilder;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
@@ -113,4 +117,20 @@ public class JdbcFeatureStoreCoreTest extends CoreFeatureStoreTestSupport {
     }
     
     
+    @Test
+    public void testBulkLoadMatchesSingleRead() {
+        // Roles and custom properties are loaded with one statement for all features
+        Map<String, Feature> all = testedStore.readAll();
+        for (Feature f : all.values()) {
+            Feature single = testedStore.read(f.getUid());
+            Assert.assertEquals(single.getPermissions(), f.getPermissions());
+            Assert.assertEquals(single.getCustomProperties().keySet(), f.getCustomProperties().keySet());
+        }
+        Assert.assertFalse(all.get(F1).getCustomProperties().isEmpty());
+        Map<String, Feature> group = testedStore.readGroup(G1);
+        for (Feature f : group.values()) {
+            Assert.assertEquals(all.get(f.getUid()).getPermissions(), f.getPermissions());
+        }
+    }
+
 }
@@ -20,10 +20,23 @@ package org.ff4j.test.strategy.el;
  * #L%
  */
 
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
 import org.ff4j.FF4j;
 import org.ff4j.conf.XmlParser;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.store.InMemoryFeatureStore;
 import org.ff4j.strategy.el.ExpressionFlipStrategy;
+import org.ff4j.strategy.el.ExpressionParser;
 import org.ff4j.test.AssertFf4j;
 import org.junit.Assert;
 import org.junit.Test;
@@ -77,4 +90,24 @@ public class ExpressionFlipStategyTest {
         Assert.assertFalse(efs.evaluate("D", ff4j.getFeatureStore(), fex));
     }
 
+    @Test
+    public void testOnlyReferencedFeaturesAreRead() {
+        InMemoryFeatureStore target = new InMemoryFeatureStore();
+        target.create(new Feature("A", true));
+        target.create(new Feature("B", false));
+        target.create(new Feature("unused", true));
+        FeatureStore store = spy(target);
+        ExpressionFlipStrategy efs = new ExpressionFlipStrategy("E", "A & !B | missing");
+        Assert.assertTrue(efs.evaluate("E", store, null));
+        verify(store, never()).readAll();
+        verify(store, never()).read("unused");
+        verify(store, times(1)).readMany(anyCollection());
+    }
+
+    @Test
+    public void testExpressionFeatureNames() {
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("A", "B", "C")), 
+                ExpressionParser.parseExpression("A & (!B | C) & A").getFeatureNames());
+    }
+
 }
@@ -82,6 +82,12 @@ public class FeatureStoreMBeanSpring implements FeatureStore {
         return internalStore.read(feature_UID);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        return internalStore.readMany(featureUids);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -20,7 +20,9 @@ package org.ff4j.cassandra;
  * #L%
  */
 
+import static com.datastax.oss.driver.api.core.type.DataTypes.BIGINT;
 import static com.datastax.oss.driver.api.core.type.DataTypes.BOOLEAN;
+import static com.datastax.oss.driver.api.core.type.DataTypes.COUNTER;
 import static com.datastax.oss.driver.api.core.type.DataTypes.INT;
 import static com.datastax.oss.driver.api.core.type.DataTypes.TEXT;
 import static com.datastax.oss.driver.api.core.type.DataTypes.TIMESTAMP;
@@ -103,6 +105,10 @@ public interface FF4jCassandraSchema {
     String AUDIT_ATT_USER             = "user";
     String AUDIT_ATT_VALUE            = "value";
     String AUDIT_ATT_CUSTOM           = "custom";
+    String AUDIT_HISTOGRAM_TABLE      = "ff4j_audit_histogram";
+    String AUDIT_ATT_DAY              = "day";
+    String AUDIT_ATT_MINUTE           = "minute";
+    String AUDIT_ATT_HITS             = "hits";
 
     /**
      * Getting value for a feature is by id.
@@ -245,6 +251,28 @@ public interface FF4jCassandraSchema {
             .withColumn(AUDIT_ATT_CUSTOM, mapOf(TEXT,TEXT))
             .build();
 
+    /**
+     * Feature usage counted per minute, one partition per day (minutes and days since epoch).
+     * 
+     * Migration : keyspaces created before this table do not have it, the event repository then
+     * computes histograms from events. Create the table (createSchema() is idempotent) and call
+     * resetHistogram() or restart. Counters only hold the events saved after the creation.
+     * 
+     * CREATE TABLE IF NOT EXISTS ff4j_audit_histogram (
+     *   day        bigint,
+     *   minute     bigint,
+     *   name       text,
+     *   hits       counter,
+     *   PRIMARY KEY ((day), minute, name)
+     */
+    SimpleStatement STMT_CREATE_TABLE_AUDITHISTOGRAM =
+            createTable(AUDIT_HISTOGRAM_TABLE).ifNotExists()
+            .withPartitionKey(AUDIT_ATT_DAY, BIGINT)
+            .withClusteringColumn(AUDIT_ATT_MINUTE, BIGINT)
+            .withClusteringColumn(AUDIT_ATT_NAME, TEXT)
+            .withColumn(AUDIT_ATT_HITS, COUNTER)
+            .build();
+
     // -- Features --
 
     SimpleStatement STMT_FEATURE_EXIST =
@@ -259,6 +287,12 @@ public interface FF4jCassandraSchema {
             .isEqualTo(QueryBuilder.bindMarker())
             .build();
 
+    SimpleStatement STMT_FEATURE_READ_MANY =
+            selectFrom(FEATURES_TABLE).all()
+            .whereColumn(FEATURES_ATT_UID)
+            .in(QueryBuilder.bindMarker())
+            .build();
+
     SimpleStatement STMT_FEATURE_READ_ALL =
             selectFrom(FEATURES_TABLE).all()
             .build();
@@ -374,6 +408,21 @@ public interface FF4jCassandraSchema {
             .value(AUDIT_ATT_CUSTOM, bindMarker(AUDIT_ATT_CUSTOM))
             .build();
 
+    SimpleStatement STMT_AUDIT_INCREMENT_HISTOGRAM =
+            update(AUDIT_HISTOGRAM_TABLE)
+            .increment(AUDIT_ATT_HITS, bindMarker(AUDIT_ATT_HITS))
+            .whereColumn(AUDIT_ATT_DAY).isEqualTo(bindMarker(AUDIT_ATT_DAY))
+            .whereColumn(AUDIT_ATT_MINUTE).isEqualTo(bindMarker(AUDIT_ATT_MINUTE))
+            .whereColumn(AUDIT_ATT_NAME).isEqualTo(bindMarker(AUDIT_ATT_NAME))
+            .build();
+
+    SimpleStatement STMT_AUDIT_READ_HISTOGRAM = selectFrom(AUDIT_HISTOGRAM_TABLE)
+            .columns(AUDIT_ATT_MINUTE, AUDIT_ATT_NAME, AUDIT_ATT_HITS)
+            .whereColumn(AUDIT_ATT_DAY).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(AUDIT_ATT_MINUTE).isGreaterThanOrEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(AUDIT_ATT_MINUTE).isLessThanOrEqualTo(QueryBuilder.bindMarker())
+            .build();
+
     SimpleStatement STMT_AUDIT_READ_BY_ID = selectFrom(AUDIT_TABLE)
             .all()
             .whereColumn(AUDIT_ATT_UID)
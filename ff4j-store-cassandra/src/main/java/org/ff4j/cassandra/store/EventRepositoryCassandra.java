@@ -23,11 +23,14 @@ package org.ff4j.cassandra.store;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
@@ -44,6 +47,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.oss.driver.api.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.BatchType;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
@@ -52,6 +56,7 @@ import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.cql.SimpleStatementBuilder;
+import com.datastax.oss.driver.api.core.servererrors.InvalidQueryException;
 
 /**
  * Implementation of audit into Cassandra DB
@@ -75,6 +80,11 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
     private PreparedStatement psInsertEvent;
     private PreparedStatement psInsertEventByType;
     private PreparedStatement psReadEventById;
+    private PreparedStatement psIncrementHistogram;
+    private PreparedStatement psReadHistogram;
+    
+    /** Table of counters per minute exists (null until checked, keyspaces created before it do not have it). */
+    private Boolean histogramAvailable;
     
     /**
      * Default constructor.
@@ -93,6 +103,8 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
     public void createSchema() {
         cqlSession.execute(STMT_CREATE_TABLE_AUDIT);
         cqlSession.execute(STMT_CREATE_TABLE_AUDITHITCOUNT);
+        cqlSession.execute(STMT_CREATE_TABLE_AUDITHISTOGRAM);
+        resetHistogram();
     }
     
     /** {@inheritDoc} */
@@ -101,7 +113,63 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
         Util.assertEvent(e);
         CqlSession cqlSession = getCqlSession();
         BatchStatementBuilder batchBuilder = new BatchStatementBuilder(BatchType.LOGGED);
+        batchBuilder.addStatement(bindInsertEvent(e));
+        if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction())) {
+            batchBuilder.addStatement(bindInsertEventHitCount(e));
+        }
+        cqlSession.execute(batchBuilder.build());
+        // Counters cannot be mixed with regular statements in a batch
+        if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction()) && isHistogramAvailable()) {
+            cqlSession.execute(bindIncrementHistogram(e));
+        }
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        for (Event e : events) {
+            Util.assertEvent(e);
+        }
+        CqlSession cqlSession = getCqlSession();
         
+        // Audit rows are partitioned by uid, each row is its own partition : no batch, async inserts
+        List<CompletionStage<AsyncResultSet>> pending = new ArrayList<>(events.size());
+        // Hit count rows are partitioned by feature name : one UNLOGGED batch per partition
+        Map<String, BatchStatementBuilder> hitCountBatches = new HashMap<>();
+        boolean histogram = isHistogramAvailable();
+        for (Event e : events) {
+            pending.add(cqlSession.executeAsync(bindInsertEvent(e)));
+            if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction())) {
+                hitCountBatches
+                    .computeIfAbsent(e.getName(), k -> new BatchStatementBuilder(BatchType.UNLOGGED))
+                    .addStatement(bindInsertEventHitCount(e));
+                if (histogram) {
+                    pending.add(cqlSession.executeAsync(bindIncrementHistogram(e)));
+                }
+            }
+        }
+        for (BatchStatementBuilder batch : hitCountBatches.values()) {
+            pending.add(cqlSession.executeAsync(batch.build()));
+        }
+        for (CompletionStage<AsyncResultSet> stage : pending) {
+            stage.toCompletableFuture().join();
+        }
+        return true;
+    }
+    
+    /**
+     * Bind insert into audit table.
+     *
+     * @param e
+     *      current event
+     * @return
+     *      statement
+     */
+    private BoundStatement bindInsertEvent(Event e) {
         BoundStatement bsInsertEvent = psInsertEvent.bind();
         bsInsertEvent = bsInsertEvent.setUuid(AUDIT_ATT_UID, UUID.fromString(e.getUuid()));
         bsInsertEvent = bsInsertEvent.setString(AUDIT_ATT_TYPE, e.getType());
@@ -114,25 +182,47 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
         bsInsertEvent = bsInsertEvent.setString(AUDIT_ATT_USER, e.getUser());
         bsInsertEvent = bsInsertEvent.setString(AUDIT_ATT_VALUE, e.getValue());
         bsInsertEvent = bsInsertEvent.setMap(AUDIT_ATT_CUSTOM, e.getCustomKeys(), String.class, String.class);
-        batchBuilder.addStatement(bsInsertEvent);
-        
-        if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction())) {
-            BoundStatement bsInsertEventByType = psInsertEventByType.bind();
-            bsInsertEventByType = bsInsertEventByType.setUuid(AUDIT_ATT_UID, UUID.fromString(e.getUuid()));
-            bsInsertEventByType = bsInsertEventByType.setInstant(AUDIT_ATT_TIME, Instant.ofEpochMilli(e.getTimestamp()));
-            bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_NAME, e.getName());
-            bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_SOURCE, e.getSource());
-            bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_HOSTNAME, e.getHostName());
-            bsInsertEventByType = bsInsertEventByType.setInt(AUDIT_ATT_DURATION, new Long(e.getDuration()).intValue());
-            bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_USER, e.getUser());
-            bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_VALUE, e.getValue());
-            bsInsertEventByType = bsInsertEventByType.setMap(AUDIT_ATT_CUSTOM, e.getCustomKeys(), String.class, String.class);
-            batchBuilder.addStatement(bsInsertEventByType);
-        }
-        
-        cqlSession.execute(batchBuilder.build());
-        return true;
-    }   
+        return bsInsertEvent;
+    }
+    
+    /**
+     * Bind insert into hit count table (partitioned by feature name).
+     *
+     * @param e
+     *      current event
+     * @return
+     *      statement
+     */
+    private BoundStatement bindInsertEventHitCount(Event e) {
+        BoundStatement bsInsertEventByType = psInsertEventByType.bind();
+        bsInsertEventByType = bsInsertEventByType.setUuid(AUDIT_ATT_UID, UUID.fromString(e.getUuid()));
+        bsInsertEventByType = bsInsertEventByType.setInstant(AUDIT_ATT_TIME, Instant.ofEpochMilli(e.getTimestamp()));
+        bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_NAME, e.getName());
+        bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_SOURCE, e.getSource());
+        bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_HOSTNAME, e.getHostName());
+        bsInsertEventByType = bsInsertEventByType.setInt(AUDIT_ATT_DURATION, new Long(e.getDuration()).intValue());
+        bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_USER, e.getUser());
+        bsInsertEventByType = bsInsertEventByType.setString(AUDIT_ATT_VALUE, e.getValue());
+        bsInsertEventByType = bsInsertEventByType.setMap(AUDIT_ATT_CUSTOM, e.getCustomKeys(), String.class, String.class);
+        return bsInsertEventByType;
+    }
+
+    /**
+     * Bind increment of the per minute counter of a feature.
+     *
+     * @param e
+     *      current event
+     * @return
+     *      statement
+     */
+    private BoundStatement bindIncrementHistogram(Event e) {
+        long minute = TimeUnit.MILLISECONDS.toMinutes(e.getTimestamp());
+        return psIncrementHistogram.bind()
+                .setLong(AUDIT_ATT_HITS, MutableHitCount.hitsOf(e))
+                .setLong(AUDIT_ATT_DAY, TimeUnit.MINUTES.toDays(minute))
+                .setLong(AUDIT_ATT_MINUTE, minute)
+                .setString(AUDIT_ATT_NAME, e.getName());
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -250,10 +340,12 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
         // Let driver do paging for us 
         for (Row row : rs) {
             String featureName = row.getString(dimension);
+            // Aggregated events (metrics mode, roll-up) carry their own count
+            int hits = MutableHitCount.hitsOf(row.getMap(AUDIT_ATT_CUSTOM, String.class, String.class));
             if (hitCount.containsKey(featureName)) {
-                hitCount.get(featureName).inc();
+                hitCount.get(featureName).incBy(hits);
             } else {
-                hitCount.put(featureName, new MutableHitCount(1));
+                hitCount.put(featureName, new MutableHitCount(hits));
             }
         }
         return hitCount;
@@ -311,6 +403,9 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
     @Override
     public void purgeAuditTrail(EventQueryDefinition query) {
         truncateTable(getCqlSession(), AUDIT_HITCOUNT_TABLE);
+        if (isHistogramAvailable()) {
+            truncateTable(getCqlSession(), AUDIT_HISTOGRAM_TABLE);
+        }
         truncateTable(getCqlSession(), AUDIT_TABLE);
     }
     
@@ -329,6 +424,21 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        if (isHistogramQuery(query, tsc) && isHistogramAvailable()) {
+            // Read per minute counters, one partition per day
+            long fromMinute = TimeUnit.MILLISECONDS.toMinutes(query.getFrom());
+            long toMinute   = TimeUnit.MILLISECONDS.toMinutes(query.getTo());
+            Set < String > names = query.getNamesFilter();
+            for (long day = TimeUnit.MINUTES.toDays(fromMinute); day <= TimeUnit.MINUTES.toDays(toMinute); day++) {
+                for (Row row : getCqlSession().execute(psReadHistogram.bind(day, fromMinute, toMinute))) {
+                    String featureName = row.getString(AUDIT_ATT_NAME);
+                    if (names.isEmpty() || names.contains(featureName)) {
+                        tsc.addHits(featureName, TimeUnit.MINUTES.toMillis(row.getLong(AUDIT_ATT_MINUTE)), (int) row.getLong(AUDIT_ATT_HITS));
+                    }
+                }
+            }
+            return tsc;
+        }
         // Search All events
         Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
         // Dispatch events into time slots
@@ -338,6 +448,23 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
         return tsc;
     }
     
+    /**
+     * Counters are kept per minute and feature name only, other filters and finer slots need the events.
+     *
+     * @param query
+     *      query definition
+     * @param tsc
+     *      target chart
+     * @return
+     *      if counters can answer the query
+     */
+    private boolean isHistogramQuery(EventQueryDefinition query, TimeSeriesChart tsc) {
+        boolean checkOnly = query.getActionFilters().isEmpty() || (query.getActionFilters().size() == 1 
+                && query.getActionFilters().contains(EventConstants.ACTION_CHECK_OK));
+        return checkOnly && tsc.getBucketSeconds() >= 60 
+                && query.getHostFilters().isEmpty() && query.getSourceFilters().isEmpty();
+    }
+    
     protected Event mapEventRow(Row row) {
         Event e = new Event();
         e.setAction(row.getString(AUDIT_ATT_ACTION));
@@ -377,6 +504,36 @@ public class EventRepositoryCassandra extends AbstractEventRepository implements
         psReadEventById     = cqlSession.prepare(STMT_AUDIT_READ_BY_ID);
     }
     
+    /**
+     * Statements on table 'ff4j_audit_histogram' are prepared on first use. Keyspaces created
+     * before this table keep working without it : events are counted by scanning the hit count
+     * table until the table is created (see {@link FF4jCassandraSchema#STMT_CREATE_TABLE_AUDITHISTOGRAM}).
+     *
+     * @return
+     *      if counters per minute can be read and written
+     */
+    protected synchronized boolean isHistogramAvailable() {
+        if (null == histogramAvailable) {
+            try {
+                psIncrementHistogram = cqlSession.prepare(STMT_AUDIT_INCREMENT_HISTOGRAM);
+                psReadHistogram      = cqlSession.prepare(STMT_AUDIT_READ_HISTOGRAM);
+                histogramAvailable   = Boolean.TRUE;
+            } catch (InvalidQueryException iqe) {
+                LOGGER.warn("Table '{}' not found, feature usage histograms are computed from events. "
+                        + "Create it with createSchema() or 'ddl-schema-create.cql' : {}", AUDIT_HISTOGRAM_TABLE, iqe.getMessage());
+                histogramAvailable = Boolean.FALSE;
+            }
+        }
+        return histogramAvailable;
+    }
+    
+    /**
+     * Table may have been created (migration), check again on next call.
+     */
+    public synchronized void resetHistogram() {
+        histogramAvailable = null;
+    }
+    
     /**
      * Prepared statements on first call.
      */
@@ -22,6 +22,8 @@ package org.ff4j.cassandra.store;
 
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.literal;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -84,6 +86,7 @@ public class FeatureStoreCassandra extends AbstractFeatureStore implements FF4jC
     private PreparedStatement psInsertFeature;
     private PreparedStatement psDeleteFeature;
     private PreparedStatement psReadFeature;
+    private PreparedStatement psReadFeatures;
     private PreparedStatement psReadGroup;
     private PreparedStatement psAddToGroup;
     private PreparedStatement psRmvFromGroup;
@@ -206,6 +209,22 @@ public class FeatureStoreCassandra extends AbstractFeatureStore implements FF4jC
         }
         return features;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        Map < String, Feature> features = new HashMap<String, Feature>();
+        if (featureUids.isEmpty()) {
+            return features;
+        }
+        // Single query on the partition keys
+        ResultSet rs = cqlSession.execute(psReadFeatures.bind(new ArrayList<String>(new HashSet<String>(featureUids))));
+        for (Row row : rs) {
+            features.put(row.getString(FEATURES_ATT_UID), mapFeatureRow(row));
+        }
+        return features;
+    }
     
     /** {@inheritDoc} */
     @Override
@@ -338,6 +357,7 @@ public class FeatureStoreCassandra extends AbstractFeatureStore implements FF4jC
         
         // Prepared Statements
         psReadFeature   = cqlSession.prepare(STMT_FEATURE_READ);
+        psReadFeatures  = cqlSession.prepare(STMT_FEATURE_READ_MANY);
         psExistFeature  = cqlSession.prepare(STMT_FEATURE_EXIST);
         psToggleFeature = cqlSession.prepare(STMT_FEATURE_TOGGLE);
         psInsertFeature = cqlSession.prepare(STMT_FEATURE_INSERT);
@@ -20,12 +20,15 @@ package org.ff4j.elastic;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.ff4j.audit.Event;
 import org.ff4j.audit.EventConstants;
@@ -37,11 +40,15 @@ import org.ff4j.property.Property;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.searchbox.core.Bulk;
+import io.searchbox.core.ClearScroll;
 import io.searchbox.core.Delete;
 import io.searchbox.core.DeleteByQuery;
 import io.searchbox.core.Index;
 import io.searchbox.core.Search;
+import io.searchbox.core.SearchScroll;
 import io.searchbox.core.Update;
+import io.searchbox.params.Parameters;
 
 /**
  * Helper to create Jest queries.
@@ -53,6 +60,24 @@ public class ElasticQueryBuilder {
 	
     public static final String TYPE_EVENT = "event";
     
+    /** Name of the terms aggregation on feature names. */
+    public static final String AGG_FEATURES = "features";
+    
+    /** Name of the date histogram aggregation per feature. */
+    public static final String AGG_SLOTS = "slots";
+    
+    /** Maximum number of features returned by histogram queries (others are reported as 'sum_other_doc_count'). */
+    public static final int HISTOGRAM_MAX_FEATURES = 10000;
+    
+    /** Events are serialized with Gson, the hit count is a custom key and not a top level field. */
+    public static final String FIELD_HITCOUNT = "customKeys." + EventConstants.ATTRIBUTE_HITCOUNT;
+    
+    /** Number of hit count events fetched per scroll page. */
+    public static final int SCROLL_PAGE_SIZE = 1000;
+    
+    /** Time the scroll context is kept alive between two pages. */
+    public static final String SCROLL_KEEP_ALIVE = "1m";
+    
     /** Logger for the class. */
     private static final Logger LOGGER = LoggerFactory.getLogger(ElasticQueryBuilder.class);
     
@@ -239,6 +264,8 @@ public class ElasticQueryBuilder {
     
     /** Insert a feature. */
     public static Index createEvent(String indexEvents, Event event) {
+        // Uid is generated lazily, force it before Gson serializes the fields
+        event.getUuid();
         return new Index.Builder(event)
                 .index(indexEvents)
                 .type(TYPE_EVENT)
@@ -246,6 +273,19 @@ public class ElasticQueryBuilder {
                 .build();
     }
     
+    /** Insert several events with a single bulk request. */
+    public static Bulk createEvents(String indexEvents, Collection<Event> events) {
+        Bulk.Builder bulk = new Bulk.Builder()
+                .defaultIndex(indexEvents)
+                .defaultType(TYPE_EVENT)
+                .refresh(true);
+        for (Event event : events) {
+            event.getUuid();
+            bulk.addAction(new Index.Builder(event).build());
+        }
+        return bulk.build();
+    }
+    
     /** Read an event. */
     public static Search findEventById(String indexEvents, String uuid) {
         SearchSourceBuilder source = new SearchSourceBuilder();
@@ -257,6 +297,59 @@ public class ElasticQueryBuilder {
     }
 
 	public static Search findEventsFromQueryDefinition(String indexEvents, EventQueryDefinition query, String action) {
+		BoolQueryBuilder booleanQuery = buildEventsQuery(query, action);
+		// Warning : default size is set to 10 results, that's why it's
+		// overridden
+		SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().size(100);
+		return new Search.Builder(searchSourceBuilder.query(booleanQuery).toString())
+		        .addIndex(indexEvents)
+                .addType(TYPE_EVENT)
+                .build();
+	}
+	
+	/** Count hits per feature ('features' terms) and time bucket ('slots' date_histogram), no document returned. */
+	public static Search featureUsageHistogram(String indexEvents, EventQueryDefinition query, long bucketMillis) {
+	    BoolQueryBuilder booleanQuery = buildEventsQuery(query, EventConstants.ACTION_CHECK_OK);
+	    // Events in metrics mode carry their own hit count, read as documents
+	    booleanQuery.mustNot(QueryBuilders.existsQuery(FIELD_HITCOUNT));
+	    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().size(0)
+	            .query(booleanQuery)
+	            .aggregation(AggregationBuilders.terms(AGG_FEATURES)
+	                    .field("name.keyword")
+	                    .size(HISTOGRAM_MAX_FEATURES)
+	                    .subAggregation(AggregationBuilders.dateHistogram(AGG_SLOTS)
+	                            .field("timestamp")
+	                            .fixedInterval(new DateHistogramInterval(bucketMillis + "ms"))
+	                            .minDocCount(1)));
+	    return new Search.Builder(searchSourceBuilder.toString())
+                .addIndex(indexEvents)
+                .addType(TYPE_EVENT)
+                .build();
+	}
+	
+	/** Feature usage events holding their own hit count (metrics mode), first page of a scroll. */
+	public static Search findHitCountEvents(String indexEvents, EventQueryDefinition query) {
+	    BoolQueryBuilder booleanQuery = buildEventsQuery(query, EventConstants.ACTION_CHECK_OK);
+	    booleanQuery.must(QueryBuilders.existsQuery(FIELD_HITCOUNT));
+	    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().size(SCROLL_PAGE_SIZE);
+	    return new Search.Builder(searchSourceBuilder.query(booleanQuery).toString())
+                .addIndex(indexEvents)
+                .addType(TYPE_EVENT)
+                .setParameter(Parameters.SCROLL, SCROLL_KEEP_ALIVE)
+                .build();
+	}
+	
+	/** Next page of a scroll opened by {@link #findHitCountEvents(String, EventQueryDefinition)}. */
+	public static SearchScroll nextPage(String scrollId) {
+	    return new SearchScroll.Builder(scrollId, SCROLL_KEEP_ALIVE).build();
+	}
+	
+	/** Release the scroll context once all pages have been read. */
+	public static ClearScroll clearScroll(String scrollId) {
+	    return new ClearScroll.Builder().addScrollId(scrollId).build();
+	}
+	
+	private static BoolQueryBuilder buildEventsQuery(EventQueryDefinition query, String action) {
 		BoolQueryBuilder booleanQuery = new BoolQueryBuilder();
 		// Optional constant for action filter
 		if (action != null) {
@@ -277,14 +370,7 @@ public class ElasticQueryBuilder {
 		addOptionalFilters(booleanQuery, query.getHostFilters(),   "hostName");
 		addOptionalFilters(booleanQuery, query.getNamesFilter(),   "name");
 		addOptionalFilters(booleanQuery, query.getSourceFilters(), "source");
-
-		// Warning : default size is set to 10 results, that's why it's
-		// overridden
-		SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().size(100);
-		return new Search.Builder(searchSourceBuilder.query(booleanQuery).toString())
-		        .addIndex(indexEvents)
-                .addType(TYPE_EVENT)
-                .build();
+		return booleanQuery;
 	}
 	
 	/** Delete a feature. */
@@ -30,15 +30,24 @@ import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
 import static org.ff4j.audit.EventConstants.ACTION_CHECK_OFF;
 import static org.ff4j.audit.EventConstants.ACTION_UPDATE;
 import static org.ff4j.elastic.ElasticQueryBuilder.createEvent;
+import static org.ff4j.elastic.ElasticQueryBuilder.createEvents;
 import static org.ff4j.elastic.ElasticQueryBuilder.deleteEvent;
 import static org.ff4j.elastic.ElasticQueryBuilder.findEventById;
+import static org.ff4j.elastic.ElasticQueryBuilder.AGG_FEATURES;
+import static org.ff4j.elastic.ElasticQueryBuilder.AGG_SLOTS;
+import static org.ff4j.elastic.ElasticQueryBuilder.HISTOGRAM_MAX_FEATURES;
+import static org.ff4j.elastic.ElasticQueryBuilder.SCROLL_PAGE_SIZE;
+import static org.ff4j.elastic.ElasticQueryBuilder.clearScroll;
+import static org.ff4j.elastic.ElasticQueryBuilder.featureUsageHistogram;
 import static org.ff4j.elastic.ElasticQueryBuilder.findEventsFromQueryDefinition;
+import static org.ff4j.elastic.ElasticQueryBuilder.findHitCountEvents;
+import static org.ff4j.elastic.ElasticQueryBuilder.nextPage;
 import static org.ff4j.elastic.ElasticQueryHelper.createIndexIfNotExist;
 import static org.ff4j.elastic.ElasticQueryHelper.findEventTechIdFromUid;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,8 +67,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.searchbox.client.JestClient;
+import io.searchbox.client.JestResult;
 import io.searchbox.core.Index;
 import io.searchbox.core.Search;
+import io.searchbox.core.SearchResult;
+import io.searchbox.core.search.aggregation.DateHistogramAggregation.DateHistogram;
+import io.searchbox.core.search.aggregation.TermsAggregation;
 
 /**
  * Implementation of {@link EventRepository} in Elastic 6+.
@@ -70,6 +83,9 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 
     /** Logger for the class. */
     private static final Logger LOGGER = LoggerFactory.getLogger(EventRepositoryElastic.class);
+    
+    /** Attribute holding the scroll identifier in search responses. */
+    private static final String SCROLL_ID = "_scroll_id";
    
     /** if no value provide for index use this one. */
     public static String DEFAULT_INDEX_EVENT = "ff4j_events";
@@ -125,6 +141,25 @@ public class EventRepositoryElastic extends AbstractEventRepository {
         }
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean saveEvents(Collection<Event> events) {
+	    if (events == null) {
+	        throw new IllegalArgumentException("Events cannot be null");
+	    }
+	    if (events.isEmpty()) {
+	        return true;
+	    }
+	    for (Event event : events) {
+	        Util.assertEvent(event);
+	    }
+	    try {
+	        return jestClient.execute(createEvents(indexEvents, events)).isSucceeded();
+	    } catch (IOException e) {
+	        throw new AuditAccessException("Cannot create " + events.size() + " events", e);
+	    }
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	@SuppressWarnings("deprecation")
@@ -148,9 +183,9 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 	        for (Event event : events) {
 	            String name = event.getName();
 	            if (hitCount.containsKey(name)) {
-	                hitCount.get(name).inc();
+	                hitCount.get(name).inc(event);
 	            } else {
-	                hitCount.put(name, new MutableHitCount(1));
+	                hitCount.put(name, new MutableHitCount(MutableHitCount.hitsOf(event)));
 	            }
 	        }
 	        return hitCount;
@@ -165,15 +200,64 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 	public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
 		// Create the interval depending on units
 		TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-		// Search All events
-		Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
-		// Dispatch events into time slots
-		while (iterEvent.hasNext()) {
-			tsc.addEvent(iterEvent.next());
+		long bucketMillis = tsc.getBucketSeconds() * 1000;
+		try {
+		    // Hits per feature and bucket computed by the cluster, only buckets are returned
+		    SearchResult result = jestClient.execute(featureUsageHistogram(indexEvents, query, bucketMillis));
+		    if (result.getAggregations() != null && result.getAggregations().getTermsAggregation(AGG_FEATURES) != null) {
+		        TermsAggregation features = result.getAggregations().getTermsAggregation(AGG_FEATURES);
+		        if (features.getSumOtherDocCount() != null && features.getSumOtherDocCount() > 0) {
+		            LOGGER.warn("More than {} features in '{}', {} hits are not part of the histogram", 
+		                    HISTOGRAM_MAX_FEATURES, query, features.getSumOtherDocCount());
+		        }
+		        for (TermsAggregation.Entry feature : features.getBuckets()) {
+		            for (DateHistogram slot : feature.getDateHistogramAggregation(AGG_SLOTS).getBuckets()) {
+		                tsc.addHits(feature.getKey(), slot.getTime(), slot.getCount().intValue());
+		            }
+		        }
+		    }
+		    // Events holding their own hit count are read page per page (no cap on the number of documents)
+		    JestResult page = jestClient.execute(findHitCountEvents(indexEvents, query));
+		    String scrollId = scrollIdOf(page);
+		    try {
+		        List<Event> events = page.getSourceAsObjectList(Event.class, false);
+		        while (events != null && !events.isEmpty()) {
+		            for (Event event : events) {
+		                tsc.addEvent(event);
+		            }
+		            if (scrollId == null || events.size() < SCROLL_PAGE_SIZE) {
+		                break;
+		            }
+		            page     = jestClient.execute(nextPage(scrollId));
+		            scrollId = scrollIdOf(page);
+		            events   = page.getSourceAsObjectList(Event.class, false);
+		        }
+		    } finally {
+		        if (scrollId != null) {
+		            jestClient.execute(clearScroll(scrollId));
+		        }
+		    }
+		} catch (IOException e) {
+		    throw new AuditAccessException("Cannot read events '" + query.toString() + "'", e);
 		}
 		return tsc;
 	}
 
+	/**
+	 * Read scroll identifier from a search result.
+	 *
+	 * @param result
+	 *      current page
+	 * @return
+	 *      scroll identifier or null if not available
+	 */
+	private String scrollIdOf(JestResult result) {
+	    if (result == null || result.getJsonObject() == null || !result.getJsonObject().has(SCROLL_ID)) {
+	        return null;
+	    }
+	    return result.getJsonObject().get(SCROLL_ID).getAsString();
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	@SuppressWarnings("deprecation")
@@ -225,9 +309,9 @@ public class EventRepositoryElastic extends AbstractEventRepository {
     		for (Event event : events) {
     			String hostName = event.getHostName();
     			if (hitCount.containsKey(hostName)) {
-    				hitCount.get(hostName).inc();
+    				hitCount.get(hostName).inc(event);
     			} else {
-    				hitCount.put(hostName, new MutableHitCount(1));
+    				hitCount.put(hostName, new MutableHitCount(MutableHitCount.hitsOf(event)));
     			}
     		}
     		return hitCount;
@@ -247,9 +331,9 @@ public class EventRepositoryElastic extends AbstractEventRepository {
     		for (Event event : events) {
     			String user = event.getUser();
     			if (hitCount.containsKey(user)) {
-    				hitCount.get(user).inc();
+    				hitCount.get(user).inc(event);
     			} else {
-    				hitCount.put(user, new MutableHitCount(1));
+    				hitCount.put(user, new MutableHitCount(MutableHitCount.hitsOf(event)));
     			}
     		}
     		return hitCount;
@@ -269,9 +353,9 @@ public class EventRepositoryElastic extends AbstractEventRepository {
     		for (Event event : events) {
     			String source = event.getSource();
     			if (hitCount.containsKey(source)) {
-    				hitCount.get(source).inc();
+    				hitCount.get(source).inc(event);
     			} else {
-    				hitCount.put(source, new MutableHitCount(1));
+    				hitCount.put(source, new MutableHitCount(MutableHitCount.hitsOf(event)));
     			}
     		}
     		return hitCount;
@@ -0,0 +1,55 @@
+package org.ff4j.elastic;
+
+/*-
+ * #%L
+ * ff4j-store-elastic
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.ff4j.audit.EventQueryDefinition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+import io.searchbox.core.Search;
+
+/**
+ * Queries generated for the histogram of feature usage.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ElasticQueryBuilderTest {
+    
+    @Test
+    public void testHistogramExcludesHitCountEvents() {
+        Search search = ElasticQueryBuilder.featureUsageHistogram("ff4j_events", new EventQueryDefinition(0, 1000), 60000);
+        String json = search.getData(new Gson());
+        // Custom keys are serialized as a nested object of the event document
+        Assert.assertTrue(json.contains("\"customKeys.hitCount\""));
+        Assert.assertFalse(json.contains("\"field\":\"hitCount\""));
+    }
+    
+    @Test
+    public void testHitCountEventsAreScrolled() {
+        Search search = ElasticQueryBuilder.findHitCountEvents("ff4j_events", new EventQueryDefinition(0, 1000));
+        Assert.assertTrue(search.getData(new Gson()).contains("\"customKeys.hitCount\""));
+        Assert.assertTrue(search.getData(new Gson()).contains("\"size\":" + ElasticQueryBuilder.SCROLL_PAGE_SIZE));
+        Assert.assertFalse(search.getParameter("scroll").isEmpty());
+    }
+}
@@ -21,10 +21,16 @@ package org.ff4j.elastic.store;
  */
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.elastic.ElasticQueryBuilder;
 import org.ff4j.test.audit.EventRepositoryTestSupport;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -56,4 +62,24 @@ public class EventRepositoryElasticTest extends EventRepositoryTestSupport {
 	@Test
 	public void testPurgeEvents() 
 	throws InterruptedException {}
+	
+	@Test
+	public void testFeatureUsageHistoryWithHitCount() throws InterruptedException {
+	    long to   = System.currentTimeMillis();
+	    long from = to - TimeUnit.HOURS.toMillis(1);
+	    // More hit count events than a single scroll page
+	    for (int i = 0; i < ElasticQueryBuilder.SCROLL_PAGE_SIZE + 10; i++) {
+	        Event aggregated = generateFeatureUsageEvent("f1", from + 1000 + i);
+	        aggregated.put(EventConstants.ATTRIBUTE_HITCOUNT, "2");
+	        repo.saveEvent(aggregated);
+	    }
+	    repo.saveEvent(generateFeatureUsageEvent("f1", from + 2000));
+	    Thread.sleep(1000);
+	    TimeSeriesChart tsc = repo.getFeatureUsageHistory(new EventQueryDefinition(from, to), TimeUnit.HOURS);
+	    int total = 0;
+	    for (String slot : tsc.getTimeSlots()) {
+	        total += tsc.getSeries().get("f1").getValue().get(slot).get();
+	    }
+	    Assert.assertEquals(2 * (ElasticQueryBuilder.SCROLL_PAGE_SIZE + 10) + 1, total);
+	}
 }
@@ -0,0 +1,111 @@
+package org.ff4j.hazelcast;
+
+/*-
+ * #%L
+ * ff4j-store-hazelcast
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.UUID;
+
+import org.ff4j.cache.AbstractCacheInvalidationBus;
+import org.ff4j.cache.CacheInvalidationListener;
+import org.ff4j.cache.CacheInvalidationMessage;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+/**
+ * Invalidation bus on top of a HazelCast topic.
+ * 
+ * <p>Coalesced invalidations are published as text on the topic, the topic listener is registered with the first
+ * local listener.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationBusHazelCast extends AbstractCacheInvalidationBus {
+
+    /** Default topic name. */
+    public static final String DEFAULT_TOPIC = "ff4j-cache-invalidation";
+
+    /** HazelCast topic. */
+    private final ITopic<String> topic;
+
+    /** Registration of topic listener. */
+    private UUID registration;
+
+    /**
+     * Initialization with default topic.
+     *
+     * @param hazelcastInstance
+     *      member or client instance
+     */
+    public CacheInvalidationBusHazelCast(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, DEFAULT_TOPIC);
+    }
+
+    /**
+     * Initialization with topic name.
+     *
+     * @param hazelcastInstance
+     *      member or client instance
+     * @param topicName
+     *      topic name
+     */
+    public CacheInvalidationBusHazelCast(HazelcastInstance hazelcastInstance, String topicName) {
+        if (hazelcastInstance == null) {
+            throw new IllegalArgumentException("HazelCast instance cannot be null");
+        }
+        this.topic = hazelcastInstance.getTopic(topicName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void send(CacheInvalidationMessage message) {
+        topic.publish(message.toText());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        super.subscribe(listener);
+        synchronized (this) {
+            if (registration == null) {
+                registration = topic.addMessageListener(msg -> {
+                    try {
+                        onMessage(CacheInvalidationMessage.fromText(msg.getMessageObject()));
+                    } catch(IllegalArgumentException iae) {
+                        // Not an invalidation message, ignored
+                    }
+                });
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            if (registration != null) {
+                topic.removeMessageListener(registration);
+                registration = null;
+            }
+        }
+    }
+
+}
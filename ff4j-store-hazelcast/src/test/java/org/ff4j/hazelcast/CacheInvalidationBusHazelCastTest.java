@@ -0,0 +1,83 @@
+package org.ff4j.hazelcast;
+
+/*-
+ * #%L
+ * ff4j-store-hazelcast
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+/**
+ * Testing class of {@link CacheInvalidationBusHazelCast}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationBusHazelCastTest {
+
+    private static HazelcastInstance hazelcastInstance;
+
+    @BeforeClass
+    public static void setupHazelcast() {
+        Config config = new Config();
+        config.setClusterName("ff4j-invalidation-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterClass
+    public static void shutdownHazelcast() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Test
+    public void testPublishSubscribe() throws InterruptedException {
+        // Given
+        CacheInvalidationBusHazelCast node1 = new CacheInvalidationBusHazelCast(hazelcastInstance);
+        CacheInvalidationBusHazelCast node2 = new CacheInvalidationBusHazelCast(hazelcastInstance);
+        List<CacheInvalidationMessage> received1 = new CopyOnWriteArrayList<>();
+        List<CacheInvalidationMessage> received2 = new CopyOnWriteArrayList<>();
+        node1.subscribe(received1::add);
+        node2.subscribe(received2::add);
+        // When
+        node1.invalidateFeature("f1");
+        node1.invalidateFeature("f2");
+        node1.invalidateAllProperties();
+        for (int i = 0; i < 50 && received2.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        // Then
+        Assert.assertEquals(1, received2.size());
+        Assert.assertEquals(2, received2.get(0).getFeatures().size());
+        Assert.assertTrue(received2.get(0).isAllProperties());
+        Assert.assertTrue(received1.isEmpty());
+        node1.close();
+        node2.close();
+    }
+
+}
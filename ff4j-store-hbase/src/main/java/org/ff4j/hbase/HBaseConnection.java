@@ -19,10 +19,12 @@ package org.ff4j.hbase;
  * limitations under the License.
  * #L%
  */
-
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.apache.hadoop.conf.Configuration;
@@ -32,18 +34,29 @@ import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.HBaseAdmin;
+import org.apache.hadoop.hbase.client.Table;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Connection to Cassandra.
+ * Connection to HBase.
+ * 
+ * A single {@link Connection} is created on first use and shared by every store working
+ * with this object: it is heavyweight (zookeeper lookups, region cache) but thread-safe,
+ * whereas {@link Table} and {@link Admin} are lightweight and must be closed after use.
+ * 
+ * Writes are buffered (see {@link #getBufferedMutator(TableName)}): call {@link #close()} when the
+ * application stops, or {@link #registerShutdownHook()}, otherwise the mutations still in the buffers
+ * (up to the flush interval) are lost. A closed connection cannot be used anymore.
  *
  * @author Cedrick Lunven (@clunven)
  */
-public class HBaseConnection {
+public class HBaseConnection implements Closeable {
     
     /** logger for this store. */
     private static Logger LOGGER = LoggerFactory.getLogger(HBaseConnection.class);
@@ -51,6 +64,21 @@ public class HBaseConnection {
     /** Hbase configuration. */
     private Configuration config = null;
     
+    /** Shared connection, created lazily. */
+    private volatile Connection connection;
+    
+    /** Write buffers per table, created lazily. */
+    private final Map < TableName, BufferedMutator > mutators = new ConcurrentHashMap<>();
+    
+    /** Set by {@link #close()}, no connection nor buffer is created afterwards. */
+    private volatile boolean closed = false;
+    
+    /** Size in bytes of the write buffers. */
+    private long writeBufferSize = HBaseConstants.WRITE_BUFFER_SIZE_DEFAULT;
+    
+    /** Maximum delay in milliseconds before a buffered mutation is sent. */
+    private long writeBufferFlushInterval = HBaseConstants.WRITE_BUFFER_FLUSH_INTERVAL_DEFAULT;
+    
     /**
      * Default Settings.
      */
@@ -119,6 +147,146 @@ public class HBaseConnection {
         } 
     }
     
+    /**
+     * Access the shared connection, opened on first call.
+     *
+     * @return
+     *      connection to HBase
+     * @throws IOException
+     *      cannot open connection
+     */
+    public Connection getConnection() throws IOException {
+        assertNotClosed();
+        Connection current = connection;
+        if (current == null || current.isClosed()) {
+            synchronized (this) {
+                assertNotClosed();
+                current = connection;
+                if (current == null || current.isClosed()) {
+                    if (config == null) {
+                        throw new IllegalStateException("Connection has not been initialized");
+                    }
+                    current = ConnectionFactory.createConnection(config);
+                    connection = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Open a table on the shared connection, caller must close it.
+     *
+     * @param tableName
+     *      current table name
+     * @return
+     *      table
+     * @throws IOException
+     *      cannot access table
+     */
+    public Table getTable(TableName tableName) throws IOException {
+        return getConnection().getTable(tableName);
+    }
+    
+    /**
+     * Access the write buffer of a table, mutations are sent when the buffer is full,
+     * when the flush interval is reached or when {@link #flush(TableName)} is invoked.
+     *
+     * @param tableName
+     *      current table name
+     * @return
+     *      buffered mutator shared for this table
+     * @throws IOException
+     *      cannot access table
+     */
+    public BufferedMutator getBufferedMutator(TableName tableName) throws IOException {
+        assertNotClosed();
+        BufferedMutator mutator = mutators.get(tableName);
+        if (mutator == null) {
+            // Same lock as close() : no buffer created on a closing connection
+            synchronized (this) {
+                assertNotClosed();
+                mutator = mutators.get(tableName);
+                if (mutator == null) {
+                    BufferedMutatorParams params = new BufferedMutatorParams(tableName)
+                            .writeBufferSize(writeBufferSize)
+                            .setWriteBufferPeriodicFlushTimeoutMs(writeBufferFlushInterval);
+                    mutator = getConnection().getBufferedMutator(params);
+                    mutators.put(tableName, mutator);
+                }
+            }
+        }
+        return mutator;
+    }
+    
+    /**
+     * Send pending mutations of a table, if any.
+     *
+     * @param tableName
+     *      current table name
+     * @throws IOException
+     *      cannot write into table
+     */
+    public void flush(TableName tableName) throws IOException {
+        BufferedMutator mutator = mutators.get(tableName);
+        if (mutator != null) {
+            mutator.flush();
+        }
+    }
+    
+    /**
+     * Send pending mutations then release the write buffers and the shared connection.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (BufferedMutator mutator : mutators.values()) {
+            try {
+                mutator.close();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot flush pending mutations on " + mutator.getName(), e);
+            }
+        }
+        mutators.clear();
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot close connection to HBASE", e);
+            }
+            connection = null;
+        }
+    }
+    
+    /**
+     * Close this connection when the JVM stops, pending mutations are sent.
+     */
+    public void registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "ff4j-hbase-close"));
+    }
+    
+    /**
+     * Getter accessor for attribute 'closed'.
+     *
+     * @return
+     *       if {@link #close()} has been invoked
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Reject use of a closed connection (writes would be lost).
+     */
+    private void assertNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Connection to HBASE has been closed");
+        }
+    }
+    
     /**
      * Helper to create a table in HBASE.
      *
@@ -128,16 +296,14 @@ public class HBaseConnection {
      *      list of column families
      */
     public void createTable(String tableName, Set<String> columnFamilies) {
-        try (Connection hbConn = ConnectionFactory.createConnection(config)) {
-            try(Admin hbAdmin = hbConn.getAdmin()) {
-                TableName hTableName = TableName.valueOf(tableName);
-                if (!hbAdmin.tableExists(hTableName)) {
-                    HTableDescriptor tableDesc = new HTableDescriptor(hTableName);
-                    columnFamilies.stream().map(HColumnDescriptor::new).forEach(tableDesc::addFamily);
-                    hbAdmin.createTable(tableDesc);
-                } else {
-                    LOGGER.info("Table " + tableName + " already exists.");
-                }
+        try(Admin hbAdmin = getConnection().getAdmin()) {
+            TableName hTableName = TableName.valueOf(tableName);
+            if (!hbAdmin.tableExists(hTableName)) {
+                HTableDescriptor tableDesc = new HTableDescriptor(hTableName);
+                columnFamilies.stream().map(HColumnDescriptor::new).forEach(tableDesc::addFamily);
+                hbAdmin.createTable(tableDesc);
+            } else {
+                LOGGER.info("Table " + tableName + " already exists.");
             }
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot create table " + tableName + " please check name", e);
@@ -151,22 +317,14 @@ public class HBaseConnection {
      *      table name
      */
     public void truncateTable(String tableName) {
-        Connection hbConn = null;
-        Admin hbAdmin     = null;
-        try {
-            hbConn = ConnectionFactory.createConnection(config);
-            hbAdmin = hbConn.getAdmin();
-            TableName target = TableName.valueOf(tableName);
+        TableName target = TableName.valueOf(tableName);
+        try(Admin hbAdmin = getConnection().getAdmin()) {
+            // Pending mutations would be written after the truncation
+            flush(target);
             hbAdmin.disableTable(target);
             hbAdmin.truncateTable(target, false);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot truncate table " + tableName + " please check name", e);
-        } finally {
-            // Closing connection
-            try {
-                if (hbAdmin != null) hbAdmin.close();
-                if (hbConn != null)  hbConn.close();
-            } catch (IOException e) {}
         }
     }
     
@@ -178,10 +336,8 @@ public class HBaseConnection {
      * @throws IOException
      */
     public Stream<String> listTablesName() throws IOException {
-        try (Connection hbConn = ConnectionFactory.createConnection(config)) {
-            try(Admin hbAdmin = hbConn.getAdmin()) {
-                return Arrays.stream(hbAdmin.listTables()).map(HTableDescriptor::getNameAsString);
-            }
+        try(Admin hbAdmin = getConnection().getAdmin()) {
+            return Arrays.stream(hbAdmin.listTables()).map(HTableDescriptor::getNameAsString);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot list table names", e);
         }
@@ -196,4 +352,51 @@ public class HBaseConnection {
     public Configuration getConfig() {
         return config;
     }
+
+    /**
+     * Getter accessor for attribute 'writeBufferSize'.
+     *
+     * @return
+     *       current value of 'writeBufferSize'
+     */
+    public long getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    /**
+     * Setter accessor for attribute 'writeBufferSize', applies to buffers created afterwards.
+     *
+     * @param writeBufferSize
+     *      new value for 'writeBufferSize '
+     */
+    public void setWriteBufferSize(long writeBufferSize) {
+        if (writeBufferSize <= 0) {
+            throw new IllegalArgumentException("Write buffer size must be positive");
+        }
+        this.writeBufferSize = writeBufferSize;
+    }
+
+    /**
+     * Getter accessor for attribute 'writeBufferFlushInterval'.
+     *
+     * @return
+     *       current value of 'writeBufferFlushInterval'
+     */
+    public long getWriteBufferFlushInterval() {
+        return writeBufferFlushInterval;
+    }
+
+    /**
+     * Setter accessor for attribute 'writeBufferFlushInterval' in milliseconds, 
+     * 0 disables periodic flush. Applies to buffers created afterwards.
+     *
+     * @param writeBufferFlushInterval
+     *      new value for 'writeBufferFlushInterval '
+     */
+    public void setWriteBufferFlushInterval(long writeBufferFlushInterval) {
+        if (writeBufferFlushInterval < 0) {
+            throw new IllegalArgumentException("Flush interval cannot be negative");
+        }
+        this.writeBufferFlushInterval = writeBufferFlushInterval;
+    }
 }
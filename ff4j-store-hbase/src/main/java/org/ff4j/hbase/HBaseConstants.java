@@ -81,7 +81,13 @@ public class HBaseConstants {
     public static final String THRIFT_PORTINFO_PARAM    = "hbase.thrift.info.port**";
     
     public static final int    THRIFT_PORTINFO_DEFAULT  = 9095;
-    
+
+    /** Size in bytes of the client write buffer before mutations are sent (HBase default). */
+    public static final long   WRITE_BUFFER_SIZE_DEFAULT = 2 * 1024 * 1024;
+
+    /** Buffered mutations older than this delay (ms) are flushed even if the buffer is not full. */
+    public static final long   WRITE_BUFFER_FLUSH_INTERVAL_DEFAULT = 1000;
+
     // -----  Features ---------
     
     /** column Family. */
@@ -38,10 +38,12 @@ import static org.ff4j.hbase.HBaseConstants.B_EVENT_HOSTNAME;
 import static org.ff4j.hbase.HBaseConstants.B_EVENT_NAME;
 import static org.ff4j.hbase.HBaseConstants.B_EVENT_SOURCE;
 import static org.ff4j.hbase.HBaseConstants.B_EVENT_TIME;
+import static org.ff4j.hbase.HBaseConstants.B_EVENT_KEYS;
 import static org.ff4j.hbase.HBaseConstants.B_EVENT_TYPE;
 import static org.ff4j.hbase.HBaseConstants.B_EVENT_UID;
 import static org.ff4j.hbase.HBaseConstants.COLS_EVENT;
 import static org.ff4j.hbase.HBaseConstants.COL_EVENT_HOSTNAME;
+import static org.ff4j.hbase.HBaseConstants.COL_EVENT_KEYS;
 import static org.ff4j.hbase.HBaseConstants.COL_EVENT_NAME;
 import static org.ff4j.hbase.HBaseConstants.COL_EVENT_SOURCE;
 import static org.ff4j.hbase.HBaseConstants.COL_EVENT_USER;
@@ -49,6 +51,8 @@ import static org.ff4j.hbase.HBaseConstants.COL_EVENT_UID;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -56,8 +60,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.hadoop.hbase.client.Connection;
-import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
@@ -80,6 +82,7 @@ import org.ff4j.audit.repository.AbstractEventRepository;
 import org.ff4j.exception.AuditAccessException;
 import org.ff4j.hbase.HBaseConnection;
 import org.ff4j.hbase.mapper.HBaseEventMapper;
+import org.ff4j.utils.MappingUtil;
 import org.ff4j.utils.Util;
 
 /**
@@ -92,6 +95,12 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     /** Mapper. */
     private static final HBaseEventMapper MAPPER = new HBaseEventMapper();
     
+    /** Actions of the audit trail. */
+    private static final Set < String > AUDIT_TRAIL_ACTIONS = Util.set(ACTION_DISCONNECT, 
+            ACTION_TOGGLE_ON, ACTION_TOGGLE_OFF,
+            ACTION_CREATE, ACTION_DELETE,
+            ACTION_UPDATE, ACTION_CLEAR);
+    
     /** Connection to store Cassandra. */
     private HBaseConnection conn;
     
@@ -112,95 +121,99 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     }
     
     /**
-     * Utility to insert data into events.
+     * Utility to insert data into events, puts are buffered and sent in batches.
      *
-     * @param putQuery
-     *      query to update DB.
+     * @param putQueries
+     *      queries to update DB.
      */
-    private void executePutCommand(Put putQuery) {
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                table.put(putQuery);
-            }
+    private void executePutCommand(List<Put> putQueries) {
+        try {
+            conn.getBufferedMutator(AUDIT_TABLENAME).mutate(putQueries);
         } catch (IOException e) {
             throw new AuditAccessException("Cannot execute command", e);
         }
     }
     
+    /**
+     * Open audit table for reading, pending events are sent first to be visible.
+     *
+     * @return
+     *      audit table, to be closed by caller
+     * @throws IOException
+     *      cannot access table
+     */
+    private Table openAuditTable() throws IOException {
+        conn.flush(AUDIT_TABLENAME);
+        return conn.getTable(AUDIT_TABLENAME);
+    }
+    
     private Scan buildQuery(EventQueryDefinition qDef, Set< String > columnNames, String type) {
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                
-                // Columns to retrieve dynamically
-                Scan s = new Scan();
-                for (String col : columnNames) {
-                    s.addColumn(B_AUDIT_CF, Bytes.toBytes(col));
-                }
-                
-                /*
-                s.addColumn(B_AUDIT_CF, B_EVENT_UID);
-                s.addColumn(B_AUDIT_CF, B_EVENT_SOURCE);
-                s.addColumn(B_AUDIT_CF, B_EVENT_NAME);
-                s.addColumn(B_AUDIT_CF, B_EVENT_ACTION);
-                s.addColumn(B_AUDIT_CF, B_EVENT_TYPE);
-                s.addColumn(B_AUDIT_CF, B_EVENT_DURATION);
-                s.addColumn(B_AUDIT_CF, B_EVENT_HOSTNAME);
-                s.addColumn(B_AUDIT_CF, B_EVENT_USER);
-                s.addColumn(B_AUDIT_CF, B_EVENT_VALUE);
-                s.addColumn(B_AUDIT_CF, B_EVENT_DATE);
-                s.addColumn(B_AUDIT_CF, B_EVENT_TIME);
-                s.addColumn(B_AUDIT_CF, B_EVENT_KEYS);
-                */
-               
-                // Filters
-                FilterList filterList = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+        // Columns to retrieve dynamically
+        Scan s = new Scan();
+        for (String col : columnNames) {
+            s.addColumn(B_AUDIT_CF, Bytes.toBytes(col));
+        }
+        
+        /*
+        s.addColumn(B_AUDIT_CF, B_EVENT_UID);
+        s.addColumn(B_AUDIT_CF, B_EVENT_SOURCE);
+        s.addColumn(B_AUDIT_CF, B_EVENT_NAME);
+        s.addColumn(B_AUDIT_CF, B_EVENT_ACTION);
+        s.addColumn(B_AUDIT_CF, B_EVENT_TYPE);
+        s.addColumn(B_AUDIT_CF, B_EVENT_DURATION);
+        s.addColumn(B_AUDIT_CF, B_EVENT_HOSTNAME);
+        s.addColumn(B_AUDIT_CF, B_EVENT_USER);
+        s.addColumn(B_AUDIT_CF, B_EVENT_VALUE);
+        s.addColumn(B_AUDIT_CF, B_EVENT_DATE);
+        s.addColumn(B_AUDIT_CF, B_EVENT_TIME);
+        s.addColumn(B_AUDIT_CF, B_EVENT_KEYS);
+        */
+       
+        // Filters
+        FilterList filterList = new FilterList(FilterList.Operator.MUST_PASS_ALL);
 
-                // from
-                SingleColumnValueFilter filterFrom = 
-                        new SingleColumnValueFilter(B_AUDIT_CF, B_EVENT_TIME, 
-                                CompareOp.GREATER_OR_EQUAL, Bytes.toBytes(qDef.getFrom()));
-                filterFrom.setFilterIfMissing(true);
-                filterList.addFilter(filterFrom);
-                
-                // To
-                SingleColumnValueFilter filterTo =
-                        new SingleColumnValueFilter(B_AUDIT_CF, B_EVENT_TIME, 
-                                CompareOp.LESS_OR_EQUAL, Bytes.toBytes(qDef.getTo()));
-                filterTo.setFilterIfMissing(true);
-                filterList.addFilter(filterTo);
-                
-                // Type
-                if (null != type) {
-                    filterList.addFilter(
-                            new SingleColumnValueFilter(B_AUDIT_CF, B_EVENT_TYPE, CompareOp.EQUAL, Bytes.toBytes(type)));
-                }
-                
-                // Actions
-                if (!qDef.getActionFilters().isEmpty()) {
-                    filterList.addFilter(
-                            createFilterListOR(B_EVENT_ACTION, qDef.getActionFilters()));
-                }
-                // Host
-                if (!qDef.getHostFilters().isEmpty()) {
-                    filterList.addFilter(
-                            createFilterListOR(B_EVENT_HOSTNAME, qDef.getHostFilters()));
-                }
-                // Names
-                if (!qDef.getNamesFilter().isEmpty()) {
-                    filterList.addFilter(
-                            createFilterListOR(B_EVENT_NAME, qDef.getNamesFilter()));
-                }
-                // Sources
-                if (!qDef.getSourceFilters().isEmpty()) {
-                    filterList.addFilter(
-                            createFilterListOR(B_EVENT_SOURCE, qDef.getSourceFilters()));
-                }
-                s.setFilter(filterList);
-                return s;
-            }
-        } catch (IOException e) {
-            throw new AuditAccessException("Cannot execute command", e);
+        // from
+        SingleColumnValueFilter filterFrom = 
+                new SingleColumnValueFilter(B_AUDIT_CF, B_EVENT_TIME, 
+                        CompareOp.GREATER_OR_EQUAL, Bytes.toBytes(qDef.getFrom()));
+        filterFrom.setFilterIfMissing(true);
+        filterList.addFilter(filterFrom);
+        
+        // To
+        SingleColumnValueFilter filterTo =
+                new SingleColumnValueFilter(B_AUDIT_CF, B_EVENT_TIME, 
+                        CompareOp.LESS_OR_EQUAL, Bytes.toBytes(qDef.getTo()));
+        filterTo.setFilterIfMissing(true);
+        filterList.addFilter(filterTo);
+        
+        // Type
+        if (null != type) {
+            filterList.addFilter(
+                    new SingleColumnValueFilter(B_AUDIT_CF, B_EVENT_TYPE, CompareOp.EQUAL, Bytes.toBytes(type)));
+        }
+        
+        // Actions
+        if (!qDef.getActionFilters().isEmpty()) {
+            filterList.addFilter(
+                    createFilterListOR(B_EVENT_ACTION, qDef.getActionFilters()));
+        }
+        // Host
+        if (!qDef.getHostFilters().isEmpty()) {
+            filterList.addFilter(
+                    createFilterListOR(B_EVENT_HOSTNAME, qDef.getHostFilters()));
         }
+        // Names
+        if (!qDef.getNamesFilter().isEmpty()) {
+            filterList.addFilter(
+                    createFilterListOR(B_EVENT_NAME, qDef.getNamesFilter()));
+        }
+        // Sources
+        if (!qDef.getSourceFilters().isEmpty()) {
+            filterList.addFilter(
+                    createFilterListOR(B_EVENT_SOURCE, qDef.getSourceFilters()));
+        }
+        s.setFilter(filterList);
+        return s;
     }
         
     private Filter createFilterListOR(byte[] columnName, Set<String> values) {
@@ -223,7 +236,22 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     @Override
     public boolean saveEvent(Event evt) {
         Util.assertEvent(evt);
-        executePutCommand(MAPPER.toStore(evt));
+        executePutCommand(Collections.singletonList(MAPPER.toStore(evt)));
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        List < Put > puts = new ArrayList<Put>(events.size());
+        for (Event evt : events) {
+            Util.assertEvent(evt);
+            puts.add(MAPPER.toStore(evt));
+        }
+        executePutCommand(puts);
         return true;
     }
 
@@ -231,11 +259,9 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
         Util.assertHasLength(new String[]{uuid});
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                Get queryGetById = new Get(Bytes.toBytes(uuid));
-                return MAPPER.fromStore(table.get(queryGetById));
-            }
+        try(Table table = openAuditTable()) {
+            Get queryGetById = new Get(Bytes.toBytes(uuid));
+            return MAPPER.fromStore(table.get(queryGetById));
         } catch (IOException e) {
             throw new AuditAccessException("Cannot check feature existence", e);
         }
@@ -268,20 +294,20 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     /** {@inheritDoc} */
     private Map<String, MutableHitCount> computeHitCount(EventQueryDefinition query, String pColName) {
         Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                query.getActionFilters().add(ACTION_CHECK_OK);
-                Scan scanQuery = buildQuery(query, Util.set(pColName), EventConstants.TARGET_FEATURE);
-                try(ResultScanner scanner = table.getScanner(scanQuery)) {
-                    for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
-                        String colValue = Bytes.toString(rr.getValue(B_AUDIT_CF, Bytes.toBytes(pColName)));
-                        if (hitCount.containsKey(colValue)) {
-                            hitCount.get(colValue).inc();
-                        } else {
-                            hitCount.put(colValue, new MutableHitCount(1));
-                        }
-                     }
-                }
+        try(Table table = openAuditTable()) {
+            query.getActionFilters().add(ACTION_CHECK_OK);
+            Scan scanQuery = buildQuery(query, Util.set(pColName, COL_EVENT_KEYS), EventConstants.TARGET_FEATURE);
+            try(ResultScanner scanner = table.getScanner(scanQuery)) {
+                for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
+                    String colValue = Bytes.toString(rr.getValue(B_AUDIT_CF, Bytes.toBytes(pColName)));
+                    // Aggregated events (metrics mode, roll-up) carry their own count
+                    int hits = MutableHitCount.hitsOf(MappingUtil.toMap(Bytes.toString(rr.getValue(B_AUDIT_CF, B_EVENT_KEYS))));
+                    if (hitCount.containsKey(colValue)) {
+                        hitCount.get(colValue).incBy(hits);
+                    } else {
+                        hitCount.put(colValue, new MutableHitCount(hits));
+                    }
+                 }
             }
         } catch (IOException e) {
             throw new AuditAccessException("Compute hitcount based on " + pColName, e);
@@ -307,16 +333,14 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
         EventSeries es = new EventSeries();
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                query.getActionFilters().add(ACTION_CHECK_OK);
-                
-                Scan scanQuery = buildQuery(query, COLS_EVENT, EventConstants.TARGET_FEATURE);
-                try(ResultScanner scanner = table.getScanner(scanQuery)) {
-                    for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
-                        es.add(MAPPER.fromStore(rr));
-                     }
-                }
+        try(Table table = openAuditTable()) {
+            query.getActionFilters().add(ACTION_CHECK_OK);
+            
+            Scan scanQuery = buildQuery(query, COLS_EVENT, EventConstants.TARGET_FEATURE);
+            try(ResultScanner scanner = table.getScanner(scanQuery)) {
+                for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
+                    es.add(MAPPER.fromStore(rr));
+                 }
             }
         } catch (IOException e) {
             throw new AuditAccessException("Cannot search feature usage ", e);
@@ -328,22 +352,16 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition query) {
         EventSeries es = new EventSeries();
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                query.getActionFilters().add(ACTION_CHECK_OK);
-                Scan scanQuery = buildQuery(query, COLS_EVENT, null);
-                Set < String > candidates = Util.set(ACTION_DISCONNECT, 
-                        ACTION_TOGGLE_ON, ACTION_TOGGLE_OFF,
-                        ACTION_CREATE, ACTION_DELETE,
-                        ACTION_UPDATE, ACTION_CLEAR);
-                try(ResultScanner scanner = table.getScanner(scanQuery)) {
-                    for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
-                        String action = Bytes.toString(rr.getValue(B_AUDIT_CF, B_EVENT_ACTION));
-                        if (candidates.contains(action)) {
-                            es.add(MAPPER.fromStore(rr));
-                        }
-                     }
-                }
+        try(Table table = openAuditTable()) {
+            query.getActionFilters().add(ACTION_CHECK_OK);
+            Scan scanQuery = buildQuery(query, COLS_EVENT, null);
+            try(ResultScanner scanner = table.getScanner(scanQuery)) {
+                for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
+                    String action = Bytes.toString(rr.getValue(B_AUDIT_CF, B_EVENT_ACTION));
+                    if (AUDIT_TRAIL_ACTIONS.contains(action)) {
+                        es.add(MAPPER.fromStore(rr));
+                    }
+                 }
             }
         } catch (IOException e) {
             throw new AuditAccessException("Cannot search audit trail ", e);
@@ -354,30 +372,67 @@ public class EventRepositoryHBase extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public void purgeFeatureUsage(EventQueryDefinition query) {
-        this.purgeAuditTrail(query);
+        // Checks when no dedicated action filter, other actions are never aggregated
+        if (query.getActionFilters().isEmpty()) {
+            query.getActionFilters().add(ACTION_CHECK_OK);
+        }
+        purge(query);
     }    
 
     /** {@inheritDoc} */
     @Override
     public void purgeAuditTrail(EventQueryDefinition query) {
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(AUDIT_TABLENAME)) {
-                query.getActionFilters().add(ACTION_CHECK_OK);
-                // Scan for ids
-                Scan scanQuery = buildQuery(query, Util.set(COL_EVENT_UID), null);
-                List < Delete > list = new ArrayList<Delete>();
-                try(ResultScanner scanner = table.getScanner(scanQuery)) {
-                    for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
-                        list.add(new Delete(rr.getValue(B_AUDIT_CF, B_EVENT_UID)));
-                    }
+        if (query.getActionFilters().isEmpty()) {
+            query.getActionFilters().addAll(AUDIT_TRAIL_ACTIONS);
+        }
+        purge(query);
+    }
+    
+    /**
+     * Delete events matching the query.
+     *
+     * @param query
+     *      query with action filters
+     */
+    private void purge(EventQueryDefinition query) {
+        try(Table table = openAuditTable()) {
+            // Scan for ids
+            Scan scanQuery = buildQuery(query, Util.set(COL_EVENT_UID), null);
+            List < Delete > list = new ArrayList<Delete>();
+            try(ResultScanner scanner = table.getScanner(scanQuery)) {
+                for (Result rr = scanner.next(); rr != null; rr = scanner.next()) {
+                    list.add(new Delete(rr.getValue(B_AUDIT_CF, B_EVENT_UID)));
                 }
-                table.delete(list);
             }
+            table.delete(list);
         } catch (IOException e) {
             throw new AuditAccessException("Cannot search audit trail ", e);
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsRangePurge() {
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void purgeEvents(Collection<Event> events) {
+        Util.assertNotNull(events);
+        List < Delete > list = new ArrayList<Delete>(events.size());
+        for (Event evt : events) {
+            list.add(new Delete(Bytes.toBytes(evt.getUuid())));
+        }
+        if (!list.isEmpty()) {
+            try(Table table = openAuditTable()) {
+                table.delete(list);
+            } catch (IOException e) {
+                throw new AuditAccessException("Cannot delete events ", e);
+            }
+        }
+    }
+
     /**
      * Getter accessor for attribute 'conn'.
      *
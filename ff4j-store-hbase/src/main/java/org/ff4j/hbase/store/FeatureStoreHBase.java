@@ -32,13 +32,13 @@ import static org.ff4j.hbase.HBaseConstants.FEATURES_TABLENAME_ID;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.hadoop.hbase.client.Connection;
-import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
@@ -50,6 +50,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureAccessException;
+import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.hbase.HBaseConnection;
 import org.ff4j.hbase.mapper.HBaseFeatureMapper;
 import org.ff4j.store.AbstractFeatureStore;
@@ -95,21 +96,18 @@ public class FeatureStoreHBase extends AbstractFeatureStore {
     @Override
     public boolean exist(String featId) {
         Util.assertHasLength(featId);
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(FEATURES_TABLENAME)) {
-                Get queryByIdQuery = new Get(Bytes.toBytes(featId));
-                return !table.get(queryByIdQuery).isEmpty();
-            }
+        try(Table table = conn.getTable(FEATURES_TABLENAME)) {
+            Get queryByIdQuery = new Get(Bytes.toBytes(featId));
+            queryByIdQuery.setCheckExistenceOnly(true);
+            return table.exists(queryByIdQuery);
         } catch (IOException e) {
             throw new FeatureAccessException("Cannot check feature existence", e);
         }
     }
     
     private void executePutCommand(Put putQuery) {
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(FEATURES_TABLENAME)) {
-                table.put(putQuery);
-            }
+        try(Table table = conn.getTable(FEATURES_TABLENAME)) {
+            table.put(putQuery);
         } catch (IOException e) {
             throw new FeatureAccessException("Cannot execute command", e);
         }
@@ -146,37 +144,62 @@ public class FeatureStoreHBase extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Feature read(String uid) {
-        assertFeatureExist(uid);
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(FEATURES_TABLENAME)) {
-                Get queryByIdQuery = new Get(Bytes.toBytes(uid));
-                Result result = table.get(queryByIdQuery);
-                return MAPPER.fromStore(result);
+        Util.assertHasLength(uid);
+        try(Table table = conn.getTable(FEATURES_TABLENAME)) {
+            // Single GET, an empty result means the feature does not exist
+            Result result = table.get(new Get(Bytes.toBytes(uid)));
+            if (result.isEmpty()) {
+                throw new FeatureNotFoundException(uid);
             }
+            return MAPPER.fromStore(result);
         } catch (IOException e) {
             throw new FeatureAccessException("Cannot check feature existence", e);
         }
     }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        Map<String, Feature> features = new HashMap<>();
+        if (featureUids.isEmpty()) {
+            return features;
+        }
+        // Single multi-get, grouped per region server by the client
+        List<Get> queries = new ArrayList<Get>();
+        for (String uid : new HashSet<String>(featureUids)) {
+            queries.add(new Get(Bytes.toBytes(uid)));
+        }
+        try(Table table = conn.getTable(FEATURES_TABLENAME)) {
+            for (Result result : table.get(queries)) {
+                if (!result.isEmpty()) {
+                    Feature f = MAPPER.fromStore(result);
+                    features.put(f.getUid(), f);
+                }
+            }
+        } catch (IOException e) {
+            throw new FeatureAccessException("Cannot read features", e);
+        }
+        return features;
+    }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
         Map<String, Feature> mapOfFeature = new HashMap<>();
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(FEATURES_TABLENAME)) {
-                
-                Scan scan = new Scan();
-                scan.setCaching(100);
-                scan.setBatch(100);
-                scan.addFamily(B_FEATURES_CF_CORE);
-                scan.addFamily(B_FEATURES_CF_PROPERTIES);
-                
-                try(ResultScanner resultScanner = table.getScanner(scan)) {
-                    Iterator<Result> iterator = resultScanner.iterator();
-                    while (iterator.hasNext()) {
-                        Feature f = MAPPER.fromStore(iterator.next());
-                        mapOfFeature.put(f.getUid(), f);
-                    }
+        try(Table table = conn.getTable(FEATURES_TABLENAME)) {
+            
+            Scan scan = new Scan();
+            scan.setCaching(100);
+            scan.setBatch(100);
+            scan.addFamily(B_FEATURES_CF_CORE);
+            scan.addFamily(B_FEATURES_CF_PROPERTIES);
+            
+            try(ResultScanner resultScanner = table.getScanner(scan)) {
+                Iterator<Result> iterator = resultScanner.iterator();
+                while (iterator.hasNext()) {
+                    Feature f = MAPPER.fromStore(iterator.next());
+                    mapOfFeature.put(f.getUid(), f);
                 }
             }
         } catch (IOException e) {
@@ -189,13 +212,11 @@ public class FeatureStoreHBase extends AbstractFeatureStore {
     @Override
     public void delete(String uid) {
         assertFeatureExist(uid);
-        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
-            try(Table table = hbConn.getTable(FEATURES_TABLENAME)) {
-                List<Delete> list = new ArrayList<Delete>();
-                Delete del = new Delete(uid.getBytes());
-                list.add(del);
-                table.delete(list);
-            }
+        try(Table table = conn.getTable(FEATURES_TABLENAME)) {
+            List<Delete> list = new ArrayList<Delete>();
+            Delete del = new Delete(uid.getBytes());
+            list.add(del);
+            table.delete(list);
         } catch (IOException e) {
             throw new FeatureAccessException("Cannot delete feature ", e);
         }
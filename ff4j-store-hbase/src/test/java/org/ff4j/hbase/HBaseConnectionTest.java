@@ -0,0 +1,57 @@
+package org.ff4j.hbase;
+
+/*-
+ * #%L
+ * ff4j-store-hbase
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Lifecycle of {@link HBaseConnection}, no server needed as nothing is opened.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class HBaseConnectionTest {
+    
+    @Test(expected = IllegalStateException.class)
+    public void testNoConnectionAfterClose() throws IOException {
+        HBaseConnection conn = new HBaseConnection(false);
+        conn.close();
+        Assert.assertTrue(conn.isClosed());
+        conn.getConnection();
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testNoWriteAfterClose() throws IOException {
+        HBaseConnection conn = new HBaseConnection(false);
+        conn.close();
+        conn.getBufferedMutator(HBaseConstants.AUDIT_TABLENAME);
+    }
+    
+    @Test
+    public void testCloseTwice() {
+        HBaseConnection conn = new HBaseConnection(false);
+        conn.close();
+        conn.close();
+        Assert.assertTrue(conn.isClosed());
+    }
+}
@@ -20,6 +20,7 @@ package org.ff4j.store;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -129,6 +130,14 @@ public class FeatureStoreJCache extends AbstractFeatureStore {
         return myMap;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        // Cache.getAll() is a single (distributed) call, missing keys are not returned
+        return new HashMap<>(getCacheManager().getFeaturesCache().getAll(new HashSet<>(featureUids)));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void delete(String fpId) {
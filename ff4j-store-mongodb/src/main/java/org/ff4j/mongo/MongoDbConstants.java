@@ -75,6 +75,9 @@ public class MongoDbConstants {
     /** Custom Properties. */
     public static final String MONGO_SET = "$set";
 
+    /** Match any value of a list. */
+    public static final String MONGO_IN = "$in";
+
     // ------- AUDIT -------------
 
     /** Identifier */
@@ -45,6 +45,7 @@ import java.util.List;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventQueryDefinition;
 
 import com.mongodb.client.model.Accumulators;
@@ -58,6 +59,9 @@ import com.mongodb.client.model.Filters;
  */
 public final class EventDocumentBuilder {
 
+    /** Key of the time bucket in histogram results. */
+    public static final String HISTOGRAM_SLOT = "slot";
+
     /**
      * Mongo v3 document builder.
      */
@@ -234,7 +238,34 @@ public final class EventDocumentBuilder {
                         Filters.gte(ATTRIBUTE_TIME, qDef.getFrom()),
                         Filters.lte(ATTRIBUTE_TIME, qDef.getTo())
                 )),
-                Aggregates.group("$" + attr, Accumulators.sum("NB", 1)));
+                Aggregates.group("$" + attr, Accumulators.sum("NB", hits())));
+    }
+    
+    /**
+     * Hits of an event document, custom keys are stored as top level attributes.
+     *
+     * @return expression reading {@link EventConstants#ATTRIBUTE_HITCOUNT} (1 when absent)
+     */
+    private Document hits() {
+        return new Document("$toInt", new Document("$ifNull",
+                Arrays.asList("$" + EventConstants.ATTRIBUTE_HITCOUNT, 1)));
+    }
+
+    /**
+     * Hits per feature and time bucket computed by the server, events in metrics mode carry their
+     * own count in {@link EventConstants#ATTRIBUTE_HITCOUNT}.
+     *
+     * @param qDef query definition
+     * @param bucketMillis width of a bucket in milliseconds
+     * @return pipeline returning documents {_id: {name, slot}, NB}
+     */
+    public List<Bson> buildFeatureUsageHistogram(EventQueryDefinition qDef, long bucketMillis) {
+        Document bucket = new Document("$subtract", Arrays.asList("$" + ATTRIBUTE_TIME,
+                new Document("$mod", Arrays.asList("$" + ATTRIBUTE_TIME, bucketMillis))));
+        return Arrays.asList(
+                Aggregates.match(Filters.and(getSelectFeatureUsageFilters(qDef))),
+                Aggregates.group(new Document(ATTRIBUTE_NAME, "$" + ATTRIBUTE_NAME).append(HISTOGRAM_SLOT, bucket),
+                        Accumulators.sum("NB", hits())));
     }
 
     public List<Bson> buildFilters(EventQueryDefinition qDef, boolean filterForCheck, boolean filterAuditTrail) {
@@ -23,6 +23,7 @@ package org.ff4j.mongo.mapper;
 import static org.ff4j.mongo.MongoDbConstants.*;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Set;
 
 import org.bson.Document;
@@ -51,6 +52,18 @@ public final class FeatureDocumentBuilder {
         return new Document(FEATURE_UUID, value);
     }
 
+    /**
+     * Mongo internal object matching any of the identifiers.
+     *
+     * @param values
+     *      target values
+     * @return
+     *      internal mongo object
+     */
+    public Document getFeatUidIn(Collection<String> values) {
+        return new Document(FEATURE_UUID, new Document(MONGO_IN, new ArrayList<>(values)));
+    }
+
     /**
      * Chain add to build object.
      *
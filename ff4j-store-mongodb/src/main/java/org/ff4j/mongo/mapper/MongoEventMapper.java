@@ -22,10 +22,12 @@ package org.ff4j.mongo.mapper;
 
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_ACTION;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_DURATION;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_HITCOUNT;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_HOST;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_ID;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_KEYS;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_NAME;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_ROLLUP;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_SOURCE;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_TIME;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_TYPE;
@@ -70,6 +72,12 @@ public class MongoEventMapper implements EventMapper< Document > {
             evt.setCustomKeys((Map<String, String>)
                     BasicDBObject.parse(bean.getString(ATTRIBUTE_KEYS)).entrySet());
         }
+        // Custom keys of aggregated events are written as top level attributes (see Event.toJson())
+        for (String key : new String[] {ATTRIBUTE_HITCOUNT, ATTRIBUTE_ROLLUP}) {
+            if (bean.get(key) != null) {
+                evt.put(key, String.valueOf(bean.get(key)));
+            }
+        }
         return evt;
     }
 
@@ -21,11 +21,14 @@ package org.ff4j.mongo.store;
  */
 
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_HOST;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_ID;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_NAME;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_SOURCE;
 import static org.ff4j.audit.EventConstants.ATTRIBUTE_USER;
 import static org.ff4j.mongo.MongoDbConstants.EVENT_UUID;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,6 +53,7 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 
 /**
  * Implementation of EventRepository for Mongo.
@@ -185,6 +189,29 @@ public class EventRepositoryMongo extends AbstractEventRepository {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+        List<Document> documents = new ArrayList<Document>(events.size());
+        for (Event e : events) {
+            if (e == null) {
+                throw new IllegalArgumentException("Event cannot be null nor empty");
+            }
+            documents.add(eventMapper.toStore(e));
+        }
+        // Unordered : the server does not stop at first error and can parallelize writes
+        eventsCollection.insertMany(documents, new InsertManyOptions().ordered(false));
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -241,7 +268,7 @@ public class EventRepositoryMongo extends AbstractEventRepository {
         getEventCollection().aggregate(eventDocumentBuilder.buildHitCountFilters(query, attr)
         ).forEach(document -> {
             if (null != document.get(EVENT_UUID)) {
-                mapofHitCount.put(document.get(EVENT_UUID).toString(), new MutableHitCount((Integer) document.get("NB")));
+                mapofHitCount.put(document.get(EVENT_UUID).toString(), new MutableHitCount(((Number) document.get("NB")).intValue()));
             } else {
                 mapofHitCount.put(attr, new MutableHitCount(0));
             }
@@ -257,11 +284,15 @@ public class EventRepositoryMongo extends AbstractEventRepository {
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit tu) {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), tu);
-        // Search All events
-        // Dispatch events into time slots
-        for (Event event : searchFeatureUsageEvents(query)) {
-            tsc.addEvent(event);
-        }
+        // Hits grouped by feature and bucket on the server, only aggregates cross the wire
+        long bucketMillis = tsc.getBucketSeconds() * 1000;
+        getEventCollection().aggregate(eventDocumentBuilder.buildFeatureUsageHistogram(query, bucketMillis))
+                .forEach(document -> {
+                    Document key = (Document) document.get(EVENT_UUID);
+                    tsc.addHits(key.getString(ATTRIBUTE_NAME), 
+                            ((Number) key.get(EventDocumentBuilder.HISTOGRAM_SLOT)).longValue(), 
+                            ((Number) document.get("NB")).intValue());
+                });
         return tsc;
     }
 
@@ -300,6 +331,25 @@ public class EventRepositoryMongo extends AbstractEventRepository {
         getEventCollection().deleteMany(Filters.and(eventDocumentBuilder.getPurgeFeatureUsageFilters(qDef)));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsRangePurge() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void purgeEvents(Collection<Event> events) {
+        Util.assertNotNull(events);
+        List<String> uuids = new ArrayList<>(events.size());
+        for (Event evt : events) {
+            uuids.add(evt.getUuid());
+        }
+        if (!uuids.isEmpty()) {
+            getEventCollection().deleteMany(Filters.in(ATTRIBUTE_ID, uuids));
+        }
+    }
+
     /**
      * Search for events based on filters
      *
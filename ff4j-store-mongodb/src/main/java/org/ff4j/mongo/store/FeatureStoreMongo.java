@@ -22,6 +22,7 @@ package org.ff4j.mongo.store;
 
 import static org.ff4j.mongo.MongoDbConstants.MONGO_SET;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -289,6 +290,21 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         return mapFP;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<>();
+        if (featureUids.isEmpty()) {
+            return mapFP;
+        }
+        for(Document document : getFeaturesCollection().find(BUILDER.getFeatUidIn(featureUids))) {
+            Feature feature = FMAPPER.fromStore(document);
+            mapFP.put(feature.getUid(), feature);
+        }
+        return mapFP;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void update(Feature fp) {
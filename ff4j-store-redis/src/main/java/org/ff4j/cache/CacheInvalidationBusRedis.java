@@ -0,0 +1,210 @@
+package org.ff4j.cache;
+
+/*-
+ * #%L
+ * ff4j-store-redis
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.redis.RedisConnection;
+import org.ff4j.redis.RedisKeysBuilder;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * Invalidation bus on top of REDIS publish/subscribe (JEDIS).
+ * 
+ * <p>Coalesced invalidations are published as text on a channel (see
+ * {@link RedisKeysBuilder#getKeyCacheInvalidationChannel()}). Once a listener is registered, a daemon thread holds a
+ * dedicated connection subscribed to the channel and subscribes again if the connection is lost. Messages
+ * published while the connection was lost are missed, local listeners evict all entries once subscribed again.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationBusRedis extends AbstractCacheInvalidationBus {
+
+    /** Delay before subscribing again after a connection error. */
+    private static final long RECONNECT_DELAY = 1000;
+
+    /** Wrapping of redis connection (isolation). */
+    private final RedisConnection redisConnection;
+
+    /** Channel name. */
+    private final String channel;
+
+    /** Current subscription. */
+    private volatile JedisPubSub subscription;
+
+    /** Thread blocked on subscription. */
+    private Thread subscriberThread;
+
+    /** Bus is closed. */
+    private volatile boolean closed = false;
+
+    /** A subscription has already been established, the next one follows a connection loss. */
+    private boolean subscribedOnce = false;
+
+    /**
+     * Constructors
+     */
+    public CacheInvalidationBusRedis() {
+        this(new RedisConnection(), new RedisKeysBuilder());
+    }
+    public CacheInvalidationBusRedis(RedisConnection pRedisConnection) {
+        this(pRedisConnection, new RedisKeysBuilder());
+    }
+    public CacheInvalidationBusRedis(RedisConnection pRedisConnection, RedisKeysBuilder builder) {
+        this.redisConnection = pRedisConnection;
+        this.channel         = builder.getKeyCacheInvalidationChannel();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void send(CacheInvalidationMessage message) {
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            jedis.publish(channel, message.toText());
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        super.subscribe(listener);
+        startSubscriber();
+    }
+
+    /**
+     * Subscribe to channel in a daemon thread (subscription is blocking).
+     */
+    private synchronized void startSubscriber() {
+        if (subscriberThread != null || closed) {
+            return;
+        }
+        subscriberThread = new Thread(() -> {
+            while (!closed) {
+                Jedis jedis = null;
+                try {
+                    jedis = getJedis();
+                    subscription = new JedisPubSub() {
+                        @Override
+                        public void onSubscribe(String channel, int subscribedChannels) {
+                            onSubscribed(this);
+                        }
+                        @Override
+                        public void onMessage(String channel, String text) {
+                            try {
+                                CacheInvalidationBusRedis.this.onMessage(CacheInvalidationMessage.fromText(text));
+                            } catch(IllegalArgumentException iae) {
+                                // Not an invalidation message, ignored
+                            }
+                        }
+                    };
+                    // Blocks until unsubscribe or connection error
+                    jedis.subscribe(subscription, channel);
+                } catch(RuntimeException re) {
+                    if (!closed) {
+                        pause();
+                    }
+                } finally {
+                    if (jedis != null) {
+                        jedis.close();
+                    }
+                }
+            }
+        }, "FF4j_CacheInvalidationBusRedis");
+        subscriberThread.setDaemon(true);
+        subscriberThread.start();
+    }
+
+    /**
+     * Wait before subscribing again.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+
+    /**
+     * Subscription is confirmed by the server (on the subscriber thread).
+     *
+     * @param current
+     *      subscription just established
+     */
+    private synchronized void onSubscribed(JedisPubSub current) {
+        // Closed between the creation of subscription and its confirmation
+        if (closed) {
+            current.unsubscribe();
+            return;
+        }
+        if (subscribedOnce) {
+            invalidateAllLocally();
+        }
+        subscribedOnce = true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            closed = true;
+            JedisPubSub current = subscription;
+            if (current != null && current.isSubscribed()) {
+                current.unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * Safe acces to Jedis, avoid JNPE.
+     *
+     * @return
+     *      jedis connection
+     */
+    private Jedis getJedis() {
+        if (redisConnection == null) {
+            throw new IllegalArgumentException("Cannot found any redisConnection");
+        }
+        Jedis jedis = redisConnection.getJedis();
+        if (jedis == null) {
+            throw new IllegalArgumentException("Cannot found any jedis connection, please build connection");
+        }
+        return jedis;
+    }
+
+    /**
+     * Getter accessor for attribute 'channel'.
+     *
+     * @return
+     *       current value of 'channel'
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+}
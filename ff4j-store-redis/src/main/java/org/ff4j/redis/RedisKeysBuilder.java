@@ -108,6 +108,10 @@ public class RedisKeysBuilder {
         return getKeyPrefix() + "PROPERTY_" + name + getKeySuffix();
     }
     
+    public String getKeyCacheInvalidationChannel() {
+        return getKeyPrefix() + "CACHE_INVALIDATION" + getKeySuffix();
+    }
+    
     public String getKeyEvent() {
         return getKeyPrefix() + "EVENT_AUDITRAIL_" + getKeySuffix();
     }
@@ -26,6 +26,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -41,6 +42,7 @@ import org.ff4j.redis.RedisConnection;
 import org.ff4j.redis.RedisKeysBuilder;
 import org.ff4j.utils.Util;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
 
 /**
  * Persist audit events into REDIS storage technology.
@@ -130,6 +132,47 @@ public class EventRepositoryRedis extends AbstractEventRepository {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        // Group events by sorted set to send a single ZADD per key
+        Map<String, Map<String, Double>> membersByKey = new HashMap<>();
+        try {
+            for (Event evt : events) {
+                if (evt == null) {
+                    throw new IllegalArgumentException("Event cannot be null nor empty");
+                }
+                long timeStamp = evt.getTimestamp();
+                evt.setUuid(String.valueOf(timeStamp));
+                membersByKey
+                    .computeIfAbsent(keyBuilder.getHashKey(timeStamp), k -> new HashMap<>())
+                    .put(objectMapper.writeValueAsString(evt), (double) timeStamp);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot save events : invalid object", e);
+        }
+        if (membersByKey.isEmpty()) {
+            return true;
+        }
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, Map<String, Double>> entry : membersByKey.entrySet()) {
+                pipeline.zadd(entry.getKey(), entry.getValue());
+            }
+            pipeline.sync();
+            return true;
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -204,9 +247,9 @@ public class EventRepositoryRedis extends AbstractEventRepository {
                 String value = getValueFromAttribute(type, eventObject);
                 MutableHitCount mutableHitCount = hitCount.get(value);
                 if (mutableHitCount != null) {
-                    mutableHitCount.inc();
+                    mutableHitCount.inc(eventObject);
                 } else {
-                    mutableHitCount = new MutableHitCount(1);
+                    mutableHitCount = new MutableHitCount(MutableHitCount.hitsOf(eventObject));
                 }
                 hitCount.put(value, mutableHitCount);
             }
@@ -21,6 +21,8 @@ package org.ff4j.store;
  */
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -45,6 +47,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScoredValue;
 import io.lettuce.core.api.sync.RedisSortedSetCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
 
@@ -123,6 +126,36 @@ public class EventRepositoryRedisLettuce extends AbstractEventRepository {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        // Group events by sorted set to send a single ZADD per key
+        Map<String, List<ScoredValue<String>>> membersByKey = new HashMap<>();
+        try {
+            for (Event evt : events) {
+                if (evt == null) {
+                    throw new IllegalArgumentException("Event cannot be null nor empty");
+                }
+                long timeStamp = evt.getTimestamp();
+                evt.setUuid(String.valueOf(timeStamp));
+                membersByKey
+                    .computeIfAbsent(keyBuilder.getHashKey(timeStamp), k -> new ArrayList<>())
+                    .add(ScoredValue.just(timeStamp, objectMapper.writeValueAsString(evt)));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot save events : invalid object", e);
+        }
+        for (Map.Entry<String, List<ScoredValue<String>>> entry : membersByKey.entrySet()) {
+            @SuppressWarnings("unchecked")
+            ScoredValue<String>[] members = entry.getValue().toArray(new ScoredValue[0]);
+            redisSortedSetCommands.zadd(entry.getKey(), members);
+        }
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -190,9 +223,9 @@ public class EventRepositoryRedisLettuce extends AbstractEventRepository {
                 String value = getValueFromAttribute(type, eventObject);
                 MutableHitCount mutableHitCount = hitCount.get(value);
                 if (mutableHitCount != null) {
-                    mutableHitCount.inc();
+                    mutableHitCount.inc(eventObject);
                 } else {
-                    mutableHitCount = new MutableHitCount(1);
+                    mutableHitCount = new MutableHitCount(MutableHitCount.hitsOf(eventObject));
                 }
                 hitCount.put(value, mutableHitCount);
             }
@@ -20,6 +20,7 @@ package org.ff4j.store;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -86,13 +87,16 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Feature read(String uid) {
-        if (!exist(uid)) {
-            throw new FeatureNotFoundException(uid);
-        }
+        Util.assertParamHasLength(uid, "Feature identifier");
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            return FeatureJsonParser.parseFeature(jedis.get(keyBuilder.getKeyFeature(uid)));
+            // Single GET, a missing key means the feature does not exist
+            String json = jedis.get(keyBuilder.getKeyFeature(uid));
+            if (json == null) {
+                throw new FeatureNotFoundException(uid);
+            }
+            return FeatureJsonParser.parseFeature(json);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -171,15 +175,22 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         try {
             jedis = getJedis();
 
-            Set<String> features = jedis.smembers(keyBuilder.getKeyFeatureMap());
-
-            Map<String, Feature> featuresMap = new HashMap<>();
-            if (features != null) {
-                for (String key : features) {
-                    featuresMap.put(key, read(key));
-                }
+            return mgetFeatures(jedis, jedis.smembers(keyBuilder.getKeyFeatureMap()));
+        } finally {
+            if (jedis != null) {
+                jedis.close();
             }
-            return featuresMap;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            return mgetFeatures(jedis, featureUids);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -187,6 +198,36 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         }
     }
 
+    /**
+     * Fetch features with a single MGET.
+     *
+     * @param jedis
+     *      current connection
+     * @param uids
+     *      feature identifiers
+     * @return
+     *      features found (missing keys are skipped)
+     */
+    private Map<String, Feature> mgetFeatures(Jedis jedis, Collection<String> uids) {
+        Map<String, Feature> featuresMap = new HashMap<>();
+        if (uids == null || uids.isEmpty()) {
+            return featuresMap;
+        }
+        String[] keys = new String[uids.size()];
+        int idx = 0;
+        for (String uid : uids) {
+            keys[idx++] = keyBuilder.getKeyFeature(uid);
+        }
+        for (String json : jedis.mget(keys)) {
+            // Unknown uid or key removed between SMEMBERS and MGET
+            if (json != null) {
+                Feature feature = FeatureJsonParser.parseFeature(json);
+                featuresMap.put(feature.getUid(), feature);
+            }
+        }
+        return featuresMap;
+    }
+
     /** {@inheritDoc} */
     public void delete(String fpId) {
         if (!exist(fpId)) {
@@ -20,6 +20,7 @@ package org.ff4j.store;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -36,6 +37,7 @@ import org.ff4j.redis.RedisKeysBuilder;
 import org.ff4j.utils.Util;
 import org.ff4j.utils.json.FeatureJsonParser;
 
+import io.lettuce.core.KeyValue;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.api.sync.RedisCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
@@ -93,11 +95,13 @@ public class FeatureStoreRedisLettuce extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Feature read(String uid) {
-        if (!exist(uid)) {
+        Util.assertParamHasLength(uid, "Feature identifier");
+        // Single GET, a missing key means the feature does not exist
+        String json = redisStringCommands.get(keyBuilder.getKeyFeature(uid));
+        if (json == null) {
             throw new FeatureNotFoundException(uid);
         }
-        String key = keyBuilder.getKeyFeature(uid);
-        return FeatureJsonParser.parseFeature(redisStringCommands.get(key));
+        return FeatureJsonParser.parseFeature(json);
     }
     
     /** {@inheritDoc} */
@@ -149,11 +153,39 @@ public class FeatureStoreRedisLettuce extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
-        Set<String> features = redisSetCommands.smembers(keyBuilder.getKeyFeatureMap());
+        return mgetFeatures(redisSetCommands.smembers(keyBuilder.getKeyFeatureMap()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertNotNull("Feature identifiers", featureUids);
+        return mgetFeatures(featureUids);
+    }
+
+    /**
+     * Fetch features with a single MGET, split per slot and sent in parallel by the cluster client.
+     *
+     * @param uids
+     *      feature identifiers
+     * @return
+     *      features found (missing keys are skipped)
+     */
+    private Map<String, Feature> mgetFeatures(Collection<String> uids) {
         Map<String, Feature> featuresMap = new HashMap<>();
-        if (features != null) {
-            for (String key : features) {
-                featuresMap.put(key, read(key));
+        if (uids == null || uids.isEmpty()) {
+            return featuresMap;
+        }
+        String[] keys = new String[uids.size()];
+        int idx = 0;
+        for (String uid : uids) {
+            keys[idx++] = keyBuilder.getKeyFeature(uid);
+        }
+        for (KeyValue<String, String> kv : redisStringCommands.mget(keys)) {
+            // Unknown uid or key removed between SMEMBERS and MGET
+            if (kv.hasValue()) {
+                Feature feature = FeatureJsonParser.parseFeature(kv.getValue());
+                featuresMap.put(feature.getUid(), feature);
             }
         }
         return featuresMap;
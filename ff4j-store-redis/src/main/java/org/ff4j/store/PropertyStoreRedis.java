@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.ff4j.exception.PropertyAlreadyExistException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.AbstractPropertyStore;
 import org.ff4j.redis.RedisConnection;
@@ -107,12 +108,16 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
      * {@inheritDoc}
      */
     public Property<?> readProperty(String name) {
-        assertPropertyExist(name);
+        Util.assertParamHasLength(name, "PropertyName identifier");
         Jedis jedis = null;
         try {
             jedis = getJedis();
-            return PropertyJsonParser.parseProperty(
-                    jedis.get(keyBuilder.getKeyProperty(name)));
+            // Single GET, a missing key means the property does not exist
+            String json = jedis.get(keyBuilder.getKeyProperty(name));
+            if (json == null) {
+                throw new PropertyNotFoundException(name);
+            }
+            return PropertyJsonParser.parseProperty(json);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -146,9 +151,20 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
         try {
             jedis = getJedis();
             Set<String> properties = jedis.smembers(keyBuilder.getKeyPropertyMap());
-            if (properties != null) {
-                for (String key : properties) {
-                    mapP.put(key, readProperty(key));
+            if (properties == null || properties.isEmpty()) {
+                return mapP;
+            }
+            // Fetch every property with a single MGET
+            String[] keys = new String[properties.size()];
+            int idx = 0;
+            for (String name : properties) {
+                keys[idx++] = keyBuilder.getKeyProperty(name);
+            }
+            for (String json : jedis.mget(keys)) {
+                // Key removed between SMEMBERS and MGET
+                if (json != null) {
+                    Property<?> property = PropertyJsonParser.parseProperty(json);
+                    mapP.put(property.getName(), property);
                 }
             }
             return mapP;
@@ -28,12 +28,14 @@ import io.lettuce.core.api.sync.RedisKeyCommands;
 import io.lettuce.core.api.sync.RedisSetCommands;
 import io.lettuce.core.api.sync.RedisStringCommands;
 import org.ff4j.exception.PropertyAlreadyExistException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.AbstractPropertyStore;
 import org.ff4j.redis.RedisKeysBuilder;
 import org.ff4j.utils.Util;
 import org.ff4j.utils.json.PropertyJsonParser;
 
+import io.lettuce.core.KeyValue;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.api.sync.RedisCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
@@ -107,9 +109,13 @@ public class PropertyStoreRedisLettuce extends AbstractPropertyStore {
      * {@inheritDoc}
      */
     public Property<?> readProperty(String name) {
-        assertPropertyExist(name);
-        String key = keyBuilder.getKeyProperty(name);
-        return PropertyJsonParser.parseProperty(redisStringCommands.get(key));
+        Util.assertParamHasLength(name, "PropertyName identifier");
+        // Single GET, a missing key means the property does not exist
+        String json = redisStringCommands.get(keyBuilder.getKeyProperty(name));
+        if (json == null) {
+            throw new PropertyNotFoundException(name);
+        }
+        return PropertyJsonParser.parseProperty(json);
     }
 
     /**
@@ -134,12 +140,23 @@ public class PropertyStoreRedisLettuce extends AbstractPropertyStore {
     public Map<String, Property<?>> readAllProperties() {
         LinkedHashMap<String, Property<?>> mapP = new LinkedHashMap<String, Property<?>>();
         Set<String> properties = listPropertyNames();
-        if (properties != null) {
-            for (String key : properties) {
-                mapP.put(key, readProperty(key));
+        if (properties == null || properties.isEmpty()) {
+            return mapP;
+        }
+        // Single MGET, split per slot and sent in parallel by the cluster client
+        String[] keys = new String[properties.size()];
+        int idx = 0;
+        for (String name : properties) {
+            keys[idx++] = keyBuilder.getKeyProperty(name);
+        }
+        for (KeyValue<String, String> kv : redisStringCommands.mget(keys)) {
+            // Key removed between SMEMBERS and MGET
+            if (kv.hasValue()) {
+                Property<?> property = PropertyJsonParser.parseProperty(kv.getValue());
+                mapP.put(property.getName(), property);
             }
-         }
-         return mapP;
+        }
+        return mapP;
     }
     
     /**
@@ -0,0 +1,128 @@
+package org.ff4j.cache.it;
+
+/*-
+ * #%L
+ * ff4j-store-redis
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.ff4j.cache.CacheInvalidationBusRedis;
+import org.ff4j.cache.CacheInvalidationMessage;
+import org.ff4j.redis.RedisConnection;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.args.ClientType;
+import redis.clients.jedis.params.ClientKillParams;
+
+/**
+ * Testing class of {@link CacheInvalidationBusRedis} (needs a REDIS server on localhost:6379).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@Ignore
+public class CacheInvalidationBusRedisTestIT {
+
+    /** Shared connection for assertions. */
+    private final RedisConnection redisConnection = new RedisConnection();
+
+    @After
+    public void closePool() {
+        redisConnection.destroyPool();
+    }
+
+    @Test
+    public void testPublishSubscribe() throws InterruptedException {
+        // Given
+        CacheInvalidationBusRedis node1 = new CacheInvalidationBusRedis(new RedisConnection());
+        CacheInvalidationBusRedis node2 = new CacheInvalidationBusRedis(new RedisConnection());
+        List<CacheInvalidationMessage> received1 = new CopyOnWriteArrayList<>();
+        List<CacheInvalidationMessage> received2 = new CopyOnWriteArrayList<>();
+        node1.subscribe(received1::add);
+        node2.subscribe(received2::add);
+        waitForSubscribers(node1.getChannel(), 2);
+        // When
+        node1.invalidateFeature("f1");
+        node1.invalidateFeature("f2");
+        node1.invalidateAllProperties();
+        for (int i = 0; i < 50 && received2.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        // Then
+        Assert.assertEquals(1, received2.size());
+        Assert.assertEquals(2, received2.get(0).getFeatures().size());
+        Assert.assertTrue(received2.get(0).isAllProperties());
+        Assert.assertTrue(received1.isEmpty());
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    public void testCloseRightAfterSubscribe() throws InterruptedException {
+        // Given
+        CacheInvalidationBusRedis node = new CacheInvalidationBusRedis(new RedisConnection());
+        // When, subscription may not be confirmed yet
+        node.subscribe(message -> {});
+        node.close();
+        // Then, subscriber does not stay connected
+        Thread.sleep(500);
+        Assert.assertEquals(0, countSubscribers(node.getChannel()));
+    }
+
+    @Test
+    public void testInvalidateAllWhenSubscribedAgain() throws InterruptedException {
+        // Given
+        CacheInvalidationBusRedis node = new CacheInvalidationBusRedis(new RedisConnection());
+        List<CacheInvalidationMessage> received = new CopyOnWriteArrayList<>();
+        node.subscribe(received::add);
+        waitForSubscribers(node.getChannel(), 1);
+        Assert.assertTrue(received.isEmpty());
+        // When, connection is lost
+        try (Jedis jedis = redisConnection.getJedis()) {
+            jedis.clientKill(ClientKillParams.clientKillParams().type(ClientType.PUBSUB));
+        }
+        for (int i = 0; i < 50 && received.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        // Then, messages may have been missed and everything is evicted
+        Assert.assertEquals(1, received.size());
+        Assert.assertTrue(received.get(0).isAllFeatures());
+        Assert.assertTrue(received.get(0).isAllProperties());
+        node.close();
+    }
+
+    private long countSubscribers(String channel) {
+        try (Jedis jedis = redisConnection.getJedis()) {
+            Long count = jedis.pubsubNumSub(channel).get(channel);
+            return (count == null) ? 0 : count;
+        }
+    }
+
+    private void waitForSubscribers(String channel, int expected) throws InterruptedException {
+        for (int i = 0; i < 50 && countSubscribers(channel) < expected; i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertEquals(expected, countSubscribers(channel));
+    }
+
+}
@@ -20,13 +20,16 @@ package org.ff4j.springjdbc.store;
  * #L%
  */
 
-import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_HOSTNAME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_NAME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_SOURCE;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -45,11 +48,14 @@ import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.springjdbc.store.dto.HitCountDto;
 import org.ff4j.springjdbc.store.rowmapper.EventRowMapper;
 import org.ff4j.springjdbc.store.rowmapper.HitCountRowMapper;
+import org.ff4j.store.JdbcEventMapper;
 import org.ff4j.store.JdbcQueryBuilder;
 import org.ff4j.utils.JdbcUtils;
 import org.ff4j.utils.MappingUtil;
 import org.ff4j.utils.Util;
+import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 /**
  * Implementation of {@link EventRepository} to leverage on Spring Security.
@@ -67,6 +73,9 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
     /** Query builder. */
     private JdbcQueryBuilder queryBuilder;
     
+    /** Compute time series with GROUP BY in the database, disabled when the dialect does not support it. */
+    private boolean nativeHistogram = true;
+    
     /** Mapping fro mresult to bean. */
     private EventRowMapper EVENT_ROWMAPPER = new EventRowMapper();
             
@@ -97,12 +106,33 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
     public boolean saveEvent(Event evt) {
         Util.assertEvent(evt);
         return getJdbcTemplate().update(getQueryBuilder().sqlSaveAudit(),
-                evt.getUuid(), new java.sql.Timestamp(evt.getTimestamp()), evt.getType(),
+                evt.getUuid(), new java.sql.Timestamp(evt.getTimestamp()), JdbcEventMapper.getTypeColumnValue(evt),
                 evt.getName(), evt.getAction(),  evt.getHostName(), evt.getSource(),
                 evt.getDuration(),  evt.getUser(), evt.getValue(), 
                 MappingUtil.fromMap(evt.getCustomKeys())) > 0;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        List<Object[]> batchArgs = new ArrayList<Object[]>(events.size());
+        for (Event evt : events) {
+            Util.assertEvent(evt);
+            batchArgs.add(new Object[] {
+                evt.getUuid(), new java.sql.Timestamp(evt.getTimestamp()), JdbcEventMapper.getTypeColumnValue(evt),
+                evt.getName(), evt.getAction(),  evt.getHostName(), evt.getSource(),
+                evt.getDuration(),  evt.getUser(), evt.getValue(), 
+                MappingUtil.fromMap(evt.getCustomKeys())});
+        }
+        if (!batchArgs.isEmpty()) {
+            getJdbcTemplate().batchUpdate(getQueryBuilder().sqlSaveAudit(), batchArgs);
+        }
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -156,7 +186,17 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
         Map<String, MutableHitCount> mapofHitCount = new HashMap<String, MutableHitCount>();
         for (HitCountDto dto : rawResult) {
             mapofHitCount.put(dto.getColumnName(), dto.getHitcount());
-        }    
+        }
+        // Aggregated events count for their number of hits
+        EventQueryDefinition qDef = new EventQueryDefinition(query.getFrom(), query.getTo());
+        for (Event evt : searchEvents(getQueryBuilder().getSelectHitCountEventsQuery(qDef), query.getFrom(), query.getTo())) {
+            String key = JdbcEventMapper.getColumnValue(evt, colName);
+            if (mapofHitCount.containsKey(key)) {
+                mapofHitCount.get(key).inc(evt);
+            } else {
+                mapofHitCount.put(key, new MutableHitCount(MutableHitCount.hitsOf(evt)));
+            }
+        }
         return mapofHitCount;
     }
 
@@ -165,6 +205,16 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        if (nativeHistogram) {
+            try {
+                computeHistogram(tsc, query);
+                return tsc;
+            } catch (BadSqlGrammarException bsge) {
+                // Dialect without the date function, bucket client side from now on
+                nativeHistogram = false;
+                tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+            }
+        }
         // Search All events
         Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
         // Dispatch events into time slots
@@ -174,6 +224,31 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
         return tsc;
     }
     
+    /**
+     * Fill the chart with counts grouped by feature and time bucket in the database, only events
+     * carrying their own hit count (metrics mode) are read one by one.
+     *
+     * @param tsc
+     *      target chart
+     * @param query
+     *      query definition
+     */
+    private void computeHistogram(final TimeSeriesChart tsc, EventQueryDefinition query) {
+        final long bucketSeconds = tsc.getBucketSeconds();
+        final long origin        = getQueryBuilder().getHistogramOrigin(query.getFrom(), bucketSeconds);
+        getJdbcTemplate().query(getQueryBuilder().getFeatureUsageHistogramQuery(query, bucketSeconds),
+                new RowCallbackHandler() {
+                    public void processRow(ResultSet rs) throws SQLException {
+                        tsc.addHits(rs.getString(COL_EVENT_NAME), origin + rs.getLong("SLOT") * bucketSeconds * 1000, rs.getInt("NB"));
+                    }
+                },
+                new Timestamp(query.getFrom()), 
+                new Timestamp(query.getTo()));
+        for (Event evt : searchEvents(getQueryBuilder().getSelectHitCountEventsQuery(query), query.getFrom(), query.getTo())) {
+            tsc.addEvent(evt);
+        }
+    }
+    
     /** {@inheritDoc} */
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition qDef) {
@@ -211,15 +286,32 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
     @Override
     public void purgeFeatureUsage(EventQueryDefinition query) {
         Util.assertNotNull(query);
-        // Enforce removing events for feature usage 
-        query.getActionFilters().add(ACTION_CHECK_OK);
-        
+        // Checks are removed when there is no dedicated action filter (query builder)
         getJdbcTemplate().update(
                 getQueryBuilder().getPurgeFeatureUsageQuery(query),
                 new java.sql.Timestamp(query.getFrom()),
                 new java.sql.Timestamp(query.getTo()));
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsRangePurge() {
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void purgeEvents(Collection<Event> events) {
+        Util.assertNotNull(events);
+        List<Object[]> batchArgs = new ArrayList<Object[]>(events.size());
+        for (Event evt : events) {
+            batchArgs.add(new Object[] {evt.getUuid(), new java.sql.Timestamp(evt.getTimestamp())});
+        }
+        if (!batchArgs.isEmpty()) {
+            getJdbcTemplate().batchUpdate(getQueryBuilder().getPurgeEventQuery(), batchArgs);
+        }
+    }
+    
     /**
      * @param dataSource
      *            the dataSource to set
@@ -260,4 +352,23 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
         this.queryBuilder = queryBuilder;
     }
 
+    /**
+     * Getter accessor for attribute 'nativeHistogram'.
+     *
+     * @return
+     *       current value of 'nativeHistogram'
+     */
+    public boolean isNativeHistogram() {
+        return nativeHistogram;
+    }
+
+    /**
+     * Setter accessor for attribute 'nativeHistogram'.
+     * @param nativeHistogram
+     * 		new value for 'nativeHistogram '
+     */
+    public void setNativeHistogram(boolean nativeHistogram) {
+        this.nativeHistogram = nativeHistogram;
+    }
+
 }
@@ -21,11 +21,15 @@ package org.ff4j.drools;
  */
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
@@ -69,6 +73,21 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
     
     /** key to be used in map initParam. */
     private static final String KEY_RULES_FILES = "ruleFiles";
+
+    /** key to be used in map initParam (POOLED or STATELESS). */
+    private static final String KEY_SESSION_MODE = "sessionMode";
+
+    /** key to be used in map initParam. */
+    private static final String KEY_POOL_SIZE = "poolSize";
+
+    /** key to be used in map initParam, time to live of cached results in milliseconds. */
+    private static final String KEY_CACHE_TTL = "cacheTtl";
+
+    /** key to be used in map initParam, context attributes the rules depend on. */
+    private static final String KEY_CACHE_KEYS = "cacheKeys";
+
+    /** Maximum number of cached results for a feature. */
+    public static final int MAX_CACHED_RESULTS = 1000;
     
     /** (If initialized with the kmodule.xml file) State as the kSession name. */
     private String basename;
@@ -76,6 +95,15 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
     /** (If initialized with drl rule files), State as the kSession name. */
     private Set<String> ruleFiles = new HashSet<>();
 
+    /** Time to live of cached results in milliseconds, 0 disables the cache. */
+    private long cacheTtl = 0;
+
+    /** Context attributes used, with feature name, as key of cached results. */
+    private List<String> cacheKeys = new ArrayList<>();
+
+    /** Cached results for rules that are pure functions of the context. */
+    private transient Map<List<Object>, CachedResult> resultCache;
+
     /**
      * Keep default constructor to allow dependency injection.
      */
@@ -91,11 +119,24 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
      *           Ksession name locate in META-INF/kmodule.xml (convention)
      */
     public FF4jDroolsFlippingStrategy(String baseName) {
+       this(baseName, FF4jDroolsSessionMode.POOLED);
+    }
+
+    /**
+     * Constructor to work with kSession names and explicit session mode.
+     *
+     * @param baseName
+     *           Ksession name locate in META-INF/kmodule.xml (convention)
+     * @param mode
+     *           how sessions are used by concurrent evaluations
+     */
+    public FF4jDroolsFlippingStrategy(String baseName, FF4jDroolsSessionMode mode) {
        this.basename = baseName;
        initParams.put(KEY_BASE_NAME, basename);
+       initParams.put(KEY_SESSION_MODE, mode.name());
        // Do not initialize for each feature, it's a static contexte to be initialized once
        if (!FF4jDroolsService.isInitialized()) {
-           FF4jDroolsService.initFromBaseName(basename);
+           FF4jDroolsService.initFromBaseName(basename, mode, FF4jDroolsService.DEFAULT_POOL_SIZE);
        }
     }
     
@@ -106,11 +147,45 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
      *          rules files can be DRL, RDRL...
      */
     public FF4jDroolsFlippingStrategy(Set<String> files) {
+        this(files, FF4jDroolsSessionMode.POOLED);
+    }
+
+    /**
+     * Constructor to work with drl rule files and explicit session mode.
+     *
+     * @param files
+     *          rules files can be DRL, RDRL...
+     * @param mode
+     *          how sessions are used by concurrent evaluations
+     */
+    public FF4jDroolsFlippingStrategy(Set<String> files, FF4jDroolsSessionMode mode) {
         this.ruleFiles = files;
         initParams.put(KEY_RULES_FILES, getRulesFileAsString());
+        initParams.put(KEY_SESSION_MODE, mode.name());
         if (!FF4jDroolsService.isInitialized()) {
-            FF4jDroolsService.initFromRulesFiles(files);
+            FF4jDroolsService.initFromRulesFiles(files, mode, FF4jDroolsService.DEFAULT_POOL_SIZE);
+        }
+    }
+
+    /**
+     * Cache results for a short time, only for rules that are pure functions of the
+     * execution context attributes listed (and of the feature name).
+     *
+     * @param ttlMillis
+     *          time to live of a cached result in milliseconds, 0 disables the cache
+     * @param contextKeys
+     *          context attributes read by the rules
+     * @return
+     *          current strategy
+     */
+    public FF4jDroolsFlippingStrategy withResultCache(long ttlMillis, String... contextKeys) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("Cache TTL cannot be negative");
         }
+        this.cacheTtl  = ttlMillis;
+        this.cacheKeys = new ArrayList<>(Arrays.asList(contextKeys));
+        this.resultCache = null;
+        return this;
     }
 
     /**
@@ -123,6 +198,10 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
     public Map<String, String> getInitParams() {
         initParams.put(KEY_BASE_NAME, basename);
         initParams.put(KEY_RULES_FILES, getRulesFileAsString());
+        if (cacheTtl > 0) {
+            initParams.put(KEY_CACHE_TTL, String.valueOf(cacheTtl));
+            initParams.put(KEY_CACHE_KEYS, String.join(",", cacheKeys));
+        }
         return initParams;
     }
     
@@ -153,16 +232,31 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
     public void init(String featureName, Map<String, String> initParam) {
         super.init(featureName, initParam);
         
+        if (initParams.containsKey(KEY_CACHE_TTL)) {
+            String keys = initParams.get(KEY_CACHE_KEYS);
+            withResultCache(Long.parseLong(initParams.get(KEY_CACHE_TTL)), 
+                    (keys == null || keys.isEmpty()) ? new String[0] : keys.split(","));
+        }
+        
         if (!FF4jDroolsService.isInitialized()) {
             
+            FF4jDroolsSessionMode mode = FF4jDroolsSessionMode.POOLED;
+            if (initParams.containsKey(KEY_SESSION_MODE)) {
+                mode = FF4jDroolsSessionMode.valueOf(initParams.get(KEY_SESSION_MODE).toUpperCase());
+            }
+            int poolSize = FF4jDroolsService.DEFAULT_POOL_SIZE;
+            if (initParams.containsKey(KEY_POOL_SIZE)) {
+                poolSize = Integer.parseInt(initParams.get(KEY_POOL_SIZE));
+            }
+            
             if (initParams.containsKey(KEY_BASE_NAME)) {
                 this.basename = initParams.get(KEY_BASE_NAME);
-                FF4jDroolsService.initFromBaseName(basename);
+                FF4jDroolsService.initFromBaseName(basename, mode, poolSize);
             
             } else if (initParams.containsKey(KEY_RULES_FILES)) {
                 String exp = initParams.get(KEY_RULES_FILES);
                 this.ruleFiles = new HashSet <> (Arrays.asList(exp.split(",")));
-                FF4jDroolsService.initFromRulesFiles(ruleFiles);
+                FF4jDroolsService.initFromRulesFiles(ruleFiles, mode, poolSize);
             
             } else {
                 throw new IllegalArgumentException("Init param '" + KEY_BASE_NAME + "' is required to fetch Drools settings");
@@ -180,7 +274,95 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
      */
     @Override
     public boolean evaluate(String uid, FeatureStore store, FlippingExecutionContext ctx) {
-        return FF4jDroolsService.getInstance().evaluate(new FF4jDroolsRequest(uid, store, ctx));
+        if (cacheTtl <= 0) {
+            return FF4jDroolsService.getInstance().evaluate(new FF4jDroolsRequest(uid, store, ctx));
+        }
+        List<Object> key = getCacheKey(uid, ctx);
+        long now = System.currentTimeMillis();
+        CachedResult cached = getResultCache().get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.toggled;
+        }
+        boolean toggled = FF4jDroolsService.getInstance().evaluate(new FF4jDroolsRequest(uid, store, ctx));
+        putResult(key, new CachedResult(toggled, now + cacheTtl), now);
+        return toggled;
+    }
+
+    /**
+     * Feature name and values of the relevant context attributes.
+     *
+     * @param uid
+     *      feature unique identifier
+     * @param ctx
+     *      current context
+     * @return
+     *      key for the result cache
+     */
+    private List<Object> getCacheKey(String uid, FlippingExecutionContext ctx) {
+        List<Object> key = new ArrayList<>(cacheKeys.size() + 1);
+        key.add(uid);
+        for (String cacheKey : cacheKeys) {
+            key.add(ctx == null ? null : ctx.getValue(cacheKey, false));
+        }
+        return key;
+    }
+
+    /**
+     * Add result in cache, expired entries are removed first when the cache is full.
+     *
+     * @param key
+     *      cache key
+     * @param result
+     *      evaluation result
+     * @param now
+     *      current time in milliseconds
+     */
+    private void putResult(List<Object> key, CachedResult result, long now) {
+        Map<List<Object>, CachedResult> cache = getResultCache();
+        if (cache.size() >= MAX_CACHED_RESULTS) {
+            cache.values().removeIf(cached -> cached.expiresAt <= now);
+            if (cache.size() >= MAX_CACHED_RESULTS) {
+                // Bounded : evict any entry, it will be evaluated again if needed
+                Iterator<List<Object>> keys = cache.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+        }
+        cache.put(key, result);
+    }
+
+    /**
+     * Lazy creation of the cache (field is transient).
+     *
+     * @return
+     *      result cache
+     */
+    private Map<List<Object>, CachedResult> getResultCache() {
+        Map<List<Object>, CachedResult> cache = resultCache;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            resultCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * Evaluation result and its expiry date.
+     */
+    private static final class CachedResult {
+
+        /** result of the rules. */
+        private final boolean toggled;
+
+        /** expiry time in milliseconds. */
+        private final long expiresAt;
+
+        private CachedResult(boolean toggled, long expiresAt) {
+            this.toggled   = toggled;
+            this.expiresAt = expiresAt;
+        }
     }
 
     /**
@@ -221,4 +403,24 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
         this.ruleFiles = ruleFiles;
     }
 
+    /**
+     * Getter accessor for attribute 'cacheTtl'.
+     *
+     * @return
+     *       current value of 'cacheTtl'
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Getter accessor for attribute 'cacheKeys'.
+     *
+     * @return
+     *       current value of 'cacheKeys'
+     */
+    public List<String> getCacheKeys() {
+        return cacheKeys;
+    }
+
 }
@@ -26,14 +26,19 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
 import org.drools.core.ClockType;
 import org.drools.kiesession.rulebase.KnowledgeBaseFactory;
+import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.conf.EventProcessingOption;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.StatelessKieSession;
 import org.kie.api.runtime.conf.ClockTypeOption;
 import org.kie.api.runtime.rule.FactHandle;
 import org.kie.internal.utils.KieHelper;
@@ -41,9 +46,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Singleton pattern to instanciate drool Session once and be reused for each feature.
+ * Singleton pattern to compile drools rules once and be reused for each feature.
  * 
- * <p>It can be initialized in 2 ways, from kbase name or a list of drl files.
+ * <p>It can be initialized in 2 ways, from kbase name or a list of drl files. A stateful
+ * session is not thread safe, evaluations either borrow a session from a pool or use a
+ * stateless session (see {@link FF4jDroolsSessionMode}).
  *
  * @author Cedrick Lunven (@clunven)</a>
  */
@@ -55,17 +62,35 @@ public final class FF4jDroolsService implements Serializable {
     /** logger provide by drools. */
     private static final Logger LOGGER = LoggerFactory.getLogger(FF4jDroolsFlippingStrategy.class);
 
+    /** Global made available to rules. */
+    private static final String GLOBAL_STORE = "store";
+
+    /** Default number of pooled sessions. */
+    public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
     /** Protected instance. */
     private static FF4jDroolsService _instance;
     
     /** Drools services first level. */
-    private KieServices kieServices;
+    private transient KieServices kieServices;
 
     /** Container for sessions. */
-    private KieContainer kieContainer;
+    private transient KieContainer kieContainer;
+
+    /** Compiled rules, shared by all sessions. */
+    private transient KieBase kieBase;
+
+    /** Session configuration when initialized from rule files. */
+    private transient KieSessionConfiguration sessionConfig;
 
-    /** Working Session. */
-    private KieSession ksession;
+    /** Idle stateful sessions (POOLED mode). */
+    private transient BlockingQueue<KieSession> sessionPool;
+
+    /** Evaluation mode. */
+    private FF4jDroolsSessionMode sessionMode = FF4jDroolsSessionMode.POOLED;
+
+    /** Number of stateful sessions in POOLED mode. */
+    private int poolSize = DEFAULT_POOL_SIZE;
 
     /**  base name coming from strategy. */
     private String basename;
@@ -86,7 +111,7 @@ public final class FF4jDroolsService implements Serializable {
      *      singleton already created.
      */
     public static synchronized boolean isInitialized() {
-        return _instance != null && _instance.ksession != null;
+        return _instance != null && _instance.kieBase != null;
     }
     
     /**
@@ -114,18 +139,34 @@ public final class FF4jDroolsService implements Serializable {
      * </kmodule>
      */
     public static synchronized void initFromBaseName(String baseName) {
+        initFromBaseName(baseName, FF4jDroolsSessionMode.POOLED, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Initialisation from kmodule.xml with explicit session mode.
+     *
+     * @param baseName
+     *      ksession name in kmodule.xml
+     * @param mode
+     *      how sessions are used by concurrent evaluations
+     * @param poolSize
+     *      number of stateful sessions (POOLED mode only)
+     */
+    public static synchronized void initFromBaseName(String baseName, FF4jDroolsSessionMode mode, int poolSize) {
         if (isInitialized()) {
             throw new IllegalStateException("This Factory has already be initialized once");
         }
-        _instance               = new FF4jDroolsService();
-        _instance.basename      = baseName; 
-        _instance.kieServices   = KieServices.Factory.get();
-        _instance.kieContainer  = _instance.kieServices.newKieClasspathContainer();
-        _instance.ksession      = _instance.kieContainer.newKieSession(baseName);
-        
-        if (_instance.ksession == null) {
+        FF4jDroolsService service = new FF4jDroolsService();
+        service.basename      = baseName; 
+        service.kieServices   = KieServices.Factory.get();
+        service.kieContainer  = service.kieServices.newKieClasspathContainer();
+        KieSession ksession   = service.kieContainer.newKieSession(baseName);
+        if (ksession == null) {
             throw new IllegalArgumentException("Cannot find kName " + baseName + " , check kmodule.xml file.");
         }
+        service.kieBase = ksession.getKieBase();
+        service.initSessions(ksession, mode, poolSize);
+        _instance = service;
     }
     
     /**
@@ -135,48 +176,154 @@ public final class FF4jDroolsService implements Serializable {
      *      DRL files
      */
     public static synchronized void initFromRulesFiles(Set < String > ruleFiles) {
+        initFromRulesFiles(ruleFiles, FF4jDroolsSessionMode.POOLED, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Initialisation from rule files with explicit session mode.
+     *
+     * @param ruleFiles
+     *      DRL files
+     * @param mode
+     *      how sessions are used by concurrent evaluations
+     * @param poolSize
+     *      number of stateful sessions (POOLED mode only)
+     */
+    public static synchronized void initFromRulesFiles(Set < String > ruleFiles, FF4jDroolsSessionMode mode, int poolSize) {
         if (isInitialized()) {
             throw new IllegalStateException("This Factory has already be initialized once");
         }
-        _instance               = new FF4jDroolsService();
-        _instance.ruleFiles     = ruleFiles; 
+        FF4jDroolsService service = new FF4jDroolsService();
+        service.ruleFiles     = ruleFiles; 
         
         KieHelper helper = new KieHelper();
-        KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeBase()
-            .getSessionConfiguration();
-        sessionConfig.setOption(ClockTypeOption.get(ClockType.PSEUDO_CLOCK.getId()));
-        //ruleFiles.stream().forEach(drlFile -> helper.addContent(loadResourceAsString(drlFile), ResourceType.determineResourceType(drlFile)));
+        service.sessionConfig = KnowledgeBaseFactory.newKnowledgeBase().getSessionConfiguration();
+        service.sessionConfig.setOption(ClockTypeOption.get(ClockType.PSEUDO_CLOCK.getId()));
         for (String drlFile : ruleFiles) {
             String fileContent    = loadResourceAsString(drlFile);            
             ResourceType typeFile = ResourceType.determineResourceType(drlFile);
             helper.addContent(fileContent, typeFile);
         }
-        _instance.ksession = helper.build(EventProcessingOption.STREAM).newKieSession(sessionConfig, null);
+        service.kieBase = helper.build(EventProcessingOption.STREAM);
+        service.initSessions(null, mode, poolSize);
+        _instance = service;
     }
-    
-    /** {@inheritDoc} */
-    public boolean evaluate(FF4jDroolsRequest request) {
-        /*
-         * To retrieve result for rules execution there are 2 ways: - Modifed an existing fact - Retrieve FacHandler from session
-         * : session.getFactHandles(filter)
-         * 
-         * FF4J expects the fact {@link FF4JDroolsRequest} to be modified by the target rules. By default the status is 'false'.
-         */
-        _instance.ksession.setGlobal("store", request.getFeatureStore());
-
-        // FactHandle drHandler = ksession.insert(droolsRequest);
-        FactHandle requestHandle = _instance.ksession.insert(request);
-
-        // Execute the rules
-        ksession.fireAllRules();
 
-        // clean session, note that retract() is deprecated
-        _instance.ksession.delete(requestHandle);
-        //_instance.ksession.dispose();
+    /**
+     * Create the pool of stateful sessions if needed.
+     *
+     * @param first
+     *      session already created during initialization (can be null)
+     * @param mode
+     *      evaluation mode
+     * @param size
+     *      pool size
+     */
+    private void initSessions(KieSession first, FF4jDroolsSessionMode mode, int size) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Session mode is required");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be greater than 0");
+        }
+        this.sessionMode = mode;
+        this.poolSize    = size;
+        if (FF4jDroolsSessionMode.POOLED == mode) {
+            sessionPool = new ArrayBlockingQueue<>(size);
+            if (first != null) {
+                sessionPool.add(first);
+            }
+            while (sessionPool.size() < size) {
+                sessionPool.add(newKieSession());
+            }
+        } else if (first != null) {
+            first.dispose();
+        }
+    }
 
-        LOGGER.debug("Evaluating feature " + request.getFeatureName() + " to " + request.isToggled());        
+    /**
+     * Create a stateful session with the same settings as initialization.
+     *
+     * @return
+     *      new session
+     */
+    private KieSession newKieSession() {
+        if (basename != null) {
+            return kieContainer.newKieSession(basename);
+        }
+        return kieBase.newKieSession(sessionConfig, null);
+    }
+    
+    /**
+     * Evaluate the request, the fact {@link FF4jDroolsRequest} is expected to be modified by the rules.
+     * Safe to be called from several threads.
+     *
+     * @param request
+     *      current request
+     * @return
+     *      if the feature is toggled
+     */
+    public boolean evaluate(FF4jDroolsRequest request) {
+        if (FF4jDroolsSessionMode.STATELESS == sessionMode) {
+            StatelessKieSession session = (sessionConfig == null) ? 
+                    kieBase.newStatelessKieSession() : 
+                    kieBase.newStatelessKieSession(sessionConfig);
+            session.setGlobal(GLOBAL_STORE, request.getFeatureStore());
+            session.execute(request);
+        } else {
+            KieSession session = borrowSession();
+            FactHandle requestHandle = null;
+            try {
+                session.setGlobal(GLOBAL_STORE, request.getFeatureStore());
+                requestHandle = session.insert(request);
+                session.fireAllRules();
+            } finally {
+                releaseSession(session, requestHandle);
+            }
+        }
+        LOGGER.debug("Evaluating feature {} to {}", request.getFeatureName(), request.isToggled());
         return request.isToggled();
     }
+
+    /**
+     * Clean session before giving it back, a session which cannot be cleaned is replaced.
+     * The pool always gets a session back, otherwise callers would wait forever.
+     *
+     * @param session
+     *      borrowed session
+     * @param requestHandle
+     *      fact inserted for the request (can be null)
+     */
+    private void releaseSession(KieSession session, FactHandle requestHandle) {
+        KieSession idle = session;
+        try {
+            // note that retract() is deprecated
+            if (requestHandle != null) {
+                session.delete(requestHandle);
+            }
+        } catch (RuntimeException re) {
+            LOGGER.warn("Cannot clean drools session, a new one is created", re);
+            idle = newKieSession();
+            session.dispose();
+        } finally {
+            sessionPool.offer(idle);
+        }
+    }
+    
+    /**
+     * Wait for an idle session.
+     *
+     * @return
+     *      session borrowed from the pool
+     */
+    private KieSession borrowSession() {
+        try {
+            return sessionPool.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a drools session", ie);
+        }
+    }
     
     /**
      * Load classpath resource as String (here DRL)
@@ -241,4 +388,24 @@ public final class FF4jDroolsService implements Serializable {
         return ruleFiles;
     }
 
+    /**
+     * Getter accessor for attribute 'sessionMode'.
+     *
+     * @return
+     *       current value of 'sessionMode'
+     */
+    public FF4jDroolsSessionMode getSessionMode() {
+        return sessionMode;
+    }
+
+    /**
+     * Getter accessor for attribute 'poolSize'.
+     *
+     * @return
+     *       current value of 'poolSize'
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
 }
@@ -0,0 +1,40 @@
+package org.ff4j.drools;
+
+/*-
+ * #%L
+ * ff4j-strategy-drools
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * How {@link FF4jDroolsService} runs rules when several threads evaluate features at the same time.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public enum FF4jDroolsSessionMode {
+
+    /**
+     * Pool of stateful sessions sized to the number of cores, each evaluation borrows
+     * a session for the time of insert/fire/delete and gives it back.
+     */
+    POOLED,
+
+    /**
+     * New stateless session for each evaluation, nothing is shared between threads.
+     */
+    STATELESS;
+}
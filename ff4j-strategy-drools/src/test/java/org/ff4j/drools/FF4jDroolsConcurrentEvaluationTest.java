@@ -0,0 +1,98 @@
+package org.ff4j.drools;
+
+/*-
+ * #%L
+ * ff4j-strategy-drools
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.utils.Util;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Evaluation of drools strategy from several threads and result cache.
+ *
+ * @author Cedrick Lunven (@clunven)</a>
+ */
+public class FF4jDroolsConcurrentEvaluationTest {
+    
+    /** Rules. */
+    private static final Set<String> DRL_FILES = Util.set("ff4jDroolsSample.drl");
+    
+    @BeforeClass
+    public static void initDroolsService() {
+        FF4jDroolsService.initFromRulesFiles(DRL_FILES, FF4jDroolsSessionMode.POOLED, 4);
+    }
+    
+    @Test
+    public void testConcurrentEvaluationWithPooledSessions() throws Exception {
+        // Given
+        FF4j ff4j = new FF4j();
+        Feature f1 = new Feature("f1", true);
+        f1.setFlippingStrategy(new FF4jDroolsFlippingStrategy(DRL_FILES, FF4jDroolsSessionMode.POOLED));
+        ff4j.createFeature(f1);
+        Assert.assertEquals(FF4jDroolsSessionMode.POOLED, FF4jDroolsService.getInstance().getSessionMode());
+        Assert.assertEquals(4, FF4jDroolsService.getInstance().getPoolSize());
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit((Callable<Boolean>) () -> ff4j.check("f1")));
+            }
+            // Then
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testResultCache() {
+        // Given
+        FF4jDroolsFlippingStrategy strategy = new FF4jDroolsFlippingStrategy(DRL_FILES)
+                .withResultCache(60000, "user");
+        FlippingExecutionContext ctx = new FlippingExecutionContext();
+        ctx.putString("user", "john");
+        Assert.assertTrue(strategy.evaluate("f1", new FF4j().getFeatureStore(), ctx));
+        // When : rules read the 'store' global, a null store would fail if rules were fired again
+        Assert.assertTrue(strategy.evaluate("f1", null, ctx));
+        // Then
+        Assert.assertEquals("60000", strategy.getInitParams().get("cacheTtl"));
+        Assert.assertEquals("user", strategy.getInitParams().get("cacheKeys"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testResultCacheNegativeTtl() {
+        new FF4jDroolsFlippingStrategy(DRL_FILES).withResultCache(-1);
+    }
+}
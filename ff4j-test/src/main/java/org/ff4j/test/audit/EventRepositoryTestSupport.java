@@ -29,6 +29,7 @@ import static org.ff4j.audit.EventConstants.SOURCE_WEBAPI;
 import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -170,6 +171,25 @@ public abstract class EventRepositoryTestSupport {
 	}
 
 	/** TDD. */
+	@Test
+	public void testSaveEventsBulk() throws InterruptedException {
+		long start = System.currentTimeMillis();
+		// Given
+		List<Event> events = new ArrayList<Event>();
+		for (int i = 0; i < 10; i++) {
+			events.add(generateFeatureUsageEvent("f" + (i % 2)));
+		}
+		events.add(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE));
+		// When
+		Assert.assertTrue(repo.saveEvents(events));
+		// Wait for the events to be effectively store
+		Thread.sleep(100);
+		// Then
+		EventQueryDefinition eqd = new EventQueryDefinition(start - 20, System.currentTimeMillis());
+		Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(eqd));
+		Assert.assertEquals(1, repo.getAuditTrail(eqd).size());
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testSaveEventNull() {
 		Assert.assertFalse(repo.saveEvent(null));
@@ -236,6 +256,32 @@ public abstract class EventRepositoryTestSupport {
 		Assert.assertEquals(8, mapOfHit.get("f1").get());
 	}
 
+	/** TDD. */
+	@Test
+	public void testAggregatedEventsHitCount() throws InterruptedException {
+		long start = System.currentTimeMillis();
+		// Given 3 regular checks and aggregated rows (metrics mode)
+		for (int i = 0; i < 3; i++) {
+			repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK));
+		}
+		Event f1 = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK);
+		f1.put(EventConstants.ATTRIBUTE_HITCOUNT, "10");
+		repo.saveEvent(f1);
+		Event f2 = new Event(SOURCE_WEB, TARGET_FEATURE, "f2", ACTION_CHECK_OK);
+		f2.put(EventConstants.ATTRIBUTE_HITCOUNT, "4");
+		repo.saveEvent(f2);
+		Thread.sleep(100);
+		// When
+		EventQueryDefinition testQuery = new EventQueryDefinition(start - 10, System.currentTimeMillis());
+		Map<String, MutableHitCount> features = repo.getFeatureUsageHitCount(testQuery);
+		Map<String, MutableHitCount> sources  = repo.getSourceHitCount(new EventQueryDefinition(start - 10, System.currentTimeMillis()));
+		// Then
+		Assert.assertEquals(13, features.get("f1").get());
+		Assert.assertEquals(4, features.get("f2").get());
+		Assert.assertEquals(13, sources.get(SOURCE_JAVA).get());
+		Assert.assertEquals(4, sources.get(SOURCE_WEB).get());
+	}
+
 	@Test
 	public void testSearchFeatureUsageEvents() throws InterruptedException {
 		long start = System.currentTimeMillis();
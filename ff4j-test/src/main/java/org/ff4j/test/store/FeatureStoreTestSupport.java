@@ -170,6 +170,37 @@ public abstract class FeatureStoreTestSupport {
 		assertFf4j.assertThatFeatureIsInGroup(F4, G1);
 	}
 
+	/**
+	 * TDD.
+	 */
+	@Test
+	public void testReadMany() {
+		// Given
+		assertFf4j.assertThatFeatureExist(F1);
+		assertFf4j.assertThatFeatureExist(F4);
+		assertFf4j.assertThatFeatureDoesNotExist("invalid");
+		// When
+		Map<String, Feature> features = testedStore.readMany(Arrays.asList(F1, F4, "invalid"));
+		// Then
+		Assert.assertEquals(2, features.size());
+		Assert.assertEquals(F1, features.get(F1).getUid());
+		Assert.assertTrue(features.get(F4).getPermissions().contains(ROLE_ADMIN));
+		Assert.assertEquals(G1, features.get(F4).getGroup());
+		Assert.assertFalse(features.containsKey("invalid"));
+		Assert.assertTrue(testedStore.readMany(new ArrayList<String>()).isEmpty());
+	}
+
+	/**
+	 * TDD.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadManyNull() {
+		// Given
+		// When
+		testedStore.readMany(null);
+		// Then, expected error...
+	}
+
 	/**
 	 * TDD.
 	 */
@@ -37,6 +37,7 @@ import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import org.ff4j.utils.Util;
 import org.ff4j.web.api.FF4jJacksonMapper;
 import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.grizzly.connector.GrizzlyConnectorProvider;
 
 
 /**
@@ -61,6 +62,18 @@ public class ClientHttpUtils {
         clientConfig.register(FF4jJacksonMapper.class);
         return ClientBuilder.newClient(clientConfig);
     }
+
+    /**
+     * Initializing jerseyClient with a pooled, keep-alive connector (Grizzly async client)
+     * so that successive calls reuse the same connections.
+     */
+    public static Client buildPooledJerseyClient() {
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.register(JacksonJsonProvider.class);
+        clientConfig.register(FF4jJacksonMapper.class);
+        clientConfig.connectorProvider(new GrizzlyConnectorProvider());
+        return ClientBuilder.newClient(clientConfig);
+    }
     
     /**
      * Put authentication header if relevant.
@@ -34,15 +34,19 @@ import static org.ff4j.web.FF4jWebConstants.RESOURCE_STORE;
 import static org.ff4j.web.FF4jWebConstants.STORE_CLEAR;
 import static org.ff4j.web.FF4jWebConstants.STORE_CREATESCHEMA;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -61,6 +65,12 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of store using {@link HttpClient} connection.
+ *
+ * <p>Reads (<code>read</code>, <code>exist</code>, <code>readAll</code> and groups) are served from a local
+ * snapshot of the remote features. The snapshot is refreshed every <code>snapshotTtl</code> milliseconds
+ * with a conditional GET (<code>If-None-Match</code>), the server answering <code>304</code> when nothing
+ * changed. Writes go to the server and drop the snapshot so that the next read sees them.
+ * Set <code>snapshotTtl</code> to 0 to issue one HTTP call per read.</p>
  * 
  * @author <a href="mailto:cedrick.lunven@gmail.com">Cedrick LUNVEN</a>
  */
@@ -90,6 +100,18 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     /** Target jersey resource. */
     private WebTarget groupsWebRsc = null;
 
+    /** Default time to live of the local snapshot in milliseconds. */
+    public static final long DEFAULT_SNAPSHOT_TTL = 5000;
+
+    /** Time to live of the local snapshot in milliseconds, 0 to disable. */
+    private long snapshotTtl = DEFAULT_SNAPSHOT_TTL;
+
+    /** Local copy of remote features, null when not loaded or invalidated. */
+    private volatile FeaturesSnapshot snapshot = null;
+
+    /** Incremented on each write, a refresh started before a write is not published. */
+    private final AtomicLong snapshotVersion = new AtomicLong();
+
     /**
      * Default construtor
      */
@@ -135,7 +157,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
      */
     public Client getJerseyClient() {
         if (this.jerseyClient == null) {
-            this.jerseyClient = ClientHttpUtils.buildJerseyClient();
+            this.jerseyClient = ClientHttpUtils.buildPooledJerseyClient();
         }
         return jerseyClient;
     }
@@ -166,13 +188,112 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         return groupsWebRsc;
     }
 
+    /**
+     * Immutable copy of the remote features with the entity tag returned by the server.
+     * Features are shared between callers and must be copied before being returned.
+     */
+    private static final class FeaturesSnapshot {
+
+        /** Features by uid. */
+        private final Map<String, Feature> features;
+
+        /** Value of ETag header, may be null. */
+        private final String eTag;
+
+        /** When the snapshot must be revalidated. */
+        private final long expirationTime;
+
+        private FeaturesSnapshot(Map<String, Feature> features, String eTag, long expirationTime) {
+            this.features       = features;
+            this.eTag           = eTag;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+    /**
+     * Access the local snapshot, revalidating it against the server when expired.
+     *
+     * @return
+     *      current snapshot or null if disabled
+     */
+    private FeaturesSnapshot getSnapshot() {
+        if (snapshotTtl <= 0) {
+            return null;
+        }
+        FeaturesSnapshot current = snapshot;
+        if (current != null && current.expirationTime > System.currentTimeMillis()) {
+            return current;
+        }
+        synchronized (snapshotVersion) {
+            current = snapshot;
+            if (current != null && current.expirationTime > System.currentTimeMillis()) {
+                return current;
+            }
+            long version = snapshotVersion.get();
+            log.debug("Refreshing features snapshot from {}", url);
+            Invocation.Builder req = ClientHttpUtils.createRequest(getStore(), authorizationHeaderValue, MediaType.APPLICATION_JSON_TYPE);
+            if (current != null && current.eTag != null) {
+                req.header(HttpHeaders.IF_NONE_MATCH, current.eTag);
+            }
+            Response cRes = req.get();
+            FeaturesSnapshot next;
+            if (Status.NOT_MODIFIED.getStatusCode() == cRes.getStatus() && current != null) {
+                cRes.close();
+                next = new FeaturesSnapshot(current.features, current.eTag, System.currentTimeMillis() + snapshotTtl);
+            } else if (Status.OK.getStatusCode() == cRes.getStatus()) {
+                String eTag = cRes.getHeaderString(HttpHeaders.ETAG);
+                Map<String, Feature> features = parseFeatures(cRes.readEntity(String.class));
+                next = new FeaturesSnapshot(Collections.unmodifiableMap(features), eTag, System.currentTimeMillis() + snapshotTtl);
+            } else {
+                cRes.close();
+                throw new FeatureAccessException("Cannot read features, an HTTP error " + cRes.getStatus() + OCCURED);
+            }
+            // A write occured during the call, result may not include it
+            if (snapshotVersion.get() == version) {
+                snapshot = next;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Drop local snapshot after a write.
+     */
+    private void invalidateSnapshot() {
+        snapshotVersion.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Parse a JSON array of features.
+     *
+     * @param json
+     *      response entity
+     * @return
+     *      features by uid
+     */
+    private Map<String, Feature> parseFeatures(String json) {
+        Map<String, Feature> features = new HashMap<String, Feature>();
+        for (Feature feature : parseFeatureArray(json)) {
+            features.put(feature.getUid(), feature);
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Feature read(String uid) {
         Util.assertHasLength(uid);
+        FeaturesSnapshot current = getSnapshot();
+        if (current != null) {
+            Feature feature = current.features.get(uid);
+            if (feature == null) {
+                throw new FeatureNotFoundException(uid);
+            }
+            return new Feature(feature);
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(
                 getStore().path(uid), authorizationHeaderValue);
-        log.info(String.valueOf(getStore().path(uid)));
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         } else if (Status.OK.getStatusCode() != cRes.getStatus()) {
@@ -187,6 +308,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Util.assertHasLength(uid);
         Response cRes = ClientHttpUtils.invokePostMethod(
                 getStore().path(uid).path(OPERATION_ENABLE), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
@@ -198,6 +320,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Util.assertHasLength(uid);
         Response cRes = ClientHttpUtils.invokePostMethod(
                 getStore().path(uid).path(OPERATION_DISABLE), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
@@ -207,6 +330,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     @Override
     public boolean exist(String uid) {
         Util.assertHasLength(uid);
+        FeaturesSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.features.containsKey(uid);
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getStore().path(uid), authorizationHeaderValue);
         if (Status.OK.getStatusCode() == cRes.getStatus()) {
             return true;
@@ -233,6 +360,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Response cRes = ClientHttpUtils
                             .createRequest(getStore().path(fp.getUid()), authorizationHeaderValue, null)
                             .put(Entity.entity(new FeatureApiBean(fp), MediaType.APPLICATION_JSON));
+        invalidateSnapshot();
         
         // Check response code CREATED or raised error
         if (Status.CREATED.getStatusCode() != cRes.getStatus()) {
@@ -243,18 +371,19 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
+        FeaturesSnapshot current = getSnapshot();
+        if (current != null) {
+            Map<String, Feature> features = new HashMap<String, Feature>();
+            for (Feature feature : current.features.values()) {
+                features.put(feature.getUid(), new Feature(feature));
+            }
+            return features;
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getStore(), authorizationHeaderValue);
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot read features, an HTTP error " + cRes.getStatus() + OCCURED);
         }
-       
-        String resEntity = (String) cRes.readEntity(String.class);
-        Feature[] fArray = parseFeatureArray(resEntity);
-        Map<String, Feature> features = new HashMap<String, Feature>();
-        for (Feature feature : fArray) {
-            features.put(feature.getUid(), feature);
-        }
-        return features;
+        return parseFeatures(cRes.readEntity(String.class));
     }
 
     /** {@inheritDoc} */
@@ -263,6 +392,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Util.assertHasLength(uid);
         Response cRes = ClientHttpUtils
                 .invokeDeleteMethod(getStore().path(uid), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
@@ -283,6 +413,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Response cRes = ClientHttpUtils
                 .createRequest(getStore().path(fp.getUid()), authorizationHeaderValue, null)
                 .put(Entity.entity(new FeatureApiBean(fp), MediaType.APPLICATION_JSON));
+        invalidateSnapshot();
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot update feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
@@ -294,6 +425,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Util.assertHasLength(uid, roleName);
         Response cRes = ClientHttpUtils.invokePostMethod(
                 getStore().path(uid).path(OPERATION_GRANTROLE).path(roleName), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
@@ -308,6 +440,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Util.assertHasLength(uid, roleName);
         Response cRes = ClientHttpUtils.invokePostMethod(
                 getStore().path(uid).path(OPERATION_REMOVEROLE).path(roleName), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
@@ -322,6 +455,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Util.assertHasLength(uid, groupName);
         Response cRes = ClientHttpUtils.invokePostMethod(
                 getStore().path(uid).path(OPERATION_ADDGROUP).path(groupName), authorizationHeaderValue);
+        invalidateSnapshot();
        
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
@@ -341,6 +475,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
                 .path(uid)
                 .path(OPERATION_REMOVEGROUP)
                 .path(groupName), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
@@ -359,6 +494,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Response cRes = ClientHttpUtils.invokePostMethod(getGroups()
                 .path(groupName)
                 .path(OPERATION_ENABLE), authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new GroupNotFoundException(groupName);
         }
@@ -374,6 +510,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         Response cRes = ClientHttpUtils.invokePostMethod(getGroups()
                 .path(groupName)
                 .path(OPERATION_DISABLE), authorizationHeaderValue);
+        invalidateSnapshot();
         
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new GroupNotFoundException(groupName);
@@ -386,6 +523,19 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     /** {@inheritDoc} */
     public Map<String, Feature> readGroup(String groupName) {
         Util.assertHasLength(groupName);
+        FeaturesSnapshot current = getSnapshot();
+        if (current != null) {
+            Map<String, Feature> features = new HashMap<String, Feature>();
+            for (Feature feature : current.features.values()) {
+                if (groupName.equals(feature.getGroup())) {
+                    features.put(feature.getUid(), new Feature(feature));
+                }
+            }
+            if (features.isEmpty()) {
+                throw new GroupNotFoundException(groupName);
+            }
+            return features;
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getGroups().path(groupName), authorizationHeaderValue);
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new GroupNotFoundException(groupName);
@@ -393,19 +543,22 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
-        String resEntity = cRes.readEntity(String.class);
-        Feature[] fArray = parseFeatureArray(resEntity);
-        Map<String, Feature> features = new HashMap<String, Feature>();
-        for (Feature feature : fArray) {
-            features.put(feature.getUid(), feature);
-        }
-        return features;
+        return parseFeatures(cRes.readEntity(String.class));
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean existGroup(String groupName) {
         Util.assertHasLength(groupName);
+        FeaturesSnapshot current = getSnapshot();
+        if (current != null) {
+            for (Feature feature : current.features.values()) {
+                if (groupName.equals(feature.getGroup())) {
+                    return true;
+                }
+            }
+            return false;
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getGroups().path(groupName), authorizationHeaderValue);
         if (Status.OK.getStatusCode() == cRes.getStatus()) {
             return true;
@@ -420,6 +573,16 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     @SuppressWarnings("unchecked")
     @Override
     public Set<String> readAllGroups() {
+        FeaturesSnapshot current = getSnapshot();
+        if (current != null) {
+            Set < String > groupNames = new HashSet<String>();
+            for (Feature feature : current.features.values()) {
+                if (Util.hasLength(feature.getGroup())) {
+                    groupNames.add(feature.getGroup());
+                }
+            }
+            return groupNames;
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getGroups(), authorizationHeaderValue);
         List < Map < String, String>> groupList = cRes.readEntity(List.class);
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
@@ -440,6 +603,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
                 getJerseyClient().target(url)
                 .path(RESOURCE_STORE)
                 .path(STORE_CLEAR),authorizationHeaderValue);
+        invalidateSnapshot();
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot clear feature store - " + cRes.getStatus());
         }
@@ -475,4 +639,22 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         this.url = url;
     }   
 
+    /**
+     * Getter accessor for attribute 'snapshotTtl'.
+     *
+     * @return current value of 'snapshotTtl'
+     */
+    public long getSnapshotTtl() {
+        return snapshotTtl;
+    }
+
+    /**
+     * Setter accessor for attribute 'snapshotTtl', 0 to read through the API on each call.
+     * @param snapshotTtl new value for 'snapshotTtl '
+     */
+    public void setSnapshotTtl(long snapshotTtl) {
+        this.snapshotTtl = snapshotTtl;
+        invalidateSnapshot();
+    }
+
 }
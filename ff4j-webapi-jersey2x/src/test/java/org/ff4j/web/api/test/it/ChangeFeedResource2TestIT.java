@@ -0,0 +1,154 @@
+package org.ff4j.web.api.test.it;
+
+/*-
+ * #%L
+ * ff4j-webapi-jersey2x
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.test.TestsFf4jConstants.F1;
+import static org.ff4j.web.FF4jWebConstants.HEADER_LAST_EVENT_ID;
+import static org.ff4j.web.FF4jWebConstants.MEDIATYPE_EVENT_STREAM;
+import static org.ff4j.web.FF4jWebConstants.PARAM_EPOCH;
+import static org.ff4j.web.FF4jWebConstants.PARAM_SINCE;
+import static org.ff4j.web.FF4jWebConstants.PARAM_TIMEOUT;
+import static org.ff4j.web.FF4jWebConstants.RESOURCE_CHANGES;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.ff4j.audit.ChangeFeed;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test change feed resource /ff4j/changes
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ChangeFeedResource2TestIT extends AbstractWebResourceTestIT {
+    
+    /**
+     * Convenient method to get the change feed resource.
+     *
+     * @return web resource
+     */
+    private WebTarget resourceChanges() {
+        return resourceff4j().path(RESOURCE_CHANGES).queryParam(PARAM_TIMEOUT, 200);
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testNoChangeFeed() {
+        // Given
+        ff4j.setChangeFeed(null);
+        // When
+        Response resHttp = resourceChanges().request(MediaType.APPLICATION_JSON).get(Response.class);
+        // Then
+        Assert.assertEquals("Expected status is 404", Status.NOT_FOUND.getStatusCode(), resHttp.getStatus());
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testPollCatchUp() {
+        // Given
+        ChangeFeed feed = ff4j.changeFeed().getChangeFeed();
+        long since = feed.getLastSequence();
+        ff4j.enable(F1);
+        ff4j.disable(F1);
+        // When
+        Response resHttp = resourceChanges()
+                .queryParam(PARAM_SINCE, since)
+                .queryParam(PARAM_EPOCH, feed.getEpoch())
+                .request(MediaType.APPLICATION_JSON).get(Response.class);
+        // Then
+        String resEntity = resHttp.readEntity(String.class);
+        Assert.assertEquals("Expected status is 200", Status.OK.getStatusCode(), resHttp.getStatus());
+        Assert.assertTrue(resEntity.contains("\"reset\":false"));
+        Assert.assertTrue(resEntity.contains("\"sequence\":" + (since + 2)));
+        Assert.assertTrue(resEntity.contains("\"name\":\"" + F1 + "\""));
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testPollPreviousEpochResets() {
+        // Given
+        ChangeFeed feed = ff4j.changeFeed().getChangeFeed();
+        ff4j.enable(F1);
+        // When, sequence of a previous run
+        Response resHttp = resourceChanges()
+                .queryParam(PARAM_SINCE, 0)
+                .queryParam(PARAM_EPOCH, feed.getEpoch() - 1)
+                .request(MediaType.APPLICATION_JSON).get(Response.class);
+        // Then
+        String resEntity = resHttp.readEntity(String.class);
+        Assert.assertEquals("Expected status is 200", Status.OK.getStatusCode(), resHttp.getStatus());
+        Assert.assertTrue(resEntity.contains("\"reset\":true"));
+        Assert.assertTrue(resEntity.contains("\"sequence\":" + feed.getLastSequence()));
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testStreamResumesFromLastEventId() {
+        // Given
+        ChangeFeed feed = ff4j.changeFeed().getChangeFeed();
+        ff4j.enable(F1);
+        String lastEventId = feed.getEventId(feed.getLastSequence());
+        ff4j.disable(F1);
+        // When
+        Response resHttp = resourceChanges().request(MEDIATYPE_EVENT_STREAM)
+                .header(HEADER_LAST_EVENT_ID, lastEventId).get(Response.class);
+        // Then
+        String resEntity = resHttp.readEntity(String.class);
+        Assert.assertEquals("Expected status is 200", Status.OK.getStatusCode(), resHttp.getStatus());
+        Assert.assertFalse(resEntity.contains("event: reset"));
+        Assert.assertTrue(resEntity.contains("id: " + feed.getEventId(feed.getLastSequence()) + "\n"));
+        Assert.assertFalse(resEntity.contains("id: " + lastEventId + "\n"));
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testStreamPreviousRunLastEventIdResets() {
+        // Given, same sequence from a feed created before restart
+        ChangeFeed previous = new ChangeFeed();
+        previous.append("feature", F1, "update", System.currentTimeMillis());
+        ChangeFeed feed = ff4j.changeFeed().getChangeFeed();
+        ff4j.enable(F1);
+        ff4j.disable(F1);
+        // When
+        Response resHttp = resourceChanges().request(MEDIATYPE_EVENT_STREAM)
+                .header(HEADER_LAST_EVENT_ID, previous.getEventId(1)).get(Response.class);
+        // Then
+        String resEntity = resHttp.readEntity(String.class);
+        Assert.assertEquals("Expected status is 200", Status.OK.getStatusCode(), resHttp.getStatus());
+        Assert.assertTrue(resEntity.contains("event: reset"));
+        Assert.assertTrue(resEntity.contains("id: " + feed.getEventId(feed.getLastSequence()) + "\n"));
+    }
+
+}
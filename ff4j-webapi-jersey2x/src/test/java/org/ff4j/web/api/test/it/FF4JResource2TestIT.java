@@ -20,6 +20,9 @@ package org.ff4j.web.api.test.it;
  * #L%
  */
 
+import java.util.Arrays;
+import java.util.Map;
+
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Form;
 
@@ -215,4 +218,31 @@ public class FF4JResource2TestIT extends AbstractWebResourceTestIT {
         ff4j.delete("FWP");
     } 
 
+    /**
+     * TDD.
+     */
+    @Test
+    public void testCheckMultiWithUnknownFeature() {
+        // Given
+        assertFF4J.assertThatFeatureExist(F2);
+        assertFF4J.assertThatFeatureExist(F4);
+        assertFF4J.assertThatFeatureDoesNotExist(F_DOESNOTEXIST);
+        ff4j.getFeatureStore().enable(F2);
+        ff4j.getFeatureStore().enable(F4);
+        ff4j.getFeatureStore().disable(F1);
+        // When
+        Response resHttp = resourceff4j().path(OPERATION_CHECK)
+                .request(MediaType.APPLICATION_JSON_TYPE)
+                .post(Entity.json(Arrays.asList(F1, F4, F_DOESNOTEXIST)));
+        // Then, unknown feature is not flipped and others keep their status
+        Assert.assertEquals("Expected status is 200", Status.OK.getStatusCode(), resHttp.getStatus());
+        Map<?, ?> statuses = resHttp.readEntity(Map.class);
+        Assert.assertEquals(3, statuses.size());
+        Assert.assertEquals(Boolean.FALSE, statuses.get(F1));
+        Assert.assertEquals(Boolean.TRUE, statuses.get(F4));
+        Assert.assertEquals(Boolean.FALSE, statuses.get(F_DOESNOTEXIST));
+        assertFF4J.assertThatFeatureDoesNotExist(F_DOESNOTEXIST);
+        ff4j.getFeatureStore().enable(F1);
+    }
+
 }
@@ -21,12 +21,16 @@ package org.ff4j.web.api.test.it;
  */
 
 
+import static org.ff4j.test.TestsFf4jConstants.F1;
+
 import java.util.List;
 
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import org.ff4j.core.FeatureStore;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -56,4 +60,64 @@ public class FeaturesResource2TestIT extends AbstractWebResourceTestIT {
         Assert.assertFalse(fList.isEmpty());
     }
 
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetReturnsStableETag() {
+        // When
+        Response first  = resourceFeatures().request().get();
+        Response second = resourceFeatures().request().get();
+        // Then
+        Assert.assertEquals(Status.OK.getStatusCode(), first.getStatus());
+        Assert.assertNotNull(first.getHeaderString(HttpHeaders.ETAG));
+        Assert.assertEquals(first.getHeaderString(HttpHeaders.ETAG), second.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetNotModifiedWithMatchingETag() {
+        // Given
+        String eTag = resourceFeatures().request().get().getHeaderString(HttpHeaders.ETAG);
+        // When
+        Response httpResponse = resourceFeatures().request().header(HttpHeaders.IF_NONE_MATCH, eTag).get();
+        // Then
+        Assert.assertEquals("Expected status is 304", Status.NOT_MODIFIED.getStatusCode(), httpResponse.getStatus());
+        Assert.assertEquals(eTag, httpResponse.getHeaderString(HttpHeaders.ETAG));
+        Assert.assertFalse(httpResponse.hasEntity());
+    }
+
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetWithStaleETagReturnsFeatures() {
+        // Given
+        String eTag = resourceFeatures().request().get().getHeaderString(HttpHeaders.ETAG);
+        FeatureStore store = ff4j.getFeatureStore();
+        boolean enabled = store.read(F1).isEnable();
+        try {
+            // When
+            if (enabled) {
+                store.disable(F1);
+            } else {
+                store.enable(F1);
+            }
+            Response httpResponse = resourceFeatures().request().header(HttpHeaders.IF_NONE_MATCH, eTag).get();
+            // Then
+            Assert.assertEquals("Expected status is 200", Status.OK.getStatusCode(), httpResponse.getStatus());
+            Assert.assertNotEquals(eTag, httpResponse.getHeaderString(HttpHeaders.ETAG));
+            Assert.assertFalse(httpResponse.readEntity(List.class).isEmpty());
+        } finally {
+            // End, return to initial state
+            if (enabled) {
+                store.enable(F1);
+            } else {
+                store.disable(F1);
+            }
+        }
+    }
+
 }
@@ -20,6 +20,8 @@ package org.ff4j.web.test.store;
  * #L%
  */
 
+import java.util.Map;
+
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.test.store.FeatureStoreTestSupport;
@@ -99,6 +101,74 @@ public class FeatureStoreHttpTest extends FeatureStoreTestSupport {
         Assert.assertTrue(testedStore.read(F1).getPermissions().isEmpty());
     }
 
+    /**
+     * TDD.
+     */
+    @Test
+    public void testReadReturnsCopyOfSnapshot() {
+        // Given
+        assertFf4j.assertThatFeatureExist(F4);
+        Feature f4 = testedStore.read(F4);
+        String description = f4.getDescription();
+        // When
+        f4.setDescription("changed locally");
+        f4.getPermissions().add(ROLE_NEW);
+        Map<String, Feature> all = testedStore.readAll();
+        all.get(F4).setEnable(!all.get(F4).isEnable());
+        // Then
+        Feature reread = testedStore.read(F4);
+        Assert.assertEquals(description, reread.getDescription());
+        Assert.assertFalse(reread.getPermissions().contains(ROLE_NEW));
+        Assert.assertEquals(f4.isEnable(), reread.isEnable());
+    }
+
+    /**
+     * TDD.
+     */
+    @Test
+    public void testWritesInvalidateSnapshot() {
+        // Given, snapshot loaded and still valid
+        assertFf4j.assertThatFeatureExist(F4);
+        assertFf4j.assertThatFeatureDoesNotExist(FEATURE_NEW);
+        Feature original = testedStore.read(F4);
+        // When
+        testedStore.create(new Feature(FEATURE_NEW, true, "description"));
+        // Then
+        Assert.assertTrue(testedStore.exist(FEATURE_NEW));
+        Assert.assertTrue(testedStore.readAll().containsKey(FEATURE_NEW));
+        // When
+        Feature updated = new Feature(original);
+        updated.setDescription("updated remotely");
+        testedStore.update(updated);
+        // Then
+        Assert.assertEquals("updated remotely", testedStore.read(F4).getDescription());
+        // When
+        testedStore.delete(FEATURE_NEW);
+        // Then
+        Assert.assertFalse(testedStore.exist(FEATURE_NEW));
+        // End, return to initial state
+        testedStore.update(original);
+        Assert.assertEquals(original.getDescription(), testedStore.read(F4).getDescription());
+    }
+
+    /**
+     * TDD.
+     */
+    @Test
+    public void testReadAfterSnapshotRevalidation() throws Exception {
+        // Given, snapshot expires right away and is revalidated with If-None-Match
+        FeatureStoreHttp store = new FeatureStoreHttp("http://localhost:9998/ff4j");
+        store.setSnapshotTtl(1);
+        Feature first = store.read(F4);
+        Thread.sleep(10);
+        // When, server answers 304 Not Modified
+        Feature second = store.read(F4);
+        // Then
+        Assert.assertEquals(first.getDescription(), second.getDescription());
+        Assert.assertEquals(first.getPermissions(), second.getPermissions());
+        Assert.assertEquals(store.readAll().keySet(), testedStore.readAll().keySet());
+    }
+
     /**
      * Start Server Grizzly before tests on FeatureStore
      * 
@@ -20,13 +20,24 @@ package org.ff4j.web.api.resources;
  * #L%
  */
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 
 import org.ff4j.FF4j;
 import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.property.store.PropertyStore;
 
@@ -109,4 +120,43 @@ public abstract class AbstractResource {
         this.propertyStore = propertyStore;
     }
 
+    /**
+     * Build an entity tag from the content of features, independent of the store ordering.
+     *
+     * @param features
+     *      features returned to the client
+     * @return
+     *      strong entity tag
+     */
+    protected EntityTag buildEntityTag(Collection<Feature> features) {
+        List<Feature> sorted = features.stream()
+                .sorted(Comparator.comparing(Feature::getUid))
+                .collect(Collectors.toList());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Feature feature : sorted) {
+                digest.update(feature.toJson().getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return new EntityTag(hex.toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Evaluate <code>If-None-Match</code> against the entity tag of the content.
+     *
+     * @param eTag
+     *      entity tag of the current content
+     * @return
+     *      builder for <code>304 Not Modified</code> if the client is up to date, null otherwise
+     */
+    protected ResponseBuilder evaluateNotModified(EntityTag eTag) {
+        return (request == null) ? null : request.evaluatePreconditions(eTag);
+    }
+
 }
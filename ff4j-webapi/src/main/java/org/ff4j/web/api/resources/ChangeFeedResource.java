@@ -0,0 +1,255 @@
+package org.ff4j.web.api.resources;
+
+/*-
+ * #%L
+ * ff4j-webapi
+ * %%
+ * Copyright (C) 2013 - 2024 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.web.FF4jWebConstants.HEADER_LAST_EVENT_ID;
+import static org.ff4j.web.FF4jWebConstants.MEDIATYPE_EVENT_STREAM;
+import static org.ff4j.web.FF4jWebConstants.PARAM_EPOCH;
+import static org.ff4j.web.FF4jWebConstants.PARAM_SINCE;
+import static org.ff4j.web.FF4jWebConstants.PARAM_TIMEOUT;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.ff4j.audit.ChangeEvent;
+import org.ff4j.audit.ChangeFeed;
+import org.ff4j.utils.JsonUtils;
+import org.ff4j.web.FF4jWebConstants;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+/**
+ * Change feed: push feature and property changes to clients instead of having them poll the stores.
+ *
+ * <p>Two flavours are exposed on the same path, selected by the <code>Accept</code> header:</p>
+ * <ul>
+ *  <li><code>text/event-stream</code>: server-sent events, each change is an <code>id/event/data</code> frame
+ *  where <code>id</code> is <code>epoch-sequence</code> in the {@link ChangeFeed}. The stream is closed after <code>timeout</code>,
+ *  the browser <code>EventSource</code> (or any client) reconnects with the <code>Last-Event-ID</code> header
+ *  and resumes where it stopped.</li>
+ *  <li><code>application/json</code>: long polling, returns the changes after <code>since</code> (and
+ *  <code>epoch</code>) as soon as there is at least one, or an empty list after <code>timeout</code>.</li>
+ * </ul>
+ * <p>When the requested sequence is no longer retained (client too late, server restarted) a <code>reset</code>
+ * is sent and the client must reload features and properties before applying the next changes.</p>
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@Path("/ff4j/changes")
+@JsonIgnoreType
+@RolesAllowed({FF4jWebConstants.ROLE_READ})
+@Api(value = "/ff4j/changes")
+public class ChangeFeedResource extends AbstractResource {
+
+    /** Default duration of a stream or a long poll in milliseconds. */
+    public static final long DEFAULT_TIMEOUT = 30000;
+
+    /** Upper bound for timeout, a request thread is held during that time. */
+    public static final long MAX_TIMEOUT = 120000;
+
+    /** Maximum number of events read from the feed at once. */
+    public static final int MAX_BATCH = 500;
+
+    /** Delay sent to SSE clients before reconnecting. */
+    public static final long RETRY_DELAY = 1000;
+
+    /** Event name notifying clients to reload everything. */
+    public static final String EVENT_RESET = "reset";
+
+    /**
+     * Stream changes as server-sent events.
+     */
+    @GET
+    @Produces(MEDIATYPE_EVENT_STREAM)
+    @ApiOperation(value= "Stream <b>changes</b> on features and properties as server-sent events",
+                  notes= "Reconnect with the <b>Last-Event-ID</b> header to resume, a <b>reset</b> event asks to reload everything")
+    @ApiResponses({
+        @ApiResponse(code = 200, message= "Event stream"),
+        @ApiResponse(code = 404, message= "No change feed defined", response=String.class) })
+    public Response streamChanges(
+            @HeaderParam(HEADER_LAST_EVENT_ID) String lastEventId,
+            @ApiParam(required=false, name="since", value="Last sequence processed <br>(default is now)")
+            @QueryParam(PARAM_SINCE) Long since,
+            @ApiParam(required=false, name="epoch", value="Epoch of the feed the sequence comes from")
+            @QueryParam(PARAM_EPOCH) Long epoch,
+            @ApiParam(required=false, name="timeout", value="Duration of the stream in milliseconds")
+            @QueryParam(PARAM_TIMEOUT) Long timeout) {
+        final ChangeFeed feed = ff4j.getChangeFeed();
+        if (feed == null) {
+            return Response.status(Status.NOT_FOUND).entity("No change feed has been defined").build();
+        }
+        final long start    = resolveSequence(feed, lastEventId, since, epoch);
+        final long duration = resolveTimeout(timeout);
+        StreamingOutput stream = new StreamingOutput() {
+            /** {@inheritDoc} */
+            public void write(OutputStream out) throws IOException, WebApplicationException {
+                long deadline = System.currentTimeMillis() + duration;
+                long current  = start;
+                writeFrame(out, "retry: " + RETRY_DELAY + "\n\n");
+                if (!feed.isResumable(current)) {
+                    current = feed.getLastSequence();
+                    writeFrame(out, resetFrame(feed, current));
+                }
+                long remaining = duration;
+                while (remaining > 0) {
+                    List<ChangeEvent> events = awaitEvents(feed, current, remaining);
+                    if (events.isEmpty()) {
+                        // Keep intermediaries from closing an idle connection
+                        writeFrame(out, ": keep-alive\n\n");
+                    } else if (events.get(0).getSequence() != current + 1) {
+                        // Writer went faster than us and overwrote the ring
+                        current = feed.getLastSequence();
+                        writeFrame(out, resetFrame(feed, current));
+                    } else {
+                        StringBuilder frames = new StringBuilder();
+                        for (ChangeEvent ce : events) {
+                            frames.append("id: ").append(feed.getEventId(ce.getSequence())).append("\n");
+                            frames.append("event: ").append(ce.getType()).append("\n");
+                            frames.append("data: ").append(ce.toJson()).append("\n\n");
+                            current = ce.getSequence();
+                        }
+                        writeFrame(out, frames.toString());
+                    }
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
+        };
+        return Response.ok(stream, MEDIATYPE_EVENT_STREAM).header("Cache-Control", "no-cache").build();
+    }
+
+    /**
+     * Long polling on changes.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value= "Wait for <b>changes</b> on features and properties after a sequence",
+                  notes= "Returns as soon as changes are available, <b>reset</b> is true when everything must be reloaded")
+    @ApiResponses({
+        @ApiResponse(code = 200, message= "Changes after sequence"),
+        @ApiResponse(code = 404, message= "No change feed defined", response=String.class) })
+    public Response pollChanges(
+            @ApiParam(required=false, name="since", value="Last sequence processed <br>(default is now)")
+            @QueryParam(PARAM_SINCE) Long since,
+            @ApiParam(required=false, name="epoch", value="Epoch of the feed the sequence comes from")
+            @QueryParam(PARAM_EPOCH) Long epoch,
+            @ApiParam(required=false, name="timeout", value="Maximum time to wait in milliseconds")
+            @QueryParam(PARAM_TIMEOUT) Long timeout) {
+        ChangeFeed feed = ff4j.getChangeFeed();
+        if (feed == null) {
+            return Response.status(Status.NOT_FOUND).entity("No change feed has been defined").build();
+        }
+        long current = resolveSequence(feed, null, since, epoch);
+        boolean reset = !feed.isResumable(current);
+        List<ChangeEvent> events;
+        if (reset) {
+            current = feed.getLastSequence();
+            events  = feed.readSince(current, MAX_BATCH);
+        } else {
+            events  = awaitEvents(feed, current, resolveTimeout(timeout));
+            if (!events.isEmpty() && events.get(0).getSequence() != current + 1) {
+                reset   = true;
+                current = feed.getLastSequence();
+                events  = feed.readSince(current, MAX_BATCH);
+            }
+        }
+        long last = events.isEmpty() ? current : events.get(events.size() - 1).getSequence();
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"reset\":").append(reset);
+        json.append(",\"epoch\":").append(feed.getEpoch());
+        json.append(",\"sequence\":").append(last);
+        json.append(",\"changes\":").append(JsonUtils.collectionAsJson(events));
+        json.append("}");
+        return Response.ok(json.toString(), MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Sequence to start from: SSE header first, then query parameters, then current end of the feed.
+     * Positions from another run of the feed give -1, never resumable, the client has to reload.
+     */
+    private long resolveSequence(ChangeFeed feed, String lastEventId, Long since, Long epoch) {
+        if (lastEventId != null && !lastEventId.trim().isEmpty()) {
+            return feed.parseEventId(lastEventId.trim());
+        }
+        if (since == null) {
+            return feed.getLastSequence();
+        }
+        return (epoch == null || epoch == feed.getEpoch()) ? since : -1;
+    }
+
+    /**
+     * Frame asking the client to reload everything, then resume after the provided sequence.
+     */
+    private static String resetFrame(ChangeFeed feed, long sequence) {
+        return "id: " + feed.getEventId(sequence) + "\nevent: " + EVENT_RESET 
+                + "\ndata: {\"epoch\":" + feed.getEpoch() + ",\"sequence\":" + sequence + "}\n\n";
+    }
+
+    /**
+     * Bound the timeout provided by the client.
+     */
+    private long resolveTimeout(Long timeout) {
+        if (timeout == null || timeout <= 0) {
+            return DEFAULT_TIMEOUT;
+        }
+        return Math.min(timeout, MAX_TIMEOUT);
+    }
+
+    /**
+     * Wait for events, stopping cleanly if the request thread is interrupted.
+     */
+    private List<ChangeEvent> awaitEvents(ChangeFeed feed, long since, long timeout) {
+        try {
+            return feed.awaitSince(since, MAX_BATCH, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebApplicationException(e, Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Write and flush a frame.
+     */
+    private static void writeFrame(OutputStream out, String frame) throws IOException {
+        out.write(frame.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+}
@@ -24,6 +24,7 @@ import static org.ff4j.web.FF4jWebConstants.OPERATION_CHECK;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_SECURITY;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -189,11 +190,25 @@ public class FF4jResource extends AbstractResource {
             flipExecCtx.putString(key, formParams.getFirst(key));
         }
         if (featureUIDs != null) {
-            for (final String featureUID : featureUIDs) {
+            Set<String> pendingUIDs = new LinkedHashSet<String>(featureUIDs);
+            while (!pendingUIDs.isEmpty()) {
                 try {
-                    featureFlippedMap.put(featureUID,  ff4j.check(featureUID, flipExecCtx));
-                } catch (FeatureNotFoundException e) {
-                    featureFlippedMap.put(featureUID, false);
+                    // Single bulk read in the store
+                    featureFlippedMap.putAll(ff4j.checkAll(pendingUIDs, flipExecCtx));
+                    pendingUIDs.clear();
+                } catch (FeatureNotFoundException fnfe) {
+                    // Unknown features are not flipped, others are still checked together
+                    Set<String> knownUIDs = ff4j.getFeatureStore().readMany(pendingUIDs).keySet();
+                    if (knownUIDs.containsAll(pendingUIDs)) {
+                        // Store changed meanwhile, do not loop
+                        throw fnfe;
+                    }
+                    for (String featureUID : pendingUIDs) {
+                        if (!knownUIDs.contains(featureUID)) {
+                            featureFlippedMap.put(featureUID, false);
+                        }
+                    }
+                    pendingUIDs.retainAll(knownUIDs);
                 }
             }
         }
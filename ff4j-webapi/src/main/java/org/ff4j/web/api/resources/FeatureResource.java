@@ -22,6 +22,7 @@ package org.ff4j.web.api.resources;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -36,9 +37,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 
 import org.ff4j.core.Feature;
 import org.ff4j.exception.FeatureNotFoundException;
@@ -79,13 +82,20 @@ public class FeatureResource extends AbstractResource {
     @ApiOperation(value= "Read information about a feature", response=FeatureApiBean.class)
     @ApiResponses({
         @ApiResponse(code = 200, message= "Information about features"), 
+        @ApiResponse(code = 304, message= "Feature has not changed since ETag"),
         @ApiResponse(code = 404, message= "Feature not found") })
     public Response read(@PathParam("uid") String id) {
        if (!ff4j.getFeatureStore().exist(id)) {
             String errMsg = new FeatureNotFoundException(id).getMessage();
             return Response.status(Response.Status.NOT_FOUND).entity(errMsg).build();
        }
-       return  Response.ok(new FeatureApiBean(ff4j.getFeatureStore().read(id))).build();
+       Feature feature = ff4j.getFeatureStore().read(id);
+       EntityTag eTag = buildEntityTag(Collections.singletonList(feature));
+       ResponseBuilder notModified = evaluateNotModified(eTag);
+       if (notModified != null) {
+           return notModified.tag(eTag).build();
+       }
+       return  Response.ok(new FeatureApiBean(feature)).tag(eTag).build();
     }
 
     /**
@@ -27,6 +27,7 @@ import static org.ff4j.web.FF4jWebConstants.STORE_CLEAR;
 import static org.ff4j.web.FF4jWebConstants.STORE_CREATESCHEMA;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,8 +37,11 @@ import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.core.Feature;
@@ -86,14 +90,22 @@ public class FeatureStoreResource extends AbstractResource {
     @Path("/" + RESOURCE_FEATURES)
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value= "Display information regarding <b>Features</b>", response=FeatureApiBean.class)
-    @ApiResponses(@ApiResponse(code = 200, message= "get all features"))
-    public List < FeatureApiBean> readFeatures() {
-        Feature[] storeContent = getFeatureStore().readAll().values().toArray(new Feature[0]);
+    @ApiResponses({
+        @ApiResponse(code = 200, message= "get all features"),
+        @ApiResponse(code = 304, message= "features have not changed since ETag") })
+    public Response readFeatures() {
+        Collection < Feature > storeContent = getFeatureStore().readAll().values();
+        // Conditional GET, clients keeping a local copy only download changes
+        EntityTag eTag = buildEntityTag(storeContent);
+        ResponseBuilder notModified = evaluateNotModified(eTag);
+        if (notModified != null) {
+            return notModified.tag(eTag).build();
+        }
         List < FeatureApiBean > apiBean = new ArrayList<FeatureApiBean>();
         for (Feature feature : storeContent) {
             apiBean.add(new FeatureApiBean(feature));
         }
-        return apiBean;
+        return Response.ok(new GenericEntity<List<FeatureApiBean>>(apiBean) {}).tag(eTag).build();
     }
 
     /**